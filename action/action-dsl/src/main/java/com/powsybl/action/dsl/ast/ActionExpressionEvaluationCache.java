@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.dsl.ast;
+
+import com.powsybl.dsl.ast.ExpressionNode;
+
+import java.util.*;
+
+/**
+ * Values computed by {@link ActionExpressionEvaluator} for a given state of the network: network variables, keyed by
+ * their printed expression, and branch loading rankings. Sharing a cache between the evaluations of several
+ * conditions allows to evaluate each variable and to sort each list of branches only once.
+ * <p>
+ * The cache also keeps the result of each condition evaluated with
+ * {@link ActionExpressionEvaluator#evaluateCondition(ExpressionNode, EvaluationContext, ActionExpressionEvaluationCache)},
+ * along with the values the evaluation depended on: network variables, actions taken and loadings of the branches.
+ * These results survive the invalidation of the cache, and a condition is only evaluated again when one of these
+ * values has changed.
+ * <p>
+ * The cache has to be invalidated each time the network is modified (load flow, action...).
+ *
+ * @author agent <agent at local>
+ */
+public class ActionExpressionEvaluationCache {
+
+    private final Map<String, Object> variableValues = new HashMap<>();
+
+    private final Map<List<String>, List<String>> sortedBranchIds = new HashMap<>();
+
+    private final Map<ExpressionNode, ConditionResult> conditionResults = new IdentityHashMap<>();
+
+    private int hitCount = 0;
+
+    private int missCount = 0;
+
+    private int conditionHitCount = 0;
+
+    private int conditionMissCount = 0;
+
+    /**
+     * A value read from the network or from the context by the evaluation of a condition.
+     */
+    interface Dependency {
+
+        /**
+         * Check if the value is still the same, using an evaluator which does not record dependencies.
+         */
+        boolean isUnchanged(ActionExpressionEvaluator evaluator);
+    }
+
+    static final class ConditionResult {
+
+        private final Object value;
+
+        private final List<Dependency> dependencies;
+
+        private ConditionResult(Object value, List<Dependency> dependencies) {
+            this.value = value;
+            this.dependencies = dependencies;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        List<Dependency> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    boolean hasVariableValue(String variable) {
+        // null is a valid value of a variable
+        if (variableValues.containsKey(Objects.requireNonNull(variable))) {
+            hitCount++;
+            return true;
+        }
+        missCount++;
+        return false;
+    }
+
+    Object getVariableValue(String variable) {
+        return variableValues.get(Objects.requireNonNull(variable));
+    }
+
+    void putVariableValue(String variable, Object value) {
+        variableValues.put(Objects.requireNonNull(variable), value);
+    }
+
+    List<String> getSortedBranchIds(List<String> branchIds) {
+        List<String> sorted = sortedBranchIds.get(Objects.requireNonNull(branchIds));
+        if (sorted != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return sorted;
+    }
+
+    void putSortedBranchIds(List<String> branchIds, List<String> sorted) {
+        sortedBranchIds.put(new ArrayList<>(branchIds), Collections.unmodifiableList(sorted));
+    }
+
+    ConditionResult getConditionResult(ExpressionNode condition) {
+        return conditionResults.get(Objects.requireNonNull(condition));
+    }
+
+    void putConditionResult(ExpressionNode condition, Object value, List<Dependency> dependencies) {
+        conditionResults.put(Objects.requireNonNull(condition), new ConditionResult(value, dependencies));
+    }
+
+    void conditionHit() {
+        conditionHitCount++;
+    }
+
+    void conditionMiss() {
+        conditionMissCount++;
+    }
+
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the number of condition evaluations which reused a previous result, none of its dependencies having changed.
+     */
+    public int getConditionHitCount() {
+        return conditionHitCount;
+    }
+
+    /**
+     * Get the number of condition evaluations which had to walk the condition.
+     */
+    public int getConditionMissCount() {
+        return conditionMissCount;
+    }
+
+    /**
+     * Forget all cached values, to be called after any modification of the network. Results of conditions are kept,
+     * to be checked against their dependencies.
+     */
+    public void invalidate() {
+        variableValues.clear();
+        sortedBranchIds.clear();
+    }
+}
@@ -14,8 +14,10 @@ import com.powsybl.iidm.network.Identifiable;
 import com.powsybl.iidm.network.LimitType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -25,14 +27,138 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
 
     private final EvaluationContext context;
 
+    private final ActionExpressionEvaluationCache cache;
+
+    /**
+     * Values read by the evaluation, or null if they are not recorded.
+     */
+    private final List<ActionExpressionEvaluationCache.Dependency> dependencies;
+
     public ActionExpressionEvaluator(EvaluationContext context) {
+        this(context, null);
+    }
+
+    /**
+     * @param cache values already computed for the current state of the network, or null to compute all values.
+     */
+    public ActionExpressionEvaluator(EvaluationContext context, ActionExpressionEvaluationCache cache) {
+        this(context, cache, null);
+    }
+
+    private ActionExpressionEvaluator(EvaluationContext context, ActionExpressionEvaluationCache cache,
+                                      List<ActionExpressionEvaluationCache.Dependency> dependencies) {
         this.context = Objects.requireNonNull(context);
+        this.cache = cache;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * A value read by the evaluation of a node, evaluated again to check if it has changed.
+     */
+    private static final class NodeDependency implements ActionExpressionEvaluationCache.Dependency {
+
+        private final ExpressionNode node;
+
+        private final Object value;
+
+        private NodeDependency(ExpressionNode node, Object value) {
+            this.node = node;
+            this.value = value;
+        }
+
+        @Override
+        public boolean isUnchanged(ActionExpressionEvaluator evaluator) {
+            return Objects.equals(value, node.accept(evaluator, null));
+        }
+    }
+
+    /**
+     * Loading of a branch, which is all what {@link #visitIsOverloaded}, {@link #visitAllOverloaded} and the branch
+     * rankings depend on: currents, permanent limits and temporary limits overloaded on both sides.
+     */
+    private static final class BranchLoadingDependency implements ActionExpressionEvaluationCache.Dependency {
+
+        private final String branchId;
+
+        private final double[] loading;
+
+        private BranchLoadingDependency(String branchId, double[] loading) {
+            this.branchId = branchId;
+            this.loading = loading;
+        }
+
+        @Override
+        public boolean isUnchanged(ActionExpressionEvaluator evaluator) {
+            Branch branch = evaluator.context.getNetwork().getBranch(branchId);
+            return branch != null && Arrays.equals(loading, getLoading(branch));
+        }
     }
 
     public static Object evaluate(ExpressionNode node, EvaluationContext context) {
         return node.accept(new ActionExpressionEvaluator(context), null);
     }
 
+    public static Object evaluate(ExpressionNode node, EvaluationContext context, ActionExpressionEvaluationCache cache) {
+        return node.accept(new ActionExpressionEvaluator(context, cache), null);
+    }
+
+    /**
+     * Evaluate a condition, reusing its previous result if none of the values this result depends on has changed
+     * since. The result and the values it depends on are recorded in the cache for the next evaluation.
+     */
+    public static Object evaluateCondition(ExpressionNode condition, EvaluationContext context, ActionExpressionEvaluationCache cache) {
+        Objects.requireNonNull(condition);
+        Objects.requireNonNull(cache);
+        ActionExpressionEvaluationCache.ConditionResult result = cache.getConditionResult(condition);
+        if (result != null && isUnchanged(result, new ActionExpressionEvaluator(context, cache))) {
+            cache.conditionHit();
+            return result.getValue();
+        }
+        cache.conditionMiss();
+        List<ActionExpressionEvaluationCache.Dependency> dependencies = new ArrayList<>();
+        Object value = condition.accept(new ActionExpressionEvaluator(context, cache, dependencies), null);
+        cache.putConditionResult(condition, value, dependencies);
+        return value;
+    }
+
+    private static boolean isUnchanged(ActionExpressionEvaluationCache.ConditionResult result, ActionExpressionEvaluator evaluator) {
+        // dependencies are checked in the order they were read, so that a value is only read if the evaluation
+        // of the condition would read it
+        for (ActionExpressionEvaluationCache.Dependency dependency : result.getDependencies()) {
+            try {
+                if (!dependency.isUnchanged(evaluator)) {
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                // the evaluation of the condition fails the same way
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addDependency(ActionExpressionEvaluationCache.Dependency dependency) {
+        if (dependencies != null) {
+            dependencies.add(dependency);
+        }
+    }
+
+    private Object evaluateVariable(NetworkNode node, Supplier<Object> evaluation) {
+        if (cache == null) {
+            return evaluation.get();
+        }
+        String variable = ActionExpressionPrinter.toString(node);
+        Object value;
+        if (cache.hasVariableValue(variable)) {
+            value = cache.getVariableValue(variable);
+        } else {
+            value = evaluation.get();
+            cache.putVariableValue(variable, value);
+        }
+        addDependency(new NodeDependency(node, value));
+        return value;
+    }
+
     @Override
     public Object visitNetworkComponent(NetworkComponentNode node, Void arg) {
         Identifiable identifiable = context.getNetwork().getIdentifiable(node.getComponentId());
@@ -44,6 +170,10 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
 
     @Override
     public Object visitNetworkProperty(NetworkPropertyNode node, Void arg) {
+        return evaluateVariable(node, () -> evaluateNetworkProperty(node, arg));
+    }
+
+    private Object evaluateNetworkProperty(NetworkPropertyNode node, Void arg) {
         Object parentValue = node.getParent().accept(this, arg);
         if (parentValue == null) {
             throw new PowsyblException("Cannot call a property '" + node.getPropertyName() + "' on a null object");
@@ -53,6 +183,10 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
 
     @Override
     public Object visitNetworkMethod(NetworkMethodNode node, Void arg) {
+        return evaluateVariable(node, () -> evaluateNetworkMethod(node, arg));
+    }
+
+    private Object evaluateNetworkMethod(NetworkMethodNode node, Void arg) {
         Object parentValue = node.getParent().accept(this, arg);
         if (parentValue == null) {
             throw new PowsyblException("Cannot call a method '" + node.getMethodName() + "' on a null object");
@@ -62,7 +196,9 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
 
     @Override
     public Object visitActionTaken(ActionTakenNode node, Void arg) {
-        return context.isActionTaken(node.getActionId());
+        boolean actionTaken = context.isActionTaken(node.getActionId());
+        addDependency(new NodeDependency(node, actionTaken));
+        return actionTaken;
     }
 
     @Override
@@ -170,7 +306,38 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
         }
     }
 
+    private static double[] getLoading(Branch branch) {
+        Branch.Overload overload1 = branch.checkTemporaryLimits(Branch.Side.ONE, LimitType.CURRENT);
+        Branch.Overload overload2 = branch.checkTemporaryLimits(Branch.Side.TWO, LimitType.CURRENT);
+        return new double[] {
+            branch.getTerminal1().getI(),
+            branch.getTerminal2().getI(),
+            BranchAndSide.getPermanentLimit(branch, Branch.Side.ONE),
+            BranchAndSide.getPermanentLimit(branch, Branch.Side.TWO),
+            overload1 != null ? overload1.getTemporaryLimit().getAcceptableDuration() : Double.NaN,
+            overload1 != null ? overload1.getTemporaryLimit().getValue() : Double.NaN,
+            overload2 != null ? overload2.getTemporaryLimit().getAcceptableDuration() : Double.NaN,
+            overload2 != null ? overload2.getTemporaryLimit().getValue() : Double.NaN
+        };
+    }
+
     private List<String> sortBranches(List<String> branchIds) {
+        if (dependencies != null) {
+            // the ranking may come from the cache, so loadings are recorded even if the branches are not sorted
+            branchIds.forEach(this::getLoadedBranch);
+        }
+        if (cache == null) {
+            return computeSortedBranches(branchIds);
+        }
+        List<String> sortedBranchIds = cache.getSortedBranchIds(branchIds);
+        if (sortedBranchIds == null) {
+            sortedBranchIds = computeSortedBranches(branchIds);
+            cache.putSortedBranchIds(branchIds, sortedBranchIds);
+        }
+        return sortedBranchIds;
+    }
+
+    private List<String> computeSortedBranches(List<String> branchIds) {
         return branchIds.stream()
                 .map(this::getBranch)
                 .map(branch -> {
@@ -214,7 +381,7 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
 
         // Iterate over all the branch Ids to be sure that all the branches exist in the network
         return isOverloadedNode.getBranchIds().stream()
-                .map(id -> getBranch(id).isOverloaded(limitReduction))
+                .map(id -> getLoadedBranch(id).isOverloaded(limitReduction))
                 .reduce(false, (a, b) -> a || b);
     }
 
@@ -224,7 +391,7 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
 
         // Iterate over all the branch Ids to be sure that all the branches exist in the network
         return allOverloadedNode.getBranchIds().stream()
-                .map(id -> getBranch(id).isOverloaded(limitReduction))
+                .map(id -> getLoadedBranch(id).isOverloaded(limitReduction))
                 .reduce(true, (a, b) -> a && b);
     }
 
@@ -235,4 +402,12 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
         }
         return branch;
     }
+
+    private Branch getLoadedBranch(String branchId) {
+        Branch branch = getBranch(branchId);
+        if (dependencies != null) {
+            dependencies.add(new BranchLoadingDependency(branchId, getLoading(branch)));
+        }
+        return branch;
+    }
 }
@@ -48,10 +48,8 @@ public class ConditionDslLoaderTest {
         assertEquals(expected, ActionExpressionPrinter.toString(node));
     }
 
-    private void evalAndAssert(Object expected, String script) throws IOException {
-        ExpressionNode node = (ExpressionNode) new ConditionDslLoader(script).load(network);
-        assertNotNull(node);
-        assertEquals(expected, ActionExpressionEvaluator.evaluate(node, new EvaluationContext() {
+    private EvaluationContext createEvaluationContext() {
+        return new EvaluationContext() {
             @Override
             public Network getNetwork() {
                 return network;
@@ -66,7 +64,19 @@ public class ConditionDslLoaderTest {
             public boolean isActionTaken(String actionId) {
                 return actionId.equals("action");
             }
-        }));
+        };
+    }
+
+    private void evalAndAssert(Object expected, String script) throws IOException {
+        ExpressionNode node = (ExpressionNode) new ConditionDslLoader(script).load(network);
+        assertNotNull(node);
+        assertEquals(expected, ActionExpressionEvaluator.evaluate(node, createEvaluationContext()));
+    }
+
+    private void evalAndAssert(Object expected, String script, ActionExpressionEvaluationCache cache) throws IOException {
+        ExpressionNode node = (ExpressionNode) new ConditionDslLoader(script).load(network);
+        assertNotNull(node);
+        assertEquals(expected, ActionExpressionEvaluator.evaluate(node, createEvaluationContext(), cache));
     }
 
     @Test
@@ -404,6 +414,64 @@ public class ConditionDslLoaderTest {
         }
     }
 
+    @Test
+    public void testVariableCache() throws IOException {
+        ActionExpressionEvaluationCache cache = new ActionExpressionEvaluationCache();
+        line1.getTerminal1().setP(300);
+        evalAndAssert(true, "line('NHV1_NHV2_1').terminal1.p > 200", cache);
+        assertEquals(2, cache.getMissCount()); // terminal1 and p
+        line1.getTerminal1().setP(100);
+        evalAndAssert(true, "line('NHV1_NHV2_1').terminal1.p > 200", cache);
+        assertEquals(1, cache.getHitCount());
+        cache.invalidate();
+        evalAndAssert(false, "line('NHV1_NHV2_1').terminal1.p > 200", cache);
+    }
+
+    @Test
+    public void testConditionDependencies() throws IOException {
+        ActionExpressionEvaluationCache cache = new ActionExpressionEvaluationCache();
+        ExpressionNode condition = (ExpressionNode) new ConditionDslLoader("actionTaken('action') && line('NHV1_NHV2_1').terminal1.p > 200").load(network);
+        ExpressionNode ranking = (ExpressionNode) new ConditionDslLoader("mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2'])").load(network);
+        EvaluationContext context = createEvaluationContext();
+        line1.newCurrentLimits1().setPermanentLimit(400).add();
+        line2.newCurrentLimits1().setPermanentLimit(400).add();
+        line1.getTerminal1().setP(300).setQ(100);
+        line2.getTerminal1().setP(400).setQ(100);
+        assertEquals(true, ActionExpressionEvaluator.evaluateCondition(condition, context, cache));
+        assertEquals("NHV1_NHV2_2", ActionExpressionEvaluator.evaluateCondition(ranking, context, cache));
+        assertEquals(0, cache.getConditionHitCount());
+        assertEquals(2, cache.getConditionMissCount());
+
+        // nothing the conditions depend on has changed
+        network.getGenerator("GEN").setTargetP(700);
+        cache.invalidate();
+        assertEquals(true, ActionExpressionEvaluator.evaluateCondition(condition, context, cache));
+        assertEquals("NHV1_NHV2_2", ActionExpressionEvaluator.evaluateCondition(ranking, context, cache));
+        assertEquals(2, cache.getConditionHitCount());
+        assertEquals(2, cache.getConditionMissCount());
+
+        // variable of the first condition and loading of a branch of the second one changed
+        line1.getTerminal1().setP(500);
+        cache.invalidate();
+        assertEquals(true, ActionExpressionEvaluator.evaluateCondition(condition, context, cache));
+        assertEquals("NHV1_NHV2_1", ActionExpressionEvaluator.evaluateCondition(ranking, context, cache));
+        assertEquals(2, cache.getConditionHitCount());
+        assertEquals(4, cache.getConditionMissCount());
+        line1.getTerminal1().setP(100);
+        cache.invalidate();
+        assertEquals(false, ActionExpressionEvaluator.evaluateCondition(condition, context, cache));
+
+        // values are checked against the current state of the network only after an invalidation
+        line1.getTerminal1().setP(300);
+        assertEquals(false, ActionExpressionEvaluator.evaluateCondition(condition, context, cache));
+
+        // a removed branch fails the evaluation of the condition again
+        cache.invalidate();
+        line2.remove();
+        PowsyblException e = assertThrows(PowsyblException.class, () -> ActionExpressionEvaluator.evaluateCondition(ranking, context, cache));
+        assertEquals("Branch 'NHV1_NHV2_2' not found", e.getMessage());
+    }
+
     @Test
     public void testMostLoaded() throws IOException {
         // add temporary limits
@@ -438,6 +506,18 @@ public class ConditionDslLoaderTest {
         evalAndAssert(1, "loadingRank(mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2']), ['NHV1_NHV2_1', 'NHV1_NHV2_2'])");
         evalAndAssert(1, "loadingRank('NHV1_NHV2_1', [mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2']), 'NHV1_NHV2_2'])");
 
+        // ranking is computed once for a given state of the network
+        ActionExpressionEvaluationCache cache = new ActionExpressionEvaluationCache();
+        evalAndAssert("NHV1_NHV2_1", "mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2'])", cache);
+        evalAndAssert(1, "loadingRank('NHV1_NHV2_1', ['NHV1_NHV2_1', 'NHV1_NHV2_2'])", cache);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        line1.getTerminal1().setP(300).setQ(100);
+        line2.getTerminal1().setP(400).setQ(100);
+        evalAndAssert("NHV1_NHV2_1", "mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2'])", cache);
+        cache.invalidate();
+        evalAndAssert("NHV1_NHV2_2", "mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2'])", cache);
+
         // handle unknown branch
         try {
             evalAndAssert(null, "mostLoaded(['NHV1_NHV2_1', 'UNKNOWN'])");
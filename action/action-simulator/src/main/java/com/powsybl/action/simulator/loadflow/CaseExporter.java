@@ -66,6 +66,11 @@ public class CaseExporter extends DefaultLoadFlowActionSimulatorObserver {
         }
     }
 
+    @Override
+    public boolean isNetworkStateRequired() {
+        return true;
+    }
+
     private void exportNetwork(RunningContext context) {
         DataSource dataSource = DataSourceUtil.createDataSource(outputCaseFolder, getBasename(context.getContingency(), context.getRound()), compressionFormat, null);
         Exporters.export(loader, outputCaseFormat, context.getNetwork(), new Properties(), dataSource);
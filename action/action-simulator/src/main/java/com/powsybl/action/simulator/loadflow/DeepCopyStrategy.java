@@ -12,18 +12,21 @@ import com.powsybl.iidm.xml.NetworkXml;
 import java.util.Objects;
 
 /**
+ * Copy strategy creating each state as a full copy of the network, through {@link NetworkXml#copy(Network)}, so that
+ * each state can hold topology changes that variants cannot. The network must not be modified while states are created.
+ *
  * @author Teofil Calin BANC <teofil-calin.banc at rte-france.com>
  */
 class DeepCopyStrategy implements NetworkCopyStrategy {
-    private final byte[] compressedBytes;
+    private final Network network;
 
     DeepCopyStrategy(Network network) {
-        this.compressedBytes = NetworkXml.gzip(Objects.requireNonNull(network));
+        this.network = Objects.requireNonNull(network);
     }
 
     @Override
     public Network createState(String id) {
-        return NetworkXml.gunzip(compressedBytes);
+        return NetworkXml.copy(network);
     }
 
     @Override
@@ -12,6 +12,8 @@ import com.powsybl.action.simulator.ActionSimulator;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyTopologyImpactsCache;
+import com.powsybl.contingency.tasks.ModificationTask;
 import com.powsybl.dsl.ast.ExpressionNode;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.loadflow.LoadFlow;
@@ -118,28 +120,55 @@ public class LoadFlowActionSimulator implements ActionSimulator {
 
         observers.forEach(LoadFlowActionSimulatorObserver::afterPreContingencyAnalysis);
 
-        NetworkCopyStrategy strategy = NetworkCopyStrategy.getInstance(config.getCopyStrategy(), runningContext.getNetwork());
-
         if (preContingencyAnalysisOk || config.isIgnorePreContingencyViolations()) {
-            for (String contingencyId : contingencyIds) {
-                Contingency contingency = actionDb.getContingency(contingencyId);
-                Network network2 = strategy.createState(contingencyId);
-                RunningContext runningContext2 = new RunningContext(network2, contingency);
-
-                observers.forEach(o -> o.beforePostContingencyAnalysis(runningContext2));
+            runPostContingencyAnalyses(actionDb, contingencyIds, runningContext.getNetwork());
+        }
 
-                LOGGER.info("Starting post-contingency analysis '{}'", contingency.getId());
-                contingency.toTask().modify(network2, computationManager);
+        observers.forEach(LoadFlowActionSimulatorObserver::afterPostContingencyAnalysis);
+    }
 
-                observers.forEach(o -> o.postContingencyAnalysisNetworkLoaded(runningContext2));
+    /**
+     * Run the post-contingency analysis of each contingency, starting from the current state of the network.
+     */
+    protected void runPostContingencyAnalyses(ActionDb actionDb, List<String> contingencyIds, Network preContingencyNetwork) {
+        String baseVariantId = preContingencyNetwork.getVariantManager().getWorkingVariantId();
+        NetworkCopyStrategy strategy = createCopyStrategy(preContingencyNetwork);
+        for (String contingencyId : contingencyIds) {
+            Contingency contingency = actionDb.getContingency(contingencyId);
+            Network network2 = strategy.createState(contingencyId);
 
-                next(actionDb, runningContext2);
+            runPostContingencyAnalysis(actionDb, contingency, createContingencyTask(contingency, preContingencyNetwork, baseVariantId), network2);
 
-                strategy.removeState();
-            }
+            strategy.removeState();
         }
+    }
 
-        observers.forEach(LoadFlowActionSimulatorObserver::afterPostContingencyAnalysis);
+    /**
+     * Create the task applying the contingency to a copy of the pre-contingency network, which reuses the impacts of
+     * the contingency on the topology of the pre-contingency network, cached from one run to the next.
+     */
+    protected static ModificationTask createContingencyTask(Contingency contingency, Network preContingencyNetwork, String baseVariantId) {
+        return ContingencyTopologyImpactsCache.of(preContingencyNetwork).toTask(contingency, baseVariantId);
+    }
+
+    /**
+     * Apply the contingency to the network and run the rules engine on it.
+     */
+    protected void runPostContingencyAnalysis(ActionDb actionDb, Contingency contingency, ModificationTask contingencyTask, Network network2) {
+        RunningContext runningContext2 = new RunningContext(network2, contingency);
+
+        observers.forEach(o -> o.beforePostContingencyAnalysis(runningContext2));
+
+        LOGGER.info("Starting post-contingency analysis '{}'", contingency.getId());
+        contingencyTask.modify(network2, computationManager);
+
+        observers.forEach(o -> o.postContingencyAnalysisNetworkLoaded(runningContext2));
+
+        next(actionDb, runningContext2);
+    }
+
+    protected NetworkCopyStrategy createCopyStrategy(Network network) {
+        return NetworkCopyStrategy.getInstance(config.getCopyStrategy(), network);
     }
 
     private static final class RuleContext {
@@ -188,7 +217,12 @@ public class LoadFlowActionSimulator implements ActionSimulator {
                 return context.getTimeLine().actionTaken(actionId);
             }
         };
-        boolean ok = ActionExpressionEvaluator.evaluate(conditionExpr, evalContext).equals(Boolean.TRUE);
+        long startTime = System.nanoTime();
+
+        // condition is only walked again if a value it depends on has changed since its last evaluation, and variables
+        // shared with already evaluated rules are not computed again
+        ActionExpressionEvaluator evaluator = new ActionExpressionEvaluator(evalContext, context.getEvaluationCache());
+        boolean ok = ActionExpressionEvaluator.evaluateCondition(conditionExpr, evalContext, context.getEvaluationCache()).equals(Boolean.TRUE);
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Evaluating {} to {}", ActionExpressionPrinter.toString(conditionExpr), Boolean.toString(ok));
@@ -196,10 +230,14 @@ public class LoadFlowActionSimulator implements ActionSimulator {
 
         Map<String, Object> variables = ExpressionVariableLister.list(conditionExpr).stream()
                 .collect(Collectors.toMap(ActionExpressionPrinter::toString,
-                    n -> ActionExpressionEvaluator.evaluate(n, evalContext),
+                    n -> n.accept(evaluator, null),
                     (v1, v2) -> v1,
                     TreeMap::new));
 
+        long evaluationTime = System.nanoTime() - startTime;
+        context.addRuleEvaluationTime(rule.getId(), evaluationTime);
+        LOGGER.debug("Rule '{}' evaluated in {} us", rule.getId(), evaluationTime / 1000);
+
         LOGGER.debug("Variables values: {}", variables);
 
         RuleEvaluationStatus status;
@@ -228,6 +266,7 @@ public class LoadFlowActionSimulator implements ActionSimulator {
             observers.forEach(o -> o.beforeAction(context, actionId));
 
             action.run(context.getNetwork(), computationManager);
+            context.getEvaluationCache().invalidate();
 
             observers.forEach(o -> o.afterAction(context, actionId));
             actionsTaken.add(actionId);
@@ -304,6 +343,8 @@ public class LoadFlowActionSimulator implements ActionSimulator {
         } catch (Exception e) {
             throw new PowsyblException(e);
         }
+        // network state has changed, even if the load flow diverged
+        context.getEvaluationCache().invalidate();
         if (result.isOk()) {
             return checkViolations(actionDb, context);
         } else {
@@ -336,7 +377,7 @@ public class LoadFlowActionSimulator implements ActionSimulator {
                 .filter(rule -> rule.getType().equals(RuleType.TEST))
                 .filter(rule -> {
                     ExpressionNode conditionExpr = ((ExpressionCondition) rule.getCondition()).getNode();
-                    return ActionExpressionEvaluator.evaluate(conditionExpr, evalContext).equals(Boolean.TRUE);
+                    return ActionExpressionEvaluator.evaluateCondition(conditionExpr, evalContext, context.getEvaluationCache()).equals(Boolean.TRUE);
                 })
                 .collect(Collectors.toList());
         List<String> testActionIds = activedRules.stream()
@@ -349,7 +390,7 @@ public class LoadFlowActionSimulator implements ActionSimulator {
             return;
         }
 
-        NetworkCopyStrategy strategy = NetworkCopyStrategy.getInstance(config.getCopyStrategy(), context.getNetwork());
+        NetworkCopyStrategy strategy = createCopyStrategy(context.getNetwork());
 
         for (String actionId : testActionIds) {
             Action action = actionDb.getAction(actionId);
@@ -368,6 +409,7 @@ public class LoadFlowActionSimulator implements ActionSimulator {
                         observers.forEach(o -> o.noMoreViolationsAfterTest(context, action.getId()));
                         observers.forEach(o -> o.beforeApplyTest(context, action.getId()));
                         action.run(context.getNetwork(), computationManager);
+                        context.getEvaluationCache().invalidate();
                         context.getTimeLine().getActions().add(actionId);
                         observers.forEach(o -> o.loadFlowConverged(context, violationsInTest));
                         observers.forEach(o -> o.noMoreViolations(context));
@@ -60,4 +60,13 @@ public interface LoadFlowActionSimulatorObserver {
 
     void maxIterationsReached(RunningContext runningContext);
 
+    /**
+     * Tell whether this observer reads the state of the network of the running contexts it is notified with. When
+     * post-contingency analyses are run in parallel, notifications are replayed once the network has changed: only the
+     * observers reading the network state are given a copy of the network in its state at the time of the
+     * notification, the others are given the network in its state at the end of the analysis.
+     */
+    default boolean isNetworkStateRequired() {
+        return false;
+    }
 }
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.simulator.loadflow;
+
+import com.powsybl.action.dsl.ActionDb;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.loadflow.LoadFlowParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Load flow action simulator running post-contingency analyses in parallel, in the same process, using the executor
+ * of the computation manager. Each analysis runs on its own variant of the network, which requires variant multi
+ * thread access: contingencies and actions must only modify variant dependent attributes of the network (switches,
+ * injections, taps...), and tests of actions are run on deep copies of the network.
+ * <p>
+ * Notifications of a post-contingency analysis are forwarded to the observers once the analysis is finished, from
+ * the calling thread and in the order of the contingencies, so observers do not have to be thread safe and outputs are
+ * the same as the ones of a sequential simulation. Each notification gets a copy of the running context in its state
+ * at the time the notification was recorded. Its network is in its state at the end of the analysis, except for
+ * observers requiring the network state, see {@link LoadFlowActionSimulatorObserver#isNetworkStateRequired()}, which
+ * get a copy of the network in its state at the time of the notification.
+ *
+ * @author agent <agent at local>
+ */
+public class MultiThreadLoadFlowActionSimulator extends LoadFlowActionSimulator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiThreadLoadFlowActionSimulator.class);
+
+    private final int workerCount;
+
+    private final RecordingLoadFlowActionSimulatorObserver recorder;
+
+    private static final class PendingAnalysis {
+
+        private final String variantId;
+
+        private final CompletableFuture<List<Consumer<LoadFlowActionSimulatorObserver>>> notifications;
+
+        private PendingAnalysis(String variantId, CompletableFuture<List<Consumer<LoadFlowActionSimulatorObserver>>> notifications) {
+            this.variantId = variantId;
+            this.notifications = notifications;
+        }
+    }
+
+    public MultiThreadLoadFlowActionSimulator(Network network, ComputationManager computationManager, int workerCount,
+                                              LoadFlowActionSimulatorConfig config, boolean applyIfSolvedViolations,
+                                              LoadFlowActionSimulatorObserver... observers) {
+        this(network, computationManager, workerCount, config, applyIfSolvedViolations, LoadFlowParameters.load(), Arrays.asList(observers));
+    }
+
+    public MultiThreadLoadFlowActionSimulator(Network network, ComputationManager computationManager, int workerCount,
+                                              LoadFlowActionSimulatorConfig config, boolean applyIfSolvedViolations,
+                                              LoadFlowParameters parameters, List<LoadFlowActionSimulatorObserver> observers) {
+        this(network, computationManager, workerCount, config, applyIfSolvedViolations, parameters,
+                new RecordingLoadFlowActionSimulatorObserver(Objects.requireNonNull(observers)));
+    }
+
+    private MultiThreadLoadFlowActionSimulator(Network network, ComputationManager computationManager, int workerCount,
+                                               LoadFlowActionSimulatorConfig config, boolean applyIfSolvedViolations,
+                                               LoadFlowParameters parameters, RecordingLoadFlowActionSimulatorObserver recorder) {
+        super(network, computationManager, config, applyIfSolvedViolations, parameters, Collections.singletonList(recorder));
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Invalid worker count: " + workerCount);
+        }
+        this.workerCount = workerCount;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public String getName() {
+        return "loadflow-multi-thread";
+    }
+
+    @Override
+    protected NetworkCopyStrategy createCopyStrategy(Network network) {
+        // variants cannot be created concurrently
+        return NetworkCopyStrategy.getInstance(CopyStrategy.DEEP, network);
+    }
+
+    private List<Consumer<LoadFlowActionSimulatorObserver>> runPostContingencyAnalysis(ActionDb actionDb, Contingency contingency,
+                                                                                        Network network,
+                                                                                        String baseVariantId, String variantId) {
+        network.getVariantManager().cloneVariant(baseVariantId, variantId, true);
+        network.getVariantManager().setWorkingVariant(variantId);
+        recorder.startRecording();
+        try {
+            // topology impacts of the contingency are reused from previous runs, or computed by this worker
+            runPostContingencyAnalysis(actionDb, contingency, createContingencyTask(contingency, network, baseVariantId), network);
+        } catch (Exception e) {
+            recorder.stopRecording();
+            throw e;
+        }
+        return recorder.stopRecording();
+    }
+
+    private void replay(PendingAnalysis analysis, VariantManager variantManager) {
+        List<Consumer<LoadFlowActionSimulatorObserver>> notifications;
+        try {
+            notifications = analysis.notifications.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PowsyblException(e.getCause());
+        }
+        variantManager.setWorkingVariant(analysis.variantId);
+        recorder.replay(notifications);
+    }
+
+    @Override
+    protected void runPostContingencyAnalyses(ActionDb actionDb, List<String> contingencyIds, Network preContingencyNetwork) {
+        Executor executor = Objects.requireNonNull(getComputationManager().getExecutor());
+        VariantManager variantManager = preContingencyNetwork.getVariantManager();
+        String baseVariantId = variantManager.getWorkingVariantId();
+        boolean multiThreadAccessAllowed = variantManager.isVariantMultiThreadAccessAllowed();
+
+        // one variant per analysis running or waiting for its notifications to be replayed
+        String hash = UUID.randomUUID().toString();
+        List<String> variantIds = IntStream.range(0, workerCount).mapToObj(i -> hash + "_" + i).collect(Collectors.toList());
+        variantManager.allowVariantMultiThreadAccess(true);
+        variantManager.cloneVariant(baseVariantId, variantIds);
+
+        LOGGER.info("Running {} post-contingency analyses with {} workers", contingencyIds.size(), workerCount);
+
+        Deque<String> freeVariantIds = new ArrayDeque<>(variantIds);
+        Deque<PendingAnalysis> pendingAnalyses = new ArrayDeque<>();
+        try {
+            for (String contingencyId : contingencyIds) {
+                if (freeVariantIds.isEmpty()) {
+                    // replay the oldest analysis to free its variant
+                    PendingAnalysis analysis = pendingAnalyses.poll();
+                    replay(analysis, variantManager);
+                    freeVariantIds.add(analysis.variantId);
+                }
+                String variantId = freeVariantIds.poll();
+                Contingency contingency = actionDb.getContingency(contingencyId);
+                pendingAnalyses.add(new PendingAnalysis(variantId, CompletableFuture.supplyAsync(() ->
+                        runPostContingencyAnalysis(actionDb, contingency, preContingencyNetwork, baseVariantId, variantId), executor)));
+            }
+            while (!pendingAnalyses.isEmpty()) {
+                replay(pendingAnalyses.poll(), variantManager);
+            }
+        } finally {
+            // variants cannot be removed while analyses are still running
+            pendingAnalyses.forEach(analysis -> analysis.notifications.exceptionally(e -> null).join());
+            variantManager.setWorkingVariant(baseVariantId);
+            variantIds.forEach(variantManager::removeVariant);
+            variantManager.allowVariantMultiThreadAccess(multiThreadAccessAllowed);
+        }
+    }
+}
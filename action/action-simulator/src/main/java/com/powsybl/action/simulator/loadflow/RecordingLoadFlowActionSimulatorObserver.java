@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.simulator.loadflow;
+
+import com.powsybl.action.dsl.Rule;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
+import com.powsybl.security.LimitViolation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Observer forwarding notifications to a list of observers. Notifications of a thread which has started a recording
+ * are not forwarded but recorded, so that they can be replayed later, in a deterministic order, from a single thread.
+ * This allows to use observers which are not thread safe with a multi-threaded simulation.
+ * <p>
+ * As the running context and the network go on changing after a notification is recorded, recorded notifications
+ * get a copy of the running context, which only holds the data of the simulation (round, applied and tested actions,
+ * rule counts...). This copy refers to the network itself, whose state, when notifications are replayed, is the one
+ * at the end of the analysis. Only if an observer requires the network state, see
+ * {@link LoadFlowActionSimulatorObserver#isNetworkStateRequired()}, a copy of the network is taken, and shared by the
+ * notifications recorded until the simulator changes the network again. This copy is only given to these observers.
+ *
+ * @author agent <agent at local>
+ */
+class RecordingLoadFlowActionSimulatorObserver implements LoadFlowActionSimulatorObserver {
+
+    private final List<LoadFlowActionSimulatorObserver> observers;
+
+    private final boolean networkStateRequired;
+
+    private static final class Recording {
+
+        private final List<Consumer<LoadFlowActionSimulatorObserver>> notifications = new ArrayList<>();
+
+        // copy of the network in its current state, null if the network may have changed since it has been taken
+        private Network network;
+    }
+
+    private final ThreadLocal<Recording> recording = new ThreadLocal<>();
+
+    RecordingLoadFlowActionSimulatorObserver(List<LoadFlowActionSimulatorObserver> observers) {
+        this.observers = Objects.requireNonNull(observers);
+        networkStateRequired = observers.stream().anyMatch(LoadFlowActionSimulatorObserver::isNetworkStateRequired);
+    }
+
+    void startRecording() {
+        recording.set(new Recording());
+    }
+
+    List<Consumer<LoadFlowActionSimulatorObserver>> stopRecording() {
+        Recording currentRecording = recording.get();
+        if (currentRecording == null) {
+            throw new IllegalStateException("Recording has not been started");
+        }
+        recording.remove();
+        return currentRecording.notifications;
+    }
+
+    void replay(List<Consumer<LoadFlowActionSimulatorObserver>> notifications) {
+        notifications.forEach(observers::forEach);
+    }
+
+    private void notify(Consumer<LoadFlowActionSimulatorObserver> notification) {
+        Recording currentRecording = recording.get();
+        if (currentRecording != null) {
+            currentRecording.notifications.add(notification);
+        } else {
+            observers.forEach(notification);
+        }
+    }
+
+    private void notify(RunningContext runningContext, BiConsumer<LoadFlowActionSimulatorObserver, RunningContext> notification) {
+        Recording currentRecording = recording.get();
+        if (currentRecording != null) {
+            RunningContext copy = runningContext.copy(runningContext.getNetwork());
+            if (networkStateRequired) {
+                if (currentRecording.network == null) {
+                    // the working variant of the network is local to this thread, so the copy has to be done here
+                    currentRecording.network = NetworkXml.copy(runningContext.getNetwork());
+                }
+                RunningContext stateCopy = runningContext.copy(currentRecording.network);
+                currentRecording.notifications.add(o -> notification.accept(o, o.isNetworkStateRequired() ? stateCopy : copy));
+            } else {
+                currentRecording.notifications.add(o -> notification.accept(o, copy));
+            }
+        } else {
+            observers.forEach(o -> notification.accept(o, runningContext));
+        }
+    }
+
+    /**
+     * Notification after which the simulator changes the network: the next notification needs a new network copy.
+     */
+    private void notifyBeforeNetworkChange(RunningContext runningContext, BiConsumer<LoadFlowActionSimulatorObserver, RunningContext> notification) {
+        notify(runningContext, notification);
+        Recording currentRecording = recording.get();
+        if (currentRecording != null) {
+            currentRecording.network = null;
+        }
+    }
+
+    @Override
+    public void beforePreContingencyAnalysis(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.beforePreContingencyAnalysis(c));
+    }
+
+    @Override
+    public void afterPreContingencyAnalysis() {
+        notify(LoadFlowActionSimulatorObserver::afterPreContingencyAnalysis);
+    }
+
+    @Override
+    public void beforePostContingencyAnalysis(RunningContext runningContext) {
+        notifyBeforeNetworkChange(runningContext, (o, c) -> o.beforePostContingencyAnalysis(c));
+    }
+
+    @Override
+    public void postContingencyAnalysisNetworkLoaded(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.postContingencyAnalysisNetworkLoaded(c));
+    }
+
+    @Override
+    public void roundBegin(RunningContext runningContext) {
+        notifyBeforeNetworkChange(runningContext, (o, c) -> o.roundBegin(c));
+    }
+
+    @Override
+    public void roundEnd(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.roundEnd(c));
+    }
+
+    @Override
+    public void loadFlowDiverged(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.loadFlowDiverged(c));
+    }
+
+    @Override
+    public void loadFlowConverged(RunningContext runningContext, List<LimitViolation> violations) {
+        notify(runningContext, (o, c) -> o.loadFlowConverged(c, violations));
+    }
+
+    @Override
+    public void ruleChecked(RunningContext runningContext, Rule rule, RuleEvaluationStatus status, Map<String, Object> variables, Map<String, Boolean> actions) {
+        notify(runningContext, (o, c) -> o.ruleChecked(c, rule, status, variables, actions));
+    }
+
+    @Override
+    public void beforeAction(RunningContext runningContext, String actionId) {
+        notifyBeforeNetworkChange(runningContext, (o, c) -> o.beforeAction(c, actionId));
+    }
+
+    @Override
+    public void beforeTest(RunningContext runningContext, String actionId) {
+        notify(runningContext, (o, c) -> o.beforeTest(c, actionId));
+    }
+
+    @Override
+    public void afterAction(RunningContext runningContext, String actionId) {
+        notify(runningContext, (o, c) -> o.afterAction(c, actionId));
+    }
+
+    @Override
+    public void afterTest(RunningContext runningContext, String actionId) {
+        notify(runningContext, (o, c) -> o.afterTest(c, actionId));
+    }
+
+    @Override
+    public void violationsAfterTest(String actionId, List<LimitViolation> violations) {
+        notify(o -> o.violationsAfterTest(actionId, violations));
+    }
+
+    @Override
+    public void divergedAfterTest(String actionId) {
+        notify(o -> o.divergedAfterTest(actionId));
+    }
+
+    @Override
+    public void noMoreViolations(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.noMoreViolations(c));
+    }
+
+    @Override
+    public void noMoreViolationsAfterTest(RunningContext runningContext, String actionId) {
+        notify(runningContext, (o, c) -> o.noMoreViolationsAfterTest(c, actionId));
+    }
+
+    @Override
+    public void beforeApplyTest(RunningContext runningContext, String actionId) {
+        notifyBeforeNetworkChange(runningContext, (o, c) -> o.beforeApplyTest(c, actionId));
+    }
+
+    @Override
+    public void afterApplyTest(RunningContext runningContext, String actionId) {
+        notify(runningContext, (o, c) -> o.afterApplyTest(c, actionId));
+    }
+
+    @Override
+    public void violationsAnymoreAndNoRulesMatch(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.violationsAnymoreAndNoRulesMatch(c));
+    }
+
+    @Override
+    public void afterPostContingencyAnalysis() {
+        notify(LoadFlowActionSimulatorObserver::afterPostContingencyAnalysis);
+    }
+
+    @Override
+    public void maxIterationsReached(RunningContext runningContext) {
+        notify(runningContext, (o, c) -> o.maxIterationsReached(c));
+    }
+}
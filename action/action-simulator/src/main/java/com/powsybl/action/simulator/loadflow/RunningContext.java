@@ -6,6 +6,7 @@
  */
 package com.powsybl.action.simulator.loadflow;
 
+import com.powsybl.action.dsl.ast.ActionExpressionEvaluationCache;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.contingency.Contingency;
 
@@ -31,6 +32,10 @@ public class RunningContext {
 
     private final List<String> workedTests = new ArrayList<>();
 
+    private final ActionExpressionEvaluationCache evaluationCache = new ActionExpressionEvaluationCache();
+
+    private final Map<String, Long> ruleEvaluationTimes = new TreeMap<>();
+
     public RunningContext(Network network, Contingency contingency) {
         this.network = network;
         this.contingency = contingency;
@@ -41,6 +46,20 @@ public class RunningContext {
         this(network, null);
     }
 
+    /**
+     * Copy of this context in its current state, on the given network. The evaluation cache is not copied.
+     */
+    RunningContext copy(Network otherNetwork) {
+        RunningContext copy = new RunningContext(otherNetwork, contingency);
+        copy.round = round;
+        copy.timeLine.getActions().addAll(timeLine.getActions());
+        rulesMatchCount.forEach((ruleId, count) -> copy.rulesMatchCount.put(ruleId, new AtomicInteger(count.get())));
+        copy.testedActionsIds.addAll(testedActionsIds);
+        copy.workedTests.addAll(workedTests);
+        copy.ruleEvaluationTimes.putAll(ruleEvaluationTimes);
+        return copy;
+    }
+
     public int getRound() {
         return round;
     }
@@ -92,4 +111,24 @@ public class RunningContext {
     public void addTested(String actionId) {
         testedActionsIds.add(actionId);
     }
+
+    /**
+     * Values of the rule conditions variables for the current state of the network, shared by all rules
+     * evaluated in a round, and results of the rule conditions, reused from one round to the next as long as the
+     * values they depend on do not change.
+     */
+    public ActionExpressionEvaluationCache getEvaluationCache() {
+        return evaluationCache;
+    }
+
+    public void addRuleEvaluationTime(String ruleId, long nanos) {
+        ruleEvaluationTimes.merge(ruleId, nanos, Long::sum);
+    }
+
+    /**
+     * Cumulated evaluation time of each rule, in nanoseconds.
+     */
+    public Map<String, Long> getRuleEvaluationTimes() {
+        return Collections.unmodifiableMap(ruleEvaluationTimes);
+    }
 }
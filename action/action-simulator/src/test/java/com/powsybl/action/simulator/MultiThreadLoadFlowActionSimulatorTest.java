@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.simulator;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.action.dsl.ActionDb;
+import com.powsybl.action.dsl.ActionDslLoader;
+import com.powsybl.action.simulator.loadflow.*;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.export.ExportersLoader;
+import com.powsybl.iidm.export.ExportersLoaderList;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
+import com.powsybl.iidm.xml.XMLExporter;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.security.LimitViolation;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.results.PostContingencyResult;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class MultiThreadLoadFlowActionSimulatorTest {
+
+    private static final List<String> CONTINGENCY_IDS = Arrays.asList("contingency1", "contingency2", "contingency3", "contingency4");
+
+    private final LoadFlowActionSimulatorConfig config = new LoadFlowActionSimulatorConfig("LoadFlowMock", 3, true, false);
+
+    private ExecutorService executor;
+
+    private ComputationManager computationManager;
+
+    private Network network;
+
+    private ActionDb actionDb;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        computationManager = Mockito.mock(ComputationManager.class);
+        Mockito.when(computationManager.getExecutor()).thenReturn(executor);
+        network = EurostagTutorialExample1WithTemporaryLimitFactory.create();
+        network.getVoltageLevel("VLHV1").getBusBreakerView().getBus("NHV1").setV(380).setAngle(0);
+        network.getLine("NHV1_NHV2_2").getTerminal1().setP(300).setQ(100);
+        GroovyCodeSource src = new GroovyCodeSource(new InputStreamReader(getClass().getResourceAsStream("/multi-thread.groovy")), "test", GroovyShell.DEFAULT_CODE_BASE);
+        actionDb = new ActionDslLoader(src).load(network);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Records notifications of post-contingency analyses, with the state of the network when the analysis ends.
+     */
+    private static final class EventLogger extends DefaultLoadFlowActionSimulatorObserver {
+
+        private final List<String> events = new ArrayList<>();
+
+        private final List<String> threadNames = new ArrayList<>();
+
+        @Override
+        public boolean isNetworkStateRequired() {
+            return true;
+        }
+
+        @Override
+        public void beforePostContingencyAnalysis(RunningContext runningContext) {
+            events.add(runningContext.getContingency().getId() + " begin");
+            threadNames.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void afterAction(RunningContext runningContext, String actionId) {
+            if (runningContext.getContingency() != null) {
+                events.add(runningContext.getContingency().getId() + " " + actionId);
+            }
+        }
+
+        @Override
+        public void noMoreViolations(RunningContext runningContext) {
+            events.add(runningContext.getContingency().getId() + " no more violations, p0=" + runningContext.getNetwork().getLoad("LOAD").getP0());
+        }
+
+        @Override
+        public void violationsAnymoreAndNoRulesMatch(RunningContext runningContext) {
+            if (runningContext.getContingency() != null) {
+                events.add(runningContext.getContingency().getId() + " still violations, p0=" + runningContext.getNetwork().getLoad("LOAD").getP0());
+            }
+        }
+    }
+
+    /**
+     * Collects the networks of the running contexts it is notified with, without reading their state.
+     */
+    private static final class NetworkCollector extends DefaultLoadFlowActionSimulatorObserver {
+
+        private final Set<Network> networks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Override
+        public void roundBegin(RunningContext runningContext) {
+            networks.add(runningContext.getNetwork());
+        }
+
+        @Override
+        public void loadFlowConverged(RunningContext runningContext, List<LimitViolation> violations) {
+            networks.add(runningContext.getNetwork());
+        }
+    }
+
+    private static List<String> getContingencyIds(SecurityAnalysisResult result) {
+        return result.getPostContingencyResults().stream()
+                .map(PostContingencyResult::getContingency)
+                .map(Contingency::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void test() {
+        EventLogger sequentialLogger = new EventLogger();
+        List<SecurityAnalysisResult> sequentialResults = new ArrayList<>();
+        new LoadFlowActionSimulator(network, computationManager, config, false, new LoadFlowParameters(),
+                sequentialLogger, new SecurityAnalysisResultHandler().add(sequentialResults::add))
+                .start(actionDb, CONTINGENCY_IDS);
+
+        EventLogger logger = new EventLogger();
+        NetworkCollector collector = new NetworkCollector();
+        List<SecurityAnalysisResult> results = new ArrayList<>();
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        int variantCount = network.getVariantManager().getVariantIds().size();
+        MultiThreadLoadFlowActionSimulator simulator = new MultiThreadLoadFlowActionSimulator(network, computationManager, 2, config, false,
+                new LoadFlowParameters(), Arrays.asList(logger, collector, new SecurityAnalysisResultHandler().add(results::add)));
+        assertEquals("loadflow-multi-thread", simulator.getName());
+        simulator.start(actionDb, CONTINGENCY_IDS);
+
+        // same notifications, in the same order, with the same network states
+        assertEquals(sequentialLogger.events, logger.events);
+        assertTrue(logger.events.contains("contingency1 still violations, p0=601.0"));
+        assertTrue(logger.events.contains("contingency2 no more violations, p0=600.0"));
+        // observers are notified from the calling thread
+        assertTrue(logger.threadNames.stream().allMatch(Thread.currentThread().getName()::equals));
+        // the network is only copied for the observers reading its state
+        assertEquals(Collections.singleton(network), collector.networks);
+
+        assertEquals(1, results.size());
+        assertEquals(CONTINGENCY_IDS, getContingencyIds(results.get(0)));
+        assertEquals(getContingencyIds(sequentialResults.get(0)), getContingencyIds(results.get(0)));
+
+        // worker variants are removed and pre-contingency state is preserved
+        assertEquals(variantId, network.getVariantManager().getWorkingVariantId());
+        assertEquals(variantCount, network.getVariantManager().getVariantIds().size());
+        assertFalse(network.getVariantManager().isVariantMultiThreadAccessAllowed());
+        assertEquals(600, network.getLoad("LOAD").getP0(), 0);
+    }
+
+    private static Set<String> listFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    public void testReplayRounds() throws IOException {
+        ExportersLoader loader = new ExportersLoaderList(new XMLExporter());
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path sequentialDir = Files.createDirectory(fileSystem.getPath("/sequential"));
+            ByteArrayOutputStream sequentialOut = new ByteArrayOutputStream();
+            new LoadFlowActionSimulator(network, computationManager, config, false, new LoadFlowParameters(),
+                    new LoadFlowActionSimulatorLogPrinter(new PrintStream(sequentialOut), new PrintStream(sequentialOut), false),
+                    new CaseExporter(sequentialDir, "case", "XIIDM", null, true, loader))
+                    .start(actionDb, CONTINGENCY_IDS);
+
+            Path dir = Files.createDirectory(fileSystem.getPath("/multi-thread"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new MultiThreadLoadFlowActionSimulator(network, computationManager, 2, config, false, new LoadFlowParameters(),
+                    Arrays.asList(new LoadFlowActionSimulatorLogPrinter(new PrintStream(out), new PrintStream(out), false),
+                                  new CaseExporter(dir, "case", "XIIDM", null, true, loader)))
+                    .start(actionDb, CONTINGENCY_IDS);
+
+            // each round is printed with its own number
+            String log = out.toString(StandardCharsets.UTF_8);
+            assertEquals(sequentialOut.toString(StandardCharsets.UTF_8), log);
+            assertTrue(log.contains("Starting post-contingency 'contingency1' analysis\n    Round 0\n"));
+            assertTrue(log.contains("    Round 1\n"));
+
+            // each round is exported under its own name, with the state of the network at this round
+            assertEquals(listFiles(sequentialDir), listFiles(dir));
+            assertTrue(listFiles(dir).containsAll(Arrays.asList("case-contingency1-R0.xiidm", "case-contingency1-R1.xiidm")));
+            assertEquals(600, NetworkXml.read(dir.resolve("case-contingency1-R0.xiidm")).getLoad("LOAD").getP0(), 0);
+            assertEquals(601, NetworkXml.read(dir.resolve("case-contingency1-R1.xiidm")).getLoad("LOAD").getP0(), 0);
+            for (String file : listFiles(dir)) {
+                Network sequentialNetwork = NetworkXml.read(sequentialDir.resolve(file));
+                assertEquals(file, sequentialNetwork.getLoad("LOAD").getP0(), NetworkXml.read(dir.resolve(file)).getLoad("LOAD").getP0(), 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWorkerCount() {
+        new MultiThreadLoadFlowActionSimulator(network, computationManager, 0, config, false);
+    }
+}
@@ -6,16 +6,22 @@
  */
 package com.powsybl.action.simulator;
 
+import com.powsybl.action.simulator.loadflow.DefaultLoadFlowActionSimulatorObserver;
+import com.powsybl.action.simulator.loadflow.LoadFlowActionSimulatorObserver;
+import com.powsybl.action.simulator.loadflow.RunningContext;
 import com.powsybl.iidm.network.Network;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class SimpleDslTest extends AbstractLoadFlowRulesEngineTest {
 
+    private RunningContext runningContext;
+
     @Override
     protected Network createNetwork() {
         Network network = EurostagTutorialExample1WithTemporaryLimitFactory.create();
@@ -24,6 +30,16 @@ public class SimpleDslTest extends AbstractLoadFlowRulesEngineTest {
         return network;
     }
 
+    @Override
+    protected LoadFlowActionSimulatorObserver createObserver() {
+        return new DefaultLoadFlowActionSimulatorObserver() {
+            @Override
+            public void roundEnd(RunningContext runningContext) {
+                SimpleDslTest.this.runningContext = runningContext;
+            }
+        };
+    }
+
     @Override
     protected String getDslFile() {
         return "/simple-dsl.groovy";
@@ -34,5 +50,8 @@ public class SimpleDslTest extends AbstractLoadFlowRulesEngineTest {
         assertEquals(600, network.getLoad("LOAD").getP0(), 1e-6);
         engine.start(actionDb);
         assertEquals(601, network.getLoad("LOAD").getP0(), 1e-6);
+        assertTrue(runningContext.getRuleEvaluationTimes().containsKey("rule1"));
+        // variables reported to observers are not evaluated again
+        assertTrue(runningContext.getEvaluationCache().getHitCount() > 0);
     }
 }
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+contingency('contingency1') {
+    equipments 'NHV1_NHV2_1'
+}
+
+contingency('contingency2') {
+    equipments 'NHV1_NHV2_2'
+}
+
+contingency('contingency3') {
+    equipments 'NGEN_NHV1'
+}
+
+contingency('contingency4') {
+    equipments 'NHV2_NLOAD'
+}
+
+rule('rule1') {
+    when contingencyOccurred() && line('NHV1_NHV2_2').terminal1.i > 50
+    apply 'action1'
+}
+
+action('action1') {
+    tasks {
+        script {
+            load('LOAD').p0 += 1
+        }
+    }
+}
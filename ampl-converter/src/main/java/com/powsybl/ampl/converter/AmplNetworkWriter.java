@@ -8,6 +8,7 @@
 package com.powsybl.ampl.converter;
 
 import com.powsybl.ampl.converter.util.AmplDatTableFormatter;
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.commons.extensions.Extendable;
 import com.powsybl.commons.extensions.Extension;
@@ -29,6 +30,7 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,6 +38,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static com.powsybl.ampl.converter.AmplConstants.DEFAULT_VARIANT_INDEX;
 import static com.powsybl.ampl.converter.AmplConstants.VARIANT;
@@ -105,6 +110,46 @@ public class AmplNetworkWriter {
 
     }
 
+    @FunctionalInterface
+    private interface TableWriter {
+
+        void write(AmplNetworkWriter networkWriter, Writer writer, AmplExportContext context) throws IOException;
+    }
+
+    /**
+     * Tables of the network, in writing order.
+     */
+    private enum Table {
+        BUSES("_network_buses", false, (w, writer, context) -> w.writeBuses(writer, context)),
+        TAP_CHANGERS("_network_tct", false, (w, writer, context) -> w.writeTapChangerTable(writer)),
+        RATIO_TAP_CHANGERS("_network_rtc", false, (w, writer, context) -> w.writeRatioTapChangers(writer)),
+        PHASE_TAP_CHANGERS("_network_ptc", false, (w, writer, context) -> w.writePhaseTapChangers(writer)),
+        BRANCHES("_network_branches", true, (w, writer, context) -> w.writeBranches(writer, context)),
+        CURRENT_LIMITS("_network_limits", false, (w, writer, context) -> w.writeCurrentLimits(writer)),
+        GENERATORS("_network_generators", true, (w, writer, context) -> w.writeGenerators(writer, context)),
+        BATTERIES("_network_batteries", true, (w, writer, context) -> w.writeBatteries(writer, context)),
+        LOADS("_network_loads", true, (w, writer, context) -> w.writeLoads(writer, context)),
+        SHUNTS("_network_shunts", true, (w, writer, context) -> w.writeShunts(writer, context)),
+        STATIC_VAR_COMPENSATORS("_network_static_var_compensators", false, (w, writer, context) -> w.writeStaticVarCompensators(writer)),
+        SUBSTATIONS("_network_substations", false, (w, writer, context) -> w.writeSubstations(writer)),
+        VSC_CONVERTER_STATIONS("_network_vsc_converter_stations", false, (w, writer, context) -> w.writeVscConverterStations(writer)),
+        LCC_CONVERTER_STATIONS("_network_lcc_converter_stations", false, (w, writer, context) -> w.writeLccConverterStations(writer)),
+        HVDC_LINES("_network_hvdc", false, (w, writer, context) -> w.writeHvdcLines(writer));
+
+        private final String suffix;
+
+        // true if the table depends on the buses exported by the buses table
+        private final boolean exportedBusesDependent;
+
+        private final TableWriter writer;
+
+        Table(String suffix, boolean exportedBusesDependent, TableWriter writer) {
+            this.suffix = suffix;
+            this.exportedBusesDependent = exportedBusesDependent;
+            this.writer = writer;
+        }
+    }
+
     public AmplNetworkWriter(Network network, int variantIndex, DataSource dataSource, int faultNum, int actionNum,
                              boolean append, StringToIntMapper<AmplSubset> mapper, AmplExportConfig config) {
         this.network = Objects.requireNonNull(network);
@@ -219,9 +264,8 @@ public class AmplNetworkWriter {
         return getTableTitle(network, tableName);
     }
 
-    private void writeSubstations() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_substations", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeSubstations(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Substations"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -344,9 +388,8 @@ public class AmplNetworkWriter {
         return !(isOnlyMainCc() && numCC != ComponentConstants.MAIN_NUM);
     }
 
-    private void writeBuses(AmplExportContext context) throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_buses", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeBuses(Writer writer, AmplExportContext context) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Buses"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -509,9 +552,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeBranches(AmplExportContext context) throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_branches", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeBranches(Writer writer, AmplExportContext context) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Branches"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1001,9 +1043,8 @@ public class AmplNetworkWriter {
         return bus == null ? -1 : mapper.getInt(AmplSubset.BUS, bus.getId());
     }
 
-    private void writeTapChangerTable() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_tct", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeTapChangerTable(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Tap changer table"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1121,7 +1162,7 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeRatioTapChangers() throws IOException {
+    private void writeRatioTapChangers(Writer writer) throws IOException {
         List<Column> columns = new ArrayList<>(8);
         columns.add(new Column(VARIANT));
         columns.add(new Column(NUM));
@@ -1134,8 +1175,7 @@ public class AmplNetworkWriter {
         columns.add(new Column(FAULT));
         columns.add(new Column(config.getActionType().getLabel()));
         columns.add(new Column(ID));
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_rtc", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Ratio tap changers"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1170,9 +1210,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writePhaseTapChangers() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_ptc", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writePhaseTapChangers(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Phase tap changers"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1208,9 +1247,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeLoads(AmplExportContext context) throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_loads", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeLoads(Writer writer, AmplExportContext context) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Loads"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1303,9 +1341,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeShunts(AmplExportContext context) throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_shunts", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeShunts(Writer writer, AmplExportContext context) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Shunts"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1395,9 +1432,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeStaticVarCompensators() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_static_var_compensators", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeStaticVarCompensators(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Static VAR compensators"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1459,9 +1495,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeGenerators(AmplExportContext context) throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_generators", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeGenerators(Writer writer, AmplExportContext context) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Generators"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1550,9 +1585,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeBatteries(AmplExportContext context) throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_batteries", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeBatteries(Writer writer, AmplExportContext context) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Batteries"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1653,9 +1687,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeCurrentLimits() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_limits", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeCurrentLimits(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("Temporary current limits"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1715,9 +1748,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeHvdcLines() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_hvdc", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeHvdcLines(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("HVDC lines"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1773,9 +1805,8 @@ public class AmplNetworkWriter {
         return lineMap;
     }
 
-    private void writeLccConverterStations() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_lcc_converter_stations", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeLccConverterStations(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("LCC Converter Stations"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1824,9 +1855,8 @@ public class AmplNetworkWriter {
         }
     }
 
-    private void writeVscConverterStations() throws IOException {
-        try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream("_network_vsc_converter_stations", "txt", append), StandardCharsets.UTF_8);
-             TableFormatter formatter = new AmplDatTableFormatter(writer,
+    private void writeVscConverterStations(Writer writer) throws IOException {
+        try (TableFormatter formatter = new AmplDatTableFormatter(writer,
                      getTableTitle("VSC Converter Stations"),
                      AmplConstants.INVALID_FLOAT_VALUE,
                      !append,
@@ -1906,25 +1936,127 @@ public class AmplNetworkWriter {
         write(new AmplExportContext());
     }
 
+    private Writer newTableWriter(Table table, boolean append) throws IOException {
+        return new OutputStreamWriter(dataSource.newOutputStream(table.suffix, "txt", append), StandardCharsets.UTF_8);
+    }
+
     public void write(AmplExportContext context) throws IOException {
         extensionMap.clear();
-        writeBuses(context);
-        writeTapChangerTable();
-        writeRatioTapChangers();
-        writePhaseTapChangers();
-        writeBranches(context);
-        writeCurrentLimits();
-        writeGenerators(context);
-        writeBatteries(context);
-        writeLoads(context);
-        writeShunts(context);
-        writeStaticVarCompensators();
-        writeSubstations();
-        writeVscConverterStations();
-        writeLccConverterStations();
-        writeHvdcLines();
+        for (Table table : Table.values()) {
+            try (Writer writer = newTableWriter(table, append)) {
+                table.writer.write(this, writer, context);
+            }
+        }
 
         addNetworkExtensions();
         exportExtensions();
     }
+
+    private static void writeVariants(Table table, Network network, List<String> variantIds, List<AmplNetworkWriter> networkWriters,
+                                      List<AmplExportContext> contexts) {
+        try (Writer writer = networkWriters.get(0).newTableWriter(table, false)) {
+            for (int i = 0; i < variantIds.size(); i++) {
+                network.getVariantManager().setWorkingVariant(variantIds.get(i));
+                table.writer.write(networkWriters.get(i), writer, contexts.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void join(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PowsyblException(e.getCause());
+        }
+    }
+
+    public static void writeVariants(Network network, List<String> variantIds, DataSource dataSource, AmplExportConfig config,
+                                     Executor executor) throws IOException {
+        writeVariants(network, variantIds, dataSource, new StringToIntMapper<>(AmplSubset.class), config, executor);
+    }
+
+    /**
+     * Write several variants of the network in a single export. Each table is written once, with the rows of all the
+     * variants, variant after variant, the index of a variant in the table being its position in the list starting from
+     * {@link AmplConstants#DEFAULT_VARIANT_INDEX}: tables are the same as the ones written by successive exports of the
+     * variants in append mode. Tables are written concurrently using the executor, so the data source has to support
+     * several output streams opened at the same time.
+     * <p>
+     * Ids of the network elements and buses of all the variants are added to the mapper before writing.
+     */
+    public static void writeVariants(Network network, List<String> variantIds, DataSource dataSource, StringToIntMapper<AmplSubset> mapper,
+                                     AmplExportConfig config, Executor executor) throws IOException {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(variantIds);
+        Objects.requireNonNull(dataSource);
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(executor);
+        if (variantIds.isEmpty()) {
+            throw new IllegalArgumentException("Empty variant list");
+        }
+        LOGGER.info("Writing {} variants of network {}", variantIds.size(), network.getId());
+
+        VariantManager variantManager = network.getVariantManager();
+        String workingVariantId = variantManager.getWorkingVariantId();
+        boolean multiThreadAccessAllowed = variantManager.isVariantMultiThreadAccessAllowed();
+        variantManager.allowVariantMultiThreadAccess(true);
+        try {
+            // ids of the buses of all the variants have to be mapped and bus views and components, which are computed
+            // lazily, have to be computed before reading the network concurrently
+            for (String variantId : variantIds) {
+                variantManager.setWorkingVariant(variantId);
+                AmplUtil.fillMapper(mapper, network);
+                AmplUtil.getBuses(network).forEach(Bus::getConnectedComponent);
+            }
+
+            // one writer per table and per variant so that extensions are collected in the same order as by a
+            // sequential export
+            List<AmplExportContext> contexts = new ArrayList<>(variantIds.size());
+            Map<Table, List<AmplNetworkWriter>> networkWriters = new EnumMap<>(Table.class);
+            for (int i = 0; i < variantIds.size(); i++) {
+                contexts.add(new AmplExportContext());
+                for (Table table : Table.values()) {
+                    networkWriters.computeIfAbsent(table, t -> new ArrayList<>())
+                            .add(new AmplNetworkWriter(network, DEFAULT_VARIANT_INDEX + i, dataSource, 0, 0, i > 0, mapper, config));
+                }
+            }
+
+            CompletableFuture<Void> buses = CompletableFuture.runAsync(() -> writeVariants(Table.BUSES, network, variantIds,
+                    networkWriters.get(Table.BUSES), contexts), executor);
+            List<CompletableFuture<Void>> tables = new ArrayList<>();
+            tables.add(buses);
+            for (Table table : Table.values()) {
+                if (table != Table.BUSES) {
+                    Runnable task = () -> writeVariants(table, network, variantIds, networkWriters.get(table), contexts);
+                    tables.add(table.exportedBusesDependent ? buses.thenRunAsync(task, executor) : CompletableFuture.runAsync(task, executor));
+                }
+            }
+            // wait for all the tables, even in case of failure, before giving the network back
+            join(CompletableFuture.allOf(tables.toArray(new CompletableFuture[0])));
+
+            // extensions writers may not support concurrency, they are called sequentially
+            for (int i = 0; i < variantIds.size(); i++) {
+                variantManager.setWorkingVariant(variantIds.get(i));
+                AmplNetworkWriter networkWriter = new AmplNetworkWriter(network, DEFAULT_VARIANT_INDEX + i, dataSource, 0, 0, i > 0, mapper, config);
+                for (Table table : Table.values()) {
+                    networkWriters.get(table).get(i).extensionMap.forEach((name, extensions) ->
+                            networkWriter.extensionMap.computeIfAbsent(name, k -> new ArrayList<>()).addAll(extensions));
+                }
+                networkWriter.addNetworkExtensions();
+                networkWriter.exportExtensions();
+            }
+        } finally {
+            variantManager.setWorkingVariant(workingVariantId);
+            variantManager.allowVariantMultiThreadAccess(multiThreadAccessAllowed);
+        }
+    }
 }
@@ -9,9 +9,12 @@ package com.powsybl.ampl.converter;
 import com.powsybl.commons.AbstractConverterTest;
 import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.commons.datasource.MemDataSource;
+import com.powsybl.commons.util.StringToIntMapper;
 import com.powsybl.iidm.network.HvdcLine;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.ShuntCompensator;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.iidm.network.test.*;
 import org.junit.Assert;
 import org.junit.Test;
@@ -19,7 +22,14 @@ import org.junit.Test;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -227,6 +237,51 @@ public class AmplNetworkWriterTest extends AbstractConverterTest {
         assertEqualsToRef(dataSource, "foo-extension", "inputs/foo-extension.txt");
     }
 
+    @Test
+    public void writeVariants() throws IOException {
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators();
+        network.addExtension(FooNetworkExtension.class, new FooNetworkExtension());
+        VariantManager variantManager = network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v2");
+        variantManager.setWorkingVariant("v2");
+        network.getLoad("LOAD").setP0(700);
+        network.getLine("NHV1_NHV2_1").getTerminal1().disconnect();
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        List<String> variantIds = List.of(VariantManagerConstants.INITIAL_VARIANT_ID, "v2");
+        AmplExportConfig config = new AmplExportConfig(AmplExportConfig.ExportScope.ONLY_MAIN_CC, false, AmplExportConfig.ExportActionType.CURATIVE);
+
+        // successive exports of the variants in append mode
+        StringToIntMapper<AmplSubset> mapper = new StringToIntMapper<>(AmplSubset.class);
+        for (String variantId : variantIds) {
+            variantManager.setWorkingVariant(variantId);
+            AmplUtil.fillMapper(mapper, network);
+        }
+        MemDataSource expected = new MemDataSource();
+        for (int i = 0; i < variantIds.size(); i++) {
+            variantManager.setWorkingVariant(variantIds.get(i));
+            new AmplNetworkWriter(network, AmplConstants.DEFAULT_VARIANT_INDEX + i, expected, 0, 0, i > 0, mapper, config).write();
+        }
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+
+        MemDataSource actual = new MemDataSource();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AmplNetworkWriter.writeVariants(network, variantIds, actual, config, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, variantManager.getWorkingVariantId());
+        assertFalse(variantManager.isVariantMultiThreadAccessAllowed());
+
+        Set<String> names = expected.listNames(".*");
+        assertEquals(names, actual.listNames(".*"));
+        for (String name : names) {
+            assertEquals(new String(expected.getData(name), StandardCharsets.UTF_8), new String(actual.getData(name), StandardCharsets.UTF_8));
+        }
+        String loads = new String(actual.getData("_network_loads", "txt"), StandardCharsets.UTF_8);
+        assertTrue(loads.contains("700.000"));
+    }
+
     private void export(Network network, Properties properties, DataSource dataSource) {
         AmplExporter exporter = new AmplExporter();
         exporter.export(network, properties, dataSource);
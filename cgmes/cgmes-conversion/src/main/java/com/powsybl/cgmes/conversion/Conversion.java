@@ -139,6 +139,29 @@ public class Conversion {
         }
         Network network = createNetwork();
         Context context = createContext(network);
+        // equipments are created in a bulk build, which is aborted if the conversion fails
+        network.bulkBuild(() -> convertModel(network, context));
+
+        // apply post-processors
+        for (CgmesImportPostProcessor postProcessor : postProcessors) {
+            // FIXME generic cgmes models may not have an underlying triplestore
+            // TODO maybe pass the properties to the post processors
+            postProcessor.process(network, cgmes.tripleStore());
+        }
+
+        // Complete Voltages and angles in starBus as properties
+        // Complete Voltages and angles in boundary buses
+        completeVoltagesAndAngles(network);
+
+        if (config.storeCgmesConversionContextAsNetworkExtension()) {
+            // Store the terminal mapping in an extension for external validation
+            network.newExtension(CgmesConversionContextExtensionAdder.class).withContext(context).add();
+        }
+
+        return network;
+    }
+
+    private void convertModel(Network network, Context context) {
         assignNetworkProperties(context);
         addCgmesSvMetadata(network, context);
         addCgmesSshMetadata(network, context);
@@ -226,24 +249,6 @@ public class Conversion {
             // Store a reference to the original CGMES model inside the IIDM network
             network.newExtension(CgmesModelExtensionAdder.class).withModel(cgmes).add();
         }
-
-        // apply post-processors
-        for (CgmesImportPostProcessor postProcessor : postProcessors) {
-            // FIXME generic cgmes models may not have an underlying triplestore
-            // TODO maybe pass the properties to the post processors
-            postProcessor.process(network, cgmes.tripleStore());
-        }
-
-        // Complete Voltages and angles in starBus as properties
-        // Complete Voltages and angles in boundary buses
-        completeVoltagesAndAngles(network);
-
-        if (config.storeCgmesConversionContextAsNetworkExtension()) {
-            // Store the terminal mapping in an extension for external validation
-            network.newExtension(CgmesConversionContextExtensionAdder.class).withContext(context).add();
-        }
-
-        return network;
     }
 
     private CgmesIidmMapping.Source isBoundaryTopologicalNode(String graph) {
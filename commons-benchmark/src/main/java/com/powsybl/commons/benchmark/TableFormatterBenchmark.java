@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.benchmark;
+
+import com.powsybl.commons.io.table.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of numeric cells formatting by table formatters, compared to {@link String#format} of the same values.
+ *
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableFormatterBenchmark {
+
+    @Param({"10000"})
+    public int rowCount;
+
+    @Param({"10"})
+    public int columnCount;
+
+    private final TableFormatterConfig config = new TableFormatterConfig(Locale.US, ';', "inv", true, false);
+
+    private Column[] columns;
+
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new Column("column" + i);
+        }
+        Random random = new Random(0);
+        values = new double[rowCount * columnCount];
+        for (int i = 0; i < values.length; i++) {
+            // powers and voltages like values
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(5));
+        }
+    }
+
+    private String write(TableFormatterFactory factory) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (TableFormatter formatter = factory.create(writer, "benchmark", config, columns)) {
+            for (double value : values) {
+                formatter.writeCell(value);
+            }
+        }
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String csv() throws IOException {
+        return write(new CsvTableFormatterFactory());
+    }
+
+    @Benchmark
+    public String ascii() throws IOException {
+        return write(new AsciiTableFormatterFactory());
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        StringBuilder builder = new StringBuilder();
+        for (double value : values) {
+            builder.append(String.format(config.getLocale(), "%g", value)).append(';');
+        }
+        return builder.toString();
+    }
+}
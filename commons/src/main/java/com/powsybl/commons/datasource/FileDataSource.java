@@ -12,6 +12,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -85,6 +86,18 @@ public class FileDataSource implements DataSource {
         return Files.isRegularFile(path);
     }
 
+    /**
+     * Get the path of a file of this data source, when the file can be read directly instead of through
+     * {@link #newInputStream(String)}, for instance to be memory-mapped: the file is not compressed and reading it
+     * is not observed.
+     */
+    public Optional<Path> getUncompressedFile(String fileName) {
+        if (!getCompressionExt().isEmpty() || observer != null) {
+            return Optional.empty();
+        }
+        return Optional.of(getPath(fileName));
+    }
+
     @Override
     public InputStream newInputStream(String suffix, String ext) throws IOException {
         return newInputStream(DataSourceUtil.getFileName(baseName, suffix, ext));
@@ -12,10 +12,10 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -24,7 +24,7 @@ import java.util.stream.Collectors;
  */
 public class ReadOnlyMemDataSource implements ReadOnlyDataSource {
 
-    private final Map<String, byte[]> data = new HashMap<>();
+    private final Map<String, byte[]> data = new ConcurrentHashMap<>();
 
     private final String baseName;
 
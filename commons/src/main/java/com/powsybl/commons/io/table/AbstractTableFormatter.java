@@ -24,11 +24,14 @@ public abstract class AbstractTableFormatter implements TableFormatter {
 
     protected int column;
 
+    private final GeneralNumberFormatter numberFormatter;
+
     protected AbstractTableFormatter(Writer writer, TableFormatterConfig config, Column... columns) {
         this.writer = Objects.requireNonNull(writer);
         this.config = Objects.requireNonNull(config);
         this.columns = Objects.requireNonNull(columns);
         this.column = 0;
+        this.numberFormatter = new GeneralNumberFormatter(config.getLocale());
     }
 
     protected abstract TableFormatter write(String value) throws IOException;
@@ -89,10 +92,19 @@ public abstract class AbstractTableFormatter implements TableFormatter {
         return write(Boolean.toString(b));
     }
 
-    private <T> String format(T value) {
+    private String format(float value) {
+        NumberFormat format = columns[column].getNumberFormat();
+        if (format == null) {
+            return numberFormatter.format(value);
+        } else {
+            return format.format(value);
+        }
+    }
+
+    private String format(double value) {
         NumberFormat format = columns[column].getNumberFormat();
         if (format == null) {
-            return String.format(config.getLocale(), "%g", value);
+            return numberFormatter.format(value);
         } else {
             return format.format(value);
         }
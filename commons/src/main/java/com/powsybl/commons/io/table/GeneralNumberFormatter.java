@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.io.table;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Formatter of floating point numbers giving the same output as {@code String.format(locale, "%g", value)}, without
+ * the overhead of {@link java.util.Formatter}: as {@link java.util.Formatter}, the shortest decimal representation of
+ * the value is rounded half up to 6 significant digits, which are written to a reusable buffer.
+ * <p>
+ * Most of the values are scaled to 6 integer digits by an exact power of ten, then rounded, without computing their
+ * shortest decimal representation: the scaling error is far below the distance to a rounding tie. Values close to a
+ * tie or of extreme magnitude are rounded from the output of {@link Double#toString(double)}. Locales using non ASCII
+ * digits and non finite values are delegated to {@link String#format(Locale, String, Object...)}.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author agent <agent at local>
+ */
+final class GeneralNumberFormatter {
+
+    private static final int PRECISION = 6;
+
+    // scientific notation is used outside of [10^-4, 10^precision[
+    private static final int MIN_DECIMAL_EXPONENT = -4;
+
+    // powers of ten exactly representable as doubles
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // exponents of the values which can be scaled by an exact power of ten, even after an adjustment of the exponent
+    private static final int MIN_SCALED_EXPONENT = PRECISION - POWERS_OF_TEN.length + 1;
+    private static final int MAX_SCALED_EXPONENT = PRECISION + POWERS_OF_TEN.length - 3;
+
+    private static final double MIN_SCALED_VALUE = 1e5;
+    private static final double MAX_SCALED_VALUE = 1e6;
+
+    // scaling error is less than 1e-9 for scaled values below 10^6, use a much larger margin around ties
+    private static final double TIE_TOLERANCE = 1e-6;
+
+    private final Locale locale;
+
+    private final char decimalSeparator;
+
+    private final boolean asciiDigits;
+
+    // significant digits of the value being formatted, 17 at most for a double
+    private final char[] digits = new char[20];
+
+    // 1 sign + 1 digit + 1 separator + 5 digits + 'e' + 1 sign + 3 digits, or at most 1 sign + 5 leading zeros + 6 digits
+    private final char[] buffer = new char[32];
+
+    GeneralNumberFormatter(Locale locale) {
+        this.locale = Objects.requireNonNull(locale);
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        decimalSeparator = symbols.getDecimalSeparator();
+        asciiDigits = symbols.getZeroDigit() == '0';
+    }
+
+    String format(float value) {
+        // as java.util.Formatter, floats are formatted through their double value
+        return format((double) value);
+    }
+
+    String format(double value) {
+        if (!asciiDigits || !Double.isFinite(value)) {
+            return String.format(locale, "%g", value);
+        }
+
+        int length = 0;
+        if (Double.doubleToRawLongBits(value) < 0) { // also true for negative zero
+            buffer[length++] = '-';
+        }
+
+        int exponent = computeDigits(Math.abs(value));
+
+        if (exponent < MIN_DECIMAL_EXPONENT || exponent >= PRECISION) {
+            length = writeScientific(length, exponent);
+        } else {
+            length = writeDecimal(length, exponent);
+        }
+        return new String(buffer, 0, length);
+    }
+
+    private static double scale(double value, int exponent) {
+        int shift = PRECISION - 1 - exponent;
+        return shift >= 0 ? value * POWERS_OF_TEN[shift] : value / POWERS_OF_TEN[-shift];
+    }
+
+    /**
+     * Compute the significant digits of a positive value rounded to the precision, and return the decimal exponent of
+     * the first one.
+     */
+    private int computeDigits(double value) {
+        if (value == 0) {
+            Arrays.fill(digits, 0, PRECISION, '0');
+            return 0;
+        }
+        int exponent = (int) Math.floor(Math.log10(value));
+        if (exponent >= MIN_SCALED_EXPONENT && exponent <= MAX_SCALED_EXPONENT) {
+            double scaled = scale(value, exponent);
+            // logarithm might be inaccurate close to powers of ten
+            if (scaled >= MAX_SCALED_VALUE) {
+                scaled = scale(value, ++exponent);
+            } else if (scaled < MIN_SCALED_VALUE) {
+                scaled = scale(value, --exponent);
+            }
+            double integerPart = Math.floor(scaled);
+            double fractionalPart = scaled - integerPart;
+            if (Math.abs(fractionalPart - 0.5) > TIE_TOLERANCE) {
+                int significand = (int) integerPart + (fractionalPart > 0.5 ? 1 : 0);
+                if (significand == (int) MAX_SCALED_VALUE) {
+                    significand = (int) MIN_SCALED_VALUE;
+                    exponent++;
+                }
+                for (int i = PRECISION - 1; i >= 0; i--) {
+                    digits[i] = (char) ('0' + significand % 10);
+                    significand /= 10;
+                }
+                return exponent;
+            }
+        }
+        return round(parseDigits(Double.toString(value)));
+    }
+
+    /**
+     * Parse significant digits of the output of {@link Double#toString(double)} of a positive value, and return the
+     * decimal exponent of the first significant digit. Digits are padded with zeros up to the precision.
+     */
+    private int parseDigits(String str) {
+        int exponentIndex = str.indexOf('E');
+        int end = exponentIndex >= 0 ? exponentIndex : str.length();
+        int pointIndex = -1;
+        int firstIndex = -1;
+        int digitCount = 0;
+        int lastNonZeroCount = 0;
+        for (int i = 0; i < end; i++) {
+            char c = str.charAt(i);
+            if (c == '.') {
+                pointIndex = i;
+            } else if (firstIndex != -1 || c != '0') {
+                if (firstIndex == -1) {
+                    firstIndex = i;
+                }
+                digits[digitCount++] = c;
+                if (c != '0') {
+                    lastNonZeroCount = digitCount;
+                }
+            }
+        }
+        int exponent;
+        if (firstIndex == -1) {
+            // zero
+            exponent = 0;
+        } else {
+            exponent = firstIndex < pointIndex ? pointIndex - firstIndex - 1 : pointIndex - firstIndex;
+            if (exponentIndex >= 0) {
+                exponent += Integer.parseInt(str, exponentIndex + 1, str.length(), 10);
+            }
+        }
+        // pad with zeros up to the rounding digit, following the precision
+        for (int i = lastNonZeroCount; i < Math.max(digitCount, PRECISION + 1); i++) {
+            digits[i] = '0';
+        }
+        return exponent;
+    }
+
+    /**
+     * Round digits half up to the precision and return the possibly incremented exponent.
+     */
+    private int round(int exponent) {
+        if (digits[PRECISION] >= '5' && digits[PRECISION] <= '9') {
+            int i = PRECISION - 1;
+            while (i >= 0 && digits[i] == '9') {
+                digits[i--] = '0';
+            }
+            if (i < 0) {
+                digits[0] = '1';
+                return exponent + 1;
+            }
+            digits[i]++;
+        }
+        return exponent;
+    }
+
+    private int writeScientific(int start, int exponent) {
+        int length = start;
+        buffer[length++] = digits[0];
+        buffer[length++] = decimalSeparator;
+        for (int i = 1; i < PRECISION; i++) {
+            buffer[length++] = digits[i];
+        }
+        buffer[length++] = 'e';
+        buffer[length++] = exponent < 0 ? '-' : '+';
+        int absExponent = Math.abs(exponent);
+        if (absExponent >= 100) {
+            buffer[length++] = (char) ('0' + absExponent / 100);
+        }
+        buffer[length++] = (char) ('0' + absExponent / 10 % 10);
+        buffer[length++] = (char) ('0' + absExponent % 10);
+        return length;
+    }
+
+    private int writeDecimal(int start, int exponent) {
+        int length = start;
+        if (exponent >= 0) {
+            for (int i = 0; i <= exponent; i++) {
+                buffer[length++] = digits[i];
+            }
+            if (exponent < PRECISION - 1) {
+                buffer[length++] = decimalSeparator;
+                for (int i = exponent + 1; i < PRECISION; i++) {
+                    buffer[length++] = digits[i];
+                }
+            }
+        } else {
+            buffer[length++] = '0';
+            buffer[length++] = decimalSeparator;
+            for (int i = 0; i < -exponent - 1; i++) {
+                buffer[length++] = '0';
+            }
+            for (int i = 0; i < PRECISION; i++) {
+                buffer[length++] = digits[i];
+            }
+        }
+        return length;
+    }
+}
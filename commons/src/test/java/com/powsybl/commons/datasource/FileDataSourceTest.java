@@ -6,6 +6,13 @@
  */
 package com.powsybl.commons.datasource;
 
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
@@ -15,4 +22,11 @@ public class FileDataSourceTest extends AbstractDataSourceTest {
     protected DataSource createDataSource() {
         return new FileDataSource(testDir, getBaseName());
     }
+
+    @Test
+    public void getUncompressedFileTest() {
+        assertEquals(Optional.of(testDir.resolve("foo.txt")), new FileDataSource(testDir, getBaseName()).getUncompressedFile("foo.txt"));
+        assertTrue(new FileDataSource(testDir, getBaseName(), new DefaultDataSourceObserver()).getUncompressedFile("foo.txt").isEmpty());
+        assertTrue(new GzFileDataSource(testDir, getBaseName()).getUncompressedFile("foo.txt").isEmpty());
+    }
 }
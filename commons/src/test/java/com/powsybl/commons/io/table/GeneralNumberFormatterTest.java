@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.io.table;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+public class GeneralNumberFormatterTest {
+
+    private static final Locale[] LOCALES = {Locale.US, Locale.FRANCE, Locale.GERMANY, Locale.forLanguageTag("ar-EG")};
+
+    private static final double[] VALUES = {
+        0.0, -0.0, 1.0, -1.0, 0.1, 0.5, 1.5, 10.0, 100.0, 123456.0, 123456.7, 999999.4, 999999.5, 1e6, 1e7, 1e-4, 1e-5,
+        9.999995E-5, 9.9999949E-5, 1e300, -1e300, -3.14159265, 1.0000005, 12345.65, 9.999995, 99999.95, 0.00012345649,
+        Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN,
+        400.0, 225.35, -604.89, 0.05, 1e21, 1e22, 123456789012345678.0
+    };
+
+    private static void assertSameAsFormatter(GeneralNumberFormatter formatter, Locale locale, double value) {
+        assertEquals(String.format(locale, "%g", value), formatter.format(value));
+    }
+
+    private static void assertSameAsFormatter(GeneralNumberFormatter formatter, Locale locale, float value) {
+        assertEquals(String.format(locale, "%g", value), formatter.format(value));
+    }
+
+    @Test
+    public void testValues() {
+        for (Locale locale : LOCALES) {
+            GeneralNumberFormatter formatter = new GeneralNumberFormatter(locale);
+            for (double value : VALUES) {
+                assertSameAsFormatter(formatter, locale, value);
+                assertSameAsFormatter(formatter, locale, -value);
+                assertSameAsFormatter(formatter, locale, (float) value);
+            }
+        }
+        assertEquals("123,457", new GeneralNumberFormatter(Locale.FRANCE).format(123.4567));
+        assertEquals("1.00000e-05", new GeneralNumberFormatter(Locale.US).format(1e-5));
+    }
+
+    @Test
+    public void testRandomValues() {
+        Random random = new Random(0);
+        for (Locale locale : new Locale[] {Locale.US, Locale.FRANCE}) {
+            GeneralNumberFormatter formatter = new GeneralNumberFormatter(locale);
+            for (int i = 0; i < 100000; i++) {
+                // values of any magnitude
+                assertSameAsFormatter(formatter, locale, Double.longBitsToDouble(random.nextLong()));
+                assertSameAsFormatter(formatter, locale, Float.intBitsToFloat(random.nextInt()));
+                // values of usual magnitudes
+                double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16) - 8);
+                assertSameAsFormatter(formatter, locale, value);
+                assertSameAsFormatter(formatter, locale, (float) value);
+                // values with few digits, which may need rounding half up
+                assertSameAsFormatter(formatter, locale, random.nextInt(100000000) / Math.pow(10, random.nextInt(12)));
+            }
+        }
+    }
+}
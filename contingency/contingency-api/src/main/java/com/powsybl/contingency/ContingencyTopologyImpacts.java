@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.contingency;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.contingency.tasks.ModificationTask;
+import com.powsybl.iidm.network.*;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Switches to open and terminals to disconnect of a list of contingencies, resolved once by traversing the topology of
+ * the network, so that contingencies can then be applied to any variant or any copy of the network without traversing
+ * the topology again.
+ * <p>
+ * Switches and terminals are stored once in tables shared by all contingencies, a terminal being identified by its
+ * connectable and its number in the connectable. Each contingency is then described by two arrays of indexes in these
+ * tables. As elements are identified by their ids, impacts are serializable.
+ * <p>
+ * Contingencies of a subclass of {@link Contingency} may provide their own modification task, so their impacts are
+ * not computed and {@link #toTask(Contingency)} falls back to {@link Contingency#toTask()}.
+ * <p>
+ * Impacts are only valid as long as the topology of the variant they have been computed on does not change.
+ * {@link ContingencyTopologyImpactsCache} keeps them from one analysis to the next until the topology changes.
+ *
+ * @author agent <agent at local>
+ */
+public final class ContingencyTopologyImpacts implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String variantId;
+
+    private final String[] switchIds;
+
+    private final String[] terminalConnectableIds;
+
+    private final int[] terminalNumbers;
+
+    private final Map<String, int[]> switchIndexesByContingency;
+
+    private final Map<String, int[]> terminalIndexesByContingency;
+
+    private ContingencyTopologyImpacts(String variantId, String[] switchIds, String[] terminalConnectableIds, int[] terminalNumbers,
+                                       Map<String, int[]> switchIndexesByContingency, Map<String, int[]> terminalIndexesByContingency) {
+        this.variantId = variantId;
+        this.switchIds = switchIds;
+        this.terminalConnectableIds = terminalConnectableIds;
+        this.terminalNumbers = terminalNumbers;
+        this.switchIndexesByContingency = switchIndexesByContingency;
+        this.terminalIndexesByContingency = terminalIndexesByContingency;
+    }
+
+    /**
+     * Compute the impacts of the contingencies on the working variant of the network.
+     */
+    public static ContingencyTopologyImpacts compute(Network network, List<Contingency> contingencies, ComputationManager computationManager) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(contingencies);
+        Map<String, Integer> switchNums = new LinkedHashMap<>();
+        Map<Terminal, Integer> terminalNums = new LinkedHashMap<>();
+        Map<String, int[]> switchIndexesByContingency = new HashMap<>();
+        Map<String, int[]> terminalIndexesByContingency = new HashMap<>();
+        for (Contingency contingency : contingencies) {
+            if (contingency.getClass() != Contingency.class) {
+                continue;
+            }
+            // elements of a contingency are applied all together, so their impacts are merged
+            Set<Switch> switchesToOpen = new LinkedHashSet<>();
+            Set<Terminal> terminalsToDisconnect = new LinkedHashSet<>();
+            for (ContingencyElement element : contingency.getElements()) {
+                element.toTask().traverse(network, computationManager, switchesToOpen, terminalsToDisconnect);
+            }
+            switchIndexesByContingency.put(contingency.getId(), switchesToOpen.stream()
+                    .mapToInt(s -> switchNums.computeIfAbsent(s.getId(), k -> switchNums.size()))
+                    .toArray());
+            terminalIndexesByContingency.put(contingency.getId(), terminalsToDisconnect.stream()
+                    .mapToInt(t -> terminalNums.computeIfAbsent(t, k -> terminalNums.size()))
+                    .toArray());
+        }
+        String[] terminalConnectableIds = new String[terminalNums.size()];
+        int[] terminalNumbers = new int[terminalNums.size()];
+        terminalNums.forEach((terminal, num) -> {
+            Connectable<?> connectable = terminal.getConnectable();
+            terminalConnectableIds[num] = connectable.getId();
+            terminalNumbers[num] = connectable.getTerminals().indexOf(terminal);
+        });
+        return new ContingencyTopologyImpacts(network.getVariantManager().getWorkingVariantId(),
+                switchNums.keySet().toArray(new String[0]), terminalConnectableIds, terminalNumbers,
+                switchIndexesByContingency, terminalIndexesByContingency);
+    }
+
+    public String getVariantId() {
+        return variantId;
+    }
+
+    public boolean contains(String contingencyId) {
+        return switchIndexesByContingency.containsKey(contingencyId);
+    }
+
+    private int[] getIndexes(Map<String, int[]> indexesByContingency, String contingencyId) {
+        int[] indexes = indexesByContingency.get(Objects.requireNonNull(contingencyId));
+        if (indexes == null) {
+            throw new PowsyblException("Contingency '" + contingencyId + "' impacts not found");
+        }
+        return indexes;
+    }
+
+    public List<String> getSwitchIdsToOpen(String contingencyId) {
+        int[] switchIndexes = getIndexes(switchIndexesByContingency, contingencyId);
+        List<String> ids = new ArrayList<>(switchIndexes.length);
+        for (int switchIndex : switchIndexes) {
+            ids.add(switchIds[switchIndex]);
+        }
+        return ids;
+    }
+
+    public int getTerminalCountToDisconnect(String contingencyId) {
+        return getIndexes(terminalIndexesByContingency, contingencyId).length;
+    }
+
+    /**
+     * Apply the impacts of a contingency to the working variant of a network, which can be the network the impacts
+     * have been computed on or any copy of it.
+     */
+    public void apply(String contingencyId, Network network) {
+        Objects.requireNonNull(network);
+        int[] switchIndexes = getIndexes(switchIndexesByContingency, contingencyId);
+        int[] terminalIndexes = getIndexes(terminalIndexesByContingency, contingencyId);
+        for (int switchIndex : switchIndexes) {
+            Switch aSwitch = network.getSwitch(switchIds[switchIndex]);
+            if (aSwitch == null) {
+                throw new PowsyblException("Switch '" + switchIds[switchIndex] + "' not found");
+            }
+            aSwitch.setOpen(true);
+        }
+        for (int terminalIndex : terminalIndexes) {
+            Identifiable<?> identifiable = network.getIdentifiable(terminalConnectableIds[terminalIndex]);
+            if (!(identifiable instanceof Connectable)) {
+                throw new PowsyblException("Connectable '" + terminalConnectableIds[terminalIndex] + "' not found");
+            }
+            ((Connectable<?>) identifiable).getTerminals().get(terminalNumbers[terminalIndex]).disconnect();
+        }
+    }
+
+    public ModificationTask toTask(String contingencyId) {
+        getIndexes(switchIndexesByContingency, contingencyId);
+        return (network, computationManager) -> apply(contingencyId, network);
+    }
+
+    /**
+     * Return a task applying the precomputed impacts of the contingency, or the task of the contingency itself if its
+     * impacts have not been computed.
+     */
+    public ModificationTask toTask(Contingency contingency) {
+        Objects.requireNonNull(contingency);
+        return contains(contingency.getId()) ? toTask(contingency.getId()) : contingency.toTask();
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.contingency;
+
+import com.google.common.collect.ImmutableSet;
+import com.powsybl.contingency.tasks.ModificationTask;
+import com.powsybl.iidm.network.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the topology impacts of contingencies on a network, shared by all the analyses run on this network, see
+ * {@link #of(Network)}, and kept from one run to the next as long as the topology of the network does not change.
+ * <p>
+ * Impacts are cached by variant, and by contingency id and elements. They are computed the first time the contingency
+ * is applied, by the thread applying it, so that the topology traversals of different contingencies still run in
+ * parallel. Impacts of a variant are dropped as soon as a switch or a bus breaker terminal of this variant is modified,
+ * or the variant is overwritten or removed, and all impacts are dropped when an equipment is created or removed.
+ * Topology changes of other variants, like the ones due to the application of the contingencies, are ignored.
+ *
+ * @author agent <agent at local>
+ */
+public final class ContingencyTopologyImpactsCache {
+
+    private static final Map<Network, ContingencyTopologyImpactsCache> CACHES = new WeakHashMap<>();
+
+    private static final Set<String> TOPOLOGY_ATTRIBUTES = ImmutableSet.of("open", "connected", "connectableBusId");
+
+    private static final class CachedImpacts {
+
+        private final List<ContingencyElement> elements;
+
+        private final ContingencyTopologyImpacts impacts;
+
+        private CachedImpacts(List<ContingencyElement> elements, ContingencyTopologyImpacts impacts) {
+            this.elements = elements;
+            this.impacts = impacts;
+        }
+    }
+
+    private final Map<String, Map<String, CachedImpacts>> impactsByVariant = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final class TopologyListener implements NetworkListener {
+
+        @Override
+        public void onCreation(Identifiable identifiable) {
+            clear();
+        }
+
+        @Override
+        public void beforeRemoval(Identifiable identifiable) {
+            clear();
+        }
+
+        @Override
+        public void afterRemoval(String id) {
+            clear();
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+            // changing the kind or the fictitious status of a switch changes whether it can be opened
+            if (identifiable instanceof Switch) {
+                clear();
+            }
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            if (TOPOLOGY_ATTRIBUTES.contains(attribute)) {
+                impactsByVariant.remove(variantId);
+            }
+        }
+
+        @Override
+        public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+            impactsByVariant.remove(targetVariantId);
+        }
+
+        @Override
+        public void onVariantRemoved(String variantId) {
+            impactsByVariant.remove(variantId);
+        }
+    }
+
+    private ContingencyTopologyImpactsCache() {
+    }
+
+    /**
+     * Get the cache of the network, created and attached to the network on first call. The cache does not keep the
+     * network alive.
+     */
+    public static ContingencyTopologyImpactsCache of(Network network) {
+        Objects.requireNonNull(network);
+        synchronized (CACHES) {
+            return CACHES.computeIfAbsent(network, n -> {
+                ContingencyTopologyImpactsCache cache = new ContingencyTopologyImpactsCache();
+                n.addListener(cache.new TopologyListener());
+                return cache;
+            });
+        }
+    }
+
+    /**
+     * Return a task applying the contingency to a network in the same topology as the base variant, for instance a
+     * clone of this variant or a copy of the network in the state of this variant. If the impacts of the contingency
+     * on the base variant are not cached, they are computed by traversing the topology of the network the task is
+     * applied to, before modifying it.
+     * <p>
+     * Contingencies of a subclass of {@link Contingency} may provide their own modification task, so their impacts are
+     * not cached and the task of the contingency itself is returned.
+     *
+     * @param contingency the contingency to apply
+     * @param baseVariantId the variant of the network of this cache the impacts are computed for
+     */
+    public ModificationTask toTask(Contingency contingency, String baseVariantId) {
+        Objects.requireNonNull(contingency);
+        Objects.requireNonNull(baseVariantId);
+        if (contingency.getClass() != Contingency.class) {
+            return contingency.toTask();
+        }
+        return (network, computationManager) -> {
+            // impacts of the variant are got before any computation, so that impacts computed on a topology which has
+            // changed in the meantime are not cached
+            Map<String, CachedImpacts> variantImpacts = impactsByVariant.computeIfAbsent(baseVariantId, k -> new ConcurrentHashMap<>());
+            CachedImpacts cachedImpacts = variantImpacts.get(contingency.getId());
+            if (cachedImpacts != null && cachedImpacts.elements.equals(contingency.getElements())) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+                cachedImpacts = new CachedImpacts(new ArrayList<>(contingency.getElements()),
+                        ContingencyTopologyImpacts.compute(network, Collections.singletonList(contingency), computationManager));
+                variantImpacts.put(contingency.getId(), cachedImpacts);
+            }
+            cachedImpacts.impacts.apply(contingency.getId(), network);
+        };
+    }
+
+    /**
+     * Drop all the cached impacts.
+     */
+    public void clear() {
+        impactsByVariant.clear();
+    }
+
+    /**
+     * Get the number of contingency applications which reused cached impacts.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of contingency applications which had to compute the impacts.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+}
@@ -7,9 +7,17 @@
 
 package com.powsybl.contingency;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.contingency.json.ContingencyJsonModule;
 import com.powsybl.iidm.network.Network;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -53,4 +61,18 @@ public class DefaultContingencyList implements ContingencyList {
                 .filter(ctg -> ctg.isValid(network))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Write this list in JSON format, so that it can be loaded back with {@link ContingencyList#load(Path)}.
+     */
+    public void writeJson(Path jsonFile) {
+        Objects.requireNonNull(jsonFile);
+        try (OutputStream os = Files.newOutputStream(jsonFile)) {
+            ObjectMapper objectMapper = JsonUtil.createObjectMapper();
+            objectMapper.registerModule(new ContingencyJsonModule());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(os, this);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.contingency;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.FictitiousSwitchFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ContingencyTopologyImpactsCacheTest {
+
+    private static final String BASE = VariantManagerConstants.INITIAL_VARIANT_ID;
+
+    private Network network;
+
+    private VariantManager variantManager;
+
+    private ContingencyTopologyImpactsCache cache;
+
+    @Before
+    public void setUp() {
+        network = FictitiousSwitchFactory.create();
+        variantManager = network.getVariantManager();
+        cache = ContingencyTopologyImpactsCache.of(network);
+    }
+
+    /**
+     * Apply the contingency on a clone of the base variant, like an analysis does, and check it opened the switch.
+     */
+    private void apply(Contingency contingency, String switchId) {
+        variantManager.cloneVariant(BASE, "post", true);
+        variantManager.setWorkingVariant("post");
+        cache.toTask(contingency, BASE).modify(network, null);
+        assertTrue(network.getSwitch(switchId).isOpen());
+        variantManager.setWorkingVariant(BASE);
+        assertFalse(network.getSwitch(switchId).isOpen());
+    }
+
+    private void assertCounts(long hitCount, long missCount) {
+        assertEquals(hitCount, cache.getHitCount());
+        assertEquals(missCount, cache.getMissCount());
+    }
+
+    @Test
+    public void testReuseAcrossRuns() {
+        assertSame(cache, ContingencyTopologyImpactsCache.of(network));
+        Contingency contingency = Contingency.busbarSection("O");
+        apply(contingency, "BJ");
+        assertCounts(0, 1);
+        // contingency applied again, and topology changes on the post-contingency variant are ignored
+        apply(contingency, "BJ");
+        apply(contingency, "BT");
+        assertCounts(2, 1);
+
+        // a contingency with the same id but other elements is computed again
+        apply(new Contingency("O", new BusbarSectionContingency("D")), "BD");
+        assertCounts(2, 2);
+
+        // the cache of another network is another cache
+        assertNotSame(cache, ContingencyTopologyImpactsCache.of(FictitiousSwitchFactory.create()));
+    }
+
+    @Test
+    public void testInvalidation() {
+        Contingency contingency = Contingency.busbarSection("O");
+        apply(contingency, "BJ");
+
+        // switch of the base variant opened and closed again
+        network.getSwitch("BJ").setOpen(true);
+        network.getSwitch("BJ").setOpen(false);
+        apply(contingency, "BJ");
+        assertCounts(0, 2);
+
+        // switch retained status is not a topology change
+        network.getSwitch("BJ").setRetained(true);
+        apply(contingency, "BJ");
+        assertCounts(1, 2);
+
+        // base variant overwritten
+        variantManager.cloneVariant(BASE, "other");
+        variantManager.cloneVariant("other", BASE, true);
+        apply(contingency, "BJ");
+        assertCounts(1, 3);
+
+        // equipment removed
+        network.getLoad("CE").remove();
+        apply(contingency, "BJ");
+        assertCounts(1, 4);
+
+        // impacts of each variant are kept separately
+        variantManager.setWorkingVariant("other");
+        cache.toTask(contingency, "other").modify(network, null);
+        variantManager.setWorkingVariant(BASE);
+        assertCounts(1, 5);
+        apply(contingency, "BJ");
+        assertCounts(2, 5);
+
+        cache.clear();
+        apply(contingency, "BJ");
+        assertCounts(2, 6);
+    }
+
+    @Test
+    public void testContingencySubclass() {
+        Contingency contingency = new Contingency("O", Arrays.asList(new BusbarSectionContingency("O"))) {
+        };
+        apply(contingency, "BJ");
+        assertCounts(0, 0);
+    }
+}
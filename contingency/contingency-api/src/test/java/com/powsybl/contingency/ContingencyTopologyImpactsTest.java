@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.contingency;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.contingency.tasks.ModificationTask;
+import com.powsybl.iidm.network.Line;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.iidm.network.test.FictitiousSwitchFactory;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ContingencyTopologyImpactsTest {
+
+    @Test
+    public void testNodeBreaker() {
+        Network network = FictitiousSwitchFactory.create();
+        List<Contingency> contingencies = Arrays.asList(Contingency.busbarSection("D"),
+                                                        Contingency.branch("CJ", "C"),
+                                                        Contingency.busbarSection("O"));
+        ContingencyTopologyImpacts impacts = ContingencyTopologyImpacts.compute(network, contingencies, null);
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, impacts.getVariantId());
+        assertTrue(impacts.contains("D"));
+        assertFalse(impacts.contains("unknown"));
+        assertEquals(Arrays.asList("BD", "BL"), impacts.getSwitchIdsToOpen("D").stream().sorted().collect(Collectors.toList()));
+        assertEquals(Arrays.asList("BD", "BL"), impacts.getSwitchIdsToOpen("CJ").stream().sorted().collect(Collectors.toList()));
+        assertEquals(0, impacts.getTerminalCountToDisconnect("D"));
+
+        // impacts applied to another variant give the same result as the contingency
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, Arrays.asList("v1", "v2"));
+        network.getVariantManager().setWorkingVariant("v1");
+        impacts.apply("O", network);
+        network.getVariantManager().setWorkingVariant("v2");
+        Contingency.busbarSection("O").toTask().modify(network, null);
+        for (String switchId : Arrays.asList("BJ", "BT")) {
+            assertTrue(network.getSwitch(switchId).isOpen());
+            network.getVariantManager().setWorkingVariant("v1");
+            assertTrue(network.getSwitch(switchId).isOpen());
+            network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+            assertFalse(network.getSwitch(switchId).isOpen());
+            network.getVariantManager().setWorkingVariant("v2");
+        }
+    }
+
+    @Test
+    public void testBusBreaker() {
+        Network network = EurostagTutorialExample1Factory.create();
+        Line line = network.getLine("NHV1_NHV2_1");
+        ContingencyTopologyImpacts impacts = ContingencyTopologyImpacts.compute(network,
+                Collections.singletonList(Contingency.line("NHV1_NHV2_1")), null);
+        assertEquals(Collections.emptyList(), impacts.getSwitchIdsToOpen("NHV1_NHV2_1"));
+        assertEquals(2, impacts.getTerminalCountToDisconnect("NHV1_NHV2_1"));
+
+        // impacts can be applied to a copy of the network
+        Network copy = EurostagTutorialExample1Factory.create();
+        impacts.toTask("NHV1_NHV2_1").modify(copy, null);
+        assertFalse(copy.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+        assertFalse(copy.getLine("NHV1_NHV2_1").getTerminal2().isConnected());
+        assertTrue(line.getTerminal1().isConnected());
+
+        impacts.apply("NHV1_NHV2_1", network);
+        assertFalse(line.getTerminal1().isConnected());
+        assertFalse(line.getTerminal2().isConnected());
+    }
+
+    @Test
+    public void testErrors() {
+        Network network = EurostagTutorialExample1Factory.create();
+        ContingencyTopologyImpacts impacts = ContingencyTopologyImpacts.compute(network,
+                Collections.singletonList(Contingency.line("NHV1_NHV2_1")), null);
+        PowsyblException e = assertThrows(PowsyblException.class, () -> impacts.apply("unknown", network));
+        assertEquals("Contingency 'unknown' impacts not found", e.getMessage());
+
+        Network other = FictitiousSwitchFactory.create();
+        e = assertThrows(PowsyblException.class, () -> impacts.apply("NHV1_NHV2_1", other));
+        assertEquals("Connectable 'NHV1_NHV2_1' not found", e.getMessage());
+    }
+
+    @Test
+    public void testContingencySubclass() {
+        Network network = EurostagTutorialExample1Factory.create();
+        Contingency contingency = new Contingency("custom", new BranchContingency("NHV1_NHV2_1")) {
+            @Override
+            public ModificationTask toTask() {
+                return (network1, computationManager) -> network1.getLoad("LOAD").setP0(0);
+            }
+        };
+        ContingencyTopologyImpacts impacts = ContingencyTopologyImpacts.compute(network, Collections.singletonList(contingency), null);
+        assertFalse(impacts.contains("custom"));
+        impacts.toTask(contingency).modify(network, null);
+        assertEquals(0, network.getLoad("LOAD").getP0(), 0);
+        assertTrue(network.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        Network network = FictitiousSwitchFactory.create();
+        ContingencyTopologyImpacts impacts = ContingencyTopologyImpacts.compute(network,
+                Collections.singletonList(Contingency.busbarSection("P")), null);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(impacts);
+        }
+        ContingencyTopologyImpacts impacts2;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            impacts2 = (ContingencyTopologyImpacts) ois.readObject();
+        }
+        assertEquals(impacts.getSwitchIdsToOpen("P"), impacts2.getSwitchIdsToOpen("P"));
+
+        impacts2.apply("P", network);
+        for (String switchId : Arrays.asList("BJ", "BL", "BV", "BX", "BZ")) {
+            assertTrue(network.getSwitch(switchId).isOpen());
+        }
+    }
+}
@@ -137,9 +137,7 @@ class ContingencyDslLoader extends DslLoader {
             // set base network
             binding.setVariable("network", network)
 
-            def shell = createShell(binding, imports)
-
-            shell.evaluate(dslSrc)
+            evaluate(binding, imports)
 
             observer?.end()
 
@@ -9,6 +9,7 @@ package com.powsybl.contingency.dsl;
 
 import com.powsybl.contingency.Contingency;
 import com.powsybl.contingency.ContingencyList;
+import com.powsybl.contingency.DefaultContingencyList;
 import com.powsybl.dsl.GroovyScripts;
 import com.powsybl.iidm.network.Network;
 import groovy.lang.GroovyCodeSource;
@@ -40,4 +41,12 @@ public class GroovyContingencyList implements ContingencyList {
     public List<Contingency> getContingencies(Network network) {
         return new ContingencyDslLoader(codeSource).load(network);
     }
+
+    /**
+     * Evaluate the DSL once on the given network, the resulting list can then be serialized and loaded again without
+     * Groovy.
+     */
+    public DefaultContingencyList toDefaultContingencyList(Network network) {
+        return new DefaultContingencyList(name, getContingencies(network));
+    }
 }
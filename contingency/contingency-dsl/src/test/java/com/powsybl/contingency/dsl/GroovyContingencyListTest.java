@@ -139,6 +139,23 @@ public class GroovyContingencyListTest {
         assertTrue(contingencies.isEmpty());
     }
 
+    @Test
+    public void testToDefaultContingencyList() throws IOException {
+        writeToDslFile(createAllBranchesDsl());
+        GroovyContingencyList contingencyList = (GroovyContingencyList) ContingencyList.load(dslFile);
+        DefaultContingencyList defaultContingencyList = contingencyList.toDefaultContingencyList(network);
+        assertEquals("test.groovy", defaultContingencyList.getName());
+        assertEquals(4, defaultContingencyList.getContingencies().size());
+
+        // evaluated list can be reloaded without Groovy
+        Path jsonFile = fileSystem.getPath("/test.json");
+        defaultContingencyList.writeJson(jsonFile);
+        ContingencyList contingencyList2 = ContingencyList.load(jsonFile);
+        assertTrue(contingencyList2 instanceof DefaultContingencyList);
+        assertEquals(getContingenciesNames(contingencyList.getContingencies(network)),
+                     getContingenciesNames(contingencyList2.getContingencies(network)));
+    }
+
     @Test
     public void testExtension() throws IOException {
         writeToDslFile(
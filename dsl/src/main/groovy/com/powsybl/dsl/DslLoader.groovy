@@ -33,12 +33,27 @@ class DslLoader {
         return createShell(binding, new ImportCustomizer())
     }
 
-    static GroovyShell createShell(Binding binding, ImportCustomizer imports) {
+    static CompilerConfiguration createCompilerConfig(ImportCustomizer imports) {
         def astCustomizer = new ASTTransformationCustomizer(new PowsyblDslAstTransformation())
         def config = new CompilerConfiguration()
         config.addCompilationCustomizers(astCustomizer, imports)
+        config
+    }
+
+    static GroovyShell createShell(Binding binding, ImportCustomizer imports) {
+        ExpressionDslLoader.prepareClosures(binding)
+        new GroovyShell(binding, createCompilerConfig(imports))
+    }
 
+    /**
+     * Evaluate the DSL with the given binding. Scripts without additional imports are compiled once and then reused
+     * from the default {@link GroovyScriptCache}.
+     */
+    protected Object evaluate(Binding binding, ImportCustomizer imports = new ImportCustomizer()) {
+        if (!imports.imports.isEmpty()) {
+            return createShell(binding, imports).evaluate(dslSrc)
+        }
         ExpressionDslLoader.prepareClosures(binding)
-        new GroovyShell(binding, config)
+        GroovyScriptCache.getDefault().createScript(dslSrc, createCompilerConfig(imports), binding).run()
     }
 }
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.dsl;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
+import groovy.lang.*;
+import org.apache.commons.io.FileUtils;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Cache of compiled Groovy DSL scripts, keyed by a hash of the name and of the content of the script, so that a script
+ * is parsed and compiled only once, whatever the number of times it is loaded.
+ * <p>
+ * Compiled classes are kept in memory and, if a directory is given, also written to this directory so that they can
+ * be reused by other processes. A cache assumes that a script is always compiled with the same compiler configuration.
+ * <p>
+ * The cache is thread safe. Different scripts are compiled concurrently, while concurrent requests for the same script
+ * wait for it to be compiled once.
+ *
+ * @author agent <agent at local>
+ */
+public final class GroovyScriptCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroovyScriptCache.class);
+
+    private static final int MAX_IN_MEMORY_CLASS_COUNT = 100;
+
+    private static final int COMPILE_LOCK_STRIPE_COUNT = 16;
+
+    // name of the compiled script class, written with the classes of a script in the cache directory
+    private static final String CLASS_NAME_FILE_NAME = "script-class-name";
+
+    // version of the layout of the cache directory, the class name file has been added in version 2
+    private static final int DIRECTORY_VERSION = 2;
+
+    private static GroovyScriptCache defaultCache;
+
+    private final Path directory;
+
+    // compiled classes depend on the class loader the DSL classes are resolved with. Their own class loader references
+    // this parent class loader, so they are softly referenced to let the parent class loader be garbage collected
+    private final Map<ClassLoader, Map<String, SoftReference<Class<?>>>> classesByParent = new WeakHashMap<>();
+
+    private final Striped<Lock> compileLocks = Striped.lock(COMPILE_LOCK_STRIPE_COUNT);
+
+    private final AtomicInteger hitCount = new AtomicInteger();
+
+    private final AtomicInteger missCount = new AtomicInteger();
+
+    public GroovyScriptCache() {
+        this(null);
+    }
+
+    /**
+     * @param directory the directory to write compiled classes to, or null for an in-memory only cache
+     */
+    public GroovyScriptCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static synchronized GroovyScriptCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new GroovyScriptCache();
+        }
+        return defaultCache;
+    }
+
+    public static synchronized void setDefault(GroovyScriptCache defaultCache) {
+        GroovyScriptCache.defaultCache = defaultCache;
+    }
+
+    public Optional<Path> getDirectory() {
+        return Optional.ofNullable(directory);
+    }
+
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    public void clear() {
+        synchronized (classesByParent) {
+            classesByParent.clear();
+        }
+    }
+
+    private static String hash(GroovyCodeSource codeSource) {
+        // compiled classes depend on the version of Groovy
+        String key = GroovySystem.getVersion() + '\n' + DIRECTORY_VERSION + '\n' + codeSource.getName() + '\n' + codeSource.getScriptText();
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+    }
+
+    private static Class<?> loadClass(Path classDirectory, String className, ClassLoader parent) {
+        try {
+            return new URLClassLoader(new URL[] {classDirectory.toUri().toURL()}, parent).loadClass(className);
+        } catch (MalformedURLException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new DslException("Class '" + className + "' not found in " + classDirectory, e);
+        }
+    }
+
+    private Class<?> compileToDirectory(GroovyCodeSource codeSource, CompilerConfiguration config, ClassLoader parent, String hash) {
+        Path classDirectory = directory.resolve(hash);
+        if (!Files.exists(classDirectory)) {
+            try {
+                Files.createDirectories(directory);
+                // compile in a temporary directory first, so that concurrent processes never see partial outputs
+                Path tmpDirectory = Files.createTempDirectory(directory, hash);
+                CompilerConfiguration dirConfig = new CompilerConfiguration(config);
+                dirConfig.setTargetDirectory(tmpDirectory.toFile());
+                CompilationUnit unit = new CompilationUnit(dirConfig, codeSource.getCodeSource(), new GroovyClassLoader(parent, dirConfig));
+                unit.addSource(codeSource.getName(), codeSource.getScriptText());
+                unit.compile(Phases.OUTPUT);
+                // the class name is derived from the script name by the compiler, e.g. 'x' for 'file:/dir/x.groovy'
+                Files.writeString(tmpDirectory.resolve(CLASS_NAME_FILE_NAME), unit.getFirstClassNode().getName());
+                try {
+                    Files.move(tmpDirectory, classDirectory, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                    // compiled in the meantime by another process
+                    FileUtils.deleteDirectory(tmpDirectory.toFile());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            LOGGER.debug("Loading compiled script '{}' from {}", codeSource.getName(), classDirectory);
+        }
+        String className;
+        try {
+            className = Files.readString(classDirectory.resolve(CLASS_NAME_FILE_NAME));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return loadClass(classDirectory, className, parent);
+    }
+
+    private Class<?> getCachedClass(ClassLoader parent, String hash) {
+        synchronized (classesByParent) {
+            Map<String, SoftReference<Class<?>>> classes = classesByParent.get(parent);
+            SoftReference<Class<?>> scriptClassRef = classes != null ? classes.get(hash) : null;
+            return scriptClassRef != null ? scriptClassRef.get() : null;
+        }
+    }
+
+    private void putCachedClass(ClassLoader parent, String hash, Class<?> scriptClass) {
+        synchronized (classesByParent) {
+            classesByParent.computeIfAbsent(parent, k -> new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SoftReference<Class<?>>> eldest) {
+                    return size() > MAX_IN_MEMORY_CLASS_COUNT;
+                }
+            }).put(hash, new SoftReference<>(scriptClass));
+        }
+    }
+
+    /**
+     * Get the compiled class of a script, compiling it if not already in the cache.
+     */
+    public Class<?> getScriptClass(GroovyCodeSource codeSource, CompilerConfiguration config, ClassLoader parent) {
+        Objects.requireNonNull(codeSource);
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(parent);
+        String hash = hash(codeSource);
+        Class<?> scriptClass = getCachedClass(parent, hash);
+        if (scriptClass == null) {
+            Lock lock = compileLocks.get(hash);
+            lock.lock();
+            try {
+                // the script may have been compiled by another thread in the meantime
+                scriptClass = getCachedClass(parent, hash);
+                if (scriptClass == null) {
+                    missCount.incrementAndGet();
+                    long start = System.currentTimeMillis();
+                    if (directory != null) {
+                        scriptClass = compileToDirectory(codeSource, config, parent, hash);
+                    } else {
+                        scriptClass = new GroovyClassLoader(parent, config).parseClass(codeSource, false);
+                    }
+                    LOGGER.debug("Script '{}' compiled in {} ms", codeSource.getName(), System.currentTimeMillis() - start);
+                    putCachedClass(parent, hash, scriptClass);
+                    return scriptClass;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        hitCount.incrementAndGet();
+        return scriptClass;
+    }
+
+    /**
+     * Create a new instance of a script, bound to the given binding, compiling the script if not already in the cache.
+     */
+    public Script createScript(GroovyCodeSource codeSource, CompilerConfiguration config, Binding binding) {
+        Objects.requireNonNull(binding);
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        if (parent == null) {
+            parent = GroovyScriptCache.class.getClassLoader();
+        }
+        return InvokerHelper.createScript(getScriptClass(codeSource, config, parent), binding);
+    }
+}
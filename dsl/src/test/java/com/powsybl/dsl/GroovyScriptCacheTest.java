@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.dsl;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import org.apache.commons.io.FileUtils;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class GroovyScriptCacheTest {
+
+    private static final String SCRIPT = "result = [1, 2, 3].collect { it * factor }.sum()";
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("groovy-script-cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    private static GroovyCodeSource createCodeSource(String script) {
+        return new GroovyCodeSource(script, "script", GroovyShell.DEFAULT_CODE_BASE);
+    }
+
+    private static Object run(GroovyScriptCache cache, String script, int factor) {
+        Binding binding = new Binding();
+        binding.setVariable("factor", factor);
+        cache.createScript(createCodeSource(script), new CompilerConfiguration(), binding).run();
+        return binding.getVariable("result");
+    }
+
+    @Test
+    public void testInMemory() {
+        GroovyScriptCache cache = new GroovyScriptCache();
+        assertFalse(cache.getDirectory().isPresent());
+        assertEquals(6, run(cache, SCRIPT, 1));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // same script, new binding
+        assertEquals(12, run(cache, SCRIPT, 2));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // another script
+        assertEquals(1, run(cache, "result = factor", 1));
+        assertEquals(2, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(6, run(cache, SCRIPT, 1));
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testDirectory() throws IOException {
+        GroovyScriptCache cache = new GroovyScriptCache(directory);
+        assertEquals(directory, cache.getDirectory().orElseThrow(AssertionError::new));
+        assertEquals(6, run(cache, SCRIPT, 1));
+        Path classDirectory;
+        try (Stream<Path> files = Files.list(directory)) {
+            classDirectory = files.findFirst().orElseThrow(AssertionError::new);
+        }
+        Path classFile = classDirectory.resolve("script.class");
+        assertTrue(Files.exists(classFile));
+        long lastModified = Files.getLastModifiedTime(classFile).toMillis();
+
+        // compiled classes are reused by another cache, as by another process
+        GroovyScriptCache cache2 = new GroovyScriptCache(directory);
+        assertEquals(18, run(cache2, SCRIPT, 3));
+        assertEquals(1, cache2.getMissCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(lastModified, Files.getLastModifiedTime(classFile).toMillis());
+    }
+
+    @Test
+    public void testFileCodeSource() throws IOException {
+        // the name of a code source read from a file is its URI, while the class is named after the file
+        Path scriptFile = Files.createDirectory(directory.resolve("scripts")).resolve("myScript.groovy");
+        Files.writeString(scriptFile, SCRIPT);
+        GroovyCodeSource codeSource = new GroovyCodeSource(scriptFile.toFile());
+        Path cacheDirectory = directory.resolve("cache");
+        for (GroovyScriptCache cache : List.of(new GroovyScriptCache(), new GroovyScriptCache(cacheDirectory), new GroovyScriptCache(cacheDirectory))) {
+            Class<?> scriptClass = cache.getScriptClass(codeSource, new CompilerConfiguration(), getClass().getClassLoader());
+            assertEquals("myScript", scriptClass.getName());
+        }
+    }
+
+    @Test
+    public void testConcurrentCompilation() throws Exception {
+        GroovyScriptCache cache = new GroovyScriptCache(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String script = i % 2 == 0 ? SCRIPT : "result = factor";
+                results.add(executor.submit(() -> run(cache, script, 2)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 2 == 0 ? 12 : 2, results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // each script has been compiled once
+        assertEquals(2, cache.getMissCount());
+        assertEquals(6, cache.getHitCount());
+    }
+
+    @Test
+    public void testDefault() {
+        GroovyScriptCache defaultCache = GroovyScriptCache.getDefault();
+        assertSame(defaultCache, GroovyScriptCache.getDefault());
+        GroovyScriptCache cache = new GroovyScriptCache();
+        GroovyScriptCache.setDefault(cache);
+        try {
+            assertSame(cache, GroovyScriptCache.getDefault());
+        } finally {
+            GroovyScriptCache.setDefault(defaultCache);
+        }
+    }
+}
@@ -504,8 +504,10 @@ public class IeeeCdfImporter implements Importer {
             PerUnitContext perUnitContext = new PerUnitContext(ieeeCdfModel.getTitle().getMvaBase(), ignoreBaseVoltage);
 
             // create objects
-            createBuses(ieeeCdfModel, containerMapping, perUnitContext, network);
-            createBranches(ieeeCdfModel, containerMapping, perUnitContext, network);
+            network.bulkBuild(() -> {
+                createBuses(ieeeCdfModel, containerMapping, perUnitContext, network);
+                createBranches(ieeeCdfModel, containerMapping, perUnitContext, network);
+            });
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.benchmark;
+
+import com.powsybl.iidm.mergingview.MergingView;
+import com.powsybl.iidm.network.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the merging of IGMs chained by dangling lines: {@link Network#merge(Network)}, which splices the
+ * objects and the index of the merged networks into the first one, compared to a {@link MergingView} of the same
+ * networks. Each benchmark merges the networks, then reads the loads and the buses of the result once, like a CGM
+ * building does.
+ * <p>
+ * Run with {@code -prof gc} to get the memory allocated by each merge.
+ *
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkMergeBenchmark {
+
+    @Param({"30"})
+    public int igmCount;
+
+    @Param({"1000"})
+    public int busCount;
+
+    private Network[] networks;
+
+    /**
+     * Merging moves the objects of the networks, so they are created again before each merge, which takes much longer
+     * than the merge itself.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        networks = new Network[igmCount];
+        for (int i = 0; i < igmCount; i++) {
+            networks[i] = createIgm(i);
+        }
+    }
+
+    /**
+     * IGM i is a chain of buses with one load each, connected to IGM i - 1 through xnode Xi and to IGM i + 1 through
+     * xnode Xi+1.
+     */
+    private Network createIgm(int i) {
+        Network network = Network.create("n" + i, "test");
+        VoltageLevel vl = network.newSubstation()
+                .setId("S" + i)
+                .add()
+                .newVoltageLevel()
+                .setId("VL" + i)
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        for (int j = 0; j < busCount; j++) {
+            String busId = "B" + i + "_" + j;
+            vl.getBusBreakerView().newBus()
+                    .setId(busId)
+                    .add();
+            vl.newLoad()
+                    .setId("L" + i + "_" + j)
+                    .setBus(busId)
+                    .setP0(10)
+                    .setQ0(0)
+                    .add();
+            if (j > 0) {
+                network.newLine()
+                        .setId("LINE" + i + "_" + j)
+                        .setVoltageLevel1(vl.getId())
+                        .setBus1("B" + i + "_" + (j - 1))
+                        .setVoltageLevel2(vl.getId())
+                        .setBus2(busId)
+                        .setR(1)
+                        .setX(10)
+                        .setG1(0)
+                        .setB1(0)
+                        .setG2(0)
+                        .setB2(0)
+                        .add();
+            }
+        }
+        createDanglingLine(vl, "DL" + i + "a", "B" + i + "_0", "X" + i);
+        createDanglingLine(vl, "DL" + i + "b", "B" + i + "_" + (busCount - 1), "X" + (i + 1));
+        return network;
+    }
+
+    private static void createDanglingLine(VoltageLevel vl, String id, String busId, String xnode) {
+        vl.newDanglingLine()
+                .setId(id)
+                .setBus(busId)
+                .setR(1)
+                .setX(10)
+                .setG(0)
+                .setB(0)
+                .setP0(10)
+                .setQ0(0)
+                .setUcteXnodeCode(xnode)
+                .add();
+    }
+
+    private static double read(Network network) {
+        double p0 = network.getLoadStream().mapToDouble(Load::getP0).sum();
+        return p0 + network.getBusView().getBusStream().count();
+    }
+
+    @Benchmark
+    public double merge() {
+        Network merged = networks[0];
+        for (int i = 1; i < igmCount; i++) {
+            merged.merge(networks[i]);
+        }
+        return read(merged);
+    }
+
+    @Benchmark
+    public double mergingView() {
+        MergingView mergingView = MergingView.create("cgm", "test");
+        mergingView.merge(networks);
+        return read(mergingView);
+    }
+}
@@ -11,6 +11,7 @@ import com.powsybl.commons.reporter.Reporter;
 import org.joda.time.DateTime;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -904,4 +905,57 @@ public interface Network extends Container<Network> {
         }
         return this;
     }
+
+    /**
+     * Start a bulk build of the network, meant for importers creating a large number of elements at once.<br>
+     * Until the bulk build is committed or aborted, steady state hypothesis validation checks, the update of the
+     * indexes of the elements by type and the notifications to the network listeners are deferred.
+     */
+    default void startBulkBuild() {
+        // nothing to defer by default
+    }
+
+    /**
+     * Commit the bulk build started by {@link #startBulkBuild()}: indexes are updated, queued notifications are
+     * dispatched, in order, to the network listeners and deferred validation checks are run.<br>
+     * The bulk build ends even if the validation checks fail. A {@link ValidationException} is then thrown and the
+     * minimum acceptable validation level of the network is lowered to the validation level of the network, as if
+     * it had been set before building the network.
+     */
+    default void commitBulkBuild() {
+        // nothing to commit by default
+    }
+
+    /**
+     * End the bulk build started by {@link #startBulkBuild()} without running the deferred validation checks, for
+     * instance because building the network failed. Indexes are updated and queued notifications are dispatched, so
+     * that the network and its listeners are consistent with the elements created so far, and the minimum acceptable
+     * validation level of the network is lowered to the validation level of the network if needed.
+     */
+    default void abortBulkBuild() {
+        // nothing to abort by default
+    }
+
+    /**
+     * Return true if a bulk build of the network is in progress.
+     */
+    default boolean isBulkBuildInProgress() {
+        return false;
+    }
+
+    /**
+     * Run a bulk build of the network: the bulk build is committed if the build succeeds and aborted if it throws
+     * an exception.
+     */
+    default void bulkBuild(Runnable build) {
+        Objects.requireNonNull(build);
+        startBulkBuild();
+        try {
+            build.run();
+        } catch (RuntimeException | Error e) {
+            abortBulkBuild();
+            throw e;
+        }
+        commitBulkBuild();
+    }
 }
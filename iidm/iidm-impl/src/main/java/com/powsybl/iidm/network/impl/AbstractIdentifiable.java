@@ -34,7 +34,8 @@ abstract class AbstractIdentifiable<I extends Identifiable<I>> extends AbstractE
 
     AbstractIdentifiable(String id, String name) {
         this.id = id;
-        this.name = name;
+        // names are often equal to ids, share the same string instance
+        this.name = id != null && id.equals(name) ? id : name;
     }
 
     AbstractIdentifiable(String id, String name, boolean fictitious) {
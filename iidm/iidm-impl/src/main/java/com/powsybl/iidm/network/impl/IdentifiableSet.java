@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import java.util.*;
+
+/**
+ * Set of objects iterated in insertion order, like a {@link LinkedHashSet}, but without any entry object: elements
+ * are stored in a dense array, and looked up through an open addressing table of their positions in this array.
+ * <p>
+ * Elements are compared by identity, which is the equality of the identifiables of the network as they do not
+ * override {@link Object#equals(Object)}. Positions of removed elements are left empty, and the array is compacted
+ * when more than half of it is empty.
+ *
+ * @author agent <agent at local>
+ */
+final class IdentifiableSet<T> extends AbstractSet<T> {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private Object[] elements;
+
+    /**
+     * Number of positions used in {@link #elements}, including the ones of removed elements.
+     */
+    private int end = 0;
+
+    private int size = 0;
+
+    /**
+     * Position of each element in {@link #elements} plus one, 0 for a free slot. Collisions are resolved by linear
+     * probing, and the table is kept at most half full.
+     */
+    private int[] table;
+
+    private int modCount = 0;
+
+    IdentifiableSet() {
+        this(MIN_CAPACITY);
+    }
+
+    IdentifiableSet(int expectedSize) {
+        elements = new Object[Math.max(expectedSize, MIN_CAPACITY)];
+        table = new int[tableLength(elements.length)];
+    }
+
+    private static int tableLength(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int hash(Object o) {
+        int h = System.identityHashCode(o) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Return the slot of the object in the table, or minus one minus the free slot where it would be inserted.
+     */
+    private int findSlot(Object o) {
+        int mask = table.length - 1;
+        int slot = hash(o) & mask;
+        while (true) {
+            int position = table[slot];
+            if (position == 0) {
+                return -slot - 1;
+            }
+            if (elements[position - 1] == o) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void freeSlot(int slot) {
+        // shift back the next elements of the cluster, so that no element is separated from its hash slot by a free one
+        int mask = table.length - 1;
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            int position = table[i];
+            if (position == 0) {
+                break;
+            }
+            int hashSlot = hash(elements[position - 1]) & mask;
+            if (((i - hashSlot) & mask) >= ((i - hole) & mask)) {
+                table[hole] = position;
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void rebuildTable(int length) {
+        table = new int[length];
+        int mask = length - 1;
+        for (int position = 0; position < end; position++) {
+            Object element = elements[position];
+            if (element != null) {
+                int slot = hash(element) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = position + 1;
+            }
+        }
+    }
+
+    private void compact() {
+        int position = 0;
+        for (int i = 0; i < end; i++) {
+            if (elements[i] != null) {
+                elements[position++] = elements[i];
+            }
+        }
+        Arrays.fill(elements, position, end, null);
+        end = position;
+        rebuildTable(table.length);
+    }
+
+    private void ensureCapacity() {
+        if (end < elements.length) {
+            return;
+        }
+        if (size <= end / 2) {
+            compact();
+        } else {
+            elements = Arrays.copyOf(elements, elements.length + (elements.length >> 1));
+            int length = tableLength(elements.length);
+            if (length > table.length) {
+                rebuildTable(length);
+            }
+        }
+    }
+
+    @Override
+    public boolean add(T element) {
+        Objects.requireNonNull(element);
+        if (findSlot(element) >= 0) {
+            return false;
+        }
+        ensureCapacity();
+        // the table may have been rebuilt
+        int slot = -findSlot(element) - 1;
+        elements[end] = element;
+        table[slot] = ++end;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Reserve room for the given number of new elements, so that adding them grows the arrays at most once.
+     */
+    private void reserve(int count) {
+        if (end + count <= elements.length) {
+            return;
+        }
+        if (size < end) {
+            compact();
+        }
+        if (size + count > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(size + count, elements.length + (elements.length >> 1)));
+            int length = tableLength(elements.length);
+            if (length > table.length) {
+                rebuildTable(length);
+            }
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        reserve(c.size());
+        boolean modified = false;
+        for (T element : c) {
+            modified |= add(element);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && findSlot(o) >= 0;
+    }
+
+    private void removeAt(int slot) {
+        int position = table[slot] - 1;
+        freeSlot(slot);
+        elements[position] = null;
+        if (position == end - 1) {
+            end--;
+        }
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int slot = findSlot(o);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        if (end > MIN_CAPACITY && size < end / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        elements = new Object[MIN_CAPACITY];
+        table = new int[tableLength(MIN_CAPACITY)];
+        end = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private int next = 0;
+
+            private int last = -1;
+
+            private int expectedModCount = modCount;
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (next < end && elements[next] == null) {
+                    next++;
+                }
+                return next < end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                checkForComodification();
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next++;
+                return (T) elements[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                checkForComodification();
+                // no compaction, so that positions of the next elements do not change
+                removeAt(findSlot(elements[last]));
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+}
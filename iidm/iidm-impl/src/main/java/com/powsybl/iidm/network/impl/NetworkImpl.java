@@ -44,6 +44,11 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
     private ValidationLevel validationLevel = ValidationLevel.STEADY_STATE_HYPOTHESIS;
     private ValidationLevel minValidationLevel = ValidationLevel.STEADY_STATE_HYPOTHESIS;
 
+    /**
+     * Minimum acceptable validation level to restore at the end of the bulk build, null if no bulk build is in progress.
+     */
+    private ValidationLevel bulkBuildMinValidationLevel;
+
     private final NetworkIndex index = new NetworkIndex();
 
     private final VariantManagerImpl variantManager;
@@ -875,15 +880,16 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
             }
         }
 
-        // try to find dangling lines couples
+        // try to find dangling lines couples, if several dangling lines have the same xnode code, the last one is used
+        // dangling lines are only replaced after the loop, so the map does not change and is built once
+        Map<String, DanglingLine> dl1byXnodeCode = new HashMap<>();
+        for (DanglingLine dl1 : getDanglingLines()) {
+            if (dl1.getUcteXnodeCode() != null) {
+                dl1byXnodeCode.put(dl1.getUcteXnodeCode(), dl1);
+            }
+        }
         List<MergedLine> lines = new ArrayList<>();
         for (DanglingLine dl2 : Lists.newArrayList(other.getDanglingLines())) {
-            Map<String, DanglingLine> dl1byXnodeCode = new HashMap<>();
-            for (DanglingLine dl1 : getDanglingLines()) {
-                if (dl1.getUcteXnodeCode() != null) {
-                    dl1byXnodeCode.put(dl1.getUcteXnodeCode(), dl1);
-                }
-            }
             DanglingLine dl1 = getDanglingLineByTheOther(dl2, dl1byXnodeCode);
             mergeDanglingLines(lines, dl1, dl2);
         }
@@ -1166,8 +1172,13 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
     @Override
     public Network setMinimumAcceptableValidationLevel(ValidationLevel validationLevel) {
         Objects.requireNonNull(validationLevel);
+        if (bulkBuildMinValidationLevel != null) {
+            // checked at the end of the bulk build
+            bulkBuildMinValidationLevel = validationLevel;
+            return this;
+        }
         if (this.validationLevel == null) {
-            this.validationLevel = ValidationUtil.validate(Collections.unmodifiableCollection(index.getAll()), false, false, this.validationLevel, Reporter.NO_OP);
+            this.validationLevel = ValidationUtil.validate(Collections.unmodifiableCollection(index.getAll()), false, false, minValidationLevel, Reporter.NO_OP);
         }
         if (this.validationLevel.compareTo(validationLevel) < 0) {
             throw new ValidationException(this, "Network should be corrected in order to correspond to validation level " + validationLevel);
@@ -1176,12 +1187,65 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         return this;
     }
 
+    @Override
+    public void startBulkBuild() {
+        if (bulkBuildMinValidationLevel != null) {
+            throw new PowsyblException("Bulk build of network '" + id + "' already in progress");
+        }
+        bulkBuildMinValidationLevel = minValidationLevel;
+        minValidationLevel = ValidationLevel.MINIMUM_VALUE;
+        index.startDeferring();
+        listeners.startDeferring();
+    }
+
+    /**
+     * End the bulk build in progress, leaving the network in a consistent state whatever happens next: indexes are
+     * updated and queued notifications dispatched. Return the minimum acceptable validation level to restore.
+     */
+    private ValidationLevel endBulkBuild() {
+        if (bulkBuildMinValidationLevel == null) {
+            throw new PowsyblException("No bulk build of network '" + id + "' in progress");
+        }
+        ValidationLevel minLevel = bulkBuildMinValidationLevel;
+        bulkBuildMinValidationLevel = null;
+        index.stopDeferring();
+        listeners.stopDeferring();
+        return minLevel;
+    }
+
+    @Override
+    public void commitBulkBuild() {
+        ValidationLevel minLevel = endBulkBuild();
+        ValidationLevel level = getValidationLevel();
+        if (level.compareTo(minLevel) < 0) {
+            minValidationLevel = level;
+            // throw the error of the first invalid element
+            ValidationUtil.validate(Collections.unmodifiableCollection(index.getAll()), true, true, level, Reporter.NO_OP);
+            throw new ValidationException(this, "Network should be corrected in order to correspond to validation level " + minLevel);
+        }
+        minValidationLevel = minLevel;
+    }
+
+    @Override
+    public void abortBulkBuild() {
+        ValidationLevel minLevel = endBulkBuild();
+        minValidationLevel = ValidationLevel.min(minLevel, getValidationLevel());
+    }
+
+    @Override
+    public boolean isBulkBuildInProgress() {
+        return bulkBuildMinValidationLevel != null;
+    }
+
     ValidationLevel getMinValidationLevel() {
         return minValidationLevel;
     }
 
     void setValidationLevelIfGreaterThan(ValidationLevel validationLevel) {
-        this.validationLevel = ValidationLevel.min(this.validationLevel, validationLevel);
+        // a null validation level is computed again on demand
+        if (this.validationLevel != null) {
+            this.validationLevel = ValidationLevel.min(this.validationLevel, validationLevel);
+        }
     }
 
     void invalidateValidationLevel() {
@@ -26,6 +26,12 @@ class NetworkIndex {
 
     private final Map<Class<? extends Identifiable>, Set<Identifiable<?>>> objectsByClass = new HashMap<>();
 
+    /**
+     * Objects added during a bulk build, by class, and not yet added to {@link #objectsByClass}, null if no bulk build
+     * is in progress.
+     */
+    private Map<Class<? extends Identifiable>, List<Identifiable<?>>> pendingObjectsByClass;
+
     static void checkId(String id) {
         if (id == null || id.isEmpty()) {
             throw new PowsyblException("Invalid id '" + id + "'");
@@ -45,14 +51,46 @@ class NetworkIndex {
         objectsById.put(obj.getId(), obj);
         obj.getAliases().forEach(alias -> addAlias(obj, alias));
 
+        if (pendingObjectsByClass != null) {
+            pendingObjectsByClass.computeIfAbsent(obj.getClass(), k -> new ArrayList<>()).add(obj);
+            return;
+        }
         Set<Identifiable<?>> all = objectsByClass.get(obj.getClass());
         if (all == null) {
-            all = new LinkedHashSet<>();
+            all = new IdentifiableSet<>();
             objectsByClass.put(obj.getClass(), all);
         }
         all.add(obj);
     }
 
+    /**
+     * Start deferring the update of the sets of objects by class, until {@link #stopDeferring()} is called or until
+     * these sets are needed.
+     */
+    void startDeferring() {
+        if (pendingObjectsByClass == null) {
+            pendingObjectsByClass = new HashMap<>();
+        }
+    }
+
+    void stopDeferring() {
+        addPendingObjects();
+        pendingObjectsByClass = null;
+    }
+
+    private void addPendingObjects() {
+        if (pendingObjectsByClass == null || pendingObjectsByClass.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Class<? extends Identifiable>, List<Identifiable<?>>> entry : pendingObjectsByClass.entrySet()) {
+            List<Identifiable<?>> objects = entry.getValue();
+            // sets are created at their final size, instead of being grown and rehashed object by object
+            objectsByClass.computeIfAbsent(entry.getKey(), k -> new IdentifiableSet<>(objects.size()))
+                    .addAll(objects);
+        }
+        pendingObjectsByClass.clear();
+    }
+
     boolean addAlias(Identifiable<?> obj, String alias) {
         Identifiable<?> aliasConflict = objectsById.get(alias);
         if (aliasConflict != null) {
@@ -116,6 +154,7 @@ class NetworkIndex {
     }
 
     <T extends Identifiable> Set<T> getAll(Class<T> clazz) {
+        addPendingObjects();
         Set<Identifiable<?>> all = objectsByClass.get(clazz);
         if (all == null) {
             return Collections.emptySet();
@@ -137,6 +176,7 @@ class NetworkIndex {
                     + ") '" + obj.getId() + "' not found");
         }
         obj.getAliases().forEach(idByAlias::remove);
+        addPendingObjects();
         Set<Identifiable<?>> all = objectsByClass.get(obj.getClass());
         if (all != null) {
             all.remove(obj);
@@ -146,6 +186,9 @@ class NetworkIndex {
     void clean() {
         objectsById.clear();
         objectsByClass.clear();
+        if (pendingObjectsByClass != null) {
+            pendingObjectsByClass.clear();
+        }
     }
 
     /**
@@ -155,6 +198,7 @@ class NetworkIndex {
      */
     Multimap<Class<? extends Identifiable>, String> intersection(NetworkIndex other) {
         Multimap<Class<? extends Identifiable>, String> intersection = HashMultimap.create();
+        other.addPendingObjects();
         for (Map.Entry<Class<? extends Identifiable>, Set<Identifiable<?>>> entry : other.objectsByClass.entrySet()) {
             Class<? extends Identifiable> clazz = entry.getKey();
             Set<Identifiable<?>> objects = entry.getValue();
@@ -176,16 +220,44 @@ class NetworkIndex {
     /**
      * Merge an other index into this one. At the end of the call the
      * other index is empty.
+     * <p>
+     * The objects of the other index are spliced after the objects of this index: the sets of objects of a class
+     * which is not in this index are taken as they are, and the other ones are appended in one pass, in the order of
+     * the other index.
      * @param other the index to merge
      */
     void merge(NetworkIndex other) {
-        for (Identifiable obj : other.objectsById.values()) {
-            checkAndAdd(obj);
+        for (String id : other.objectsById.keySet()) {
+            if (objectsById.containsKey(id)) {
+                Identifiable<?> obj = other.objectsById.get(id);
+                throw new PowsyblException("Object (" + obj.getClass().getName()
+                        + ") '" + id + "' already exists");
+            }
+        }
+        objectsById.putAll(other.objectsById);
+        for (Map.Entry<String, String> entry : other.idByAlias.entrySet()) {
+            addAlias(objectsById.get(entry.getValue()), entry.getKey());
+        }
+
+        other.addPendingObjects();
+        for (Map.Entry<Class<? extends Identifiable>, Set<Identifiable<?>>> entry : other.objectsByClass.entrySet()) {
+            Set<Identifiable<?>> all = objectsByClass.get(entry.getKey());
+            if (pendingObjectsByClass != null) {
+                pendingObjectsByClass.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+            } else if (all == null) {
+                objectsByClass.put(entry.getKey(), entry.getValue());
+            } else {
+                all.addAll(entry.getValue());
+            }
         }
-        other.clean();
+        // sets taken as they are must not be cleared
+        other.objectsById.clear();
+        other.idByAlias.clear();
+        other.objectsByClass.clear();
     }
 
     void printForDebug(PrintStream out) {
+        addPendingObjects();
         for (Map.Entry<String, Identifiable<?>> entry : objectsById.entrySet()) {
             out.println(entry.getKey() + " " + System.identityHashCode(entry.getValue()));
         }
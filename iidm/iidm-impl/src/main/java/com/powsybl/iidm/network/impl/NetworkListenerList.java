@@ -25,6 +25,11 @@ class NetworkListenerList {
 
     private final List<NetworkListener> listeners = new ArrayList<>();
 
+    /**
+     * Notifications queued during a bulk build, null if notifications are dispatched immediately.
+     */
+    private List<Runnable> deferredNotifications;
+
     void add(NetworkListener listener) {
         listeners.add(listener);
     }
@@ -33,6 +38,34 @@ class NetworkListenerList {
         listeners.remove(listener);
     }
 
+    void startDeferring() {
+        if (deferredNotifications == null) {
+            deferredNotifications = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Stop deferring notifications and dispatch, in order, the ones that have been queued.
+     */
+    void stopDeferring() {
+        List<Runnable> notifications = deferredNotifications;
+        deferredNotifications = null;
+        if (notifications != null) {
+            notifications.forEach(Runnable::run);
+        }
+    }
+
+    private boolean defer(Runnable notification) {
+        if (deferredNotifications != null) {
+            // nothing to queue if nobody is listening
+            if (!listeners.isEmpty()) {
+                deferredNotifications.add(notification);
+            }
+            return true;
+        }
+        return false;
+    }
+
     void notifyUpdate(Identifiable identifiable, Supplier<String> attribute, Object oldValue, Object newValue) {
         if (!listeners.isEmpty() && !Objects.equals(oldValue, newValue)) {
             notifyListeners(identifiable, attribute.get(), oldValue, newValue);
@@ -46,6 +79,9 @@ class NetworkListenerList {
     }
 
     private void notifyListeners(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+        if (defer(() -> notifyListeners(identifiable, attribute, oldValue, newValue))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onUpdate(identifiable, attribute, oldValue, newValue);
@@ -68,6 +104,9 @@ class NetworkListenerList {
     }
 
     private void notifyListeners(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+        if (defer(() -> notifyListeners(identifiable, attribute, variantId, oldValue, newValue))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onUpdate(identifiable, attribute, variantId, oldValue, newValue);
@@ -78,6 +117,9 @@ class NetworkListenerList {
     }
 
     void notifyCreation(Identifiable identifiable) {
+        if (defer(() -> notifyCreation(identifiable))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onCreation(identifiable);
@@ -88,6 +130,9 @@ class NetworkListenerList {
     }
 
     void notifyBeforeRemoval(Identifiable identifiable) {
+        if (defer(() -> notifyBeforeRemoval(identifiable))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.beforeRemoval(identifiable);
@@ -98,6 +143,9 @@ class NetworkListenerList {
     }
 
     void notifyAfterRemoval(String id) {
+        if (defer(() -> notifyAfterRemoval(id))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.afterRemoval(id);
@@ -114,6 +162,9 @@ class NetworkListenerList {
     }
 
     void notifyElementAdded(Identifiable<?> identifiable, String attribute, Object newValue) {
+        if (defer(() -> notifyElementAdded(identifiable, attribute, newValue))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onElementAdded(identifiable, attribute, newValue);
@@ -130,6 +181,9 @@ class NetworkListenerList {
     }
 
     void notifyElementReplaced(Identifiable<?> identifiable, String attribute, Object oldValue, Object newValue) {
+        if (defer(() -> notifyElementReplaced(identifiable, attribute, oldValue, newValue))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onElementReplaced(identifiable, attribute, oldValue, newValue);
@@ -146,6 +200,9 @@ class NetworkListenerList {
     }
 
     void notifyElementRemoved(Identifiable<?> identifiable, String attribute, Object oldValue) {
+        if (defer(() -> notifyElementRemoved(identifiable, attribute, oldValue))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onElementRemoved(identifiable, attribute, oldValue);
@@ -156,6 +213,9 @@ class NetworkListenerList {
     }
 
     void notifyVariantCreated(String sourceVariantId, String targetVariantId) {
+        if (defer(() -> notifyVariantCreated(sourceVariantId, targetVariantId))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onVariantCreated(sourceVariantId, targetVariantId);
@@ -166,6 +226,9 @@ class NetworkListenerList {
     }
 
     void notifyVariantOverwritten(String sourceVariantId, String targetVariantId) {
+        if (defer(() -> notifyVariantOverwritten(sourceVariantId, targetVariantId))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onVariantOverwritten(sourceVariantId, targetVariantId);
@@ -176,6 +239,9 @@ class NetworkListenerList {
     }
 
     void notifyVariantRemoved(String variantId) {
+        if (defer(() -> notifyVariantRemoved(variantId))) {
+            return;
+        }
         for (NetworkListener listener : listeners) {
             try {
                 listener.onVariantRemoved(variantId);
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class BulkBuildTest {
+
+    private static VoltageLevel createVoltageLevel(Network network) {
+        Substation s = network.newSubstation()
+                .setId("S")
+                .add();
+        VoltageLevel vl = s.newVoltageLevel()
+                .setId("VL")
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B")
+                .add();
+        return vl;
+    }
+
+    private static LoadAdder newLoad(VoltageLevel vl, String id) {
+        return vl.newLoad()
+                .setId(id)
+                .setBus("B")
+                .setConnectableBus("B")
+                .setP0(10);
+    }
+
+    @Test
+    public void testDeferredNotifications() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        List<String> created = new ArrayList<>();
+        network.addListener(new DefaultNetworkListener() {
+            @Override
+            public void onCreation(Identifiable identifiable) {
+                created.add(identifiable.getId());
+            }
+        });
+        network.startBulkBuild();
+        assertTrue(network.isBulkBuildInProgress());
+        VoltageLevel vl = createVoltageLevel(network);
+        newLoad(vl, "L1").setQ0(0).add();
+        assertTrue(created.isEmpty());
+        network.commitBulkBuild();
+        assertFalse(network.isBulkBuildInProgress());
+        assertEquals(List.of("S", "VL", "B", "L1"), created);
+        newLoad(vl, "L2").setQ0(0).add();
+        assertEquals(List.of("S", "VL", "B", "L1", "L2"), created);
+    }
+
+    @Test
+    public void testDeferredValidation() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        network.startBulkBuild();
+        VoltageLevel vl = createVoltageLevel(network);
+        // q0 is missing, only checked at the end of the bulk build
+        Load load = newLoad(vl, "L").add();
+        load.setQ0(5);
+        network.commitBulkBuild();
+        assertEquals(ValidationLevel.STEADY_STATE_HYPOTHESIS, network.getValidationLevel());
+    }
+
+    @Test
+    public void testDeferredIndex() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        network.startBulkBuild();
+        VoltageLevel vl = createVoltageLevel(network);
+        newLoad(vl, "L1").setQ0(0).add();
+        newLoad(vl, "L2").setQ0(0).add();
+        // elements are found by id, and by type as soon as needed
+        assertNotNull(network.getLoad("L2"));
+        assertEquals(2, network.getLoadCount());
+        newLoad(vl, "L3").setQ0(0).add();
+        network.getLoad("L1").remove();
+        PowsyblException e = assertThrows(PowsyblException.class, () -> newLoad(vl, "L2").setQ0(0).add());
+        assertEquals("The network test already contains an object 'LoadImpl' with the id 'L2'", e.getMessage());
+        network.commitBulkBuild();
+        assertEquals(List.of("L2", "L3"), network.getLoadStream().map(Identifiable::getId).collect(Collectors.toList()));
+        assertEquals(List.of("L2", "L3"), vl.getLoadStream().map(Identifiable::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testInvalidNetwork() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        List<String> created = new ArrayList<>();
+        network.addListener(new DefaultNetworkListener() {
+            @Override
+            public void onCreation(Identifiable identifiable) {
+                created.add(identifiable.getId());
+            }
+        });
+        network.startBulkBuild();
+        VoltageLevel vl = createVoltageLevel(network);
+        newLoad(vl, "L").add();
+        ValidationException e = assertThrows(ValidationException.class, network::commitBulkBuild);
+        assertEquals("Load 'L': q0 is invalid", e.getMessage());
+
+        // the bulk build has ended, and the network is consistent with the elements it contains
+        assertFalse(network.isBulkBuildInProgress());
+        assertEquals(List.of("S", "VL", "B", "L"), created);
+        assertEquals(1, network.getLoadCount());
+        assertEquals(ValidationLevel.EQUIPMENT, network.getValidationLevel());
+        assertThrows(ValidationException.class, () -> network.setMinimumAcceptableValidationLevel(ValidationLevel.STEADY_STATE_HYPOTHESIS));
+        network.getLoad("L").setQ0(0);
+        network.setMinimumAcceptableValidationLevel(ValidationLevel.STEADY_STATE_HYPOTHESIS);
+        assertEquals(ValidationLevel.STEADY_STATE_HYPOTHESIS, network.getValidationLevel());
+        e = assertThrows(ValidationException.class, () -> network.getLoad("L").setQ0(Double.NaN));
+        assertEquals("Load 'L': q0 is invalid", e.getMessage());
+    }
+
+    @Test
+    public void testFailedBuild() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        List<String> created = new ArrayList<>();
+        network.addListener(new DefaultNetworkListener() {
+            @Override
+            public void onCreation(Identifiable identifiable) {
+                created.add(identifiable.getId());
+            }
+        });
+        PowsyblException e = assertThrows(PowsyblException.class, () -> network.bulkBuild(() -> {
+            VoltageLevel vl = createVoltageLevel(network);
+            newLoad(vl, "L1").setQ0(0).add();
+            newLoad(vl, "L2").add();
+            throw new PowsyblException("Import failed");
+        }));
+        assertEquals("Import failed", e.getMessage());
+
+        // the bulk build has been aborted, elements created so far are indexed and notified, and the network is left
+        // at the validation level it reaches
+        assertFalse(network.isBulkBuildInProgress());
+        assertEquals(List.of("S", "VL", "B", "L1", "L2"), created);
+        assertEquals(2, network.getLoadCount());
+        assertEquals(ValidationLevel.EQUIPMENT, network.getValidationLevel());
+        network.bulkBuild(() -> network.getLoad("L2").setQ0(0));
+        assertEquals(ValidationLevel.STEADY_STATE_HYPOTHESIS, network.getValidationLevel());
+    }
+
+    @Test
+    public void testAbortValidNetwork() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        network.startBulkBuild();
+        VoltageLevel vl = createVoltageLevel(network);
+        newLoad(vl, "L").setQ0(0).add();
+        network.abortBulkBuild();
+        ValidationException e = assertThrows(ValidationException.class, () -> network.getLoad("L").setQ0(Double.NaN));
+        assertEquals("Load 'L': q0 is invalid", e.getMessage());
+    }
+
+    @Test
+    public void testMinimumValidationLevelDuringBulkBuild() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        network.startBulkBuild();
+        VoltageLevel vl = createVoltageLevel(network);
+        newLoad(vl, "L").add();
+        // applied at the end of the bulk build
+        network.setMinimumAcceptableValidationLevel(ValidationLevel.EQUIPMENT);
+        network.commitBulkBuild();
+        assertEquals(ValidationLevel.EQUIPMENT, network.getValidationLevel());
+    }
+
+    @Test
+    public void testEquipmentValidationLevel() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        network.setMinimumAcceptableValidationLevel(ValidationLevel.EQUIPMENT);
+        network.startBulkBuild();
+        VoltageLevel vl = createVoltageLevel(network);
+        newLoad(vl, "L").add();
+        network.commitBulkBuild();
+        assertEquals(ValidationLevel.EQUIPMENT, network.getValidationLevel());
+    }
+
+    @Test
+    public void testInvalidState() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        PowsyblException e = assertThrows(PowsyblException.class, network::commitBulkBuild);
+        assertEquals("No bulk build of network 'test' in progress", e.getMessage());
+        network.startBulkBuild();
+        e = assertThrows(PowsyblException.class, network::startBulkBuild);
+        assertEquals("Bulk build of network 'test' already in progress", e.getMessage());
+        network.abortBulkBuild();
+        e = assertThrows(PowsyblException.class, network::abortBulkBuild);
+        assertEquals("No bulk build of network 'test' in progress", e.getMessage());
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class IdentifiableSetTest {
+
+    private static List<Object> createObjects(int count) {
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            objects.add(new Object());
+        }
+        return objects;
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        List<Object> objects = createObjects(1000);
+        IdentifiableSet<Object> set = new IdentifiableSet<>();
+        Set<Object> expected = new LinkedHashSet<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            Object o = objects.get(random.nextInt(objects.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(o), set.remove(o));
+            } else {
+                assertEquals(expected.add(o), set.add(o));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        for (Object o : objects) {
+            assertEquals(expected.contains(o), set.contains(o));
+        }
+        assertFalse(set.contains(null));
+        assertFalse(set.remove(null));
+        assertEquals(expected, set);
+    }
+
+    @Test
+    public void testRemoveAll() {
+        List<Object> objects = createObjects(100);
+        IdentifiableSet<Object> set = new IdentifiableSet<>(objects.size());
+        set.addAll(objects);
+        assertEquals(objects, new ArrayList<>(set));
+        // removed elements are compacted, order is kept
+        for (int i = 0; i < 90; i++) {
+            assertTrue(set.remove(objects.get(i)));
+        }
+        assertEquals(objects.subList(90, 100), new ArrayList<>(set));
+        set.removeAll(objects);
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+        set.add(objects.get(0));
+        assertEquals(List.of(objects.get(0)), new ArrayList<>(set));
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        List<Object> objects = createObjects(10);
+        IdentifiableSet<Object> set = new IdentifiableSet<>();
+        set.addAll(objects);
+        Iterator<Object> it = set.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        int i = 0;
+        while (it.hasNext()) {
+            Object o = it.next();
+            assertSame(objects.get(i), o);
+            if (i++ % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertThrows(NoSuchElementException.class, it::next);
+        assertEquals(List.of(objects.get(1), objects.get(3), objects.get(5), objects.get(7), objects.get(9)), new ArrayList<>(set));
+
+        Iterator<Object> it2 = set.iterator();
+        it2.next();
+        set.remove(objects.get(9));
+        assertThrows(ConcurrentModificationException.class, it2::next);
+    }
+
+    @Test
+    public void testAddAll() {
+        List<Object> objects = createObjects(100);
+        IdentifiableSet<Object> set = new IdentifiableSet<>();
+        Set<Object> expected = new LinkedHashSet<>();
+        set.addAll(objects.subList(0, 10));
+        expected.addAll(objects.subList(0, 10));
+        // leave holes, which are compacted when room is reserved for the appended elements
+        for (int i = 0; i < 10; i += 2) {
+            set.remove(objects.get(i));
+            expected.remove(objects.get(i));
+        }
+        assertTrue(set.addAll(objects.subList(5, 100)));
+        expected.addAll(objects.subList(5, 100));
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        assertFalse(set.addAll(objects.subList(50, 100)));
+        objects.forEach(o -> assertEquals(expected.contains(o), set.contains(o)));
+    }
+}
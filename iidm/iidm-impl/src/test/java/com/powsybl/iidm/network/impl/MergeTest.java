@@ -6,18 +6,19 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.powsybl.iidm.network.DanglingLine;
-import com.powsybl.iidm.network.Network;
-import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.test.NetworkTest1Factory;
 
 /**
@@ -62,6 +63,113 @@ public class MergeTest {
         checkConnectedComponents(n1);
     }
 
+    @Test
+    public void mergeManyNetworks() {
+        // network i is connected to network i + 1 through xnode Xi+1
+        int count = 30;
+        List<Network> networks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            networks.add(createNetworkWithTwoDanglingLines(i));
+        }
+        Network merged = networks.get(0);
+        merged.merge(networks.subList(1, count).toArray(new Network[0]));
+
+        assertEquals(count, merged.getSubstationCount());
+        assertEquals(count * 2, merged.getLoadCount());
+        assertEquals(count - 1, merged.getLineCount());
+        assertEquals(List.of("DL0a", "DL29b"), merged.getDanglingLineStream().map(Identifiable::getId).collect(Collectors.toList()));
+        // objects of each merged network are spliced after the objects of the previous ones, in their order
+        List<String> expectedLoadIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expectedLoadIds.add("L" + i);
+            expectedLoadIds.add("L" + i + "bis");
+        }
+        assertEquals(expectedLoadIds, merged.getLoadStream().map(Identifiable::getId).collect(Collectors.toList()));
+        for (int i = 0; i < count; i++) {
+            Load load = merged.getLoad("L" + i);
+            assertSame(merged, load.getNetwork());
+            assertSame(load, merged.getIdentifiable("alias" + i));
+        }
+        Line line = merged.getLine("DL0b + DL1a");
+        assertNotNull(line);
+        assertSame(line, merged.getIdentifiable("DL1a"));
+        assertTrue(networks.get(1).getIdentifiables().isEmpty());
+    }
+
+    @Test
+    public void mergeSeveralDanglingLinesOnSameXnode() {
+        Network n1 = createNetworkWithDanglingLines("1", "DL1a", "DL1b", "DL1c");
+        Network n2 = createNetworkWithDanglingLines("2", "DL2");
+        n1.merge(n2);
+        // the last dangling line of the xnode is merged
+        assertEquals(List.of("DL1c + DL2"), n1.getLineStream().map(Identifiable::getId).collect(Collectors.toList()));
+        assertEquals(List.of("DL1a", "DL1b"), n1.getDanglingLineStream().map(Identifiable::getId).collect(Collectors.toList()));
+    }
+
+    private static Network createNetworkWithDanglingLines(String suffix, String... danglingLineIds) {
+        Network n = Network.create("n" + suffix, "test");
+        VoltageLevel vl = n.newSubstation()
+                .setId("S" + suffix)
+                .add()
+                .newVoltageLevel()
+                .setId("VL" + suffix)
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B" + suffix)
+                .add();
+        for (String id : danglingLineIds) {
+            createDanglingLine(vl, id, "X");
+        }
+        return n;
+    }
+
+    private static Network createNetworkWithTwoDanglingLines(int i) {
+        Network n = Network.create("n" + i, "test");
+        VoltageLevel vl = n.newSubstation()
+                .setId("S" + i)
+                .add()
+                .newVoltageLevel()
+                .setId("VL" + i)
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B" + i)
+                .add();
+        vl.newLoad()
+                .setId("L" + i)
+                .setBus("B" + i)
+                .setP0(10)
+                .setQ0(0)
+                .add()
+                .addAlias("alias" + i);
+        vl.newLoad()
+                .setId("L" + i + "bis")
+                .setBus("B" + i)
+                .setP0(10)
+                .setQ0(0)
+                .add();
+        createDanglingLine(vl, "DL" + i + "a", "X" + i);
+        createDanglingLine(vl, "DL" + i + "b", "X" + (i + 1));
+        return n;
+    }
+
+    private static void createDanglingLine(VoltageLevel vl, String id, String xnode) {
+        vl.newDanglingLine()
+                .setId(id)
+                .setBus(vl.getBusBreakerView().getBuses().iterator().next().getId())
+                .setR(1.0)
+                .setX(0.1)
+                .setG(0.0)
+                .setB(0.001)
+                .setP0(10)
+                .setQ0(1)
+                .setUcteXnodeCode(xnode)
+                .add();
+    }
+
     private static void logVoltageLevel(String title, VoltageLevel vl) throws IOException {
         LOG.info(title);
         try (StringWriter w = new StringWriter()) {
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ValidationLevelTest {
+
+    @Test
+    public void testAddToInvalidatedNetwork() {
+        Network network = NetworkFactory.findDefault().createNetwork("test", "test");
+        network.setMinimumAcceptableValidationLevel(ValidationLevel.EQUIPMENT);
+        VoltageLevel vl = network.newSubstation()
+                .setId("S")
+                .add()
+                .newVoltageLevel()
+                .setId("VL")
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B")
+                .add();
+        Load load = vl.newLoad()
+                .setId("L1")
+                .setBus("B")
+                .setP0(10)
+                .add();
+        assertEquals(ValidationLevel.EQUIPMENT, network.getValidationLevel());
+
+        // the validation level is invalidated, and computed again on demand
+        load.setQ0(0);
+        vl.newLoad()
+                .setId("L2")
+                .setBus("B")
+                .setP0(10)
+                .add();
+        assertEquals(ValidationLevel.EQUIPMENT, network.getValidationLevel());
+        network.getLoad("L2").setQ0(0);
+        assertEquals(ValidationLevel.STEADY_STATE_HYPOTHESIS, network.getValidationLevel());
+    }
+}
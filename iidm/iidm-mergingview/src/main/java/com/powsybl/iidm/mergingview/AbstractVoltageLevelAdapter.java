@@ -16,8 +16,6 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Writer;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -30,22 +28,16 @@ abstract class AbstractVoltageLevelAdapter extends AbstractIdentifiableAdapter<V
 
     static class BusCache<T> extends AbstractAdapter<T> {
 
-        private final Map<Bus, BusAdapter> busCache = new HashMap<>();
-
         public BusCache(T delegate, MergingViewIndex index) {
             super(delegate, index);
         }
 
         void invalidateCache() {
-            busCache.clear();
+            getIndex().evictCalculatedAdapters();
         }
 
         public Bus getBus(Bus bus) {
-            return bus == null ? null : busCache.computeIfAbsent(bus, key -> new BusAdapter(key, getIndex()));
-        }
-
-        public int size() {
-            return busCache.size();
+            return getIndex().getBus(bus);
         }
     }
 
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.mergingview;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Identity based cache of the adapters of the merging view, indexed by the underlying (delegate) object.
+ * <p>
+ * Keys and adapters are stored in two parallel arrays using open addressing with linear probing, so that a lookup
+ * is a few array accesses and reference comparisons. Adapters are strongly referenced: an adapter keeps the same
+ * identity as long as it is not evicted, either one by one when its delegate is removed from its network, or all at
+ * once when its delegate is outdated, like the calculated buses of a topology which has changed.
+ *
+ * @author agent <agent at local>
+ */
+final class AdapterCache<K, A> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+
+    private Object[] adapters = new Object[INITIAL_CAPACITY];
+
+    private int size = 0;
+
+    private int modCount = 0;
+
+    private static int hash(Object key, int mask) {
+        int h = System.identityHashCode(key);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of the key, or {@code -(slot + 1)} where slot is the free slot where the key would be stored.
+     */
+    private int findSlot(Object key) {
+        int mask = keys.length - 1;
+        int slot = hash(key, mask);
+        Object k;
+        while ((k = keys[slot]) != null) {
+            if (k == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -(slot + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    A get(K key) {
+        Objects.requireNonNull(key);
+        int slot = findSlot(key);
+        return slot >= 0 ? (A) adapters[slot] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends A> T computeIfAbsent(K key, Function<? super K, T> factory) {
+        Objects.requireNonNull(key);
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            return (T) adapters[slot];
+        }
+        int expectedModCount = modCount;
+        T adapter = Objects.requireNonNull(factory.apply(key));
+        if (expectedModCount != modCount) {
+            // the factory has created other adapters, look for the slot again
+            slot = findSlot(key);
+            if (slot >= 0) {
+                return (T) adapters[slot];
+            }
+        }
+        slot = -slot - 1;
+        modCount++;
+        keys[slot] = key;
+        adapters[slot] = adapter;
+        if (++size > keys.length / 2) {
+            resize(keys.length * 2);
+        }
+        return adapter;
+    }
+
+    @SuppressWarnings("unchecked")
+    A remove(K key) {
+        Objects.requireNonNull(key);
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        A adapter = (A) adapters[slot];
+        deleteSlot(slot);
+        size--;
+        modCount++;
+        return adapter;
+    }
+
+    void clear() {
+        if (size > 0) {
+            keys = new Object[INITIAL_CAPACITY];
+            adapters = new Object[INITIAL_CAPACITY];
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * Backward shift deletion, so that no tombstone is needed.
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            Object k = keys[i];
+            if (k == null) {
+                break;
+            }
+            int home = hash(k, mask);
+            // move the entry to the hole if its home slot is not cyclically in ]hole, i]
+            if ((i - home & mask) >= (i - hole & mask)) {
+                keys[hole] = k;
+                adapters[hole] = adapters[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+        adapters[hole] = null;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldAdapters = adapters;
+        keys = new Object[capacity];
+        adapters = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object k = oldKeys[i];
+            if (k != null) {
+                int slot = hash(k, mask);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                adapters[slot] = oldAdapters[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.mergingview;
+
+import com.powsybl.iidm.network.Identifiable;
+
+import java.util.Set;
+
+/**
+ * Evict adapters from the merging view index when their delegate is removed from a merged network, and adapters of
+ * calculated buses and components when the topology of a merged network changes.
+ * <p>
+ * Changes of the internal connections of a node breaker voltage level are not notified: adapters of the outdated
+ * calculated buses are kept until the next notified topology change, new buses get new adapters in the meantime.
+ *
+ * @author agent <agent at local>
+ */
+public class AdapterEvictionListener extends DefaultMergingViewListener {
+
+    private static final Set<String> TOPOLOGY_ATTRIBUTES = Set.of("open", "retained", "connected", "connectableBusId");
+
+    AdapterEvictionListener(final MergingViewIndex index) {
+        super(index);
+    }
+
+    @Override
+    public void onCreation(final Identifiable identifiable) {
+        index.evictCalculatedAdapters();
+    }
+
+    @Override
+    public void beforeRemoval(final Identifiable identifiable) {
+        index.evict(identifiable);
+    }
+
+    @Override
+    public void afterRemoval(String id) {
+        index.evictCalculatedAdapters();
+    }
+
+    @Override
+    public void onUpdate(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+        if (TOPOLOGY_ATTRIBUTES.contains(attribute)) {
+            index.evictCalculatedAdapters();
+        }
+    }
+
+    @Override
+    public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+        index.evictCalculatedAdapters();
+    }
+
+    @Override
+    public void onVariantRemoved(String variantId) {
+        index.evictCalculatedAdapters();
+    }
+}
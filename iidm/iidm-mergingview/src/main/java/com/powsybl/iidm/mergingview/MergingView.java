@@ -43,6 +43,8 @@ public final class MergingView implements Network, MultiVariantObject {
     private final NetworkListener mergeDanglingLineListener;
     private final TopologyListener topologyListener;
 
+    private final NetworkListener adapterEvictionListener;
+
     static PowsyblException createNotImplementedException() {
         return new PowsyblException("Not implemented exception");
     }
@@ -156,6 +158,7 @@ public final class MergingView implements Network, MultiVariantObject {
         // Listeners creation
         mergeDanglingLineListener = new MergingLineListener(index);
         topologyListener = new TopologyListener(index);
+        adapterEvictionListener = new AdapterEvictionListener(index);
         busBreakerView = new BusBreakerViewAdapter(index);
         busView = new BusViewAdapter(index);
         // Working network will store view informations
@@ -349,12 +352,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public <C extends Connectable> Stream<C> getConnectableStream(Class<C> clazz) {
-        return index.getConnectables(clazz).stream();
+        return index.getConnectableStream(clazz);
     }
 
     @Override
     public <C extends Connectable> int getConnectableCount(Class<C> clazz) {
-        return index.getConnectables(clazz).size();
+        return index.getConnectableCount(clazz);
     }
 
     @Override
@@ -364,12 +367,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Connectable> getConnectableStream() {
-        return index.getConnectables().stream();
+        return index.getConnectableStream();
     }
 
     @Override
     public int getConnectableCount() {
-        return index.getConnectables().size();
+        return index.getConnectableCount();
     }
 
     @Override
@@ -384,12 +387,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Substation> getSubstationStream() {
-        return index.getSubstations().stream();
+        return index.getSubstationStream();
     }
 
     @Override
     public int getSubstationCount() {
-        return index.getSubstations().size();
+        return index.getSubstationCount();
     }
 
     @Override
@@ -421,12 +424,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<VoltageLevel> getVoltageLevelStream() {
-        return index.getVoltageLevels().stream();
+        return index.getVoltageLevelStream();
     }
 
     @Override
     public int getVoltageLevelCount() {
-        return index.getVoltageLevels().size();
+        return index.getVoltageLevelCount();
     }
 
     @Override
@@ -442,12 +445,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Battery> getBatteryStream() {
-        return index.getBatteries().stream();
+        return index.getBatteryStream();
     }
 
     @Override
     public int getBatteryCount() {
-        return index.getBatteries().size();
+        return index.getBatteryCount();
     }
 
     @Override
@@ -463,12 +466,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<VscConverterStation> getVscConverterStationStream() {
-        return index.getVscConverterStations().stream();
+        return index.getVscConverterStationStream();
     }
 
     @Override
     public int getVscConverterStationCount() {
-        return index.getVscConverterStations().size();
+        return index.getVscConverterStationCount();
     }
 
     @Override
@@ -484,12 +487,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<TwoWindingsTransformer> getTwoWindingsTransformerStream() {
-        return index.getTwoWindingsTransformers().stream();
+        return index.getTwoWindingsTransformerStream();
     }
 
     @Override
     public int getTwoWindingsTransformerCount() {
-        return index.getTwoWindingsTransformers().size();
+        return index.getTwoWindingsTransformerCount();
     }
 
     @Override
@@ -510,12 +513,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Switch> getSwitchStream() {
-        return index.getSwitches().stream();
+        return index.getSwitchStream();
     }
 
     @Override
     public int getSwitchCount() {
-        return index.getSwitches().size();
+        return index.getSwitchCount();
     }
 
     // StaticVarCompensator
@@ -526,12 +529,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<StaticVarCompensator> getStaticVarCompensatorStream() {
-        return index.getStaticVarCompensators().stream();
+        return index.getStaticVarCompensatorStream();
     }
 
     @Override
     public int getStaticVarCompensatorCount() {
-        return index.getStaticVarCompensators().size();
+        return index.getStaticVarCompensatorCount();
     }
 
     @Override
@@ -547,12 +550,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<ShuntCompensator> getShuntCompensatorStream() {
-        return index.getShuntCompensators().stream();
+        return index.getShuntCompensatorStream();
     }
 
     @Override
     public int getShuntCompensatorCount() {
-        return index.getShuntCompensators().size();
+        return index.getShuntCompensatorCount();
     }
 
     @Override
@@ -568,12 +571,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Load> getLoadStream() {
-        return index.getLoads().stream();
+        return index.getLoadStream();
     }
 
     @Override
     public int getLoadCount() {
-        return index.getLoads().size();
+        return index.getLoadCount();
     }
 
     @Override
@@ -589,12 +592,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Generator> getGeneratorStream() {
-        return index.getGenerators().stream();
+        return index.getGeneratorStream();
     }
 
     @Override
     public int getGeneratorCount() {
-        return index.getGenerators().size();
+        return index.getGeneratorCount();
     }
 
     @Override
@@ -615,12 +618,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<BusbarSection> getBusbarSectionStream() {
-        return index.getBusbarSections().stream();
+        return index.getBusbarSectionStream();
     }
 
     @Override
     public int getBusbarSectionCount() {
-        return index.getBusbarSections().size();
+        return index.getBusbarSectionCount();
     }
 
     // LccConverterStations
@@ -631,12 +634,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<LccConverterStation> getLccConverterStationStream() {
-        return index.getLccConverterStations().stream();
+        return index.getLccConverterStationStream();
     }
 
     @Override
     public int getLccConverterStationCount() {
-        return index.getLccConverterStations().size();
+        return index.getLccConverterStationCount();
     }
 
     @Override
@@ -652,12 +655,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<HvdcConverterStation<?>> getHvdcConverterStationStream() {
-        return index.getHvdcConverterStations().stream();
+        return index.getHvdcConverterStationStream();
     }
 
     @Override
     public int getHvdcConverterStationCount() {
-        return index.getHvdcConverterStations().size();
+        return index.getHvdcConverterStationCount();
     }
 
     @Override
@@ -679,12 +682,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<Branch> getBranchStream() {
-        return index.getBranches().stream();
+        return index.getBranchStream();
     }
 
     @Override
     public int getBranchCount() {
-        return index.getBranches().size();
+        return index.getBranchCount();
     }
 
     // ThreeWindingsTransformers
@@ -695,12 +698,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<ThreeWindingsTransformer> getThreeWindingsTransformerStream() {
-        return index.getThreeWindingsTransformers().stream();
+        return index.getThreeWindingsTransformerStream();
     }
 
     @Override
     public int getThreeWindingsTransformerCount() {
-        return index.getThreeWindingsTransformers().size();
+        return index.getThreeWindingsTransformerCount();
     }
 
     @Override
@@ -769,12 +772,12 @@ public final class MergingView implements Network, MultiVariantObject {
 
     @Override
     public Stream<HvdcLine> getHvdcLineStream() {
-        return index.getHvdcLines().stream();
+        return index.getHvdcLineStream();
     }
 
     @Override
     public int getHvdcLineCount() {
-        return index.getHvdcLines().size();
+        return index.getHvdcLineCount();
     }
 
     @Override
@@ -852,6 +855,7 @@ public final class MergingView implements Network, MultiVariantObject {
         // Attach all custom listeners
         network.addListener(mergeDanglingLineListener);
         network.addListener(topologyListener);
+        network.addListener(adapterEvictionListener);
     }
 
     ConnectedComponentsManager getConnectedComponentsManager() {
@@ -862,6 +866,10 @@ public final class MergingView implements Network, MultiVariantObject {
         return synchronousComponentsManager.get(getVariantManager().getWorkingVariantId());
     }
 
+    MergingViewIndex getIndex() {
+        return index;
+    }
+
     // -------------------------------
     // Not implemented methods -------
     // -------------------------------
@@ -21,20 +21,27 @@ import java.util.stream.Stream;
 class MergingViewIndex {
 
     /** Local storage for merged lines created */
-    private final Map<String, MergedLine> mergedLineCached = new WeakHashMap<>();
+    private final Map<String, MergedLine> mergedLineCached = new LinkedHashMap<>();
 
-    /** Local storage for adapters created */
-    private final Map<Identifiable, AbstractAdapter<? extends Identifiable>> identifiableCached = new WeakHashMap<>();
+    /** Local storage for adapters created, adapters are evicted when their delegate is removed */
+    private final AdapterCache<Identifiable<?>, AbstractAdapter<?>> identifiableCached = new AdapterCache<>();
 
-    private final Map<Component, AbstractAdapter<? extends Component>> componentCached = new WeakHashMap<>();
+    /**
+     * Local storage for adapters of calculated buses and components. They are created again by the networks on each
+     * topology change, without being removed through the listeners, so their adapters are all evicted on topology
+     * change, see {@link #evictCalculatedAdapters()}.
+     */
+    private final AdapterCache<Bus, BusAdapter> calculatedBusCached = new AdapterCache<>();
 
-    private final Map<Terminal, AbstractAdapter<? extends Terminal>> terminalCached = new WeakHashMap<>();
+    private final AdapterCache<Component, ComponentAdapter> componentCached = new AdapterCache<>();
 
-    private final Map<PhaseTapChanger, AbstractAdapter<? extends PhaseTapChanger>> ptcCached = new WeakHashMap<>();
+    private final AdapterCache<Terminal, TerminalAdapter> terminalCached = new AdapterCache<>();
 
-    private final Map<RatioTapChanger, AbstractAdapter<? extends RatioTapChanger>> rtcCached = new WeakHashMap<>();
+    private final AdapterCache<PhaseTapChanger, PhaseTapChangerAdapter> ptcCached = new AdapterCache<>();
 
-    private final Map<Boundary, AbstractAdapter<? extends Boundary>> boundaryCached = new WeakHashMap<>();
+    private final AdapterCache<RatioTapChanger, RatioTapChangerAdapter> rtcCached = new AdapterCache<>();
+
+    private final AdapterCache<Boundary, BoundaryAdapter> boundaryCached = new AdapterCache<>();
 
     /** Network asked to be merged */
     private final Collection<Network> networks = new ArrayList<>();
@@ -140,88 +147,152 @@ class MergingViewIndex {
 
     /** @return all Adapters according to all Connectables of a given type */
     <C extends Connectable> Collection<C> getConnectables(Class<C> clazz) {
+        return getConnectableStream(clazz).collect(Collectors.toList());
+    }
+
+    <C extends Connectable> Stream<C> getConnectableStream(Class<C> clazz) {
         // Search Connectables of a given type into merging & working networks
         if (clazz == Line.class) {
-            return getLineStream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList());
+            return getLineStream().filter(clazz::isInstance).map(clazz::cast);
         } else if (clazz == DanglingLine.class) {
-            return getDanglingLineStream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList());
+            return getDanglingLineStream().filter(clazz::isInstance).map(clazz::cast);
         } else {
             return getNetworkStream()
                     .flatMap(n -> n.getConnectableStream(clazz))
-                    .map(c -> clazz.cast(getConnectable(c)))
-                    .collect(Collectors.toList());
+                    .map(c -> clazz.cast(getConnectable(c)));
         }
     }
 
+    <C extends Connectable> int getConnectableCount(Class<C> clazz) {
+        return (int) getConnectableStream(clazz).count();
+    }
+
     /** @return all Adapters according to all Connectables */
     Collection<Connectable> getConnectables() {
+        return getConnectableStream().collect(Collectors.toList());
+    }
+
+    Stream<Connectable> getConnectableStream() {
         return getNetworkStream()
                 .flatMap(Network::getConnectableStream)
                 .map(this::getConnectable)
-                .distinct()
-                .collect(Collectors.toList());
+                .distinct();
+    }
+
+    int getConnectableCount() {
+        // Each MergedLine replaces two DanglingLines
+        return getNetworkStream().mapToInt(Network::getConnectableCount).sum() - mergedLineCached.size();
     }
 
     /** @return all Adapters according to all Substations into merging view */
     Collection<Substation> getSubstations() {
+        return getSubstationStream().collect(Collectors.toList());
+    }
+
+    Stream<Substation> getSubstationStream() {
         // Search Substations into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getSubstationStream)
-                .map(this::getSubstation)
-                .collect(Collectors.toList());
+                .map(this::getSubstation);
+    }
+
+    int getSubstationCount() {
+        return getNetworkStream().mapToInt(Network::getSubstationCount).sum();
     }
 
     /** @return all Adapters according to all Batteries into merging view */
     Collection<Battery> getBatteries() {
+        return getBatteryStream().collect(Collectors.toList());
+    }
+
+    Stream<Battery> getBatteryStream() {
         // Search Batteries into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getBatteryStream)
-                .map(this::getBattery)
-                .collect(Collectors.toList());
+                .map(this::getBattery);
+    }
+
+    int getBatteryCount() {
+        return getNetworkStream().mapToInt(Network::getBatteryCount).sum();
     }
 
     /** @return all Adapters according to all VscConverterStations into merging view */
     Collection<VscConverterStation> getVscConverterStations() {
+        return getVscConverterStationStream().collect(Collectors.toList());
+    }
+
+    Stream<VscConverterStation> getVscConverterStationStream() {
         // Search VscConverterStation into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getVscConverterStationStream)
-                .map(this::getVscConverterStation)
-                .collect(Collectors.toList());
+                .map(this::getVscConverterStation);
+    }
+
+    int getVscConverterStationCount() {
+        return getNetworkStream().mapToInt(Network::getVscConverterStationCount).sum();
     }
 
     /** @return all Adapters according to all TwoWindingsTransformers into merging view */
     Collection<TwoWindingsTransformer> getTwoWindingsTransformers() {
+        return getTwoWindingsTransformerStream().collect(Collectors.toList());
+    }
+
+    Stream<TwoWindingsTransformer> getTwoWindingsTransformerStream() {
         // Search TwoWindingsTransformer into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getTwoWindingsTransformerStream)
-                .map(this::getTwoWindingsTransformer)
-                .collect(Collectors.toList());
+                .map(this::getTwoWindingsTransformer);
+    }
+
+    int getTwoWindingsTransformerCount() {
+        return getNetworkStream().mapToInt(Network::getTwoWindingsTransformerCount).sum();
     }
 
     /** @return all Adapters according to all Switches into merging view */
     Collection<Switch> getSwitches() {
+        return getSwitchStream().collect(Collectors.toList());
+    }
+
+    Stream<Switch> getSwitchStream() {
         // Search TwoWindingsTransformer into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getSwitchStream)
-                .map(this::getSwitch)
-                .collect(Collectors.toList());
+                .map(this::getSwitch);
+    }
+
+    int getSwitchCount() {
+        return getNetworkStream().mapToInt(Network::getSwitchCount).sum();
     }
 
     /** @return all Adapters according to all StaticVarCompensators into merging view */
     Collection<StaticVarCompensator> getStaticVarCompensators() {
+        return getStaticVarCompensatorStream().collect(Collectors.toList());
+    }
+
+    Stream<StaticVarCompensator> getStaticVarCompensatorStream() {
         // Search StaticVarCompensator into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getStaticVarCompensatorStream)
-                .map(this::getStaticVarCompensator)
-                .collect(Collectors.toList());
+                .map(this::getStaticVarCompensator);
+    }
+
+    int getStaticVarCompensatorCount() {
+        return getNetworkStream().mapToInt(Network::getStaticVarCompensatorCount).sum();
     }
 
     Collection<ShuntCompensator> getShuntCompensators() {
+        return getShuntCompensatorStream().collect(Collectors.toList());
+    }
+
+    Stream<ShuntCompensator> getShuntCompensatorStream() {
         // Search ShuntCompensator into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getShuntCompensatorStream)
-                .map(this::getShuntCompensator)
-                .collect(Collectors.toList());
+                .map(this::getShuntCompensator);
+    }
+
+    int getShuntCompensatorCount() {
+        return getNetworkStream().mapToInt(Network::getShuntCompensatorCount).sum();
     }
 
     Collection<VoltageLevel> getVoltageLevels() {
@@ -236,60 +307,113 @@ class MergingViewIndex {
                 .map(this::getVoltageLevel);
     }
 
+    int getVoltageLevelCount() {
+        return getNetworkStream().mapToInt(Network::getVoltageLevelCount).sum();
+    }
+
     Collection<Load> getLoads() {
+        return getLoadStream().collect(Collectors.toList());
+    }
+
+    Stream<Load> getLoadStream() {
         // Search Load into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getLoadStream)
-                .map(this::getLoad)
-                .collect(Collectors.toList());
+                .map(this::getLoad);
+    }
+
+    int getLoadCount() {
+        return getNetworkStream().mapToInt(Network::getLoadCount).sum();
     }
 
     Collection<Generator> getGenerators() {
+        return getGeneratorStream().collect(Collectors.toList());
+    }
+
+    Stream<Generator> getGeneratorStream() {
         // Search Generator into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getGeneratorStream)
-                .map(this::getGenerator)
-                .collect(Collectors.toList());
+                .map(this::getGenerator);
+    }
+
+    int getGeneratorCount() {
+        return getNetworkStream().mapToInt(Network::getGeneratorCount).sum();
     }
 
     Collection<BusbarSection> getBusbarSections() {
+        return getBusbarSectionStream().collect(Collectors.toList());
+    }
+
+    Stream<BusbarSection> getBusbarSectionStream() {
         // Search BusbarSection into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getBusbarSectionStream)
-                .map(this::getBusbarSection)
-                .collect(Collectors.toList());
+                .map(this::getBusbarSection);
+    }
+
+    int getBusbarSectionCount() {
+        return getNetworkStream().mapToInt(Network::getBusbarSectionCount).sum();
     }
 
     Collection<LccConverterStation> getLccConverterStations() {
+        return getLccConverterStationStream().collect(Collectors.toList());
+    }
+
+    Stream<LccConverterStation> getLccConverterStationStream() {
         // Search LccConverterStation into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getLccConverterStationStream)
-                .map(this::getLccConverterStation)
-                .collect(Collectors.toList());
+                .map(this::getLccConverterStation);
+    }
+
+    int getLccConverterStationCount() {
+        return getNetworkStream().mapToInt(Network::getLccConverterStationCount).sum();
     }
 
     Collection<HvdcConverterStation<?>> getHvdcConverterStations() {
+        return getHvdcConverterStationStream().collect(Collectors.toList());
+    }
+
+    Stream<HvdcConverterStation<?>> getHvdcConverterStationStream() {
         // Search HvdcConverterStation into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getHvdcConverterStationStream)
-                .map(this::getHvdcConverterStation)
-                .collect(Collectors.toList());
+                .map(this::getHvdcConverterStation);
+    }
+
+    int getHvdcConverterStationCount() {
+        return getNetworkStream().mapToInt(Network::getHvdcConverterStationCount).sum();
     }
 
     Collection<Branch> getBranches() {
+        return getBranchStream().collect(Collectors.toList());
+    }
+
+    Stream<Branch> getBranchStream() {
         // Search Branch into merging & working networks, and MergedLines
         return Stream.concat(getNetworkStream().flatMap(Network::getBranchStream)
                         .map(this::getBranch),
-                mergedLineCached.values().stream())
-                .collect(Collectors.toList());
+                mergedLineCached.values().stream());
+    }
+
+    int getBranchCount() {
+        return getNetworkStream().mapToInt(Network::getBranchCount).sum() + mergedLineCached.size();
     }
 
     Collection<ThreeWindingsTransformer> getThreeWindingsTransformers() {
+        return getThreeWindingsTransformerStream().collect(Collectors.toList());
+    }
+
+    Stream<ThreeWindingsTransformer> getThreeWindingsTransformerStream() {
         // Search ThreeWindingsTransformer into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getThreeWindingsTransformerStream)
-                .map(this::getThreeWindingsTransformer)
-                .collect(Collectors.toList());
+                .map(this::getThreeWindingsTransformer);
+    }
+
+    int getThreeWindingsTransformerCount() {
+        return getNetworkStream().mapToInt(Network::getThreeWindingsTransformerCount).sum();
     }
 
     Collection<Bus> getBuses() {
@@ -334,11 +458,50 @@ class MergingViewIndex {
     }
 
     Collection<HvdcLine> getHvdcLines() {
+        return getHvdcLineStream().collect(Collectors.toList());
+    }
+
+    Stream<HvdcLine> getHvdcLineStream() {
         // Search HvdcLine into merging & working networks
         return getNetworkStream()
                 .flatMap(Network::getHvdcLineStream)
-                .map(this::getHvdcLine)
-                .collect(Collectors.toList());
+                .map(this::getHvdcLine);
+    }
+
+    int getHvdcLineCount() {
+        return getNetworkStream().mapToInt(Network::getHvdcLineCount).sum();
+    }
+
+    /**
+     * Evict the adapters of an identifiable removed from one of the merged networks, and the adapters of its
+     * terminals and tap changers.
+     */
+    void evict(final Identifiable<?> identifiable) {
+        identifiableCached.remove(identifiable);
+        if (identifiable instanceof Connectable) {
+            for (Terminal terminal : ((Connectable<?>) identifiable).getTerminals()) {
+                terminalCached.remove(terminal);
+            }
+        }
+        if (identifiable instanceof TwoWindingsTransformer) {
+            evictTapChangers((TwoWindingsTransformer) identifiable);
+        } else if (identifiable instanceof ThreeWindingsTransformer) {
+            ((ThreeWindingsTransformer) identifiable).getLegStream().forEach(this::evictTapChangers);
+        }
+    }
+
+    /**
+     * Evict the adapters of the calculated buses and components, which are outdated after a topology change of one of
+     * the merged networks.
+     */
+    void evictCalculatedAdapters() {
+        calculatedBusCached.clear();
+        componentCached.clear();
+    }
+
+    private <H extends RatioTapChangerHolder & PhaseTapChangerHolder> void evictTapChangers(H holder) {
+        holder.getOptionalRatioTapChanger().ifPresent(rtcCached::remove);
+        holder.getOptionalPhaseTapChanger().ifPresent(ptcCached::remove);
     }
 
     /** @return adapter according to given Substation */
@@ -368,7 +531,14 @@ class MergingViewIndex {
 
     /** @return adapter according to given Bus */
     BusAdapter getBus(final Bus bus) {
-        return bus == null ? null : (BusAdapter) identifiableCached.computeIfAbsent(bus, key -> new BusAdapter(bus, this));
+        if (bus == null) {
+            return null;
+        }
+        // configured buses are in the index of their network, and evicted when removed like other identifiables
+        if (bus.getNetwork().getIdentifiable(bus.getId()) == bus) {
+            return (BusAdapter) identifiableCached.computeIfAbsent(bus, key -> new BusAdapter(bus, this));
+        }
+        return calculatedBusCached.computeIfAbsent(bus, key -> new BusAdapter(bus, this));
     }
 
     /** @return adapter according to given TwoWindingsTransformer */
@@ -397,27 +567,32 @@ class MergingViewIndex {
     }
 
     ComponentAdapter getComponent(final Component component) {
-        return component == null ? null : (ComponentAdapter) componentCached.computeIfAbsent(component, key -> new ComponentAdapter(component, this));
+        return component == null ? null : componentCached.computeIfAbsent(component, key -> new ComponentAdapter(component, this));
+    }
+
+    /** @return number of cached adapters of calculated buses and components */
+    int getCalculatedAdapterCount() {
+        return calculatedBusCached.size() + componentCached.size();
     }
 
     TerminalAdapter getTerminal(final Terminal terminal) {
-        return terminal == null ? null : (TerminalAdapter) terminalCached.computeIfAbsent(terminal, key -> new TerminalAdapter(terminal, this));
+        return terminal == null ? null : terminalCached.computeIfAbsent(terminal, key -> new TerminalAdapter(terminal, this));
     }
 
     PhaseTapChangerAdapter getPhaseTapChanger(final PhaseTapChanger ptc) {
-        return ptc == null ? null : (PhaseTapChangerAdapter) ptcCached.computeIfAbsent(ptc, key -> new PhaseTapChangerAdapter(ptc, this));
+        return ptc == null ? null : ptcCached.computeIfAbsent(ptc, key -> new PhaseTapChangerAdapter(ptc, this));
     }
 
     RatioTapChangerAdapter getRatioTapChanger(final RatioTapChanger rtc) {
-        return rtc == null ? null : (RatioTapChangerAdapter) rtcCached.computeIfAbsent(rtc, key -> new RatioTapChangerAdapter(rtc, this));
+        return rtc == null ? null : rtcCached.computeIfAbsent(rtc, key -> new RatioTapChangerAdapter(rtc, this));
     }
 
     BoundaryAdapter getBoundary(final Boundary boundary) {
-        return boundary == null ? null : (BoundaryAdapter) boundaryCached.computeIfAbsent(boundary, key -> new BoundaryAdapter(boundary, this));
+        return boundary == null ? null : boundaryCached.computeIfAbsent(boundary, key -> new BoundaryAdapter(boundary, this));
     }
 
     BoundaryAdapter getBoundary(final Boundary boundary, final Branch.Side mergedSide) {
-        return boundary == null ? null : (BoundaryAdapter) boundaryCached.computeIfAbsent(boundary, key -> new BoundaryAdapter(boundary, mergedSide, this));
+        return boundary == null ? null : boundaryCached.computeIfAbsent(boundary, key -> new BoundaryAdapter(boundary, mergedSide, this));
     }
 
     Line getLine(final Line line) {
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.mergingview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class AdapterCacheTest {
+
+    @Test
+    public void test() {
+        AdapterCache<Object, String> cache = new AdapterCache<>();
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Object key = new Object();
+            keys.add(key);
+            String adapter = "a" + i;
+            assertSame(adapter, cache.computeIfAbsent(key, k -> adapter));
+        }
+        assertEquals(1000, cache.size());
+        for (int i = 0; i < 1000; i++) {
+            String adapter = cache.get(keys.get(i));
+            assertSame(adapter, cache.computeIfAbsent(keys.get(i), k -> "other"));
+        }
+        // remove one key out of two
+        for (int i = 0; i < 1000; i += 2) {
+            assertNotNull(cache.remove(keys.get(i)));
+        }
+        assertEquals(500, cache.size());
+        assertNull(cache.remove(keys.get(0)));
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertNull(cache.get(keys.get(i)));
+            } else {
+                assertEquals("a" + i, cache.get(keys.get(i)));
+            }
+        }
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(keys.get(1)));
+        assertEquals("b", cache.computeIfAbsent(keys.get(1), k -> "b"));
+    }
+
+    @Test
+    public void testReentrantFactory() {
+        AdapterCache<Object, String> cache = new AdapterCache<>();
+        Object key1 = new Object();
+        List<Object> otherKeys = new ArrayList<>();
+        // the factory of key1 creates enough adapters to resize the cache
+        String adapter = cache.computeIfAbsent(key1, k -> {
+            for (int i = 0; i < 100; i++) {
+                Object otherKey = new Object();
+                otherKeys.add(otherKey);
+                cache.computeIfAbsent(otherKey, o -> "other");
+            }
+            return "a1";
+        });
+        assertEquals("a1", adapter);
+        assertSame(adapter, cache.get(key1));
+        assertEquals(101, cache.size());
+        otherKeys.forEach(k -> assertEquals("other", cache.get(k)));
+    }
+}
@@ -231,6 +231,64 @@ public class MergingNetworkTest {
         TestUtil.notImplemented(() -> mergingView.removeListener(null));
     }
 
+    @Test
+    public void testAdapterIdentity() {
+        n1 = EurostagTutorialExample1Factory.create();
+        mergingView.merge(n1);
+
+        Load load = mergingView.getLoad("LOAD");
+        assertSame(load, mergingView.getLoadStream().findFirst().orElseThrow(AssertionError::new));
+        assertSame(load.getTerminal(), mergingView.getLoad("LOAD").getTerminal());
+        TwoWindingsTransformer twt = mergingView.getTwoWindingsTransformer("NGEN_NHV1");
+        assertSame(twt, mergingView.getBranch("NGEN_NHV1"));
+        assertEquals(4, mergingView.getBranchCount());
+        assertEquals(1, mergingView.getLoadCount());
+
+        // adapters of removed objects are evicted
+        n1.getLoad("LOAD").remove();
+        assertNull(mergingView.getLoad("LOAD"));
+        assertEquals(0, mergingView.getLoadCount());
+        assertEquals(0, mergingView.getLoadStream().count());
+        assertSame(twt, mergingView.getTwoWindingsTransformer("NGEN_NHV1"));
+    }
+
+    @Test
+    public void testCalculatedBusAdaptersAreEvicted() {
+        n1 = EurostagTutorialExample1Factory.create();
+        mergingView.merge(n1);
+        MergingViewIndex index = mergingView.getIndex();
+        Bus configuredBus = mergingView.getBusBreakerView().getBus("NHV1");
+
+        // each topology change creates new calculated buses in the merged network
+        Terminal terminal = n1.getLine("NHV1_NHV2_1").getTerminal1();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                terminal.disconnect();
+            } else {
+                terminal.connect();
+            }
+            assertEquals(0, index.getCalculatedAdapterCount());
+            for (Bus bus : n1.getBusView().getBuses()) {
+                assertSame(index.getBus(bus), index.getBus(bus));
+                assertSame(bus, index.getBus(bus).getDelegate());
+                assertSame(index.getComponent(bus.getConnectedComponent()), index.getComponent(bus.getConnectedComponent()));
+            }
+            for (Bus bus : mergingView.getBusView().getBuses()) {
+                assertSame(bus, mergingView.getBusView().getBus(bus.getId()));
+            }
+        }
+        long busCount = n1.getBusView().getBusStream().count();
+        long componentCount = n1.getBusView().getBusStream().map(Bus::getConnectedComponent).distinct().count();
+        assertEquals(busCount + componentCount, index.getCalculatedAdapterCount());
+
+        // configured buses keep their adapter
+        assertSame(configuredBus, mergingView.getBusBreakerView().getBus("NHV1"));
+
+        n1.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        n1.getVariantManager().removeVariant("v");
+        assertEquals(0, index.getCalculatedAdapterCount());
+    }
+
     @Test
     public void testNonEmptyConnectableGetters() {
         // Init networks
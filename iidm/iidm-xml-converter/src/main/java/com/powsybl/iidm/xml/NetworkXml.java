@@ -708,10 +708,16 @@ public final class NetworkXml {
         Objects.requireNonNull(network);
         Objects.requireNonNull(networkFactory);
         Objects.requireNonNull(executor);
+        // the network is written by another thread, which has to work on the same variant
+        VariantManager variantManager = network.getVariantManager();
+        String workingVariantId = variantManager.isVariantMultiThreadAccessAllowed() ? variantManager.getWorkingVariantId() : null;
         PipedOutputStream pos = new PipedOutputStream();
         try (InputStream is = new PipedInputStream(pos)) {
             executor.execute(() -> {
                 try {
+                    if (workingVariantId != null) {
+                        variantManager.setWorkingVariant(workingVariantId);
+                    }
                     write(network, pos);
                 } catch (Exception t) {
                     LOGGER.error(t.toString(), t);
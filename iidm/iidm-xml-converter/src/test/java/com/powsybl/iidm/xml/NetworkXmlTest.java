@@ -73,6 +73,18 @@ public class NetworkXmlTest extends AbstractXmlConverterTest {
         assertArrayEquals(Files.readAllBytes(file1), Files.readAllBytes(file2));
     }
 
+    @Test
+    public void testCopyWithMultiThreadAccess() {
+        Network network = createEurostagTutorialExample1();
+        network.getVariantManager().allowVariantMultiThreadAccess(true);
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        network.getVariantManager().setWorkingVariant("v");
+        network.getLoad("LOAD").setP0(10);
+        // the copy is of the working variant of the calling thread
+        Network network2 = NetworkXml.copy(network);
+        assertEquals(10, network2.getLoad("LOAD").getP0(), 0);
+    }
+
     @AutoService(ExtensionXmlSerializer.class)
     public static class BusbarSectionExtXmlSerializer extends AbstractExtensionXmlSerializer<BusbarSection, BusbarSectionExt> {
 
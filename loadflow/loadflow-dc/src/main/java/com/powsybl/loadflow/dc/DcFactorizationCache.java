@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.powsybl.commons.config.PlatformConfig;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.LUDecomposition;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.math.matrix.SparseMatrixFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Least recently used cache of LU decompositions of {@link DcMatrix}, so that the variants of a network sharing the same
+ * topology and the same branch characteristics are solved without factorizing the matrix again.
+ * <p>
+ * This class is thread safe. As a decomposition cannot be used by several solves at the same time, concurrent solves
+ * of a same matrix use distinct decompositions: the cache keeps, for each matrix, the decompositions released by
+ * previous solves, and only factorizes the matrix again when all of them are in use. The number of idle
+ * decompositions kept for a matrix is bounded, extra ones are closed when released.
+ * <p>
+ * Decompositions may hold native memory, so a cache should be closed when it is not used anymore. The default cache,
+ * shared by the DC load flow and sensitivity analysis providers, is configured by the {@code dc-factorization-cache}
+ * module of the platform configuration.
+ *
+ * @author agent <agent at local>
+ */
+public final class DcFactorizationCache implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 8;
+
+    public static final int DEFAULT_MAX_IDLE_DECOMPOSITIONS = 2;
+
+    private static DcFactorizationCache defaultCache;
+
+    private static final class CachedMatrix {
+
+        private final Deque<LUDecomposition> idleDecompositions = new ArrayDeque<>();
+
+        private boolean evicted = false;
+    }
+
+    private final MatrixFactory matrixFactory;
+
+    private final int capacity;
+
+    private final int maxIdleDecompositions;
+
+    private final Map<DcMatrix, CachedMatrix> entries;
+
+    private long hitCount = 0;
+
+    private long missCount = 0;
+
+    private long factorizationCount = 0;
+
+    public DcFactorizationCache(MatrixFactory matrixFactory) {
+        this(matrixFactory, DEFAULT_CAPACITY);
+    }
+
+    public DcFactorizationCache(MatrixFactory matrixFactory, int capacity) {
+        this(matrixFactory, capacity, DEFAULT_MAX_IDLE_DECOMPOSITIONS);
+    }
+
+    /**
+     * @param capacity maximum number of cached matrices
+     * @param maxIdleDecompositions maximum number of decompositions kept for a matrix while they are not in use
+     */
+    public DcFactorizationCache(MatrixFactory matrixFactory, int capacity, int maxIdleDecompositions) {
+        this.matrixFactory = Objects.requireNonNull(matrixFactory);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (maxIdleDecompositions < 1) {
+            throw new IllegalArgumentException("Invalid max idle decomposition count: " + maxIdleDecompositions);
+        }
+        this.capacity = capacity;
+        this.maxIdleDecompositions = maxIdleDecompositions;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DcMatrix, CachedMatrix> eldest) {
+                if (size() > capacity) {
+                    evict(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static DcFactorizationCache load() {
+        return load(PlatformConfig.defaultConfig());
+    }
+
+    public static DcFactorizationCache load(PlatformConfig platformConfig) {
+        return platformConfig.getOptionalModuleConfig("dc-factorization-cache")
+                .map(moduleConfig -> new DcFactorizationCache(new SparseMatrixFactory(),
+                        moduleConfig.getIntProperty("capacity", DEFAULT_CAPACITY),
+                        moduleConfig.getIntProperty("maxIdleDecompositions", DEFAULT_MAX_IDLE_DECOMPOSITIONS)))
+                .orElseGet(() -> new DcFactorizationCache(new SparseMatrixFactory()));
+    }
+
+    /**
+     * Get the default cache, loaded from the platform configuration on first use.
+     */
+    public static synchronized DcFactorizationCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = load();
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Replace the default cache. The previous default cache is closed.
+     */
+    public static synchronized void setDefault(DcFactorizationCache defaultCache) {
+        if (DcFactorizationCache.defaultCache != null && DcFactorizationCache.defaultCache != defaultCache) {
+            DcFactorizationCache.defaultCache.close();
+        }
+        DcFactorizationCache.defaultCache = defaultCache;
+    }
+
+    public MatrixFactory getMatrixFactory() {
+        return matrixFactory;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxIdleDecompositions() {
+        return maxIdleDecompositions;
+    }
+
+    private static void evict(CachedMatrix entry) {
+        // decompositions in use are closed when released
+        entry.evicted = true;
+        entry.idleDecompositions.forEach(LUDecomposition::close);
+        entry.idleDecompositions.clear();
+    }
+
+    void solve(DcMatrix matrix, Consumer<LUDecomposition> solver) {
+        Objects.requireNonNull(matrix);
+        CachedMatrix entry;
+        LUDecomposition decomposition;
+        synchronized (this) {
+            entry = entries.get(matrix);
+            if (entry == null) {
+                missCount++;
+                entry = new CachedMatrix();
+                entries.put(matrix, entry);
+            } else {
+                hitCount++;
+            }
+            decomposition = entry.idleDecompositions.poll();
+            if (decomposition == null) {
+                factorizationCount++;
+            }
+        }
+        if (decomposition == null) {
+            // factorization is done outside of the lock, so that concurrent solves of other matrices are not blocked
+            decomposition = matrix.toMatrix(matrixFactory).decomposeLU();
+        }
+        try {
+            solver.accept(decomposition);
+        } finally {
+            synchronized (this) {
+                if (entry.evicted || entry.idleDecompositions.size() >= maxIdleDecompositions) {
+                    decomposition.close();
+                } else {
+                    entry.idleDecompositions.push(decomposition);
+                }
+            }
+        }
+    }
+
+    /**
+     * Solve in place the system with the given matrix and right hand side.
+     */
+    public void solve(DcMatrix matrix, double[] b) {
+        Objects.requireNonNull(b);
+        solve(matrix, decomposition -> decomposition.solve(b));
+    }
+
+    /**
+     * Solve in place the system with the given matrix and right hand sides, one per column of {@code b}.
+     */
+    public void solve(DcMatrix matrix, DenseMatrix b) {
+        Objects.requireNonNull(b);
+        solve(matrix, decomposition -> decomposition.solve(b));
+    }
+
+    /**
+     * Get the number of solves of a matrix which was already cached.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of solves of a matrix which was not cached.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the number of LU decompositions computed, which is greater than the number of misses when a same matrix is
+     * solved concurrently.
+     */
+    public synchronized long getFactorizationCount() {
+        return factorizationCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of decompositions kept while they are not in use.
+     */
+    public synchronized int getIdleDecompositionCount() {
+        return entries.values().stream().mapToInt(entry -> entry.idleDecompositions.size()).sum();
+    }
+
+    /**
+     * Close and remove all the cached decompositions.
+     */
+    public synchronized void clear() {
+        entries.values().forEach(DcFactorizationCache::evict);
+        entries.clear();
+    }
+
+    /**
+     * Close all the cached decompositions, as {@link #clear()}. The cache can still be used afterwards.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+}
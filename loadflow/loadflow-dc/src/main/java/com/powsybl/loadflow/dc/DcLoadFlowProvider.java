@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.commons.reporter.Reporter;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowProvider;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.loadflow.LoadFlowResultImpl;
+import com.powsybl.math.matrix.MatrixFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Linear DC load flow: voltage magnitudes are assumed nominal, resistances and reactive powers are neglected, and
+ * angles are small. Bus angles are the solution of B' θ = P, and are written to the network with the active power of
+ * branches and injections. Voltage magnitudes are left untouched, while the reactive power of branch and injection
+ * terminals is set to NaN as it is not computed.
+ * <p>
+ * The LU decomposition of B' is cached, so that successive runs on variants sharing the same topology and the same
+ * branch characteristics only solve the system for new injections.
+ *
+ * @author agent <agent at local>
+ */
+@AutoService(LoadFlowProvider.class)
+public class DcLoadFlowProvider implements LoadFlowProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DcLoadFlowProvider.class);
+
+    private static final String NAME = "DcLoadFlow";
+
+    // null to use the default cache, shared by all the providers as they are instantiated on each lookup
+    private final DcFactorizationCache factorizationCache;
+
+    public DcLoadFlowProvider() {
+        factorizationCache = null;
+    }
+
+    public DcLoadFlowProvider(MatrixFactory matrixFactory) {
+        this(new DcFactorizationCache(matrixFactory));
+    }
+
+    public DcLoadFlowProvider(DcFactorizationCache factorizationCache) {
+        this.factorizationCache = Objects.requireNonNull(factorizationCache);
+    }
+
+    private DcFactorizationCache getFactorizationCache() {
+        return factorizationCache != null ? factorizationCache : DcFactorizationCache.getDefault();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return "1.0";
+    }
+
+    @Override
+    public CompletableFuture<LoadFlowResult> run(Network network, ComputationManager computationManager, String workingVariantId,
+                                                 LoadFlowParameters parameters, Reporter reporter) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(workingVariantId);
+        Objects.requireNonNull(parameters);
+        network.getVariantManager().setWorkingVariant(workingVariantId);
+        return CompletableFuture.completedFuture(run(network, parameters));
+    }
+
+    private LoadFlowResult run(Network network, LoadFlowParameters parameters) {
+        DcNetwork dcNetwork = DcNetwork.create(network, parameters);
+        DcMatrix matrix = DcMatrix.create(dcNetwork);
+        double[] angles = dcNetwork.createRhs();
+        boolean ok;
+        try {
+            getFactorizationCache().solve(matrix, angles);
+            dcNetwork.writeResults(angles);
+            ok = true;
+        } catch (RuntimeException e) {
+            LOGGER.error("DC load flow on network '{}' failed", network.getId(), e);
+            ok = false;
+        }
+
+        List<LoadFlowResult.ComponentResult> componentResults = new ArrayList<>();
+        for (DcNetwork.Component component : dcNetwork.getComponents()) {
+            String slackBusId = dcNetwork.getBusId(component.getSlackBus());
+            int connectedComponentNum = network.getBusView().getBus(slackBusId).getConnectedComponent().getNum();
+            componentResults.add(new LoadFlowResultImpl.ComponentResultImpl(connectedComponentNum, component.getNum(),
+                    ok ? LoadFlowResult.ComponentResult.Status.CONVERGED : LoadFlowResult.ComponentResult.Status.SOLVER_FAILED,
+                    1, slackBusId, component.getSlackBusActivePowerMismatch()));
+        }
+        return new LoadFlowResultImpl(ok, Collections.emptyMap(), null, componentResults);
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.powsybl.math.matrix.Matrix;
+import com.powsybl.math.matrix.MatrixFactory;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable susceptance matrix B' of a {@link DcNetwork}, in compressed sparse column format.
+ * <p>
+ * Rows and columns of slack buses are replaced by the identity, so that the matrix is regular and the angle of slack
+ * buses is zero. Two matrices with the same values are equal, which allows to reuse the factorization of a matrix for
+ * all the variants of a network sharing the same topology and the same branch characteristics.
+ *
+ * @author agent <agent at local>
+ */
+public final class DcMatrix {
+
+    private final int size;
+
+    private final int[] columnStarts;
+
+    private final int[] rowIndices;
+
+    private final double[] values;
+
+    private final int hashCode;
+
+    private DcMatrix(int size, int[] columnStarts, int[] rowIndices, double[] values) {
+        this.size = size;
+        this.columnStarts = columnStarts;
+        this.rowIndices = rowIndices;
+        this.values = values;
+        hashCode = Objects.hash(size, Arrays.hashCode(columnStarts), Arrays.hashCode(rowIndices), Arrays.hashCode(values));
+    }
+
+    public static DcMatrix create(DcNetwork network) {
+        Objects.requireNonNull(network);
+        int size = network.getBusCount();
+        boolean[] slack = new boolean[size];
+        for (DcNetwork.Component component : network.getComponents()) {
+            slack[component.getSlackBus()] = true;
+        }
+
+        // first pass: count the terms of each column, including the diagonal one
+        int[] counts = new int[size + 1];
+        Arrays.fill(counts, 1, size + 1, 1);
+        for (DcNetwork.Branch branch : network.getBranches()) {
+            if (branch.isConnected()) {
+                counts[branch.getBus1() + 1] += 2;
+                counts[branch.getBus2() + 1] += 2;
+            }
+        }
+        for (int i = 1; i <= size; i++) {
+            counts[i] += counts[i - 1];
+        }
+
+        // second pass: fill the terms of each column, unsorted and possibly duplicated
+        int[] rows = new int[counts[size]];
+        double[] terms = new double[counts[size]];
+        int[] next = Arrays.copyOf(counts, size);
+        for (int bus = 0; bus < size; bus++) {
+            rows[next[bus]++] = bus;
+        }
+        for (DcNetwork.Branch branch : network.getBranches()) {
+            if (branch.isConnected()) {
+                int bus1 = branch.getBus1();
+                int bus2 = branch.getBus2();
+                double b = branch.getB();
+                terms[next[bus1]] = b;
+                rows[next[bus1]++] = bus1;
+                terms[next[bus1]] = -b;
+                rows[next[bus1]++] = bus2;
+                terms[next[bus2]] = b;
+                rows[next[bus2]++] = bus2;
+                terms[next[bus2]] = -b;
+                rows[next[bus2]++] = bus1;
+            }
+        }
+
+        // last pass: sort and merge the terms of each column, dropping slack rows and columns
+        int[] columnStarts = new int[size + 1];
+        int[] rowIndices = new int[rows.length];
+        double[] values = new double[rows.length];
+        int count = 0;
+        for (int column = 0; column < size; column++) {
+            columnStarts[column] = count;
+            if (slack[column]) {
+                rowIndices[count] = column;
+                values[count++] = 1;
+                continue;
+            }
+            sort(rows, terms, counts[column], counts[column + 1]);
+            int diagonal = -1;
+            for (int k = counts[column]; k < counts[column + 1]; k++) {
+                int row = rows[k];
+                if (slack[row]) {
+                    continue;
+                }
+                if (count > columnStarts[column] && rowIndices[count - 1] == row) {
+                    values[count - 1] += terms[k];
+                } else {
+                    rowIndices[count] = row;
+                    values[count++] = terms[k];
+                }
+                if (row == column) {
+                    diagonal = count - 1;
+                }
+            }
+            // a bus without any branch would make the matrix singular, its angle is set to zero
+            if (diagonal != -1 && values[diagonal] == 0) {
+                values[diagonal] = 1;
+            }
+        }
+        columnStarts[size] = count;
+        return new DcMatrix(size, columnStarts, Arrays.copyOf(rowIndices, count), Arrays.copyOf(values, count));
+    }
+
+    private static void sort(int[] rows, double[] terms, int start, int end) {
+        // columns have a few terms, an insertion sort is enough
+        for (int i = start + 1; i < end; i++) {
+            int row = rows[i];
+            double term = terms[i];
+            int j = i - 1;
+            while (j >= start && rows[j] > row) {
+                rows[j + 1] = rows[j];
+                terms[j + 1] = terms[j];
+                j--;
+            }
+            rows[j + 1] = row;
+            terms[j + 1] = term;
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getNonZeroValueCount() {
+        return values.length;
+    }
+
+    /**
+     * Create a matrix of the given factory with the same values.
+     */
+    public Matrix toMatrix(MatrixFactory matrixFactory) {
+        Objects.requireNonNull(matrixFactory);
+        Matrix matrix = matrixFactory.create(size, size, values.length);
+        // values are filled column by column, as expected by sparse matrices
+        for (int column = 0; column < size; column++) {
+            for (int k = columnStarts[column]; k < columnStarts[column + 1]; k++) {
+                matrix.set(rowIndices[k], column, values[k]);
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DcMatrix)) {
+            return false;
+        }
+        DcMatrix other = (DcMatrix) obj;
+        return size == other.size
+                && hashCode == other.hashCode
+                && Arrays.equals(columnStarts, other.columnStarts)
+                && Arrays.equals(rowIndices, other.rowIndices)
+                && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -0,0 +1,591 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.loadflow.LoadFlowParameters;
+
+import java.util.*;
+
+/**
+ * Linear DC model of the working variant of a network.
+ * <p>
+ * Nodes of the model are the buses of the bus view, plus a fictitious star bus for each three windings transformer.
+ * Branches are lines, two windings transformers and three windings transformers legs, characterized by their
+ * susceptance and their phase shift. Other equipments are active power injections. Each synchronous component has
+ * its own slack bus, the most meshed bus of the component, whose angle is zero.
+ * <p>
+ * Susceptances, injections and angles are in per unit of {@link #BASE_POWER}, on the nominal voltages of the buses.
+ *
+ * @author agent <agent at local>
+ */
+public final class DcNetwork {
+
+    /**
+     * Base power in MVA.
+     */
+    public static final double BASE_POWER = 100;
+
+    /**
+     * Per unit reactances lower than this one are raised to it, so that the model stays regular.
+     */
+    public static final double MIN_REACTANCE = 1e-8;
+
+    private static final double MISMATCH_EPSILON = 1e-6; // in MW
+
+    /**
+     * A branch of the model.
+     */
+    public static final class Branch {
+
+        private final String id;
+
+        private final Terminal terminal1;
+
+        private final Terminal terminal2;
+
+        private final int bus1;
+
+        private final int bus2;
+
+        private final double b;
+
+        private final double alpha;
+
+        private Branch(String id, Terminal terminal1, Terminal terminal2, int bus1, int bus2, double b, double alpha) {
+            this.id = id;
+            this.terminal1 = terminal1;
+            this.terminal2 = terminal2;
+            this.bus1 = bus1;
+            this.bus2 = bus2;
+            this.b = b;
+            this.alpha = alpha;
+        }
+
+        /**
+         * Get the id of the branch, which is the id of the line or of the transformer, suffixed with the leg number
+         * for three windings transformers.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Get the terminal of the side 1, or {@code null} for the star side of a three windings transformer leg.
+         */
+        public Terminal getTerminal1() {
+            return terminal1;
+        }
+
+        /**
+         * Get the terminal of the side 2, or {@code null} for the star side of a three windings transformer leg.
+         */
+        public Terminal getTerminal2() {
+            return terminal2;
+        }
+
+        /**
+         * Get the bus number of the side 1, or -1 if the side is disconnected.
+         */
+        public int getBus1() {
+            return bus1;
+        }
+
+        /**
+         * Get the bus number of the side 2, or -1 if the side is disconnected.
+         */
+        public int getBus2() {
+            return bus2;
+        }
+
+        public boolean isConnected() {
+            return bus1 != -1 && bus2 != -1;
+        }
+
+        /**
+         * Get the susceptance in per unit.
+         */
+        public double getB() {
+            return b;
+        }
+
+        /**
+         * Get the phase shift in radians.
+         */
+        public double getAlpha() {
+            return alpha;
+        }
+
+        /**
+         * Get the active power flow in per unit from side 1 to side 2, for the given bus angles.
+         */
+        public double computeFlow(double[] angles) {
+            return isConnected() ? b * (angles[bus1] - angles[bus2] + alpha) : 0;
+        }
+    }
+
+    /**
+     * An active power injection of the model, generator convention.
+     */
+    public static final class Injection {
+
+        private final String id;
+
+        private final Terminal terminal;
+
+        private final int bus;
+
+        private final double targetP;
+
+        private final double minP;
+
+        private final double maxP;
+
+        private final double participationFactor;
+
+        private double p;
+
+        private Injection(String id, Terminal terminal, int bus, double targetP, double minP, double maxP, double participationFactor) {
+            this.id = id;
+            this.terminal = terminal;
+            this.bus = bus;
+            this.targetP = targetP;
+            this.minP = minP;
+            this.maxP = maxP;
+            this.participationFactor = participationFactor;
+            this.p = targetP;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Terminal getTerminal() {
+            return terminal;
+        }
+
+        public int getBus() {
+            return bus;
+        }
+
+        /**
+         * Get the target active power in MW.
+         */
+        public double getTargetP() {
+            return targetP;
+        }
+
+        /**
+         * Get the factor of participation to the compensation of the active power mismatch of the synchronous
+         * component, zero if the injection does not participate.
+         */
+        public double getParticipationFactor() {
+            return participationFactor;
+        }
+
+        /**
+         * Get the active power in MW, after the compensation of the active power mismatch.
+         */
+        public double getP() {
+            return p;
+        }
+    }
+
+    /**
+     * A synchronous component of the model.
+     */
+    public static final class Component {
+
+        private final int num;
+
+        private int slackBus = -1;
+
+        private int slackBusBranchCount = -1;
+
+        private final List<Injection> injections = new ArrayList<>();
+
+        private double slackBusActivePowerMismatch = 0;
+
+        private Component(int num) {
+            this.num = num;
+        }
+
+        /**
+         * Get the number of the synchronous component in the network.
+         */
+        public int getNum() {
+            return num;
+        }
+
+        public int getSlackBus() {
+            return slackBus;
+        }
+
+        public List<Injection> getInjections() {
+            return Collections.unmodifiableList(injections);
+        }
+
+        /**
+         * Get the active power mismatch in MW which has not been compensated by the participating injections, and
+         * which is balanced by the slack bus.
+         */
+        public double getSlackBusActivePowerMismatch() {
+            return slackBusActivePowerMismatch;
+        }
+    }
+
+    private final List<String> busIds = new ArrayList<>();
+
+    private final List<Bus> buses = new ArrayList<>();
+
+    private final Map<String, Integer> busNums = new HashMap<>();
+
+    private final List<Component> busComponents = new ArrayList<>();
+
+    private final Map<Integer, Component> components = new TreeMap<>();
+
+    private final List<Branch> branches = new ArrayList<>();
+
+    private final List<Injection> injections = new ArrayList<>();
+
+    private final boolean useTransformerRatio;
+
+    private DcNetwork(boolean useTransformerRatio) {
+        this.useTransformerRatio = useTransformerRatio;
+    }
+
+    /**
+     * Create the model of the working variant of the network. The active power mismatch of each synchronous component
+     * is compensated according to the slack distribution parameters.
+     */
+    public static DcNetwork create(Network network, LoadFlowParameters parameters) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(parameters);
+        DcNetwork dcNetwork = new DcNetwork(parameters.isDcUseTransformerRatio());
+        boolean allComponents = parameters.getConnectedComponentMode() == LoadFlowParameters.ConnectedComponentMode.ALL;
+        for (Bus bus : network.getBusView().getBuses()) {
+            if (allComponents || bus.getConnectedComponent().getNum() == ComponentConstants.MAIN_NUM) {
+                dcNetwork.addBus(bus.getId(), bus, bus.getSynchronousComponent().getNum());
+            }
+        }
+        for (Line line : network.getLines()) {
+            dcNetwork.addLine(line);
+        }
+        for (TwoWindingsTransformer twt : network.getTwoWindingsTransformers()) {
+            dcNetwork.addTwoWindingsTransformer(twt);
+        }
+        for (ThreeWindingsTransformer twt : network.getThreeWindingsTransformers()) {
+            dcNetwork.addThreeWindingsTransformer(twt);
+        }
+        dcNetwork.addInjections(network, parameters);
+        dcNetwork.selectSlackBuses();
+        if (parameters.isDistributedSlack()) {
+            dcNetwork.distributeSlack();
+        } else {
+            dcNetwork.components.values().forEach(c -> c.slackBusActivePowerMismatch = dcNetwork.computeMismatch(c));
+        }
+        return dcNetwork;
+    }
+
+    private int addBus(String id, Bus bus, int componentNum) {
+        int num = busIds.size();
+        busIds.add(id);
+        buses.add(bus);
+        busNums.put(id, num);
+        busComponents.add(components.computeIfAbsent(componentNum, Component::new));
+        return num;
+    }
+
+    /**
+     * Get the number of the bus of the model the terminal is connected to, or -1 if it is disconnected or not part of
+     * the model.
+     */
+    public int getBusNum(Terminal terminal) {
+        Bus bus = terminal.getBusView().getBus();
+        return bus != null ? getBusNum(bus.getId()) : -1;
+    }
+
+    /**
+     * Get the number of a bus of the model from its id, or -1 if it is not part of the model.
+     */
+    public int getBusNum(String busId) {
+        return busNums.getOrDefault(busId, -1);
+    }
+
+    public int getBusCount() {
+        return busIds.size();
+    }
+
+    public String getBusId(int num) {
+        return busIds.get(num);
+    }
+
+    /**
+     * Get the synchronous component of a bus.
+     */
+    public Component getComponent(int bus) {
+        return busComponents.get(bus);
+    }
+
+    public Collection<Component> getComponents() {
+        return Collections.unmodifiableCollection(components.values());
+    }
+
+    public List<Branch> getBranches() {
+        return Collections.unmodifiableList(branches);
+    }
+
+    public List<Injection> getInjections() {
+        return Collections.unmodifiableList(injections);
+    }
+
+    private static double toPerUnitReactance(double x, double baseVoltage1, double baseVoltage2) {
+        double xPerUnit = x * BASE_POWER / (baseVoltage1 * baseVoltage2);
+        return Math.abs(xPerUnit) < MIN_REACTANCE ? Math.copySign(MIN_REACTANCE, xPerUnit) : xPerUnit;
+    }
+
+    private static double getRho(TapChanger<?, ? extends TapChangerStep<?>> tapChanger) {
+        return tapChanger != null ? tapChanger.getCurrentStep().getRho() : 1;
+    }
+
+    private static double getAlpha(PhaseTapChanger phaseTapChanger) {
+        return phaseTapChanger != null ? Math.toRadians(phaseTapChanger.getCurrentStep().getAlpha()) : 0;
+    }
+
+    private void addBranch(String id, Terminal terminal1, Terminal terminal2, int bus1, int bus2, double b, double alpha) {
+        // branches without any connected side do not contribute to the model
+        if (bus1 != -1 || bus2 != -1) {
+            branches.add(new Branch(id, terminal1, terminal2, bus1, bus2, b, alpha));
+        }
+    }
+
+    private void addLine(Line line) {
+        Terminal terminal1 = line.getTerminal1();
+        Terminal terminal2 = line.getTerminal2();
+        double x = toPerUnitReactance(line.getX(), terminal1.getVoltageLevel().getNominalV(), terminal2.getVoltageLevel().getNominalV());
+        addBranch(line.getId(), terminal1, terminal2, getBusNum(terminal1), getBusNum(terminal2), 1 / x, 0);
+    }
+
+    private void addTwoWindingsTransformer(TwoWindingsTransformer twt) {
+        Terminal terminal1 = twt.getTerminal1();
+        Terminal terminal2 = twt.getTerminal2();
+        double nominalV1 = terminal1.getVoltageLevel().getNominalV();
+        double nominalV2 = terminal2.getVoltageLevel().getNominalV();
+        // reactance is given on side 2
+        double x = toPerUnitReactance(twt.getX(), nominalV2, nominalV2);
+        double b = 1 / x;
+        if (useTransformerRatio) {
+            double rho = twt.getRatedU2() / twt.getRatedU1() * getRho(twt.getRatioTapChanger()) * getRho(twt.getPhaseTapChanger());
+            b *= rho * nominalV1 / nominalV2;
+        }
+        addBranch(twt.getId(), terminal1, terminal2, getBusNum(terminal1), getBusNum(terminal2), b, getAlpha(twt.getPhaseTapChanger()));
+    }
+
+    private void addThreeWindingsTransformer(ThreeWindingsTransformer twt) {
+        List<ThreeWindingsTransformer.Leg> legs = twt.getLegs();
+        int starBus = -1;
+        for (ThreeWindingsTransformer.Leg leg : legs) {
+            int bus = getBusNum(leg.getTerminal());
+            if (bus != -1) {
+                starBus = addBus(twt.getId() + "_star", null, busComponents.get(bus).num);
+                break;
+            }
+        }
+        if (starBus == -1) {
+            return;
+        }
+        double ratedU0 = twt.getRatedU0();
+        for (int i = 0; i < legs.size(); i++) {
+            ThreeWindingsTransformer.Leg leg = legs.get(i);
+            Terminal terminal = leg.getTerminal();
+            double nominalV = terminal.getVoltageLevel().getNominalV();
+            // reactance is given on the star side
+            double x = toPerUnitReactance(leg.getX(), ratedU0, ratedU0);
+            double b = 1 / x;
+            if (useTransformerRatio) {
+                double rho = ratedU0 / leg.getRatedU() * getRho(leg.getRatioTapChanger()) * getRho(leg.getPhaseTapChanger());
+                b *= rho * nominalV / ratedU0;
+            }
+            addBranch(twt.getId() + "_leg" + (i + 1), terminal, null, getBusNum(terminal), starBus, b, getAlpha(leg.getPhaseTapChanger()));
+        }
+    }
+
+    private static boolean isInCountries(Terminal terminal, Set<Country> countries) {
+        return countries.isEmpty() || terminal.getVoltageLevel().getSubstation()
+                .flatMap(Substation::getCountry)
+                .map(countries::contains)
+                .orElse(false);
+    }
+
+    private void addInjection(String id, Terminal terminal, double targetP, double minP, double maxP, double participationFactor) {
+        int bus = getBusNum(terminal);
+        if (bus != -1) {
+            Injection injection = new Injection(id, terminal, bus, targetP, minP, maxP, participationFactor);
+            injections.add(injection);
+            busComponents.get(bus).injections.add(injection);
+        }
+    }
+
+    private void addInjections(Network network, LoadFlowParameters parameters) {
+        LoadFlowParameters.BalanceType balanceType = parameters.getBalanceType();
+        Set<Country> countriesToBalance = parameters.getCountriesToBalance();
+        boolean proportionalToLoad = balanceType == LoadFlowParameters.BalanceType.PROPORTIONAL_TO_LOAD
+                || balanceType == LoadFlowParameters.BalanceType.PROPORTIONAL_TO_CONFORM_LOAD;
+        for (Generator generator : network.getGenerators()) {
+            Terminal terminal = generator.getTerminal();
+            double factor = 0;
+            if (!proportionalToLoad && isInCountries(terminal, countriesToBalance)) {
+                factor = balanceType == LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX ? generator.getMaxP() : generator.getTargetP();
+            }
+            addInjection(generator.getId(), terminal, generator.getTargetP(), generator.getMinP(), generator.getMaxP(), Math.max(factor, 0));
+        }
+        for (Battery battery : network.getBatteries()) {
+            Terminal terminal = battery.getTerminal();
+            double factor = 0;
+            if (!proportionalToLoad && isInCountries(terminal, countriesToBalance)) {
+                factor = balanceType == LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX ? battery.getMaxP() : battery.getP0();
+            }
+            addInjection(battery.getId(), terminal, battery.getP0(), battery.getMinP(), battery.getMaxP(), Math.max(factor, 0));
+        }
+        for (Load load : network.getLoads()) {
+            Terminal terminal = load.getTerminal();
+            // conform part of the loads is not known without extension, the whole load participates
+            double factor = proportionalToLoad && isInCountries(terminal, countriesToBalance) ? load.getP0() : 0;
+            addInjection(load.getId(), terminal, -load.getP0(), -Double.MAX_VALUE, Double.MAX_VALUE, Math.max(factor, 0));
+        }
+        for (DanglingLine danglingLine : network.getDanglingLines()) {
+            DanglingLine.Generation generation = danglingLine.getGeneration();
+            double targetP = -danglingLine.getP0() + (generation != null ? generation.getTargetP() : 0);
+            addInjection(danglingLine.getId(), danglingLine.getTerminal(), targetP, targetP, targetP, 0);
+        }
+        for (HvdcLine hvdcLine : network.getHvdcLines()) {
+            Terminal terminal1 = hvdcLine.getConverterStation1().getTerminal();
+            Terminal terminal2 = hvdcLine.getConverterStation2().getTerminal();
+            // losses are neglected, and nothing is transmitted if a side is disconnected
+            if (terminal1.getBusView().getBus() != null && terminal2.getBusView().getBus() != null) {
+                double p = hvdcLine.getConvertersMode() == HvdcLine.ConvertersMode.SIDE_1_RECTIFIER_SIDE_2_INVERTER
+                        ? hvdcLine.getActivePowerSetpoint()
+                        : -hvdcLine.getActivePowerSetpoint();
+                addInjection(hvdcLine.getConverterStation1().getId(), terminal1, -p, -p, -p, 0);
+                addInjection(hvdcLine.getConverterStation2().getId(), terminal2, p, p, p, 0);
+            }
+        }
+    }
+
+    private void selectSlackBuses() {
+        int[] branchCounts = new int[busIds.size()];
+        for (Branch branch : branches) {
+            if (branch.isConnected()) {
+                branchCounts[branch.bus1]++;
+                branchCounts[branch.bus2]++;
+            }
+        }
+        for (int bus = 0; bus < busIds.size(); bus++) {
+            Component component = busComponents.get(bus);
+            // star buses cannot be slack buses
+            if (buses.get(bus) != null && branchCounts[bus] > component.slackBusBranchCount) {
+                component.slackBus = bus;
+                component.slackBusBranchCount = branchCounts[bus];
+            }
+        }
+    }
+
+    private double computeMismatch(Component component) {
+        double mismatch = 0;
+        for (Injection injection : component.injections) {
+            mismatch += injection.p;
+        }
+        return mismatch;
+    }
+
+    private void distributeSlack() {
+        for (Component component : components.values()) {
+            double mismatch = computeMismatch(component);
+            List<Injection> participating = new ArrayList<>();
+            for (Injection injection : component.injections) {
+                if (injection.participationFactor > 0) {
+                    participating.add(injection);
+                }
+            }
+            // distribute the mismatch proportionally to participation factors, excluding injections reaching a limit
+            while (Math.abs(mismatch) > MISMATCH_EPSILON && !participating.isEmpty()) {
+                double factorSum = 0;
+                for (Injection injection : participating) {
+                    factorSum += injection.participationFactor;
+                }
+                double distributed = 0;
+                Iterator<Injection> it = participating.iterator();
+                while (it.hasNext()) {
+                    Injection injection = it.next();
+                    double p = injection.p - mismatch * injection.participationFactor / factorSum;
+                    if (p >= injection.maxP) {
+                        p = injection.maxP;
+                        it.remove();
+                    } else if (p <= injection.minP) {
+                        p = injection.minP;
+                        it.remove();
+                    }
+                    distributed += p - injection.p;
+                    injection.p = p;
+                }
+                mismatch += distributed;
+            }
+            component.slackBusActivePowerMismatch = mismatch;
+        }
+    }
+
+    /**
+     * Create the right hand side of the equation system for the current injections: the per unit injection of each
+     * bus, corrected by the phase shifts of branches, and zero for slack buses.
+     */
+    public double[] createRhs() {
+        double[] rhs = new double[busIds.size()];
+        for (Injection injection : injections) {
+            rhs[injection.bus] += injection.p / BASE_POWER;
+        }
+        for (Branch branch : branches) {
+            if (branch.isConnected() && branch.alpha != 0) {
+                rhs[branch.bus1] -= branch.b * branch.alpha;
+                rhs[branch.bus2] += branch.b * branch.alpha;
+            }
+        }
+        for (Component component : components.values()) {
+            rhs[component.slackBus] = 0;
+        }
+        return rhs;
+    }
+
+    /**
+     * Write bus angles, and active powers of branches and injections, to the network. Reactive powers of these
+     * terminals are set to NaN.
+     *
+     * @param angles bus angles in radians
+     */
+    public void writeResults(double[] angles) {
+        Objects.requireNonNull(angles);
+        for (int bus = 0; bus < buses.size(); bus++) {
+            Bus b = buses.get(bus);
+            if (b != null) {
+                b.setAngle(Math.toDegrees(angles[bus]));
+            }
+        }
+        for (Branch branch : branches) {
+            double p1 = branch.computeFlow(angles) * BASE_POWER;
+            writeFlow(branch.terminal1, branch.bus1, p1);
+            writeFlow(branch.terminal2, branch.bus2, -p1);
+        }
+        for (Injection injection : injections) {
+            injection.terminal.setP(-injection.p).setQ(Double.NaN);
+        }
+    }
+
+    private static void writeFlow(Terminal terminal, int bus, double p) {
+        if (terminal != null) {
+            terminal.setP(bus != -1 ? p : Double.NaN).setQ(Double.NaN);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.commons.config.InMemoryPlatformConfig;
+import com.powsybl.commons.config.MapModuleConfig;
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.iidm.network.test.FourSubstationsNodeBreakerFactory;
+import com.powsybl.iidm.network.test.PhaseShifterTestCaseFactory;
+import com.powsybl.iidm.network.test.ThreeWindingsTransformerNetworkFactory;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.math.matrix.SparseMatrixFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class DcLoadFlowProviderTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private DcFactorizationCache factorizationCache;
+
+    private DcLoadFlowProvider provider;
+
+    private LoadFlowParameters parameters;
+
+    @Before
+    public void setUp() {
+        factorizationCache = new DcFactorizationCache(new DenseMatrixFactory());
+        provider = new DcLoadFlowProvider(factorizationCache);
+        parameters = new LoadFlowParameters()
+                .setDistributedSlack(true)
+                .setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX);
+    }
+
+    private LoadFlowResult run(Network network) {
+        return provider.run(network, LocalComputationManager.getDefault(), network.getVariantManager().getWorkingVariantId(), parameters).join();
+    }
+
+    private static void assertBalanced(Network network) {
+        for (Bus bus : network.getBusView().getBuses()) {
+            double sum = 0;
+            for (Terminal terminal : bus.getConnectedTerminals()) {
+                IdentifiableType type = terminal.getConnectable().getType();
+                if (type != IdentifiableType.SHUNT_COMPENSATOR && type != IdentifiableType.STATIC_VAR_COMPENSATOR
+                        && type != IdentifiableType.BUSBAR_SECTION) {
+                    assertFalse(Double.isNaN(terminal.getP()));
+                    sum += terminal.getP();
+                }
+            }
+            assertEquals("Bus " + bus.getId(), 0, sum, EPSILON);
+        }
+    }
+
+    @Test
+    public void testEurostag() {
+        assertEquals("DcLoadFlow", provider.getName());
+        assertEquals("1.0", provider.getVersion());
+
+        Network network = EurostagTutorialExample1Factory.create();
+        LoadFlowResult result = run(network);
+        assertTrue(result.isOk());
+        assertEquals(1, result.getComponentResults().size());
+        LoadFlowResult.ComponentResult componentResult = result.getComponentResults().get(0);
+        assertEquals(LoadFlowResult.ComponentResult.Status.CONVERGED, componentResult.getStatus());
+        assertEquals(0, componentResult.getSlackBusActivePowerMismatch(), EPSILON);
+
+        assertBalanced(network);
+        // generation has been decreased to the load
+        assertEquals(-600, network.getGenerator("GEN").getTerminal().getP(), EPSILON);
+        assertEquals(600, network.getLoad("LOAD").getTerminal().getP(), EPSILON);
+        assertEquals(300, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+        assertEquals(-300, network.getLine("NHV1_NHV2_1").getTerminal2().getP(), EPSILON);
+        assertEquals(300, network.getLine("NHV1_NHV2_2").getTerminal1().getP(), EPSILON);
+        assertEquals(600, network.getTwoWindingsTransformer("NGEN_NHV1").getTerminal1().getP(), EPSILON);
+        assertTrue(Double.isNaN(network.getLine("NHV1_NHV2_1").getTerminal1().getQ()));
+
+        // angles decrease from generation to load
+        double angleGen = network.getBusView().getBus("VLGEN_0").getAngle();
+        double angleHv1 = network.getBusView().getBus("VLHV1_0").getAngle();
+        double angleHv2 = network.getBusView().getBus("VLHV2_0").getAngle();
+        double angleLoad = network.getBusView().getBus("VLLOAD_0").getAngle();
+        assertTrue(angleGen > angleHv1 && angleHv1 > angleHv2 && angleHv2 > angleLoad);
+        assertEquals(0, network.getBusView().getBus(componentResult.getSlackBusId()).getAngle(), 0);
+    }
+
+    @Test
+    public void testSparseMatrix() {
+        Network network = EurostagTutorialExample1Factory.create();
+        provider = new DcLoadFlowProvider(new SparseMatrixFactory());
+        assertTrue(run(network).isOk());
+        assertBalanced(network);
+        assertEquals(300, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+    }
+
+    @Test
+    public void testNoSlackDistribution() {
+        parameters.setDistributedSlack(false);
+        Network network = EurostagTutorialExample1Factory.create();
+        LoadFlowResult result = run(network);
+        assertTrue(result.isOk());
+        LoadFlowResult.ComponentResult componentResult = result.getComponentResults().get(0);
+        assertEquals(7, componentResult.getSlackBusActivePowerMismatch(), EPSILON);
+        assertEquals(-607, network.getGenerator("GEN").getTerminal().getP(), EPSILON);
+    }
+
+    @Test
+    public void testPhaseShifter() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        assertTrue(run(network).isOk());
+        assertBalanced(network);
+        double p1 = network.getTwoWindingsTransformer("PS1").getTerminal1().getP();
+        double lineP1 = network.getLine("L2").getTerminal1().getP();
+
+        // changing the tap changes the sharing of the flow between the phase shifter and the parallel line
+        network.getTwoWindingsTransformer("PS1").getPhaseTapChanger().setTapPosition(2);
+        assertTrue(run(network).isOk());
+        assertBalanced(network);
+        assertNotEquals(p1, network.getTwoWindingsTransformer("PS1").getTerminal1().getP(), 1);
+        assertNotEquals(lineP1, network.getLine("L2").getTerminal1().getP(), 1);
+        // phase shift only changes the right hand side, the factorization is reused
+        assertEquals(1, factorizationCache.getMissCount());
+        assertEquals(1, factorizationCache.getHitCount());
+    }
+
+    @Test
+    public void testNodeBreakerWithHvdc() {
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        assertTrue(run(network).isOk());
+        assertBalanced(network);
+    }
+
+    @Test
+    public void testThreeWindingsTransformer() {
+        Network network = ThreeWindingsTransformerNetworkFactory.create();
+        assertTrue(run(network).isOk());
+        assertBalanced(network);
+        ThreeWindingsTransformer twt = network.getThreeWindingsTransformer("3WT");
+        assertEquals(0, twt.getLeg1().getTerminal().getP() + twt.getLeg2().getTerminal().getP() + twt.getLeg3().getTerminal().getP(), EPSILON);
+    }
+
+    @Test
+    public void testFactorizationReuse() {
+        Network network = EurostagTutorialExample1Factory.create();
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        assertTrue(run(network).isOk());
+        assertEquals(0, factorizationCache.getHitCount());
+        assertEquals(1, factorizationCache.getMissCount());
+
+        // same topology, other injections: the factorization is reused
+        network.getVariantManager().setWorkingVariant("v");
+        network.getLoad("LOAD").setP0(500);
+        assertTrue(run(network).isOk());
+        assertEquals(1, factorizationCache.getHitCount());
+        assertEquals(1, factorizationCache.getMissCount());
+        assertEquals(250, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+        network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(300, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+
+        // topology change: the matrix is factorized again
+        network.getVariantManager().setWorkingVariant("v");
+        network.getLine("NHV1_NHV2_2").getTerminal2().disconnect();
+        assertTrue(run(network).isOk());
+        assertEquals(2, factorizationCache.getMissCount());
+        assertEquals(500, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+        assertEquals(0, network.getLine("NHV1_NHV2_2").getTerminal1().getP(), EPSILON);
+        assertTrue(Double.isNaN(network.getLine("NHV1_NHV2_2").getTerminal2().getP()));
+        assertEquals(2, factorizationCache.size());
+
+        factorizationCache.clear();
+        assertEquals(0, factorizationCache.size());
+    }
+
+    @Test
+    public void testFactorizationCacheEviction() {
+        factorizationCache = new DcFactorizationCache(new DenseMatrixFactory(), 1);
+        provider = new DcLoadFlowProvider(factorizationCache);
+        Network network = EurostagTutorialExample1Factory.create();
+        assertTrue(run(network).isOk());
+        network.getLine("NHV1_NHV2_2").getTerminal2().disconnect();
+        assertTrue(run(network).isOk());
+        assertEquals(1, factorizationCache.size());
+        network.getLine("NHV1_NHV2_2").getTerminal2().connect();
+        // first matrix has been evicted
+        assertTrue(run(network).isOk());
+        assertEquals(3, factorizationCache.getMissCount());
+        assertEquals(3, factorizationCache.getFactorizationCount());
+        assertEquals(300, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+    }
+
+    @Test
+    public void testIdleDecompositionsAreCapped() {
+        factorizationCache = new DcFactorizationCache(new DenseMatrixFactory(), DcFactorizationCache.DEFAULT_CAPACITY, 1);
+        DcMatrix matrix = DcMatrix.create(DcNetwork.create(EurostagTutorialExample1Factory.create(), parameters));
+        // nested solves of a same matrix use 3 decompositions at the same time
+        factorizationCache.solve(matrix, d1 -> factorizationCache.solve(matrix, d2 -> factorizationCache.solve(matrix, d3 -> {
+            assertNotSame(d1, d2);
+            assertNotSame(d2, d3);
+        })));
+        assertEquals(3, factorizationCache.getFactorizationCount());
+        // only one of them is kept once released
+        assertEquals(1, factorizationCache.getIdleDecompositionCount());
+        factorizationCache.solve(matrix, new double[matrix.getSize()]);
+        assertEquals(3, factorizationCache.getFactorizationCount());
+
+        factorizationCache.close();
+        assertEquals(0, factorizationCache.size());
+        assertEquals(0, factorizationCache.getIdleDecompositionCount());
+        assertThrows(IllegalArgumentException.class, () -> new DcFactorizationCache(new DenseMatrixFactory(), 1, 0));
+    }
+
+    @Test
+    public void testDefaultFactorizationCache() throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            InMemoryPlatformConfig platformConfig = new InMemoryPlatformConfig(fileSystem);
+            DcFactorizationCache cache = DcFactorizationCache.load(platformConfig);
+            assertEquals(DcFactorizationCache.DEFAULT_CAPACITY, cache.getCapacity());
+            assertEquals(DcFactorizationCache.DEFAULT_MAX_IDLE_DECOMPOSITIONS, cache.getMaxIdleDecompositions());
+
+            MapModuleConfig moduleConfig = platformConfig.createModuleConfig("dc-factorization-cache");
+            moduleConfig.setStringProperty("capacity", "2");
+            moduleConfig.setStringProperty("maxIdleDecompositions", "4");
+            cache = DcFactorizationCache.load(platformConfig);
+            assertEquals(2, cache.getCapacity());
+            assertEquals(4, cache.getMaxIdleDecompositions());
+        }
+
+        DcFactorizationCache defaultCache = DcFactorizationCache.getDefault();
+        assertSame(defaultCache, DcFactorizationCache.getDefault());
+        DcFactorizationCache.setDefault(factorizationCache);
+        try {
+            // providers created without a cache use the default one
+            assertTrue(new DcLoadFlowProvider().run(EurostagTutorialExample1Factory.create(), LocalComputationManager.getDefault(),
+                    VariantManagerConstants.INITIAL_VARIANT_ID, parameters).join().isOk());
+            assertEquals(1, factorizationCache.size());
+        } finally {
+            DcFactorizationCache.setDefault(null);
+        }
+        // the replaced default cache has been closed
+        assertEquals(0, factorizationCache.size());
+        assertNotSame(defaultCache, DcFactorizationCache.getDefault());
+    }
+
+    @Test
+    public void testConcurrentSolvesWithEviction() throws Exception {
+        // each thread alternates between two topologies, so that decompositions are evicted while others are in use
+        DcLoadFlowProvider sparseProvider = new DcLoadFlowProvider(new DcFactorizationCache(new SparseMatrixFactory(), 1));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    Network network = EurostagTutorialExample1Factory.create();
+                    for (int i = 0; i < 50; i++) {
+                        Terminal terminal = network.getLine("NHV1_NHV2_2").getTerminal2();
+                        if (i % 2 == 0) {
+                            terminal.connect();
+                        } else {
+                            terminal.disconnect();
+                        }
+                        assertTrue(sparseProvider.run(network, LocalComputationManager.getDefault(), VariantManagerConstants.INITIAL_VARIANT_ID, parameters).join().isOk());
+                        assertEquals(i % 2 == 0 ? 300 : 600, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), EPSILON);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
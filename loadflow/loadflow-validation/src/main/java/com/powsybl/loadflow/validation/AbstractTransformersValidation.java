@@ -15,7 +15,9 @@ import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * @author Miora Ralambotiana <miora.ralambotiana at rte-france.com>
@@ -45,4 +47,9 @@ abstract class AbstractTransformersValidation {
     }
 
     public abstract boolean checkTransformers(Network network, ValidationConfig config, ValidationWriter twtsWriter);
+
+    /**
+     * Create one check per transformer to validate, in the order of the validation output.
+     */
+    abstract List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config);
 }
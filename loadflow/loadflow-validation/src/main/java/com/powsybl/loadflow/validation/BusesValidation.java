@@ -13,7 +13,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import com.powsybl.iidm.network.*;
 import org.slf4j.Logger;
@@ -59,12 +62,15 @@ public final class BusesValidation {
         Objects.requireNonNull(config);
         Objects.requireNonNull(busesWriter);
         LOGGER.info("Checking buses of network {}", network.getId());
+        return ValidationUtils.check(createChecks(network, config), busesWriter);
+    }
+
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
         return network.getBusView()
                       .getBusStream()
                       .sorted(Comparator.comparing(Bus::getId))
-                      .map(bus -> checkBuses(bus, config, busesWriter))
-                      .reduce(Boolean::logicalAnd)
-                      .orElse(true);
+                      .<Predicate<ValidationWriter>>map(bus -> busesWriter -> checkBuses(bus, config, busesWriter))
+                      .collect(Collectors.toList());
     }
 
     public boolean checkBuses(Bus bus, ValidationConfig config, Writer writer) {
@@ -13,7 +13,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -188,17 +191,19 @@ public final class FlowsValidation {
         Objects.requireNonNull(flowsWriter);
         LOGGER.info("Checking flows of network {}", network.getId());
 
-        boolean linesValidated = network.getLineStream()
-                .sorted(Comparator.comparing(Line::getId))
-                .map(l -> checkFlows(l, config, flowsWriter))
-                .reduce(Boolean::logicalAnd).orElse(true);
+        return ValidationUtils.check(createChecks(network, config), flowsWriter);
+    }
 
-        boolean transformersValidated = network.getTwoWindingsTransformerStream()
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
+        List<Predicate<ValidationWriter>> checks = network.getLineStream()
+                .sorted(Comparator.comparing(Line::getId))
+                .<Predicate<ValidationWriter>>map(l -> flowsWriter -> checkFlows(l, config, flowsWriter))
+                .collect(Collectors.toList());
+        network.getTwoWindingsTransformerStream()
                 .sorted(Comparator.comparing(TwoWindingsTransformer::getId))
-                .map(t -> checkFlows(t, config, flowsWriter))
-                .reduce(Boolean::logicalAnd).orElse(true);
-
-        return linesValidated && transformersValidated;
+                .<Predicate<ValidationWriter>>map(t -> flowsWriter -> checkFlows(t, config, flowsWriter))
+                .forEach(checks::add);
+        return checks;
     }
 
 }
@@ -13,7 +13,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,13 +64,16 @@ public final class GeneratorsValidation {
         Objects.requireNonNull(config);
         Objects.requireNonNull(generatorsWriter);
         LOGGER.info("Checking generators of network {}", network.getId());
+        return ValidationUtils.check(createChecks(network, config), generatorsWriter);
+    }
+
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
         BalanceTypeGuesser guesser = new BalanceTypeGuesser(network, config.getThreshold());
         LOGGER.info("Using {} balance type", guesser.getBalanceType());
         return network.getGeneratorStream()
                       .sorted(Comparator.comparing(Generator::getId))
-                      .map(gen -> checkGenerators(gen, config, generatorsWriter, guesser))
-                      .reduce(Boolean::logicalAnd)
-                      .orElse(true);
+                      .<Predicate<ValidationWriter>>map(gen -> generatorsWriter -> checkGenerators(gen, config, generatorsWriter, guesser))
+                      .collect(Collectors.toList());
     }
 
     public boolean checkGenerators(Generator gen, ValidationConfig config, Writer writer) {
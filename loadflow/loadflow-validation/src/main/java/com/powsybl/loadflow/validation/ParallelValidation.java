@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.validation;
+
+import com.google.common.collect.Iterables;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.validation.io.ValidationWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Run several validation types in a single pass over the network, using an executor.
+ * <p>
+ * Elements of each validation type are partitioned into chunks which are checked concurrently, each chunk recording
+ * its output rows. Rows are then written to the writer of the validation type chunk after chunk, from the calling
+ * thread, so that outputs are the same as the ones of a sequential validation.
+ *
+ * @author agent <agent at local>
+ */
+public final class ParallelValidation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelValidation.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final class Chunk {
+
+        private final RecordingValidationWriter writer;
+
+        private final boolean validated;
+
+        private Chunk(RecordingValidationWriter writer, boolean validated) {
+            this.writer = writer;
+            this.validated = validated;
+        }
+    }
+
+    private ParallelValidation() {
+    }
+
+    private static void prepareTopology(Network network) {
+        // bus views and components are computed lazily, compute them before reading the network concurrently
+        Iterables.size(network.getBusBreakerView().getBuses());
+        network.getBusView().getBuses().forEach(bus -> {
+            bus.getConnectedComponent();
+            bus.getSynchronousComponent();
+        });
+    }
+
+    private static Chunk check(List<Predicate<ValidationWriter>> checks) {
+        RecordingValidationWriter writer = new RecordingValidationWriter(checks.size());
+        boolean validated = true;
+        for (Predicate<ValidationWriter> check : checks) {
+            validated &= check.test(writer);
+        }
+        return new Chunk(writer, validated);
+    }
+
+    private static Chunk join(CompletableFuture<Chunk> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PowsyblException(e.getCause());
+        }
+    }
+
+    public static Map<ValidationType, Boolean> check(Network network, ValidationConfig config, Set<ValidationType> validationTypes,
+                                                     Function<ValidationType, ValidationWriter> validationWriters, Executor executor) {
+        return check(network, config, validationTypes, validationWriters, executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Check the given validation types of the network.
+     *
+     * @return for each validation type, true if all elements have been validated
+     */
+    public static Map<ValidationType, Boolean> check(Network network, ValidationConfig config, Set<ValidationType> validationTypes,
+                                                     Function<ValidationType, ValidationWriter> validationWriters, Executor executor,
+                                                     int chunkSize) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(validationTypes);
+        Objects.requireNonNull(validationWriters);
+        Objects.requireNonNull(executor);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        LOGGER.info("Checking {} of network {}", validationTypes, network.getId());
+
+        prepareTopology(network);
+
+        // submit checks of all validation types before writing any result
+        Map<ValidationType, List<CompletableFuture<Chunk>>> chunksByType = new EnumMap<>(ValidationType.class);
+        Set<ValidationType> sortedValidationTypes = EnumSet.noneOf(ValidationType.class);
+        sortedValidationTypes.addAll(validationTypes);
+        for (ValidationType validationType : sortedValidationTypes) {
+            List<Predicate<ValidationWriter>> checks = validationType.createChecks(network, config);
+            List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+            for (int i = 0; i < checks.size(); i += chunkSize) {
+                List<Predicate<ValidationWriter>> chunkChecks = checks.subList(i, Math.min(i + chunkSize, checks.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> check(chunkChecks), executor));
+            }
+            chunksByType.put(validationType, chunks);
+        }
+
+        Map<ValidationType, Boolean> results = new EnumMap<>(ValidationType.class);
+        try {
+            for (Map.Entry<ValidationType, List<CompletableFuture<Chunk>>> e : chunksByType.entrySet()) {
+                ValidationWriter validationWriter = Objects.requireNonNull(validationWriters.apply(e.getKey()));
+                boolean validated = true;
+                for (CompletableFuture<Chunk> future : e.getValue()) {
+                    Chunk chunk = join(future);
+                    chunk.writer.replay(validationWriter);
+                    validated &= chunk.validated;
+                }
+                results.put(e.getKey(), validated);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // do not let checks run on the network once the method has returned
+            chunksByType.values().forEach(chunks -> chunks.forEach(chunk -> chunk.exceptionally(t -> null).join()));
+        }
+        return results;
+    }
+}
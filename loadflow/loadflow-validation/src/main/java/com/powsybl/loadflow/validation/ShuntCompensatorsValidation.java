@@ -13,7 +13,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.*;
@@ -60,11 +63,14 @@ public final class ShuntCompensatorsValidation {
         Objects.requireNonNull(config);
         Objects.requireNonNull(shuntsWriter);
         LOGGER.info("Checking shunt compensators of network {}", network.getId());
+        return ValidationUtils.check(createChecks(network, config), shuntsWriter);
+    }
+
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
         return network.getShuntCompensatorStream()
                 .sorted(Comparator.comparing(ShuntCompensator::getId))
-                .map(shunt -> checkShunts(shunt, config, shuntsWriter))
-                .reduce(Boolean::logicalAnd)
-                .orElse(true);
+                .<Predicate<ValidationWriter>>map(shunt -> shuntsWriter -> checkShunts(shunt, config, shuntsWriter))
+                .collect(Collectors.toList());
     }
 
     public boolean checkShunts(ShuntCompensator shunt, ValidationConfig config, Writer writer) {
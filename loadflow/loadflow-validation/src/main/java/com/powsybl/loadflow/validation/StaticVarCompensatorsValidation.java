@@ -13,7 +13,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,11 +65,14 @@ public final class StaticVarCompensatorsValidation {
         Objects.requireNonNull(config);
         Objects.requireNonNull(svcsWriter);
         LOGGER.info("Checking static var compensators of network {}", network.getId());
+        return ValidationUtils.check(createChecks(network, config), svcsWriter);
+    }
+
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
         return network.getStaticVarCompensatorStream()
                       .sorted(Comparator.comparing(StaticVarCompensator::getId))
-                      .map(svc -> checkSVCs(svc, config, svcsWriter))
-                      .reduce(Boolean::logicalAnd)
-                      .orElse(true);
+                      .<Predicate<ValidationWriter>>map(svc -> svcsWriter -> checkSVCs(svc, config, svcsWriter))
+                      .collect(Collectors.toList());
     }
 
     public boolean checkSVCs(StaticVarCompensator svc, ValidationConfig config, Writer writer) {
@@ -11,7 +11,10 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,11 +46,15 @@ public final class Transformers3WValidation extends AbstractTransformersValidati
         Objects.requireNonNull(twtsWriter);
 
         LOGGER.info("Checking 3W transformers of network {}", network.getId());
+        return ValidationUtils.check(createChecks(network, config), twtsWriter);
+    }
+
+    @Override
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
         return network.getThreeWindingsTransformerStream()
                 .sorted(Comparator.comparing(ThreeWindingsTransformer::getId))
-                .map(twt -> checkTransformer(twt, config, twtsWriter))
-                .reduce(Boolean::logicalAnd)
-                .orElse(true);
+                .<Predicate<ValidationWriter>>map(twt -> twtsWriter -> checkTransformer(twt, config, twtsWriter))
+                .collect(Collectors.toList());
     }
 
     public boolean checkTransformer(ThreeWindingsTransformer twt, ValidationConfig config, Writer writer) {
@@ -11,7 +11,10 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import com.powsybl.iidm.network.*;
 import org.slf4j.Logger;
@@ -43,12 +46,16 @@ public final class TransformersValidation extends AbstractTransformersValidation
         Objects.requireNonNull(config);
         Objects.requireNonNull(twtsWriter);
         LOGGER.info("Checking transformers of network {}", network.getId());
+        return ValidationUtils.check(createChecks(network, config), twtsWriter);
+    }
+
+    @Override
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
         return network.getTwoWindingsTransformerStream()
                       .filter(TransformersValidation::filterTwt)
                       .sorted(Comparator.comparing(TwoWindingsTransformer::getId))
-                      .map(twt -> checkTransformer(twt, config, twtsWriter))
-                      .reduce(Boolean::logicalAnd)
-                      .orElse(true);
+                      .<Predicate<ValidationWriter>>map(twt -> twtsWriter -> checkTransformer(twt, config, twtsWriter))
+                      .collect(Collectors.toList());
     }
 
     private static boolean filterTwt(TwoWindingsTransformer twt) {
@@ -53,6 +53,7 @@ public class ValidationTool implements Tool {
     private static final String COMPARE_RESULTS = "compare-results";
     private static final String RUN_COMPUTATION = "run-computation";
     private static final String COMPARE_CASE_FILE = "compare-case-file";
+    private static final String PARALLEL = "parallel";
 
     private static final Command COMMAND = new Command() {
 
@@ -118,6 +119,9 @@ public class ValidationTool implements Tool {
                     .hasArg()
                     .argName("FILE")
                     .build());
+            options.addOption(Option.builder().longOpt(PARALLEL)
+                    .desc("run all validation types in one pass over the network, on several threads")
+                    .build());
             options.addOption(createImportParametersFileOption());
             options.addOption(createImportParameterOption());
             return options;
@@ -160,6 +164,7 @@ public class ValidationTool implements Tool {
                                     .map(ValidationType::valueOf)
                                     .collect(Collectors.toSet());
         }
+        boolean parallel = line.hasOption(PARALLEL);
         Network network = loadNetwork(caseFile, line, context);
         try (ValidationWriters validationWriters = new ValidationWriters(network.getId(), validationTypes, outputFolder, config)) {
             if (config.isCompareResults() && ComparisonType.COMPUTATION.equals(comparisonType)) {
@@ -167,7 +172,7 @@ public class ValidationTool implements Tool {
                         "Computation results comparison requires to run a computation (options --" + LOAD_FLOW + " or --" + RUN_COMPUTATION + ").");
 
                 context.getOutputStream().println("Running pre-loadflow validation on network " + network.getId());
-                runValidation(network, config, validationTypes, validationWriters, context);
+                runValidation(network, config, validationTypes, validationWriters, parallel, context);
             }
 
             if (line.hasOption(LOAD_FLOW)) {
@@ -178,7 +183,7 @@ public class ValidationTool implements Tool {
                 context.getOutputStream().println("Running post-computation validation on network " + network.getId());
             }
 
-            runValidation(network, config, validationTypes, validationWriters, context);
+            runValidation(network, config, validationTypes, validationWriters, parallel, context);
 
             if (config.isCompareResults() && ComparisonType.BASECASE.equals(comparisonType)) {
                 Preconditions.checkArgument(line.hasOption(COMPARE_CASE_FILE),
@@ -186,7 +191,7 @@ public class ValidationTool implements Tool {
                 Path compareCaseFile = Paths.get(line.getOptionValue(COMPARE_CASE_FILE));
                 Network compareNetwork = loadNetwork(compareCaseFile, line, context);
                 context.getOutputStream().println("Running validation on network " + compareNetwork.getId() + " to compare");
-                runValidation(compareNetwork, config, validationTypes, validationWriters, context);
+                runValidation(compareNetwork, config, validationTypes, validationWriters, parallel, context);
             }
         }
     }
@@ -201,13 +206,26 @@ public class ValidationTool implements Tool {
         return network;
     }
 
-    private void runValidation(Network network, ValidationConfig config, Set<ValidationType> validationTypes, ValidationWriters validationWriter, ToolRunningContext context) {
-        validationTypes.forEach(validationType -> {
-            context.getOutputStream().println("Validate load-flow results of network " + network.getId()
-                                              + " - validation type: " + validationType
-                                              + " - result: " + (validationType.check(network, config, validationWriter.getWriter(validationType)) ? "success" : "fail"));
-            validationWriter.getWriter(validationType).setValidationCompleted();
-        });
+    private void runValidation(Network network, ValidationConfig config, Set<ValidationType> validationTypes, ValidationWriters validationWriter,
+                               boolean parallel, ToolRunningContext context) {
+        if (parallel) {
+            ParallelValidation.check(network, config, validationTypes, validationWriter::getWriter, context.getShortTimeExecutionComputationManager().getExecutor())
+                    .forEach((validationType, validated) -> {
+                        printValidationResult(network, validationType, validated, context);
+                        validationWriter.getWriter(validationType).setValidationCompleted();
+                    });
+        } else {
+            validationTypes.forEach(validationType -> {
+                printValidationResult(network, validationType, validationType.check(network, config, validationWriter.getWriter(validationType)), context);
+                validationWriter.getWriter(validationType).setValidationCompleted();
+            });
+        }
+    }
+
+    private static void printValidationResult(Network network, ValidationType validationType, boolean validated, ToolRunningContext context) {
+        context.getOutputStream().println("Validate load-flow results of network " + network.getId()
+                                          + " - validation type: " + validationType
+                                          + " - result: " + (validated ? "success" : "fail"));
     }
 
     private void runLoadflow(Network network, ValidationConfig config, ToolRunningContext context) {
@@ -8,7 +8,9 @@ package com.powsybl.loadflow.validation;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 import com.powsybl.iidm.network.Network;
 import com.powsybl.loadflow.validation.io.ValidationWriter;
@@ -82,6 +84,32 @@ public enum ValidationType {
         }
     }
 
+    /**
+     * Create one check per element to validate, in the order of the validation output.
+     */
+    List<Predicate<ValidationWriter>> createChecks(Network network, ValidationConfig config) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(config);
+        switch (this) {
+            case FLOWS:
+                return FlowsValidation.INSTANCE.createChecks(network, config);
+            case GENERATORS:
+                return GeneratorsValidation.INSTANCE.createChecks(network, config);
+            case BUSES:
+                return BusesValidation.INSTANCE.createChecks(network, config);
+            case SVCS:
+                return StaticVarCompensatorsValidation.INSTANCE.createChecks(network, config);
+            case SHUNTS:
+                return ShuntCompensatorsValidation.INSTANCE.createChecks(network, config);
+            case TWTS:
+                return TransformersValidation.INSTANCE.createChecks(network, config);
+            case TWTS3W:
+                return Transformers3WValidation.INSTANCE.createChecks(network, config);
+            default:
+                throw new AssertionError(UNEXPECTED_VALIDATION_TYPE_VALUE + this);
+        }
+    }
+
     public Path getOutputFile(Path folder) {
         return folder.resolve(file);
     }
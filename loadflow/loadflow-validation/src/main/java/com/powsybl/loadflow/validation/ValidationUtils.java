@@ -7,7 +7,9 @@
 package com.powsybl.loadflow.validation;
 
 import java.io.Writer;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 import com.powsybl.commons.config.ConfigurationException;
 import com.powsybl.loadflow.validation.io.ValidationWriter;
@@ -25,6 +27,17 @@ public final class ValidationUtils {
     private ValidationUtils() {
     }
 
+    /**
+     * Run checks of a validation type in order, all checks are run even if some of them fail.
+     */
+    static boolean check(List<Predicate<ValidationWriter>> checks, ValidationWriter validationWriter) {
+        boolean validated = true;
+        for (Predicate<ValidationWriter> check : checks) {
+            validated &= check.test(validationWriter);
+        }
+        return validated;
+    }
+
     public static ValidationWriter createValidationWriter(String id, ValidationConfig config, Writer writer, ValidationType validationType) {
         Objects.requireNonNull(id);
         Objects.requireNonNull(config);
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.validation;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.loadflow.validation.io.ValidationWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ParallelValidationTest extends AbstractValidationTest {
+
+    private ExecutorService executor;
+
+    private Network network;
+
+    @Before
+    public void setUp() throws IOException {
+        super.setUp();
+        executor = Executors.newFixedThreadPool(3);
+        network = EurostagTutorialExample1Factory.createWithLFResults();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        super.tearDown();
+    }
+
+    private static Map<ValidationType, String> toString(Map<ValidationType, StringWriter> writers) {
+        Map<ValidationType, String> outputs = new EnumMap<>(ValidationType.class);
+        writers.forEach((validationType, writer) -> outputs.put(validationType, writer.toString()));
+        return outputs;
+    }
+
+    private Map<ValidationType, String> checkSequentially(Set<ValidationType> validationTypes, Map<ValidationType, Boolean> results) throws IOException {
+        Map<ValidationType, StringWriter> writers = new EnumMap<>(ValidationType.class);
+        for (ValidationType validationType : validationTypes) {
+            StringWriter writer = new StringWriter();
+            try (ValidationWriter validationWriter = ValidationUtils.createValidationWriter(network.getId(), strictConfig, writer, validationType)) {
+                results.put(validationType, validationType.check(network, strictConfig, validationWriter));
+            }
+            writers.put(validationType, writer);
+        }
+        return toString(writers);
+    }
+
+    private Map<ValidationType, String> checkInParallel(Set<ValidationType> validationTypes, Map<ValidationType, Boolean> results, int chunkSize) throws IOException {
+        Map<ValidationType, StringWriter> writers = new EnumMap<>(ValidationType.class);
+        Map<ValidationType, ValidationWriter> validationWriters = new EnumMap<>(ValidationType.class);
+        for (ValidationType validationType : validationTypes) {
+            StringWriter writer = new StringWriter();
+            writers.put(validationType, writer);
+            validationWriters.put(validationType, ValidationUtils.createValidationWriter(network.getId(), strictConfig, writer, validationType));
+        }
+        results.putAll(ParallelValidation.check(network, strictConfig, validationTypes, validationWriters::get, executor, chunkSize));
+        for (ValidationWriter validationWriter : validationWriters.values()) {
+            validationWriter.close();
+        }
+        return toString(writers);
+    }
+
+    @Test
+    public void test() throws IOException {
+        Set<ValidationType> validationTypes = EnumSet.allOf(ValidationType.class);
+        Map<ValidationType, Boolean> expectedResults = new EnumMap<>(ValidationType.class);
+        Map<ValidationType, String> expectedOutputs = checkSequentially(validationTypes, expectedResults);
+        assertFalse(expectedOutputs.get(ValidationType.FLOWS).isEmpty());
+
+        // same results and same outputs, whatever the partition of the elements
+        for (int chunkSize : new int[] {1, 3, ParallelValidation.DEFAULT_CHUNK_SIZE}) {
+            Map<ValidationType, Boolean> results = new EnumMap<>(ValidationType.class);
+            assertEquals(expectedOutputs, checkInParallel(validationTypes, results, chunkSize));
+            assertEquals(expectedResults, results);
+        }
+    }
+
+    @Test
+    public void testSubset() throws IOException {
+        Map<ValidationType, Boolean> results = new EnumMap<>(ValidationType.class);
+        Map<ValidationType, String> outputs = checkInParallel(EnumSet.of(ValidationType.BUSES, ValidationType.FLOWS), results, 2);
+        assertEquals(EnumSet.of(ValidationType.BUSES, ValidationType.FLOWS), results.keySet());
+        assertEquals(EnumSet.of(ValidationType.BUSES, ValidationType.FLOWS), outputs.keySet());
+        assertTrue(ParallelValidation.check(network, strictConfig, EnumSet.noneOf(ValidationType.class), validationType -> null, executor).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() {
+        ParallelValidation.check(network, strictConfig, EnumSet.allOf(ValidationType.class), validationType -> null, executor, 0);
+    }
+}
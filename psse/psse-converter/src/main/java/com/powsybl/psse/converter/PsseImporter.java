@@ -144,7 +144,7 @@ public class PsseImporter implements Importer {
 
             Network network = networkFactory.createNetwork(dataSource.getBaseName(), FORMAT);
             // TODO store the PsseContext with the Network to be able to export back using its information
-            convert(pssePowerFlowModel, network, parameters, version);
+            network.bulkBuild(() -> convert(pssePowerFlowModel, network, parameters, version));
 
             // Add the model and context as extensions
             network.newExtension(PsseModelExtensionAdder.class).withModel(pssePowerFlowModel).add();
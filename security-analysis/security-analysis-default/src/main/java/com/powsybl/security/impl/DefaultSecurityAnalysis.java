@@ -11,6 +11,7 @@ import com.powsybl.commons.exceptions.UncheckedInterruptedException;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyTopologyImpactsCache;
 import com.powsybl.iidm.network.*;
 import com.powsybl.loadflow.LoadFlow;
 import com.powsybl.loadflow.LoadFlowParameters;
@@ -234,7 +235,8 @@ public class DefaultSecurityAnalysis {
     private void applyContingency(String workingVariantId, String postContVariantId, Contingency contingency) {
         network.getVariantManager().cloneVariant(workingVariantId, postContVariantId, true);
         network.getVariantManager().setWorkingVariant(postContVariantId);
-        contingency.toTask().modify(network, computationManager);
+        // topology impacts of the contingency are reused from previous runs, or computed by this worker
+        ContingencyTopologyImpactsCache.of(network).toTask(contingency, workingVariantId).modify(network, computationManager);
     }
 
     private void addMonitorInfos(Network network, StateMonitor monitor, Consumer<BranchResult> branchResultConsumer,
@@ -0,0 +1,520 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity.dc;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Injection;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.TwoWindingsTransformer;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.dc.DcFactorizationCache;
+import com.powsybl.loadflow.dc.DcMatrix;
+import com.powsybl.loadflow.dc.DcNetwork;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.sensitivity.*;
+import com.powsybl.sensitivity.factors.functions.BranchFlow;
+import com.powsybl.sensitivity.factors.variables.InjectionIncrease;
+import com.powsybl.sensitivity.factors.variables.LinearGlsk;
+import com.powsybl.sensitivity.factors.variables.PhaseTapChangerAngle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * DC sensitivity analysis of branch flows.
+ * <p>
+ * The susceptance matrix of the network is factorized once, and solved for one right hand side per sensitivity
+ * variable, plus one per branch outaged by a contingency. Right hand sides are solved by blocks, sequentially, so that
+ * the single decomposition of the matrix is reused by all blocks: decompositions cannot be shared between threads.
+ * Post-contingency sensitivities and flows are then deduced from pre-contingency ones with line outage distribution
+ * factors, without modifying the matrix: for an outage of a set M of branches,
+ * s'(l) = s(l) + PTDF(l, M) (I - PTDF(M, M))^-1 s(M), where PTDF(l, m) is the flow on l for a unit transfer between
+ * the two sides of m.
+ *
+ * @author agent <agent at local>
+ */
+final class DcSensitivityAnalysis {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DcSensitivityAnalysis.class);
+
+    // maximum number of right hand sides of a block, to bound the size of the dense matrix solved at once
+    private static final int MAX_BLOCK_SIZE = 256;
+
+    // pivots of the outage system below this value mean that the contingency splits the network
+    private static final double MIN_PIVOT = 1e-8;
+
+    private static final int BASE_COLUMN = 0;
+
+    /**
+     * A right hand side of the system, as a sparse vector.
+     */
+    private static final class Column {
+
+        private final Map<Integer, Double> values = new LinkedHashMap<>();
+
+        // branch on which the variable directly acts, and value of this direct action
+        private int directBranch = -1;
+
+        private double directValue = 0;
+
+        private final double variableReference;
+
+        private Column(double variableReference) {
+            this.variableReference = variableReference;
+        }
+
+        private void add(int bus, double value) {
+            values.merge(bus, value, Double::sum);
+        }
+    }
+
+    private final Network network;
+
+    private final DcNetwork dcNetwork;
+
+    private final DcMatrix matrix;
+
+    private final DcFactorizationCache factorizationCache;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final boolean distributedSlack;
+
+    // participating buses and normalized participation factors, by synchronous component
+    private final Map<DcNetwork.Component, Map<Integer, Double>> participations = new HashMap<>();
+
+    private final Map<String, DcNetwork.Branch> branchesById = new HashMap<>();
+
+    private final Map<String, DcNetwork.Injection> injectionsById = new HashMap<>();
+
+    // branches whose flow is needed: monitored or outaged ones, null when disconnected
+    private final List<DcNetwork.Branch> branches = new ArrayList<>();
+
+    private final Map<String, Integer> branchIndexes = new HashMap<>();
+
+    // right hand sides: base case, variables, then outages
+    private final List<Column> columns = new ArrayList<>();
+
+    private final Map<SensitivityVariable, Integer> variableColumns = new HashMap<>();
+
+    private final Map<Integer, Integer> outageColumns = new HashMap<>();
+
+    // flows[branch][column]: flow of a branch for the solution of a right hand side
+    private double[][] flows;
+
+    private double[] referenceFlows;
+
+    DcSensitivityAnalysis(Network network, LoadFlowParameters parameters, DcFactorizationCache factorizationCache,
+                          Executor executor, int parallelism) {
+        this.network = Objects.requireNonNull(network);
+        this.factorizationCache = Objects.requireNonNull(factorizationCache);
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = parallelism;
+        distributedSlack = parameters.isDistributedSlack();
+        dcNetwork = DcNetwork.create(network, parameters);
+        matrix = DcMatrix.create(dcNetwork);
+        for (DcNetwork.Branch branch : dcNetwork.getBranches()) {
+            branchesById.put(branch.getId(), branch);
+        }
+        for (DcNetwork.Injection injection : dcNetwork.getInjections()) {
+            injectionsById.put(injection.getId(), injection);
+            if (injection.getParticipationFactor() > 0) {
+                participations.computeIfAbsent(dcNetwork.getComponent(injection.getBus()), c -> new HashMap<>())
+                        .merge(injection.getBus(), injection.getParticipationFactor(), Double::sum);
+            }
+        }
+        for (Map<Integer, Double> participation : participations.values()) {
+            double sum = participation.values().stream().mapToDouble(Double::doubleValue).sum();
+            participation.replaceAll((bus, factor) -> factor / sum);
+        }
+        columns.add(new Column(Double.NaN));
+    }
+
+    private int getBranchIndex(String branchId) {
+        return branchIndexes.computeIfAbsent(branchId, id -> {
+            if (network.getBranch(id) == null) {
+                throw new PowsyblException("Branch '" + id + "' not found");
+            }
+            DcNetwork.Branch branch = branchesById.get(id);
+            branches.add(branch != null && branch.isConnected() ? branch : null);
+            return branches.size() - 1;
+        });
+    }
+
+    private int getVariableColumn(SensitivityVariable variable) {
+        Integer column = variableColumns.get(variable);
+        if (column == null) {
+            columns.add(createColumn(variable));
+            column = columns.size() - 1;
+            variableColumns.put(variable, column);
+        }
+        return column;
+    }
+
+    private void addInjection(Column column, int bus, double value) {
+        column.add(bus, value);
+        // the injection is compensated by the slack bus, or by participating injections of the component
+        if (distributedSlack) {
+            Map<Integer, Double> participation = participations.get(dcNetwork.getComponent(bus));
+            if (participation != null) {
+                participation.forEach((participatingBus, factor) -> column.add(participatingBus, -value * factor));
+            }
+        }
+    }
+
+    private void checkInjection(String injectionId) {
+        Identifiable<?> identifiable = network.getIdentifiable(injectionId);
+        if (!(identifiable instanceof Injection)) {
+            throw new PowsyblException("Injection '" + injectionId + "' not found");
+        }
+    }
+
+    private Column createColumn(SensitivityVariable variable) {
+        if (variable instanceof InjectionIncrease) {
+            String injectionId = ((InjectionIncrease) variable).getInjectionId();
+            checkInjection(injectionId);
+            DcNetwork.Injection injection = injectionsById.get(injectionId);
+            Column column = new Column(injection != null ? injection.getTargetP() : 0);
+            if (injection != null) {
+                addInjection(column, injection.getBus(), 1);
+            }
+            return column;
+        } else if (variable instanceof PhaseTapChangerAngle) {
+            String twtId = ((PhaseTapChangerAngle) variable).getPhaseTapChangerHolderId();
+            TwoWindingsTransformer twt = network.getTwoWindingsTransformer(twtId);
+            if (twt == null || twt.getPhaseTapChanger() == null) {
+                throw new PowsyblException("Phase shifter '" + twtId + "' not found");
+            }
+            Column column = new Column(twt.getPhaseTapChanger().getCurrentStep().getAlpha());
+            int branchIndex = getBranchIndex(twtId);
+            DcNetwork.Branch branch = branches.get(branchIndex);
+            if (branch != null) {
+                // one degree of phase shift, flows in MW
+                double value = branch.getB() * Math.toRadians(1) * DcNetwork.BASE_POWER;
+                column.add(branch.getBus1(), -value);
+                column.add(branch.getBus2(), value);
+                column.directBranch = branchIndex;
+                column.directValue = value;
+            }
+            return column;
+        } else if (variable instanceof LinearGlsk) {
+            Map<String, Float> glsks = ((LinearGlsk) variable).getGLSKs();
+            double sum = 0;
+            for (String injectionId : glsks.keySet()) {
+                checkInjection(injectionId);
+                if (injectionsById.containsKey(injectionId)) {
+                    sum += glsks.get(injectionId);
+                }
+            }
+            Column column = new Column(0);
+            for (Map.Entry<String, Float> e : glsks.entrySet()) {
+                DcNetwork.Injection injection = injectionsById.get(e.getKey());
+                if (injection != null) {
+                    addInjection(column, injection.getBus(), e.getValue() / sum);
+                }
+            }
+            return column;
+        } else {
+            throw new PowsyblException("Variable type " + variable.getClass().getSimpleName() + " not supported by DC sensitivity analysis");
+        }
+    }
+
+    private int getOutageColumn(int branchIndex) {
+        return outageColumns.computeIfAbsent(branchIndex, i -> {
+            DcNetwork.Branch branch = branches.get(i);
+            // unit transfer between the two sides of the branch
+            Column column = new Column(Double.NaN);
+            column.add(branch.getBus1(), 1);
+            column.add(branch.getBus2(), -1);
+            columns.add(column);
+            return columns.size() - 1;
+        });
+    }
+
+    private static final class FactorIndexes {
+
+        private final SensitivityFactor factor;
+
+        private final int branch;
+
+        private final int column;
+
+        private FactorIndexes(SensitivityFactor factor, int branch, int column) {
+            this.factor = factor;
+            this.branch = branch;
+            this.column = column;
+        }
+    }
+
+    private List<FactorIndexes> index(List<SensitivityFactor> factors) {
+        List<FactorIndexes> indexes = new ArrayList<>(factors.size());
+        for (SensitivityFactor factor : factors) {
+            if (!(factor.getFunction() instanceof BranchFlow)) {
+                throw new PowsyblException("Function type " + factor.getFunction().getClass().getSimpleName() + " not supported by DC sensitivity analysis");
+            }
+            int branch = getBranchIndex(((BranchFlow) factor.getFunction()).getBranchId());
+            indexes.add(new FactorIndexes(factor, branch, getVariableColumn(factor.getVariable())));
+        }
+        return indexes;
+    }
+
+    private int[] indexOutages(Contingency contingency) {
+        Set<Integer> outages = new LinkedHashSet<>();
+        for (ContingencyElement element : contingency.getElements()) {
+            switch (element.getType()) {
+                case BRANCH:
+                case LINE:
+                case TWO_WINDINGS_TRANSFORMER:
+                    int branchIndex = getBranchIndex(element.getId());
+                    // already disconnected branches have no effect
+                    if (branches.get(branchIndex) != null) {
+                        outages.add(branchIndex);
+                    }
+                    break;
+                default:
+                    LOGGER.warn("Contingency '{}': element '{}' of type {} not supported by DC sensitivity analysis, ignored",
+                            contingency.getId(), element.getId(), element.getType());
+            }
+        }
+        return outages.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void join(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PowsyblException(cause);
+        }
+    }
+
+    private void solveBlock(int firstColumn, int lastColumn, double[] baseRhs) {
+        int busCount = dcNetwork.getBusCount();
+        DenseMatrix rhs = new DenseMatrix(busCount, lastColumn - firstColumn);
+        for (int c = firstColumn; c < lastColumn; c++) {
+            int j = c - firstColumn;
+            if (c == BASE_COLUMN) {
+                for (int bus = 0; bus < busCount; bus++) {
+                    rhs.set(bus, j, baseRhs[bus]);
+                }
+            } else {
+                columns.get(c).values.forEach((bus, value) -> rhs.add(bus, j, value));
+            }
+        }
+        // angle of slack buses is zero
+        for (DcNetwork.Component component : dcNetwork.getComponents()) {
+            for (int j = 0; j < lastColumn - firstColumn; j++) {
+                rhs.set(component.getSlackBus(), j, 0);
+            }
+        }
+
+        factorizationCache.solve(matrix, rhs);
+
+        for (int i = 0; i < branches.size(); i++) {
+            DcNetwork.Branch branch = branches.get(i);
+            if (branch != null) {
+                for (int c = firstColumn; c < lastColumn; c++) {
+                    int j = c - firstColumn;
+                    flows[i][c] = branch.getB() * (rhs.get(branch.getBus1(), j) - rhs.get(branch.getBus2(), j));
+                    Column column = columns.get(c);
+                    if (column.directBranch == i) {
+                        flows[i][c] += column.directValue;
+                    }
+                }
+            }
+        }
+    }
+
+    private void solve() {
+        double[] baseRhs = dcNetwork.createRhs();
+        int columnCount = columns.size();
+        flows = new double[branches.size()][columnCount];
+        // the decomposition is released to the cache after each block, and reused by the next one
+        for (int first = 0; first < columnCount; first += MAX_BLOCK_SIZE) {
+            solveBlock(first, Math.min(first + MAX_BLOCK_SIZE, columnCount), baseRhs);
+        }
+
+        referenceFlows = new double[branches.size()];
+        for (int i = 0; i < branches.size(); i++) {
+            DcNetwork.Branch branch = branches.get(i);
+            if (branch != null) {
+                referenceFlows[i] = (flows[i][BASE_COLUMN] + branch.getB() * branch.getAlpha()) * DcNetwork.BASE_POWER;
+            }
+        }
+    }
+
+    private List<SensitivityValue> computeValues(List<FactorIndexes> factors) {
+        List<SensitivityValue> values = new ArrayList<>(factors.size());
+        for (FactorIndexes f : factors) {
+            values.add(new SensitivityValue(f.factor, flows[f.branch][f.column], referenceFlows[f.branch], columns.get(f.column).variableReference));
+        }
+        return values;
+    }
+
+    /**
+     * Solve in place A x = b with A given by rows, by a gaussian elimination with partial pivoting.
+     *
+     * @return false if A is singular
+     */
+    private static boolean solveDense(double[][] a, double[][] b) {
+        int n = a.length;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(a[i][k]) > Math.abs(a[pivot][k])) {
+                    pivot = i;
+                }
+            }
+            if (Math.abs(a[pivot][k]) < MIN_PIVOT) {
+                return false;
+            }
+            double[] tmp = a[k];
+            a[k] = a[pivot];
+            a[pivot] = tmp;
+            tmp = b[k];
+            b[k] = b[pivot];
+            b[pivot] = tmp;
+            for (int i = k + 1; i < n; i++) {
+                double factor = a[i][k] / a[k][k];
+                for (int j = k; j < n; j++) {
+                    a[i][j] -= factor * a[k][j];
+                }
+                for (int j = 0; j < b[i].length; j++) {
+                    b[i][j] -= factor * b[k][j];
+                }
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            for (int j = 0; j < b[k].length; j++) {
+                double sum = b[k][j];
+                for (int i = k + 1; i < n; i++) {
+                    sum -= a[k][i] * b[i][j];
+                }
+                b[k][j] = sum / a[k][k];
+            }
+        }
+        return true;
+    }
+
+    private List<SensitivityValue> computeValues(Contingency contingency, int[] outages, List<FactorIndexes> factors) {
+        if (outages.length == 0) {
+            return computeValues(factors);
+        }
+        int[] outageColumnIndexes = new int[outages.length];
+        for (int k = 0; k < outages.length; k++) {
+            outageColumnIndexes[k] = outageColumns.get(outages[k]);
+        }
+
+        // right hand sides of the outage system: reference flows, then sensitivities of each needed variable
+        Map<Integer, Integer> variableIndexes = new LinkedHashMap<>();
+        for (FactorIndexes f : factors) {
+            variableIndexes.putIfAbsent(f.column, variableIndexes.size() + 1);
+        }
+        double[][] a = new double[outages.length][outages.length];
+        double[][] x = new double[outages.length][variableIndexes.size() + 1];
+        for (int k = 0; k < outages.length; k++) {
+            for (int l = 0; l < outages.length; l++) {
+                a[k][l] = (k == l ? 1 : 0) - flows[outages[k]][outageColumnIndexes[l]];
+            }
+            x[k][0] = referenceFlows[outages[k]];
+            for (Map.Entry<Integer, Integer> e : variableIndexes.entrySet()) {
+                x[k][e.getValue()] = flows[outages[k]][e.getKey()];
+            }
+        }
+        boolean connected = solveDense(a, x);
+        if (!connected) {
+            LOGGER.warn("Contingency '{}' splits the network, its sensitivity values are not computed", contingency.getId());
+        }
+
+        Set<Integer> outageSet = new HashSet<>();
+        Arrays.stream(outages).forEach(outageSet::add);
+        List<SensitivityValue> values = new ArrayList<>(factors.size());
+        for (FactorIndexes f : factors) {
+            double value;
+            double reference;
+            if (!connected) {
+                value = Double.NaN;
+                reference = Double.NaN;
+            } else if (outageSet.contains(f.branch)) {
+                value = 0;
+                reference = 0;
+            } else {
+                int variableIndex = variableIndexes.get(f.column);
+                value = flows[f.branch][f.column];
+                reference = referenceFlows[f.branch];
+                for (int k = 0; k < outages.length; k++) {
+                    double ptdf = flows[f.branch][outageColumnIndexes[k]];
+                    value += ptdf * x[k][variableIndex];
+                    reference += ptdf * x[k][0];
+                }
+            }
+            values.add(new SensitivityValue(f.factor, value, reference, columns.get(f.column).variableReference));
+        }
+        return values;
+    }
+
+    SensitivityAnalysisResult run(SensitivityFactorsProvider factorsProvider, List<Contingency> contingencies) {
+        Objects.requireNonNull(factorsProvider);
+        Objects.requireNonNull(contingencies);
+
+        // index all factors and outages first, to solve all the right hand sides at once
+        List<FactorIndexes> commonIndexes = index(factorsProvider.getCommonFactors(network));
+        List<FactorIndexes> baseIndexes = new ArrayList<>(commonIndexes);
+        baseIndexes.addAll(index(factorsProvider.getAdditionalFactors(network)));
+        List<List<FactorIndexes>> contingencyIndexes = new ArrayList<>(contingencies.size());
+        List<int[]> contingencyOutages = new ArrayList<>(contingencies.size());
+        for (Contingency contingency : contingencies) {
+            List<FactorIndexes> indexes = new ArrayList<>(commonIndexes);
+            indexes.addAll(index(factorsProvider.getAdditionalFactors(network, contingency.getId())));
+            contingencyIndexes.add(indexes);
+            int[] outages = indexOutages(contingency);
+            for (int outage : outages) {
+                getOutageColumn(outage);
+            }
+            contingencyOutages.add(outages);
+        }
+
+        solve();
+
+        List<SensitivityValue> baseValues = computeValues(baseIndexes);
+
+        List<List<SensitivityValue>> contingencyValues = new ArrayList<>(Collections.nCopies(contingencies.size(), null));
+        int chunkSize = Math.max(1, (contingencies.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int first = 0; first < contingencies.size(); first += chunkSize) {
+            int firstContingency = first;
+            int lastContingency = Math.min(first + chunkSize, contingencies.size());
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = firstContingency; i < lastContingency; i++) {
+                    contingencyValues.set(i, computeValues(contingencies.get(i), contingencyOutages.get(i), contingencyIndexes.get(i)));
+                }
+            }, executor));
+        }
+        join(futures);
+
+        Map<String, List<SensitivityValue>> valuesByContingency = new LinkedHashMap<>();
+        for (int i = 0; i < contingencies.size(); i++) {
+            valuesByContingency.put(contingencies.get(i).getId(), contingencyValues.get(i));
+        }
+        Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put("busCount", Integer.toString(dcNetwork.getBusCount()));
+        metrics.put("rightHandSideCount", Integer.toString(columns.size()));
+        return new SensitivityAnalysisResult(true, metrics, "", baseValues, valuesByContingency);
+    }
+}
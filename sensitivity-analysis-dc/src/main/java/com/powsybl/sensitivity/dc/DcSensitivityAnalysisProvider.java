@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity.dc;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.dc.DcFactorizationCache;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.SensitivityAnalysisProvider;
+import com.powsybl.sensitivity.SensitivityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityFactorsProvider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sensitivity analysis provider based on the DC approximation, supporting branch flow functions per injection increase,
+ * phase shifter angle and linear GLSK variables.
+ * <p>
+ * Right hand sides are solved concurrently on the executor of the computation manager, and contingencies are
+ * simulated with line outage distribution factors, so that the susceptance matrix is never factorized again for a
+ * contingency. Only branch elements of contingencies are simulated, other elements are ignored.
+ *
+ * @author agent <agent at local>
+ */
+@AutoService(SensitivityAnalysisProvider.class)
+public class DcSensitivityAnalysisProvider implements SensitivityAnalysisProvider {
+
+    private static final String NAME = "DcSensitivityAnalysis";
+
+    // null to use the default cache, shared by all the providers as they are instantiated on each lookup
+    private final DcFactorizationCache factorizationCache;
+
+    private final int parallelism;
+
+    public DcSensitivityAnalysisProvider() {
+        factorizationCache = null;
+        parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    public DcSensitivityAnalysisProvider(MatrixFactory matrixFactory) {
+        this(new DcFactorizationCache(matrixFactory));
+    }
+
+    public DcSensitivityAnalysisProvider(DcFactorizationCache factorizationCache) {
+        this(factorizationCache, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism maximum number of contingency chunks processed concurrently
+     */
+    public DcSensitivityAnalysisProvider(DcFactorizationCache factorizationCache, int parallelism) {
+        this.factorizationCache = Objects.requireNonNull(factorizationCache);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    private DcFactorizationCache getFactorizationCache() {
+        return factorizationCache != null ? factorizationCache : DcFactorizationCache.getDefault();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return "1.0";
+    }
+
+    @Override
+    public CompletableFuture<SensitivityAnalysisResult> run(Network network, String workingStateId, SensitivityFactorsProvider factorsProvider,
+                                                            List<Contingency> contingencies, SensitivityAnalysisParameters parameters,
+                                                            ComputationManager computationManager) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(workingStateId);
+        Objects.requireNonNull(factorsProvider);
+        Objects.requireNonNull(contingencies);
+        Objects.requireNonNull(parameters);
+        Objects.requireNonNull(computationManager);
+        network.getVariantManager().setWorkingVariant(workingStateId);
+        DcSensitivityAnalysis analysis = new DcSensitivityAnalysis(network, parameters.getLoadFlowParameters(), getFactorizationCache(),
+                computationManager.getExecutor(), parallelism);
+        return CompletableFuture.completedFuture(analysis.run(factorsProvider, contingencies));
+    }
+}
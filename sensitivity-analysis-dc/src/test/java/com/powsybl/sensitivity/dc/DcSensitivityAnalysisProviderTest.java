@@ -0,0 +1,308 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity.dc;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.FourSubstationsNodeBreakerFactory;
+import com.powsybl.iidm.network.test.PhaseShifterTestCaseFactory;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.dc.DcFactorizationCache;
+import com.powsybl.loadflow.dc.DcLoadFlowProvider;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.math.matrix.SparseMatrixFactory;
+import com.powsybl.sensitivity.*;
+import com.powsybl.sensitivity.factors.BranchFlowPerHvdcSetpointIncrease;
+import com.powsybl.sensitivity.factors.BranchFlowPerInjectionIncrease;
+import com.powsybl.sensitivity.factors.BranchFlowPerLinearGlsk;
+import com.powsybl.sensitivity.factors.BranchFlowPerPSTAngle;
+import com.powsybl.sensitivity.factors.functions.BranchFlow;
+import com.powsybl.sensitivity.factors.variables.HvdcSetpointIncrease;
+import com.powsybl.sensitivity.factors.variables.InjectionIncrease;
+import com.powsybl.sensitivity.factors.variables.LinearGlsk;
+import com.powsybl.sensitivity.factors.variables.PhaseTapChangerAngle;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class DcSensitivityAnalysisProviderTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private final ComputationManager computationManager = LocalComputationManager.getDefault();
+
+    private SensitivityAnalysisParameters parameters;
+
+    @Before
+    public void setUp() {
+        parameters = new SensitivityAnalysisParameters();
+        parameters.getLoadFlowParameters().setDistributedSlack(false);
+    }
+
+    private static Network createMeshedNetwork() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        // a second path between VL1 and VL2, so that the network stays connected after the loss of L1 and PS1
+        network.newLine()
+                .setId("L3")
+                .setVoltageLevel1("VL1")
+                .setConnectableBus1("B1")
+                .setBus1("B1")
+                .setVoltageLevel2("VL2")
+                .setConnectableBus2("B2")
+                .setBus2("B2")
+                .setR(2.0)
+                .setX(300.0)
+                .setG1(0.0)
+                .setB1(0.0)
+                .setG2(0.0)
+                .setB2(0.0)
+                .add();
+        return network;
+    }
+
+    private SensitivityAnalysisResult run(Network network, List<SensitivityFactor> factors, List<Contingency> contingencies) {
+        return run(new DcSensitivityAnalysisProvider(new DenseMatrixFactory()), network, factors, contingencies);
+    }
+
+    private SensitivityAnalysisResult run(DcSensitivityAnalysisProvider provider, Network network, List<SensitivityFactor> factors,
+                                          List<Contingency> contingencies) {
+        SensitivityAnalysisResult result = provider.run(network, network.getVariantManager().getWorkingVariantId(), n -> factors,
+                contingencies, parameters, computationManager).join();
+        assertTrue(result.isOk());
+        return result;
+    }
+
+    /**
+     * Flows computed by a DC load flow of the working variant, after the given modification.
+     */
+    private Map<String, Double> computeFlows(Network network, List<String> branchIds, Runnable modification) {
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        network.getVariantManager().cloneVariant(variantId, "tmp", true);
+        network.getVariantManager().setWorkingVariant("tmp");
+        try {
+            modification.run();
+            new DcLoadFlowProvider(new DenseMatrixFactory())
+                    .run(network, computationManager, "tmp", parameters.getLoadFlowParameters()).join();
+            Map<String, Double> flows = new HashMap<>();
+            for (String branchId : branchIds) {
+                flows.put(branchId, network.getBranch(branchId).getTerminal1().isConnected() ? network.getBranch(branchId).getTerminal1().getP() : 0);
+            }
+            return flows;
+        } finally {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+    }
+
+    private static void disconnect(Network network, String... branchIds) {
+        for (String branchId : branchIds) {
+            network.getBranch(branchId).getTerminal1().disconnect();
+            network.getBranch(branchId).getTerminal2().disconnect();
+        }
+    }
+
+    private static List<SensitivityFactor> createFactors(List<String> branchIds, SensitivityVariable... variables) {
+        List<SensitivityFactor> factors = new ArrayList<>();
+        for (String branchId : branchIds) {
+            BranchFlow function = new BranchFlow(branchId, branchId, branchId);
+            for (SensitivityVariable variable : variables) {
+                if (variable instanceof InjectionIncrease) {
+                    factors.add(new BranchFlowPerInjectionIncrease(function, (InjectionIncrease) variable));
+                } else if (variable instanceof PhaseTapChangerAngle) {
+                    factors.add(new BranchFlowPerPSTAngle(function, (PhaseTapChangerAngle) variable));
+                } else {
+                    factors.add(new BranchFlowPerLinearGlsk(function, (LinearGlsk) variable));
+                }
+            }
+        }
+        return factors;
+    }
+
+    private void assertSameAsLoadFlow(Network network, Collection<SensitivityValue> values, String... outagedBranchIds) {
+        List<String> branchIds = new ArrayList<>();
+        for (SensitivityValue value : values) {
+            branchIds.add(((BranchFlow) value.getFactor().getFunction()).getBranchId());
+        }
+        Map<String, Double> baseFlows = computeFlows(network, branchIds, () -> disconnect(network, outagedBranchIds));
+        for (SensitivityValue value : values) {
+            String branchId = ((BranchFlow) value.getFactor().getFunction()).getBranchId();
+            SensitivityVariable variable = value.getFactor().getVariable();
+            Map<String, Double> flows = computeFlows(network, branchIds, () -> {
+                disconnect(network, outagedBranchIds);
+                if (variable instanceof InjectionIncrease) {
+                    increaseInjection(network, ((InjectionIncrease) variable).getInjectionId(), 1);
+                } else if (variable instanceof PhaseTapChangerAngle) {
+                    // from 0 to 20 degrees
+                    network.getTwoWindingsTransformer(((PhaseTapChangerAngle) variable).getPhaseTapChangerHolderId())
+                            .getPhaseTapChanger().setTapPosition(2);
+                } else {
+                    Map<String, Float> glsks = ((LinearGlsk) variable).getGLSKs();
+                    double sum = glsks.values().stream().mapToDouble(Float::doubleValue).sum();
+                    glsks.forEach((injectionId, weight) -> increaseInjection(network, injectionId, weight / sum));
+                }
+            });
+            double expected = (flows.get(branchId) - baseFlows.get(branchId)) / (variable instanceof PhaseTapChangerAngle ? 20 : 1);
+            assertEquals(branchId + " / " + variable.getId(), expected, value.getValue(), EPSILON);
+            assertEquals(baseFlows.get(branchId), value.getFunctionReference(), EPSILON);
+        }
+    }
+
+    private static void increaseInjection(Network network, String injectionId, double value) {
+        if (network.getGenerator(injectionId) != null) {
+            network.getGenerator(injectionId).setTargetP(network.getGenerator(injectionId).getTargetP() + value);
+        } else {
+            network.getLoad(injectionId).setP0(network.getLoad(injectionId).getP0() - value);
+        }
+    }
+
+    @Test
+    public void testNetworkWithoutContingency() {
+        DcSensitivityAnalysisProvider provider = new DcSensitivityAnalysisProvider();
+        assertEquals("DcSensitivityAnalysis", provider.getName());
+        assertEquals("1.0", provider.getVersion());
+
+        Network network = PhaseShifterTestCaseFactory.create();
+        List<SensitivityFactor> factors = createFactors(Arrays.asList("L1", "L2", "PS1"),
+                new InjectionIncrease("G1", "G1", "G1"),
+                new InjectionIncrease("LD2", "LD2", "LD2"),
+                new PhaseTapChangerAngle("PS1", "PS1", "PS1"));
+        SensitivityAnalysisResult result = run(provider, network, factors, Collections.emptyList());
+        assertEquals(9, result.getSensitivityValues().size());
+        assertFalse(result.contingenciesArePresent());
+        assertSameAsLoadFlow(network, result.getSensitivityValues());
+
+        SensitivityValue value = result.getSensitivityValue(factors.get(2));
+        assertEquals(0, value.getVariableReference(), 0);
+        assertEquals(100, result.getSensitivityValue(factors.get(0)).getVariableReference(), 0);
+    }
+
+    @Test
+    public void testContingencies() {
+        // compensation by the load, so that results do not depend on the slack bus, which may change after an outage
+        parameters.getLoadFlowParameters()
+                .setDistributedSlack(true)
+                .setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_LOAD);
+        Network network = createMeshedNetwork();
+        List<SensitivityFactor> factors = createFactors(Arrays.asList("L1", "L2", "L3", "PS1"),
+                new InjectionIncrease("G1", "G1", "G1"),
+                new InjectionIncrease("LD2", "LD2", "LD2"),
+                new PhaseTapChangerAngle("PS1", "PS1", "PS1"));
+        List<Contingency> contingencies = Arrays.asList(
+                Contingency.builder("L1").addLine("L1").build(),
+                Contingency.builder("L1+PS1").addLine("L1").addTwoWindingsTransformer("PS1").build(),
+                Contingency.builder("L3+G1").addBranch("L3").addGenerator("G1").build());
+        SensitivityAnalysisResult result = run(network, factors, contingencies);
+        assertSameAsLoadFlow(network, result.getSensitivityValues());
+        assertSameAsLoadFlow(network, result.getSensitivityValuesContingencies().get("L1"), "L1");
+        assertSameAsLoadFlow(network, result.getSensitivityValuesContingencies().get("L1+PS1"), "L1", "PS1");
+        // generator outage is not simulated
+        assertSameAsLoadFlow(network, result.getSensitivityValuesContingencies().get("L3+G1"), "L3");
+
+        // phase shifter has no more effect once disconnected
+        for (SensitivityValue value : result.getSensitivityValuesContingencies().get("L1+PS1")) {
+            if (value.getFactor().getVariable() instanceof PhaseTapChangerAngle) {
+                assertEquals(0, value.getValue(), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testSplittingContingency() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        List<SensitivityFactor> factors = createFactors(Collections.singletonList("L2"), new InjectionIncrease("LD2", "LD2", "LD2"));
+        SensitivityAnalysisResult result = run(network, factors,
+                Collections.singletonList(Contingency.builder("L1+PS1").addLine("L1").addTwoWindingsTransformer("PS1").build()));
+        SensitivityValue value = result.getSensitivityValue(factors.get(0), "L1+PS1");
+        assertTrue(Double.isNaN(value.getValue()));
+        assertTrue(Double.isNaN(value.getFunctionReference()));
+    }
+
+    @Test
+    public void testLinearGlskWithDistributedSlack() {
+        parameters.getLoadFlowParameters()
+                .setDistributedSlack(true)
+                .setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX);
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        Map<String, Float> glsks = new LinkedHashMap<>();
+        glsks.put("GH1", 1f);
+        glsks.put("GH2", 2f);
+        glsks.put("LD1", 3f);
+        List<SensitivityFactor> factors = createFactors(Arrays.asList("LINE_S2S3", "LINE_S3S4", "TWT"),
+                new LinearGlsk("glsk", "glsk", glsks),
+                new InjectionIncrease("GTH2", "GTH2", "GTH2"));
+        SensitivityAnalysisResult result = run(network, factors, Collections.emptyList());
+        assertSameAsLoadFlow(network, result.getSensitivityValues());
+    }
+
+    @Test
+    public void testBlocks() {
+        Network network = createMeshedNetwork();
+        Random random = new Random(0);
+        List<SensitivityVariable> variables = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Map<String, Float> glsks = new HashMap<>();
+            glsks.put("G1", random.nextFloat());
+            glsks.put("LD2", random.nextFloat());
+            variables.add(new LinearGlsk("glsk" + i, "glsk" + i, glsks));
+        }
+        List<SensitivityFactor> factors = createFactors(Arrays.asList("L1", "L2", "L3", "PS1"), variables.toArray(new SensitivityVariable[0]));
+        List<Contingency> contingencies = Arrays.asList(Contingency.builder("L1").addLine("L1").build(),
+                Contingency.builder("L2").addLine("L2").build());
+
+        DcFactorizationCache factorizationCache = new DcFactorizationCache(new SparseMatrixFactory());
+        SensitivityAnalysisResult parallelResult = run(new DcSensitivityAnalysisProvider(factorizationCache, 4), network, factors, contingencies);
+        // the right hand sides do not fit in a single block, but the matrix is factorized only once
+        assertEquals(1, factorizationCache.getMissCount());
+        assertEquals(1, factorizationCache.getFactorizationCount());
+        SensitivityAnalysisResult sequentialResult = run(new DcSensitivityAnalysisProvider(factorizationCache, 1), network, factors, contingencies);
+        assertEquals(1, factorizationCache.getFactorizationCount());
+
+        for (SensitivityFactor factor : factors) {
+            assertEquals(sequentialResult.getSensitivityValue(factor).getValue(), parallelResult.getSensitivityValue(factor).getValue(), EPSILON);
+            for (Contingency contingency : contingencies) {
+                assertEquals(sequentialResult.getSensitivityValue(factor, contingency.getId()).getValue(),
+                        parallelResult.getSensitivityValue(factor, contingency.getId()).getValue(), EPSILON);
+            }
+        }
+        assertSameAsLoadFlow(network, parallelResult.getSensitivityValuesContingencies().get("L2"), "L2");
+    }
+
+    @Test
+    public void testUnsupportedFactor() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        List<SensitivityFactor> factors = Collections.singletonList(new BranchFlowPerHvdcSetpointIncrease(new BranchFlow("L1", "L1", "L1"),
+                new HvdcSetpointIncrease("hvdc", "hvdc", "hvdc")));
+        PowsyblException e = assertThrows(PowsyblException.class, () -> run(network, factors, Collections.emptyList()));
+        assertEquals("Variable type HvdcSetpointIncrease not supported by DC sensitivity analysis", e.getMessage());
+
+        List<SensitivityFactor> unknownBranchFactors = createFactors(Collections.singletonList("XX"), new InjectionIncrease("G1", "G1", "G1"));
+        e = assertThrows(PowsyblException.class, () -> run(network, unknownBranchFactors, Collections.emptyList()));
+        assertEquals("Branch 'XX' not found", e.getMessage());
+    }
+
+    @Test
+    public void testWorkingVariant() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        network.getVariantManager().setWorkingVariant("v");
+        network.getLoad("LD2").setP0(200);
+        network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        List<SensitivityFactor> factors = createFactors(Collections.singletonList("L1"), new InjectionIncrease("LD2", "LD2", "LD2"));
+        SensitivityAnalysisResult result = new DcSensitivityAnalysisProvider(new DenseMatrixFactory())
+                .run(network, "v", n -> factors, Collections.emptyList(), parameters, computationManager).join();
+        assertSameAsLoadFlow(network, result.getSensitivityValues());
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.benchmark;
+
+import com.powsybl.timeseries.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataChunkBenchmark {
+
+    @Param({"8760", "105120"})
+    public int pointCount;
+
+    @Param({"1", "10", "100"})
+    public int meanStepLength;
+
+    private UncompressedDoubleDataChunk uncompressedChunk;
+
+    private CompressedDoubleDataChunk compressedChunk;
+
+    private CompressedDoubleDataChunk leftChunk;
+
+    private CompressedDoubleDataChunk rightChunk;
+
+    private XorCompressedDoubleDataChunk xorChunk;
+
+    @Setup
+    public void setUp() {
+        double[] values = TimeSeriesGenerator.createValues(pointCount, meanStepLength, 0);
+        uncompressedChunk = new UncompressedDoubleDataChunk(0, values);
+        compressedChunk = compress(0, values);
+        leftChunk = compress(0, Arrays.copyOfRange(values, 0, pointCount / 2));
+        rightChunk = compress(pointCount / 2, Arrays.copyOfRange(values, pointCount / 2, pointCount));
+        xorChunk = XorCompressedDoubleDataChunk.encode(0, values);
+    }
+
+    /**
+     * RLE compress values, even if inefficient, to always benchmark the compressed implementation.
+     */
+    private static CompressedDoubleDataChunk compress(int offset, double[] values) {
+        DoubleDataChunk chunk = new UncompressedDoubleDataChunk(offset, values).tryToCompress();
+        if (chunk instanceof CompressedDoubleDataChunk) {
+            return (CompressedDoubleDataChunk) chunk;
+        }
+        int[] stepLengths = new int[values.length];
+        Arrays.fill(stepLengths, 1);
+        return new CompressedDoubleDataChunk(offset, values.length, values, stepLengths);
+    }
+
+    @Benchmark
+    public DoubleDataChunk tryToCompress() {
+        return uncompressedChunk.tryToCompress();
+    }
+
+    @Benchmark
+    public DataChunk.Split<DoublePoint, DoubleDataChunk> splitAt() {
+        return compressedChunk.splitAt(pointCount / 2);
+    }
+
+    @Benchmark
+    public DoubleDataChunk append() {
+        return leftChunk.append(rightChunk);
+    }
+
+    @Benchmark
+    public XorCompressedDoubleDataChunk xorEncode() {
+        return XorCompressedDoubleDataChunk.encode(0, uncompressedChunk.getValues());
+    }
+
+    @Benchmark
+    public double[] xorDecode() {
+        return xorChunk.decode();
+    }
+}
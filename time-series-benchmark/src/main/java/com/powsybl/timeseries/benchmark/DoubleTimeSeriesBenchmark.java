@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.benchmark;
+
+import com.powsybl.timeseries.*;
+import com.powsybl.timeseries.ast.BinaryOperation;
+import com.powsybl.timeseries.ast.DoubleNodeCalc;
+import com.powsybl.timeseries.ast.TimeSeriesNameNodeCalc;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.DoubleBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the reading of stored and calculated double time series.
+ *
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoubleTimeSeriesBenchmark {
+
+    @Param({"REGULAR", "IRREGULAR"})
+    public TimeSeriesGenerator.IndexType indexType;
+
+    @Param({"8760", "105120"})
+    public int pointCount;
+
+    @Param({"1", "10", "100"})
+    public int meanStepLength;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private StoredDoubleTimeSeries timeSeries;
+
+    private CalculatedTimeSeries calculatedTimeSeries;
+
+    private DoubleBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        TimeSeriesIndex index = TimeSeriesGenerator.createIndex(indexType, pointCount);
+        timeSeries = TimeSeriesGenerator.createDoubleTimeSeries("ts1", index, meanStepLength, chunkSize, 1);
+        StoredDoubleTimeSeries timeSeries2 = TimeSeriesGenerator.createDoubleTimeSeries("ts2", index, meanStepLength, chunkSize, 2);
+        // ts1 * 2 + ts2
+        calculatedTimeSeries = new CalculatedTimeSeries("calc",
+                BinaryOperation.plus(BinaryOperation.multiply(new TimeSeriesNameNodeCalc("ts1"), new DoubleNodeCalc(2)),
+                                     new TimeSeriesNameNodeCalc("ts2")),
+                new FromStoreTimeSeriesNameResolver(new ReadOnlyTimeSeriesStoreCache(timeSeries, timeSeries2), 1));
+        buffer = DoubleBuffer.allocate(pointCount);
+    }
+
+    @Benchmark
+    public double[] toArray() {
+        return timeSeries.toArray();
+    }
+
+    @Benchmark
+    public double[] toArrayWindow() {
+        // one week in the middle of the time series
+        int from = pointCount / 2;
+        return timeSeries.toArray(from, Math.min(pointCount, from + 7 * 96));
+    }
+
+    @Benchmark
+    public DoubleBuffer fillBuffer() {
+        timeSeries.fillBuffer(buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public void forEachValue(Blackhole blackhole) {
+        timeSeries.forEachValue((index, value) -> blackhole.consume(value));
+    }
+
+    @Benchmark
+    public void cursor(Blackhole blackhole) {
+        DoublePointCursor cursor = timeSeries.cursor();
+        while (cursor.next()) {
+            blackhole.consume(cursor.getValue());
+        }
+    }
+
+    @Benchmark
+    public double[] calculatedToArray() {
+        return calculatedTimeSeries.toArray();
+    }
+
+    @Benchmark
+    public void calculatedCursor(Blackhole blackhole) {
+        DoublePointCursor cursor = calculatedTimeSeries.cursor();
+        while (cursor.next()) {
+            blackhole.consume(cursor.getValue());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.benchmark;
+
+import com.powsybl.timeseries.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the resampling and rolling window aggregations.
+ *
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSeriesAggregatorBenchmark {
+
+    @Param({"REGULAR", "IRREGULAR"})
+    public TimeSeriesGenerator.IndexType indexType;
+
+    @Param({"105120"})
+    public int pointCount;
+
+    @Param({"1", "100"})
+    public int meanStepLength;
+
+    @Param({"MEAN", "MAX"})
+    public AggregationType aggregationType;
+
+    private StoredDoubleTimeSeries timeSeries;
+
+    private RegularTimeSeriesIndex hourlyIndex;
+
+    @Setup
+    public void setUp() {
+        TimeSeriesIndex index = TimeSeriesGenerator.createIndex(indexType, pointCount);
+        timeSeries = TimeSeriesGenerator.createDoubleTimeSeries("ts", index, meanStepLength, 1000, 0);
+        long end = TimeSeriesGenerator.START_TIME + pointCount * TimeSeriesGenerator.SPACING;
+        hourlyIndex = new RegularTimeSeriesIndex(TimeSeriesGenerator.START_TIME, end - 60 * 60 * 1000L, 60 * 60 * 1000L);
+    }
+
+    @Benchmark
+    public DoubleTimeSeries resample() {
+        return TimeSeriesAggregator.resample(timeSeries, hourlyIndex, aggregationType);
+    }
+
+    @Benchmark
+    public DoubleTimeSeries rollingWindow() {
+        // one day window
+        return TimeSeriesAggregator.rollingWindow(timeSeries, 96, aggregationType);
+    }
+}
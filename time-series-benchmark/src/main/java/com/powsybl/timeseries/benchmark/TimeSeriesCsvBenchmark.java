@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.benchmark;
+
+import com.powsybl.timeseries.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of CSV parsing and writing, and of time series table loading.
+ *
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSeriesCsvBenchmark {
+
+    @Param({"REGULAR", "IRREGULAR"})
+    public TimeSeriesGenerator.IndexType indexType;
+
+    @Param({"8760"})
+    public int pointCount;
+
+    @Param({"10", "100"})
+    public int timeSeriesCount;
+
+    @Param({"1", "10"})
+    public int meanStepLength;
+
+    private final TimeSeriesCsvConfig csvConfig = new TimeSeriesCsvConfig();
+
+    private TimeSeriesIndex index;
+
+    private List<TimeSeries> timeSeriesList;
+
+    private String csv;
+
+    private TimeSeriesTable table;
+
+    @Setup
+    public void setUp() {
+        index = TimeSeriesGenerator.createIndex(indexType, pointCount);
+        timeSeriesList = new ArrayList<>(TimeSeriesGenerator.createDoubleTimeSeries(timeSeriesCount, index, meanStepLength, 1000));
+        StringWriter writer = new StringWriter();
+        TimeSeries.writeCsv(writer, csvConfig, Map.of(1, timeSeriesList));
+        csv = writer.toString();
+        table = TimeSeriesTable.createMem(1, 1, index);
+        table.load(1, timeSeriesList);
+    }
+
+    @Benchmark
+    public Map<Integer, List<TimeSeries>> parseCsv() {
+        return TimeSeries.parseCsv(csv);
+    }
+
+    @Benchmark
+    public void writeCsv() {
+        TimeSeries.writeCsv(Writer.nullWriter(), csvConfig, Map.of(1, timeSeriesList));
+    }
+
+    @Benchmark
+    public TimeSeriesTable tableLoad() {
+        TimeSeriesTable newTable = TimeSeriesTable.createMem(1, 1, index);
+        newTable.load(1, timeSeriesList);
+        return newTable;
+    }
+
+    @Benchmark
+    public void tableWriteCsv() throws IOException {
+        table.writeCsv(Writer.nullWriter(), csvConfig);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.benchmark;
+
+import com.powsybl.timeseries.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic time series for benchmarks.
+ *
+ * @author agent <agent at local>
+ */
+public final class TimeSeriesGenerator {
+
+    public static final long START_TIME = Instant.parse("2021-01-01T00:00:00Z").toEpochMilli();
+
+    public static final long SPACING = 15 * 60 * 1000L;
+
+    public enum IndexType {
+        REGULAR,
+        IRREGULAR
+    }
+
+    private TimeSeriesGenerator() {
+    }
+
+    /**
+     * Create an index with a point every 15 minutes, times of the irregular index being shifted by a random amount
+     * smaller than the spacing.
+     */
+    public static TimeSeriesIndex createIndex(IndexType type, int pointCount) {
+        switch (type) {
+            case REGULAR:
+                return new RegularTimeSeriesIndex(START_TIME, START_TIME + (pointCount - 1) * SPACING, SPACING);
+            case IRREGULAR:
+                Random random = new Random(0);
+                long[] times = new long[pointCount];
+                for (int i = 0; i < pointCount; i++) {
+                    times[i] = START_TIME + i * SPACING + (i > 0 ? random.nextInt((int) SPACING / 2) : 0);
+                }
+                return new IrregularTimeSeriesIndex(times);
+            default:
+                throw new AssertionError("Unknown index type " + type);
+        }
+    }
+
+    /**
+     * Create values made of steps of random lengths, so that RLE compression ratio is about 1 / meanStepLength.
+     */
+    public static double[] createValues(int pointCount, int meanStepLength, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[pointCount];
+        double value = 100;
+        int i = 0;
+        while (i < pointCount) {
+            int stepLength = meanStepLength > 1 ? 1 + random.nextInt(2 * meanStepLength - 1) : 1;
+            int end = Math.min(pointCount, i + stepLength);
+            Arrays.fill(values, i, end, value);
+            value += Math.round(random.nextGaussian() * 100) / 100d;
+            i = end;
+        }
+        return values;
+    }
+
+    /**
+     * Create a stored time series split into chunks, each chunk being RLE compressed if efficient.
+     */
+    public static StoredDoubleTimeSeries createDoubleTimeSeries(String name, TimeSeriesIndex index, int meanStepLength,
+                                                                int chunkSize, long seed) {
+        double[] values = createValues(index.getPointCount(), meanStepLength, seed);
+        List<DoubleDataChunk> chunks = new ArrayList<>();
+        for (int offset = 0; offset < values.length; offset += chunkSize) {
+            double[] chunkValues = Arrays.copyOfRange(values, offset, Math.min(values.length, offset + chunkSize));
+            chunks.add(new UncompressedDoubleDataChunk(offset, chunkValues).tryToCompress());
+        }
+        return new StoredDoubleTimeSeries(new TimeSeriesMetadata(name, TimeSeriesDataType.DOUBLE, index), chunks);
+    }
+
+    public static List<DoubleTimeSeries> createDoubleTimeSeries(int count, TimeSeriesIndex index, int meanStepLength, int chunkSize) {
+        List<DoubleTimeSeries> timeSeriesList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timeSeriesList.add(createDoubleTimeSeries("ts" + i, index, meanStepLength, chunkSize, i));
+        }
+        return timeSeriesList;
+    }
+}
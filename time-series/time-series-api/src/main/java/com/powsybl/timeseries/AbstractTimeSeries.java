@@ -54,13 +54,36 @@ public abstract class AbstractTimeSeries<P extends AbstractPoint, C extends Data
         return chunks;
     }
 
+    /**
+     * Get, sorted by offset, the chunks overlapping points range [fromPoint, toPoint). Chunks of a lazily loaded time
+     * series out of the range are not loaded.
+     */
+    public List<C> getChunks(int fromPoint, int toPoint) {
+        int pointCount = metadata.getIndex().getPointCount();
+        if (fromPoint < 0 || toPoint > pointCount || fromPoint > toPoint) {
+            throw new IllegalArgumentException("Invalid points range [" + fromPoint + ", " + toPoint + "[, index range is [0, "
+                    + pointCount + "[");
+        }
+        if (chunks instanceof LazyChunkList) {
+            return ((LazyChunkList<C>) chunks).getChunks(fromPoint, toPoint);
+        }
+        return chunks.stream()
+                .filter(chunk -> chunk.getOffset() < toPoint && chunk.getOffset() + chunk.getLength() > fromPoint)
+                .sorted(Comparator.comparing(C::getOffset))
+                .collect(Collectors.toList());
+    }
+
     public TimeSeriesMetadata getMetadata() {
         return metadata;
     }
 
     protected abstract C createGapFillingChunk(int i, int length);
 
-    private List<C> getSortedChunks() {
+    protected List<C> getSortedChunks() {
+        if (chunks instanceof LazyChunkList) {
+            // already sorted, and chunks are loaded while iterating
+            return chunks;
+        }
         return chunks.stream()
                 .sorted(Comparator.comparing(C::getOffset))
                 .collect(Collectors.toList());
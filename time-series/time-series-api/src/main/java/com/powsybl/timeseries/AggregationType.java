@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+/**
+ * Aggregation applied to the values of a resampling bucket, a rolling window or the versions of a time series.
+ * NaN values are ignored, and the aggregation of a group without any value is NaN.
+ * <p>
+ * Values are accumulated as runs of a same value, so that a RLE compressed step is aggregated in one operation.
+ *
+ * @author agent <agent at local>
+ */
+public enum AggregationType {
+    SUM {
+        @Override
+        double init(double value, int count) {
+            return value * count;
+        }
+
+        @Override
+        double accumulate(double result, double value, int count) {
+            return result + value * count;
+        }
+    },
+    MEAN {
+        @Override
+        double init(double value, int count) {
+            return value * count;
+        }
+
+        @Override
+        double accumulate(double result, double value, int count) {
+            return result + value * count;
+        }
+
+        @Override
+        double complete(double result, int count) {
+            return result / count;
+        }
+    },
+    MIN {
+        @Override
+        double accumulate(double result, double value, int count) {
+            return Math.min(result, value);
+        }
+    },
+    MAX {
+        @Override
+        double accumulate(double result, double value, int count) {
+            return Math.max(result, value);
+        }
+    },
+    FIRST {
+        @Override
+        double accumulate(double result, double value, int count) {
+            return result;
+        }
+    },
+    LAST {
+        @Override
+        double accumulate(double result, double value, int count) {
+            return value;
+        }
+    };
+
+    /**
+     * Aggregation of the first run of a group.
+     */
+    double init(double value, int count) {
+        return value;
+    }
+
+    /**
+     * Aggregation of a new run of {@code count} times {@code value} with the current result of the group.
+     */
+    abstract double accumulate(double result, double value, int count);
+
+    /**
+     * Final result of a group of {@code count} values.
+     */
+    double complete(double result, int count) {
+        return result;
+    }
+}
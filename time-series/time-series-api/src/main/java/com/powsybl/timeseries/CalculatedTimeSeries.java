@@ -159,48 +159,122 @@ public class CalculatedTimeSeries implements DoubleTimeSeries {
         }
     }
 
-    //To remove if we ever get it from somewhere else
-    @FunctionalInterface private interface DoubleIntConsumer { public void accept(double a, int b); }
-
-    private void forEachMaterializedValueIndex(DoubleIntConsumer consumer) {
+    /**
+     * Evaluate the calculated time series on all the points of its index.
+     * <p>
+     * Values of the time series the expression depends on are materialized in arrays, each value being repeated
+     * until the next point of the time series (and 0 before its first point), so that the expression can be evaluated
+     * block by block by a {@link NodeCalcBatchEvaluator}. This gives the same results as evaluating each
+     * {@link DoubleMultiPoint} and repeating the result until the next one.
+     *
+     * @param result array where values are written
+     * @return the index of the first evaluated point, values before this index are not written
+     */
+    private int evaluate(double[] result) {
         if (metadata.getIndex() == InfiniteTimeSeriesIndex.INSTANCE) {
             throw new TimeSeriesException("Impossible to fill buffer because calculated time series has not been synchronized on a finite time index");
         }
-        Iterator<DoublePoint> it = iterator();
-        DoublePoint prevPoint = null;
-        while (it.hasNext()) {
-            DoublePoint point = it.next();
-            if (prevPoint != null) {
-                for (int i = prevPoint.getIndex(); i < point.getIndex(); i++) {
-                    consumer.accept(prevPoint.getValue(), i);
+        int pointCount = metadata.getIndex().getPointCount();
+        List<DoubleTimeSeries> timeSeriesList = loadData();
+        NodeCalc resolvedNodeCalc = resolve(timeSeriesList);
+        if (timeSeriesList.isEmpty()) {
+            Arrays.fill(result, 0, pointCount, evaluate(resolvedNodeCalc).getValue());
+            return 0;
+        }
+        NodeCalcBatchEvaluator evaluator = NodeCalcBatchEvaluator.compile(resolvedNodeCalc);
+        double[][] values = new double[timeSeriesList.size()][];
+        boolean[] changed = evaluator.usesTime() ? new boolean[pointCount] : null;
+        int first = pointCount;
+        for (int timeSeriesNum = 0; timeSeriesNum < timeSeriesList.size(); timeSeriesNum++) {
+            values[timeSeriesNum] = new double[pointCount];
+            first = Math.min(first, materialize(timeSeriesList.get(timeSeriesNum), values[timeSeriesNum], changed));
+        }
+        long[] times = null;
+        if (changed != null) {
+            // time of a point is the time of the last point where one of the time series has changed
+            times = new long[pointCount];
+            long time = 0;
+            for (int i = first; i < pointCount; i++) {
+                if (changed[i]) {
+                    time = metadata.getIndex().getTimeAt(i);
                 }
+                times[i] = time;
             }
-            prevPoint = point;
         }
-        if (prevPoint != null) {
-            for (int i = prevPoint.getIndex(); i < metadata.getIndex().getPointCount(); i++) {
-                consumer.accept(prevPoint.getValue(), i);
+        evaluator.eval(values, times, first, pointCount - first, result);
+        return first;
+    }
+
+    private static int materialize(DoubleTimeSeries timeSeries, double[] values, boolean[] changed) {
+        int first = values.length;
+        int previousIndex = -1;
+        double previousValue = 0;
+        for (DoublePoint point : timeSeries) {
+            int index = point.getIndex();
+            if (previousIndex == -1) {
+                first = index;
+            } else {
+                Arrays.fill(values, previousIndex, index, previousValue);
             }
+            if (changed != null) {
+                changed[index] = true;
+            }
+            previousIndex = index;
+            previousValue = point.getValue();
+        }
+        if (previousIndex != -1) {
+            Arrays.fill(values, previousIndex, values.length, previousValue);
         }
+        return first;
     }
 
     @Override
     public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachMaterializedValueIndex((v, i) -> buffer.put(i + timeSeriesOffset, v));
+        double[] values = new double[metadata.getIndex().getPointCount()];
+        for (int i = evaluate(values); i < values.length; i++) {
+            buffer.put(i + timeSeriesOffset, values[i]);
+        }
     }
 
     @Override
     public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachMaterializedValueIndex((v, i) -> buffer.put(i + timeSeriesOffset, v));
+        double[] values = new double[metadata.getIndex().getPointCount()];
+        for (int i = evaluate(values); i < values.length; i++) {
+            buffer.put(i + timeSeriesOffset, values[i]);
+        }
+    }
+
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        double[] values = new double[metadata.getIndex().getPointCount()];
+        int first = evaluate(values);
+        for (int i = 0; i < first; i++) {
+            consumer.accept(i, Double.NaN);
+        }
+        for (int i = first; i < values.length; i++) {
+            consumer.accept(i, values[i]);
+        }
+    }
+
+    /**
+     * The expression is evaluated on all points when the cursor is created, then the cursor reads the evaluated
+     * values.
+     */
+    @Override
+    public DoublePointCursor cursor() {
+        double[] values = new double[metadata.getIndex().getPointCount()];
+        Arrays.fill(values, 0, evaluate(values), Double.NaN);
+        return new ChunkDoublePointCursor(metadata.getIndex(), Collections.singletonList(new UncompressedDoubleDataChunk(0, values)));
     }
 
     @Override
     public double[] toArray() {
-        DoubleBuffer buffer = DoubleBuffer.allocate(metadata.getIndex().getPointCount());
-        fillBuffer(buffer, 0);
-        return buffer.array();
+        double[] values = new double[metadata.getIndex().getPointCount()];
+        Arrays.fill(values, 0, evaluate(values), Double.NaN);
+        return values;
     }
 
     @Override
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Cursor on the points of a time series index, with values read from data chunks. RLE compressed chunks are read
+ * step by step, so that moving to the next point of a step is just an increment.
+ *
+ * @author agent <agent at local>
+ */
+class ChunkDoublePointCursor implements DoublePointCursor {
+
+    private final TimeSeriesIndex index;
+
+    private final int pointCount;
+
+    private final List<DoubleDataChunk> chunks;
+
+    private int chunkNum = -1;
+
+    private int chunkStart = 0;
+
+    private int chunkEnd = 0;
+
+    private double[] values;
+
+    // null for uncompressed values
+    private int[] stepLengths;
+
+    private int step;
+
+    private int stepEnd;
+
+    private int point = -1;
+
+    private double value = Double.NaN;
+
+    ChunkDoublePointCursor(TimeSeriesIndex index, List<DoubleDataChunk> chunks) {
+        this.index = Objects.requireNonNull(index);
+        pointCount = index.getPointCount();
+        // chunks are expected sorted by offset
+        this.chunks = Objects.requireNonNull(chunks);
+    }
+
+    private void loadNextChunk() {
+        DoubleDataChunk chunk = chunks.get(++chunkNum);
+        chunkStart = chunk.getOffset();
+        chunkEnd = chunkStart + chunk.getLength();
+        if (chunk instanceof CompressedDoubleDataChunk) {
+            values = ((CompressedDoubleDataChunk) chunk).getStepValues();
+            stepLengths = ((CompressedDoubleDataChunk) chunk).getStepLengths();
+            step = 0;
+            stepEnd = chunkStart + (stepLengths.length > 0 ? stepLengths[0] : 0);
+        } else {
+            if (chunk instanceof UncompressedDoubleDataChunk) {
+                values = ((UncompressedDoubleDataChunk) chunk).getValues();
+            } else {
+                // other implementations are materialized chunk by chunk
+                values = new double[chunk.getLength()];
+                chunk.fillBuffer(DoubleBuffer.wrap(values), -chunkStart);
+            }
+            stepLengths = null;
+        }
+    }
+
+    @Override
+    public boolean next() {
+        if (point >= pointCount - 1) {
+            point = pointCount;
+            return false;
+        }
+        point++;
+        while (point >= chunkEnd && chunkNum < chunks.size() - 1) {
+            loadNextChunk();
+        }
+        if (point < chunkStart || point >= chunkEnd) {
+            // not covered by any chunk
+            value = Double.NaN;
+        } else if (stepLengths == null) {
+            value = values[point - chunkStart];
+        } else {
+            while (point >= stepEnd) {
+                stepEnd += stepLengths[++step];
+            }
+            value = values[step];
+        }
+        return true;
+    }
+
+    private void checkPoint() {
+        if (point < 0 || point >= pointCount) {
+            throw new NoSuchElementException("Cursor is not on a point");
+        }
+    }
+
+    @Override
+    public int getIndex() {
+        checkPoint();
+        return point;
+    }
+
+    @Override
+    public long getTime() {
+        checkPoint();
+        return index.getTimeAt(point);
+    }
+
+    @Override
+    public double getValue() {
+        checkPoint();
+        return value;
+    }
+}
@@ -52,15 +52,14 @@ public class CompressedDoubleDataChunk extends AbstractCompressedDataChunk imple
         return TimeSeriesDataType.DOUBLE;
     }
 
-    //To remove if we ever get it from somewhere else
-    @FunctionalInterface private interface DoubleIntConsumer { public void accept(double a, int b); }
-
-    private void forEachMaterializedValueIndex(DoubleIntConsumer consumer) {
-        int k = 0;
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        int k = offset;
         for (int i = 0; i < stepValues.length; i++) {
             double value = stepValues[i];
             for (int j = 0; j < stepLengths[i]; j++) {
-                consumer.accept(value, offset + k++);
+                consumer.accept(k++, value);
             }
         }
     }
@@ -68,13 +67,13 @@ public class CompressedDoubleDataChunk extends AbstractCompressedDataChunk imple
     @Override
     public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachMaterializedValueIndex((v, i) -> buffer.put(timeSeriesOffset + i, v));
+        forEachValue((i, v) -> buffer.put(timeSeriesOffset + i, v));
     }
 
     @Override
     public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachMaterializedValueIndex((v, i) -> buffer.put(timeSeriesOffset + i, v));
+        forEachValue((i, v) -> buffer.put(timeSeriesOffset + i, v));
     }
 
     @Override
@@ -170,7 +169,7 @@ public class CompressedDoubleDataChunk extends AbstractCompressedDataChunk imple
             //Step lengths
             newStepLengths = new int[stepLengths.length + chunk.getStepLengths().length - 1];
             System.arraycopy(stepLengths, 0, newStepLengths, 0, stepLengths.length);
-            newStepLengths[stepLengths.length - 1] = stepLengths[stepLengths.length - 1] + newStepLengths[0];
+            newStepLengths[stepLengths.length - 1] = stepLengths[stepLengths.length - 1] + chunk.getStepLengths()[0];
             System.arraycopy(chunk.getStepLengths(), 1, newStepLengths, stepLengths.length, chunk.getStepLengths().length - 1);
 
             //Step values
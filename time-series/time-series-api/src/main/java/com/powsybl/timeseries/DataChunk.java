@@ -11,6 +11,7 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import gnu.trove.list.array.TDoubleArrayList;
 import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -183,6 +184,8 @@ public interface DataChunk<P extends AbstractPoint, A extends DataChunk<P, A>> {
         private TDoubleArrayList doubleValues;
         private List<String> stringValues;
         private TIntArrayList stepLengths;
+        private TLongArrayList xorData;
+        private TIntArrayList codes;
         private int uncompressedLength = -1;
         private boolean valuesOrLengthArray = false;
 
@@ -216,8 +219,17 @@ public interface DataChunk<P extends AbstractPoint, A extends DataChunk<P, A>> {
                 context.stepLengths = new TIntArrayList();
                 context.valuesOrLengthArray = true;
                 break;
+            case "xorData":
+                context.xorData = new TLongArrayList();
+                context.valuesOrLengthArray = true;
+                break;
+            case "codes":
+                context.codes = new TIntArrayList();
+                context.valuesOrLengthArray = true;
+                break;
             case "values":
             case "stepValues":
+            case "dictionary":
                 context.valuesOrLengthArray = true;
                 break;
             default:
@@ -258,8 +270,25 @@ public interface DataChunk<P extends AbstractPoint, A extends DataChunk<P, A>> {
         }
     }
 
+    static void addXorCompressedChunk(JsonParsingContext context) {
+        context.doubleChunks.add(new XorCompressedDoubleDataChunk(context.offset, context.uncompressedLength, context.xorData.toArray()));
+        context.xorData = null;
+        context.uncompressedLength = -1;
+    }
+
+    static void addDictionaryChunk(JsonParsingContext context) {
+        String[] dictionary = context.stringValues != null ? context.stringValues.toArray(new String[0]) : new String[0];
+        context.stringChunks.add(new DictionaryStringDataChunk(context.offset, dictionary, context.codes.toArray()));
+        context.stringValues = null;
+        context.codes = null;
+    }
+
     static void parseEndObject(JsonParsingContext context) {
-        if (context.stepLengths == null) {
+        if (context.xorData != null) {
+            addXorCompressedChunk(context);
+        } else if (context.codes != null) {
+            addDictionaryChunk(context);
+        } else if (context.stepLengths == null) {
             addUncompressedChunk(context);
         } else {
             addCompressedChunk(context);
@@ -270,6 +299,10 @@ public interface DataChunk<P extends AbstractPoint, A extends DataChunk<P, A>> {
     static void parseValueNumberInt(JsonParser parser, JsonParsingContext context) throws IOException {
         if (context.stepLengths != null) {
             context.stepLengths.add(parser.getIntValue());
+        } else if (context.xorData != null) {
+            context.xorData.add(parser.getLongValue());
+        } else if (context.codes != null) {
+            context.codes.add(parser.getIntValue());
         } else {
             context.addDoubleValue(parser.getIntValue());
         }
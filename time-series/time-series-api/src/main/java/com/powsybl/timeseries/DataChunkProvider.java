@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+/**
+ * Provider of the data chunks of a time series, so that chunks can be loaded on demand from a backing store.
+ * Offsets and lengths of the chunks have to be known without loading them, chunks have to be numbered by increasing
+ * offset and must not overlap.
+ *
+ * @author agent <agent at local>
+ */
+public interface DataChunkProvider<C> {
+
+    int getChunkCount();
+
+    int getChunkOffset(int chunkNum);
+
+    int getChunkLength(int chunkNum);
+
+    C loadChunk(int chunkNum);
+}
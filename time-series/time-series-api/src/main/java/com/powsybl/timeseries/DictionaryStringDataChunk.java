@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.powsybl.commons.json.JsonUtil;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Dictionary compressed string data chunk: distinct values are stored once and each point is the code of its value
+ * in the dictionary. Contrary to RLE, this is efficient for values taken from a small set but which often change.
+ *
+ * @author agent <agent at local>
+ */
+public class DictionaryStringDataChunk implements StringDataChunk {
+
+    private final int offset;
+
+    private final String[] dictionary;
+
+    private final int[] codes;
+
+    private final int estimatedSize;
+
+    private final int uncompressedEstimatedSize;
+
+    public DictionaryStringDataChunk(int offset, String[] dictionary, int[] codes) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Bad offset value " + offset);
+        }
+        this.offset = offset;
+        this.dictionary = Objects.requireNonNull(dictionary);
+        this.codes = Objects.requireNonNull(codes);
+        if (codes.length < 1) {
+            throw new IllegalArgumentException("Bad codes array length " + codes.length);
+        }
+        int size = Integer.BYTES * codes.length;
+        for (String value : dictionary) {
+            size += getValueEstimatedSize(value);
+        }
+        estimatedSize = size;
+        int uncompressedSize = 0;
+        for (int code : codes) {
+            if (code < 0 || code >= dictionary.length) {
+                throw new IllegalArgumentException("Code " + code + " is out of dictionary range [0, " + (dictionary.length - 1) + "]");
+            }
+            uncompressedSize += getValueEstimatedSize(dictionary[code]);
+        }
+        uncompressedEstimatedSize = uncompressedSize;
+    }
+
+    private static int getValueEstimatedSize(String value) {
+        return value != null ? value.length() * Character.BYTES : 0;
+    }
+
+    /**
+     * Encode values into a dictionary compressed chunk, values being coded in order of first appearance.
+     */
+    public static DictionaryStringDataChunk encode(int offset, String[] values) {
+        Objects.requireNonNull(values);
+        Map<String, Integer> codesByValue = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] codes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            codes[i] = codesByValue.computeIfAbsent(values[i], value -> {
+                dictionary.add(value);
+                return dictionary.size() - 1;
+            });
+        }
+        return new DictionaryStringDataChunk(offset, dictionary.toArray(new String[0]), codes);
+    }
+
+    public String[] getDictionary() {
+        return dictionary;
+    }
+
+    public int[] getCodes() {
+        return codes;
+    }
+
+    String[] decode() {
+        String[] values = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            values[i] = dictionary[codes[i]];
+        }
+        return values;
+    }
+
+    @Override
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLength() {
+        return codes.length;
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public double getCompressionFactor() {
+        return ((double) estimatedSize) / uncompressedEstimatedSize;
+    }
+
+    @Override
+    public boolean isCompressed() {
+        return true;
+    }
+
+    @Override
+    public TimeSeriesDataType getDataType() {
+        return TimeSeriesDataType.STRING;
+    }
+
+    private void forEachValueIndex(ObjIntConsumer<String> consumer) {
+        for (int i = 0; i < codes.length; i++) {
+            consumer.accept(dictionary[codes[i]], offset + i);
+        }
+    }
+
+    @Override
+    public void fillBuffer(CompactStringBuffer buffer, int timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        forEachValueIndex((v, i) -> buffer.putString(timeSeriesOffset + i, v));
+    }
+
+    @Override
+    public void fillBuffer(BigStringBuffer buffer, long timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        forEachValueIndex((v, i) -> buffer.putString(timeSeriesOffset + i, v));
+    }
+
+    @Override
+    public Stream<StringPoint> stream(TimeSeriesIndex index) {
+        Objects.requireNonNull(index);
+        return IntStream.range(0, codes.length).mapToObj(i -> new StringPoint(offset + i, index.getTimeAt(offset + i), dictionary[codes[i]]));
+    }
+
+    @Override
+    public Iterator<StringPoint> iterator(TimeSeriesIndex index) {
+        return stream(index).iterator();
+    }
+
+    @Override
+    public StringDataChunk tryToCompress() {
+        return this;
+    }
+
+    @Override
+    public Split<StringPoint, StringDataChunk> splitAt(int splitIndex) {
+        // split at offset is not allowed because it will result to a null left chunk
+        if (splitIndex <= offset || splitIndex > (offset + codes.length - 1)) {
+            throw new IllegalArgumentException("Split index " + splitIndex + " out of chunk range ]" + offset
+                    + ", " + (offset + codes.length - 1) + "]");
+        }
+        // dictionary is shared by both chunks
+        return new Split<>(new DictionaryStringDataChunk(offset, dictionary, Arrays.copyOfRange(codes, 0, splitIndex - offset)),
+                           new DictionaryStringDataChunk(splitIndex, dictionary, Arrays.copyOfRange(codes, splitIndex - offset, codes.length)));
+    }
+
+    @Override
+    public StringDataChunk append(StringDataChunk otherChunk) {
+        if (getOffset() + getLength() != otherChunk.getOffset()) {
+            throw new IllegalArgumentException("Chunks are not successive. First offset is " + getOffset()
+                                               + " and first size is " + getLength() + "; second offset should be " +
+                                               (getOffset() + getLength()) + "but is " + otherChunk.getOffset());
+        }
+        if (!(otherChunk instanceof DictionaryStringDataChunk)) {
+            throw new IllegalArgumentException("The chunks to merge have to have the same implementation. One of them is " + this.getClass()
+                                               + ", the other one is " + otherChunk.getClass());
+        }
+        DictionaryStringDataChunk chunk = (DictionaryStringDataChunk) otherChunk;
+        if (dictionary == chunk.dictionary || Arrays.equals(dictionary, chunk.dictionary)) {
+            return new DictionaryStringDataChunk(offset, dictionary, ArrayUtils.addAll(codes, chunk.codes));
+        }
+        return encode(offset, ArrayUtils.addAll(decode(), chunk.decode()));
+    }
+
+    @Override
+    public void writeJson(JsonGenerator generator) {
+        Objects.requireNonNull(generator);
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("offset", offset);
+            generator.writeFieldName("dictionary");
+            generator.writeStartArray();
+            for (String value : dictionary) {
+                generator.writeString(value);
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("codes");
+            generator.writeArray(codes, 0, codes.length);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toJson() {
+        return JsonUtil.toJson(this::writeJson);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, Arrays.hashCode(dictionary), Arrays.hashCode(codes));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof DictionaryStringDataChunk) {
+            DictionaryStringDataChunk other = (DictionaryStringDataChunk) obj;
+            return offset == other.offset &&
+                    Arrays.equals(dictionary, other.dictionary) &&
+                    Arrays.equals(codes, other.codes);
+        }
+        return false;
+    }
+}
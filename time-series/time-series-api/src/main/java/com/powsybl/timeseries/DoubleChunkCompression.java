@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+/**
+ * Compression of double data chunks.
+ *
+ * @author agent <agent at local>
+ */
+public enum DoubleChunkCompression {
+    /**
+     * Run-length encoding, see {@link CompressedDoubleDataChunk}, efficient for step values.
+     */
+    RLE,
+    /**
+     * XOR encoding, see {@link XorCompressedDoubleDataChunk}, efficient for noisy values.
+     */
+    XOR,
+    /**
+     * Smallest of all encodings.
+     */
+    BEST
+}
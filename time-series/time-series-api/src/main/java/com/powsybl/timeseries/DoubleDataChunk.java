@@ -7,12 +7,30 @@
 package com.powsybl.timeseries;
 
 import java.nio.DoubleBuffer;
+import java.util.Objects;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public interface DoubleDataChunk extends DataChunk<DoublePoint, DoubleDataChunk> {
 
+    /**
+     * Call the consumer with the index and the value of each point of the chunk, in increasing index order, without
+     * allocating any point.
+     * <p>
+     * The default implementation reads the values filled by {@link #fillBuffer(DoubleBuffer, int)}.
+     *
+     * @param consumer the point index and value consumer
+     */
+    default void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        DoubleBuffer buffer = DoubleBuffer.allocate(getLength());
+        fillBuffer(buffer, -getOffset());
+        for (int i = 0; i < getLength(); i++) {
+            consumer.accept(getOffset() + i, buffer.get(i));
+        }
+    }
+
     void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset);
 
     void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset);
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+/**
+ * Cursor on all the points of a double time series index, in increasing order. Contrary to
+ * {@link DoubleTimeSeries#iterator()}, no {@link DoublePoint} is allocated: the cursor is moved to the next point
+ * and the index, time and value of the current point are read through accessors.
+ * <p>
+ * A point not covered by any chunk has a NaN value.
+ *
+ * @author agent <agent at local>
+ */
+public interface DoublePointCursor {
+
+    /**
+     * Move the cursor to the next point. The cursor is initially before the first point.
+     *
+     * @return false if there is no more point
+     */
+    boolean next();
+
+    /**
+     * Get the index of the current point.
+     */
+    int getIndex();
+
+    /**
+     * Get the time of the current point.
+     */
+    long getTime();
+
+    /**
+     * Get the value of the current point.
+     */
+    double getValue();
+}
@@ -23,6 +23,33 @@ public interface DoubleTimeSeries extends TimeSeries<DoublePoint, DoubleTimeSeri
 
     double[] toArray();
 
+    /**
+     * Call the consumer with the index and the value of each point of the time series index, in increasing order,
+     * without allocating any point. A point without value is NaN.
+     * <p>
+     * The default implementation iterates over {@link #toArray()}.
+     *
+     * @param consumer the point index and value consumer
+     */
+    default void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        double[] values = toArray();
+        for (int i = 0; i < values.length; i++) {
+            consumer.accept(i, values[i]);
+        }
+    }
+
+    /**
+     * Get a cursor on the points of the time series index.
+     * <p>
+     * The default implementation reads the values of {@link #toArray()}.
+     *
+     * @return a new cursor, before the first point
+     */
+    default DoublePointCursor cursor() {
+        return new ChunkDoublePointCursor(getMetadata().getIndex(), Collections.singletonList(new UncompressedDoubleDataChunk(0, toArray())));
+    }
+
     static Iterator<DoubleMultiPoint> iterator(List<DoubleTimeSeries> timeSeriesList) {
         Objects.requireNonNull(timeSeriesList);
 
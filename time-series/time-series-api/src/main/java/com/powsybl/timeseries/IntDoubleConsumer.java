@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+/**
+ * Consumer of a point index and its double value, primitive specialization of {@link java.util.function.BiConsumer}.
+ *
+ * @author agent <agent at local>
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    void accept(int index, double value);
+}
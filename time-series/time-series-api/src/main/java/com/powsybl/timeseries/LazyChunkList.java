@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import java.util.*;
+
+/**
+ * Read-only list of data chunks loaded on demand from a {@link DataChunkProvider}. Loaded chunks are kept in a
+ * bounded LRU cache, so that iterating over the list does not keep all chunks in memory.
+ *
+ * @author agent <agent at local>
+ */
+class LazyChunkList<C> extends AbstractList<C> implements RandomAccess {
+
+    private final DataChunkProvider<C> provider;
+
+    private final int[] offsets;
+
+    private final Map<Integer, C> cache;
+
+    LazyChunkList(DataChunkProvider<C> provider, int cacheSize) {
+        this.provider = Objects.requireNonNull(provider);
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size has to be strictly positive: " + cacheSize);
+        }
+        offsets = new int[provider.getChunkCount()];
+        int end = 0;
+        for (int chunkNum = 0; chunkNum < offsets.length; chunkNum++) {
+            offsets[chunkNum] = provider.getChunkOffset(chunkNum);
+            if (offsets[chunkNum] < end) {
+                throw new TimeSeriesException("Chunk at offset " + offsets[chunkNum] + " overlap with previous one");
+            }
+            end = offsets[chunkNum] + provider.getChunkLength(chunkNum);
+        }
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, C> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public C get(int chunkNum) {
+        Objects.checkIndex(chunkNum, offsets.length);
+        synchronized (cache) {
+            return cache.computeIfAbsent(chunkNum, provider::loadChunk);
+        }
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Get the chunks overlapping points range [fromPoint, toPoint), without loading the other ones.
+     */
+    List<C> getChunks(int fromPoint, int toPoint) {
+        // last chunk starting before fromPoint may overlap the range
+        int first = Arrays.binarySearch(offsets, fromPoint);
+        if (first < 0) {
+            first = Math.max(0, -first - 2);
+        }
+        if (first < offsets.length && offsets[first] + provider.getChunkLength(first) <= fromPoint) {
+            first++;
+        }
+        int last = Arrays.binarySearch(offsets, toPoint);
+        last = last < 0 ? -last - 1 : last;
+        return first < last ? subList(first, last) : Collections.emptyList();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Byte buffer allocator backed by memory mapped temporary files, one file per allocated buffer.
+ * <p>
+ * Used as the allocator of a {@link TimeSeriesTable}, it allows tables larger than the heap and the direct memory:
+ * pages of the buffers are loaded on access and written back to the files by the OS when memory is needed.
+ * {@link #force()} can be called after a load to write dirty pages, so that the OS can evict them without I/O.
+ * <p>
+ * Temporary files are deleted on close, buffers allocated by this allocator must not be used afterwards.
+ *
+ * @author agent <agent at local>
+ */
+public class MappedByteBufferAllocator implements IntFunction<ByteBuffer>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedByteBufferAllocator.class);
+
+    private final Path directory;
+
+    private final List<Path> files = new ArrayList<>();
+
+    private final List<MappedByteBuffer> buffers = new ArrayList<>();
+
+    private boolean closed = false;
+
+    /**
+     * @param directory the directory where temporary files are created, it has to be on the default file system
+     *                  as memory mapping is required.
+     */
+    public MappedByteBufferAllocator(Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+    }
+
+    @Override
+    public synchronized ByteBuffer apply(int size) {
+        if (closed) {
+            throw new TimeSeriesException("Allocator is closed");
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid buffer size: " + size);
+        }
+        try {
+            Path file = Files.createTempFile(directory, "time-series-", ".tmp");
+            files.add(file);
+            // mapping stays valid after the channel has been closed
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffers.add(buffer);
+                return buffer;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized int getFileCount() {
+        return files.size();
+    }
+
+    /**
+     * Write the modified pages of all allocated buffers to their files.
+     */
+    public synchronized void force() {
+        buffers.forEach(MappedByteBuffer::force);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffers.clear();
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // may happen on systems which do not allow deletion of a mapped file
+                LOGGER.warn("Failed to delete temporary file '{}': {}", file, e.toString());
+            }
+        }
+        files.clear();
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.powsybl.commons.json.JsonUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * RLE (Run-Length encoding) compressed double data chunk which steps are a view on a (memory-mapped) buffer.
+ * Steps are only copied to the heap when the chunk is split or appended to another one.
+ *
+ * @author agent <agent at local>
+ */
+class MappedCompressedDoubleDataChunk implements DoubleDataChunk {
+
+    private final int offset;
+
+    private final int uncompressedLength;
+
+    private final DoubleBuffer stepValues;
+
+    private final IntBuffer stepLengths;
+
+    MappedCompressedDoubleDataChunk(int offset, int uncompressedLength, DoubleBuffer stepValues, IntBuffer stepLengths) {
+        AbstractCompressedDataChunk.check(offset, uncompressedLength, stepValues.limit(), stepLengths.limit());
+        this.offset = offset;
+        this.uncompressedLength = uncompressedLength;
+        this.stepValues = stepValues;
+        this.stepLengths = stepLengths;
+    }
+
+    DoubleBuffer getStepValues() {
+        return stepValues.duplicate();
+    }
+
+    IntBuffer getStepLengths() {
+        return stepLengths.duplicate();
+    }
+
+    CompressedDoubleDataChunk toHeap() {
+        double[] stepValuesArray = new double[stepValues.limit()];
+        stepValues.duplicate().get(stepValuesArray);
+        int[] stepLengthsArray = new int[stepLengths.limit()];
+        stepLengths.duplicate().get(stepLengthsArray);
+        return new CompressedDoubleDataChunk(offset, uncompressedLength, stepValuesArray, stepLengthsArray);
+    }
+
+    @Override
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLength() {
+        return uncompressedLength;
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        return CompressedDoubleDataChunk.getEstimatedSize(stepValues.limit(), stepLengths.limit());
+    }
+
+    @Override
+    public double getCompressionFactor() {
+        return ((double) getEstimatedSize()) / (Double.BYTES * uncompressedLength);
+    }
+
+    @Override
+    public boolean isCompressed() {
+        return true;
+    }
+
+    @Override
+    public TimeSeriesDataType getDataType() {
+        return TimeSeriesDataType.DOUBLE;
+    }
+
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        int k = offset;
+        for (int i = 0; i < stepValues.limit(); i++) {
+            double value = stepValues.get(i);
+            for (int j = 0; j < stepLengths.get(i); j++) {
+                consumer.accept(k++, value);
+            }
+        }
+    }
+
+    @Override
+    public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        int k = timeSeriesOffset + offset;
+        for (int i = 0; i < stepValues.limit(); i++) {
+            double value = stepValues.get(i);
+            for (int j = 0; j < stepLengths.get(i); j++) {
+                buffer.put(k++, value);
+            }
+        }
+    }
+
+    @Override
+    public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        long k = timeSeriesOffset + offset;
+        for (int i = 0; i < stepValues.limit(); i++) {
+            double value = stepValues.get(i);
+            for (int j = 0; j < stepLengths.get(i); j++) {
+                buffer.put(k++, value);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<DoublePoint> iterator(TimeSeriesIndex index) {
+        Objects.requireNonNull(index);
+        return new Iterator<DoublePoint>() {
+
+            private int i = offset;
+            private int step = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < offset + uncompressedLength;
+            }
+
+            @Override
+            public DoublePoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DoublePoint point = new DoublePoint(i, index.getTimeAt(i), stepValues.get(step));
+                i += stepLengths.get(step);
+                step++;
+                return point;
+            }
+        };
+    }
+
+    @Override
+    public Stream<DoublePoint> stream(TimeSeriesIndex index) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator(index),
+                Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Steps are stored in the form chosen when the store has been written, so the chunk is already compressed.
+     */
+    @Override
+    public DoubleDataChunk tryToCompress() {
+        return this;
+    }
+
+    @Override
+    public Split<DoublePoint, DoubleDataChunk> splitAt(int splitIndex) {
+        return toHeap().splitAt(splitIndex);
+    }
+
+    @Override
+    public DoubleDataChunk append(DoubleDataChunk otherChunk) {
+        return toHeap().append(otherChunk instanceof MappedCompressedDoubleDataChunk
+                ? ((MappedCompressedDoubleDataChunk) otherChunk).toHeap()
+                : otherChunk);
+    }
+
+    @Override
+    public void writeJson(JsonGenerator generator) {
+        Objects.requireNonNull(generator);
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("offset", offset);
+            generator.writeNumberField("uncompressedLength", uncompressedLength);
+            generator.writeFieldName("stepValues");
+            generator.writeStartArray();
+            for (int i = 0; i < stepValues.limit(); i++) {
+                generator.writeNumber(stepValues.get(i));
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("stepLengths");
+            generator.writeStartArray();
+            for (int i = 0; i < stepLengths.limit(); i++) {
+                generator.writeNumber(stepLengths.get(i));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toJson() {
+        return JsonUtil.toJson(this::writeJson);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, uncompressedLength, stepLengths, stepValues);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof MappedCompressedDoubleDataChunk) {
+            MappedCompressedDoubleDataChunk other = (MappedCompressedDoubleDataChunk) obj;
+            return offset == other.offset &&
+                    uncompressedLength == other.uncompressedLength &&
+                    stepLengths.equals(other.stepLengths) &&
+                    stepValues.equals(other.stepValues);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,453 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.commons.json.JsonUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Read only time series store backed by a file written by {@link MappedTimeSeriesStoreWriter}.
+ * <p>
+ * Only the directory of the file (metadata and chunk positions) is loaded when the store is opened. Chunks of a
+ * time series version are memory-mapped when the time series is requested, and returned time series are views on
+ * the mapped file: neither uncompressed values nor RLE steps are copied to the heap, only the small bit streams of
+ * XOR compressed chunks are, so that the data set can be much larger than the heap. On a file system which does not
+ * support memory mapping, chunks are read into heap buffers instead, on demand, so they cannot be loaded anymore once
+ * the store is closed.
+ * <p>
+ * Chunks of returned time series are lazily loaded and a bounded number of them are cached, so that reading a time
+ * window of a long time series only loads the chunks of the window.
+ * <p>
+ * The store is immutable, so listeners are never notified. Only double time series are supported.
+ *
+ * @author agent <agent at local>
+ */
+public class MappedTimeSeriesStore implements ReadOnlyTimeSeriesStore, AutoCloseable {
+
+    static final int MAGIC = 0x50545353; // PTSS
+
+    // version 2 adds XOR compressed chunks
+    static final int FORMAT_VERSION = 2;
+
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+
+    private static final int CHUNK_CACHE_SIZE = 16;
+
+    static final class ChunkEntry {
+
+        static final int UNCOMPRESSED = 0;
+
+        static final int RLE_COMPRESSED = 1;
+
+        static final int XOR_COMPRESSED = 2;
+
+        private final int type;
+
+        private final int offset;
+
+        private final int length;
+
+        private final int valueCount;
+
+        private final long position;
+
+        ChunkEntry(int type, int offset, int length, int valueCount, long position) {
+            if (type < UNCOMPRESSED || type > XOR_COMPRESSED) {
+                throw new TimeSeriesException("Unknown chunk type " + type);
+            }
+            this.type = type;
+            this.offset = offset;
+            this.length = length;
+            this.valueCount = valueCount;
+            this.position = position;
+        }
+
+        /**
+         * Size of the data of a chunk: a value is a double for uncompressed chunks, a step value and a step length
+         * for RLE compressed chunks and a long word of the bit stream for XOR compressed chunks.
+         */
+        static long getSize(int type, int valueCount) {
+            return type == RLE_COMPRESSED ? (long) (Double.BYTES + Integer.BYTES) * valueCount : (long) Double.BYTES * valueCount;
+        }
+
+        int getType() {
+            return type;
+        }
+
+        int getOffset() {
+            return offset;
+        }
+
+        int getLength() {
+            return length;
+        }
+
+        int getValueCount() {
+            return valueCount;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        long getSize() {
+            return getSize(type, valueCount);
+        }
+
+        DoubleDataChunk createChunk(ByteBuffer region, long regionPosition) {
+            int start = (int) (position - regionPosition);
+            switch (type) {
+                case RLE_COMPRESSED:
+                    ByteBuffer stepValues = slice(region, start, Double.BYTES * valueCount);
+                    ByteBuffer stepLengths = slice(region, start + Double.BYTES * valueCount, Integer.BYTES * valueCount);
+                    return new MappedCompressedDoubleDataChunk(offset, length, stepValues.asDoubleBuffer(), stepLengths.asIntBuffer());
+                case XOR_COMPRESSED:
+                    // bit stream is small and decoded sequentially, so it is copied to the heap
+                    long[] data = new long[valueCount];
+                    slice(region, start, Long.BYTES * valueCount).asLongBuffer().get(data);
+                    return new XorCompressedDoubleDataChunk(offset, length, data);
+                default:
+                    return new MappedUncompressedDoubleDataChunk(offset, slice(region, start, Double.BYTES * valueCount).asDoubleBuffer());
+            }
+        }
+
+        private static ByteBuffer slice(ByteBuffer region, int start, int size) {
+            ByteBuffer slice = region.duplicate();
+            slice.position(start).limit(start + size);
+            return slice.slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    static final class TimeSeriesEntry {
+
+        private final TimeSeriesMetadata metadata;
+
+        private final Map<Integer, List<ChunkEntry>> chunksByVersion = new TreeMap<>();
+
+        TimeSeriesEntry(TimeSeriesMetadata metadata) {
+            this.metadata = Objects.requireNonNull(metadata);
+        }
+
+        TimeSeriesMetadata getMetadata() {
+            return metadata;
+        }
+
+        Map<Integer, List<ChunkEntry>> getChunksByVersion() {
+            return chunksByVersion;
+        }
+    }
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final Map<String, TimeSeriesEntry> entries = new LinkedHashMap<>();
+
+    private final Set<Integer> versions = new TreeSet<>();
+
+    private final long maxRegionSize;
+
+    private volatile boolean mappingSupported = true;
+
+    public MappedTimeSeriesStore(Path file) {
+        this(file, Integer.MAX_VALUE);
+    }
+
+    MappedTimeSeriesStore(Path file, long maxRegionSize) {
+        this.file = Objects.requireNonNull(file);
+        if (maxRegionSize <= 0 || maxRegionSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid max region size " + maxRegionSize);
+        }
+        this.maxRegionSize = maxRegionSize;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                readDirectory();
+            } catch (RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer read(long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new TimeSeriesException("Region of " + size + " bytes of file '" + file + "' is too big to be mapped");
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (UnsupportedOperationException e) {
+            mappingSupported = false;
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new TimeSeriesException("Unexpected end of file '" + file + "'");
+                }
+            }
+            buffer.flip();
+        }
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void readDirectory() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new TimeSeriesException("File '" + file + "' is not a time series store");
+        }
+        ByteBuffer header = read(0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new TimeSeriesException("File '" + file + "' is not a time series store");
+        }
+        int formatVersion = header.getInt();
+        if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+            throw new TimeSeriesException("Unsupported time series store format version " + formatVersion);
+        }
+        long directoryPosition = header.getLong();
+        ByteBuffer directory = read(directoryPosition, channel.size() - directoryPosition);
+        int timeSeriesCount = directory.getInt();
+        for (int i = 0; i < timeSeriesCount; i++) {
+            byte[] metadataJson = new byte[directory.getInt()];
+            directory.get(metadataJson);
+            TimeSeriesMetadata metadata = JsonUtil.parseJson(new String(metadataJson, StandardCharsets.UTF_8), TimeSeriesMetadata::parseJson);
+            TimeSeriesEntry entry = new TimeSeriesEntry(metadata);
+            int versionCount = directory.getInt();
+            for (int j = 0; j < versionCount; j++) {
+                int version = directory.getInt();
+                int chunkCount = directory.getInt();
+                List<ChunkEntry> chunkEntries = new ArrayList<>(chunkCount);
+                for (int k = 0; k < chunkCount; k++) {
+                    int type = directory.getInt();
+                    int offset = directory.getInt();
+                    int length = directory.getInt();
+                    int valueCount = directory.getInt();
+                    long position = directory.getLong();
+                    chunkEntries.add(new ChunkEntry(type, offset, length, valueCount, position));
+                }
+                entry.getChunksByVersion().put(version, chunkEntries);
+                versions.add(version);
+            }
+            entries.put(metadata.getName(), entry);
+        }
+    }
+
+    private final class ChunkEntryProvider implements DataChunkProvider<DoubleDataChunk> {
+
+        private final List<ChunkEntry> chunkEntries;
+
+        // mapped region of each chunk, null if chunks have to be read one by one
+        private final ByteBuffer[] regions;
+
+        private final long[] regionPositions;
+
+        private ChunkEntryProvider(List<ChunkEntry> chunkEntries, ByteBuffer[] regions, long[] regionPositions) {
+            this.chunkEntries = chunkEntries;
+            this.regions = regions;
+            this.regionPositions = regionPositions;
+        }
+
+        @Override
+        public int getChunkCount() {
+            return chunkEntries.size();
+        }
+
+        @Override
+        public int getChunkOffset(int chunkNum) {
+            return chunkEntries.get(chunkNum).getOffset();
+        }
+
+        @Override
+        public int getChunkLength(int chunkNum) {
+            return chunkEntries.get(chunkNum).getLength();
+        }
+
+        @Override
+        public DoubleDataChunk loadChunk(int chunkNum) {
+            ChunkEntry chunkEntry = chunkEntries.get(chunkNum);
+            if (regions != null && regions[chunkNum] != null) {
+                return chunkEntry.createChunk(regions[chunkNum], regionPositions[chunkNum]);
+            }
+            if (!channel.isOpen()) {
+                throw new TimeSeriesException("Chunk " + chunkNum + " cannot be loaded, time series store '" + file + "' is closed");
+            }
+            try {
+                return chunkEntry.createChunk(read(chunkEntry.getPosition(), chunkEntry.getSize()), chunkEntry.getPosition());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private DoubleTimeSeries createTimeSeries(TimeSeriesEntry entry, List<ChunkEntry> chunkEntries) throws IOException {
+        List<ChunkEntry> sortedChunkEntries = chunkEntries.stream()
+                .sorted(Comparator.comparingInt(ChunkEntry::getOffset))
+                .collect(Collectors.toList());
+        ByteBuffer[] regions = null;
+        long[] regionPositions = null;
+        if (mappingSupported) {
+            regions = new ByteBuffer[sortedChunkEntries.size()];
+            regionPositions = new long[sortedChunkEntries.size()];
+            mapRegions(sortedChunkEntries, regions, regionPositions);
+        }
+        return new StoredDoubleTimeSeries(entry.getMetadata(), new ChunkEntryProvider(sortedChunkEntries, regions, regionPositions), CHUNK_CACHE_SIZE);
+    }
+
+    /**
+     * Map all the chunks of a version now, so that the time series remains valid after the store is closed. Chunks of
+     * a version are contiguous, so they are mapped together in as few regions as possible, pages being loaded on
+     * access.
+     */
+    private void mapRegions(List<ChunkEntry> chunkEntries, ByteBuffer[] regions, long[] regionPositions) throws IOException {
+        Integer[] chunkNums = new Integer[chunkEntries.size()];
+        Arrays.setAll(chunkNums, i -> i);
+        Arrays.sort(chunkNums, Comparator.comparingLong(chunkNum -> chunkEntries.get(chunkNum).getPosition()));
+        int first = 0;
+        while (first < chunkNums.length && mappingSupported) {
+            long start = chunkEntries.get(chunkNums[first]).getPosition();
+            long end = start + chunkEntries.get(chunkNums[first]).getSize();
+            int last = first + 1;
+            while (last < chunkNums.length) {
+                ChunkEntry chunkEntry = chunkEntries.get(chunkNums[last]);
+                long newEnd = Math.max(end, chunkEntry.getPosition() + chunkEntry.getSize());
+                if (newEnd - start > maxRegionSize) {
+                    break;
+                }
+                end = newEnd;
+                last++;
+            }
+            // a chunk bigger than 2 GB cannot be mapped, reading it fails when it is loaded
+            if (end - start <= Integer.MAX_VALUE) {
+                ByteBuffer region = read(start, end - start);
+                for (int i = first; i < last; i++) {
+                    regions[chunkNums[i]] = region;
+                    regionPositions[chunkNums[i]] = start;
+                }
+            }
+            first = last;
+        }
+    }
+
+    @Override
+    public Set<String> getTimeSeriesNames(TimeSeriesFilter filter) {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    @Override
+    public boolean timeSeriesExists(String timeSeriesName) {
+        Objects.requireNonNull(timeSeriesName);
+        return entries.containsKey(timeSeriesName);
+    }
+
+    @Override
+    public Optional<TimeSeriesMetadata> getTimeSeriesMetadata(String timeSeriesName) {
+        Objects.requireNonNull(timeSeriesName);
+        return Optional.ofNullable(entries.get(timeSeriesName))
+                .map(TimeSeriesEntry::getMetadata);
+    }
+
+    @Override
+    public List<TimeSeriesMetadata> getTimeSeriesMetadata(Set<String> timeSeriesNames) {
+        Objects.requireNonNull(timeSeriesNames);
+        return timeSeriesNames.stream()
+                .map(this::getTimeSeriesMetadata)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions() {
+        return Collections.unmodifiableSet(versions);
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions(String timeSeriesName) {
+        Objects.requireNonNull(timeSeriesName);
+        TimeSeriesEntry entry = entries.get(timeSeriesName);
+        return entry != null ? Collections.unmodifiableSet(entry.getChunksByVersion().keySet()) : Collections.emptySet();
+    }
+
+    @Override
+    public Optional<DoubleTimeSeries> getDoubleTimeSeries(String timeSeriesName, int version) {
+        Objects.requireNonNull(timeSeriesName);
+        TimeSeriesVersions.check(version);
+        TimeSeriesEntry entry = entries.get(timeSeriesName);
+        if (entry != null) {
+            List<ChunkEntry> chunkEntries = entry.getChunksByVersion().get(version);
+            if (chunkEntries != null) {
+                try {
+                    return Optional.of(createTimeSeries(entry, chunkEntries));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames, int version) {
+        Objects.requireNonNull(timeSeriesNames);
+        return timeSeriesNames.stream()
+                .map(timeSeriesName -> getDoubleTimeSeries(timeSeriesName, version))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(int version) {
+        return getDoubleTimeSeries(entries.keySet(), version);
+    }
+
+    @Override
+    public Optional<StringTimeSeries> getStringTimeSeries(String timeSeriesName, int version) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<StringTimeSeries> getStringTimeSeries(Set<String> timeSeriesNames, int version) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void addListener(TimeSeriesStoreListener listener) {
+        Objects.requireNonNull(listener);
+        // nothing to do, the store is immutable
+    }
+
+    @Override
+    public void removeListener(TimeSeriesStoreListener listener) {
+        Objects.requireNonNull(listener);
+        // nothing to do, the store is immutable
+    }
+
+    /**
+     * Close the underlying file. Time series already returned remain valid if the file has been memory-mapped, as
+     * mappings are released only when they are garbage collected. Otherwise, chunks which have not been loaded yet
+     * cannot be loaded anymore and a {@link TimeSeriesException} is thrown on access.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.commons.json.JsonUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Write double time series to a file readable by {@link MappedTimeSeriesStore}.
+ * <p>
+ * Data of the time series are written as they are added, so that the whole data set never has to fit in memory,
+ * only the directory (metadata and chunk positions) is kept until the writer is closed. All the chunks of a time
+ * series version are written contiguously, uncompressed chunks as a column of doubles, RLE compressed chunks
+ * as a column of step values followed by a column of step lengths, and XOR compressed chunks as a column of long
+ * words.
+ *
+ * @author agent <agent at local>
+ */
+public class MappedTimeSeriesStoreWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private long position = MappedTimeSeriesStore.HEADER_SIZE;
+
+    private final Map<String, MappedTimeSeriesStore.TimeSeriesEntry> entries = new LinkedHashMap<>();
+
+    private boolean closed = false;
+
+    public MappedTimeSeriesStoreWriter(Path file) {
+        Objects.requireNonNull(file);
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            // header is written when closing
+            channel.position(MappedTimeSeriesStore.HEADER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Add a version of a double time series. Chunks of stored time series are written as they are, preserving their
+     * compression, other time series are materialized.
+     */
+    public MappedTimeSeriesStoreWriter add(int version, DoubleTimeSeries timeSeries) {
+        TimeSeriesVersions.check(version);
+        Objects.requireNonNull(timeSeries);
+        if (closed) {
+            throw new TimeSeriesException("Writer is closed");
+        }
+        TimeSeriesMetadata metadata = timeSeries.getMetadata();
+        MappedTimeSeriesStore.TimeSeriesEntry entry = entries.computeIfAbsent(metadata.getName(), name -> new MappedTimeSeriesStore.TimeSeriesEntry(metadata));
+        if (!entry.getMetadata().equals(metadata)) {
+            throw new TimeSeriesException("Time series '" + metadata.getName() + "' has already been added with a different metadata");
+        }
+        if (entry.getChunksByVersion().containsKey(version)) {
+            throw new TimeSeriesException("Version " + version + " of time series '" + metadata.getName() + "' has already been added");
+        }
+        List<DoubleDataChunk> chunks;
+        if (timeSeries instanceof StoredDoubleTimeSeries) {
+            chunks = ((StoredDoubleTimeSeries) timeSeries).getChunks();
+        } else {
+            chunks = Collections.singletonList(new UncompressedDoubleDataChunk(0, timeSeries.toArray()).tryToCompress());
+        }
+        List<MappedTimeSeriesStore.ChunkEntry> chunkEntries = new ArrayList<>(chunks.size());
+        try {
+            for (DoubleDataChunk chunk : chunks) {
+                chunkEntries.add(writeChunk(chunk));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entry.getChunksByVersion().put(version, chunkEntries);
+        return this;
+    }
+
+    private MappedTimeSeriesStore.ChunkEntry writeXorChunk(XorCompressedDoubleDataChunk chunk) throws IOException {
+        long[] data = chunk.getData();
+        MappedTimeSeriesStore.ChunkEntry chunkEntry = new MappedTimeSeriesStore.ChunkEntry(MappedTimeSeriesStore.ChunkEntry.XOR_COMPRESSED,
+                chunk.getOffset(), chunk.getLength(), data.length, position);
+        for (long word : data) {
+            putLong(word);
+            position += Long.BYTES;
+        }
+        return chunkEntry;
+    }
+
+    private MappedTimeSeriesStore.ChunkEntry writeChunk(DoubleDataChunk chunk) throws IOException {
+        if (chunk instanceof XorCompressedDoubleDataChunk) {
+            return writeXorChunk((XorCompressedDoubleDataChunk) chunk);
+        }
+        DoubleBuffer values;
+        IntBuffer stepLengths = null;
+        if (chunk instanceof UncompressedDoubleDataChunk) {
+            values = DoubleBuffer.wrap(((UncompressedDoubleDataChunk) chunk).getValues());
+        } else if (chunk instanceof MappedUncompressedDoubleDataChunk) {
+            values = ((MappedUncompressedDoubleDataChunk) chunk).getValues();
+        } else if (chunk instanceof CompressedDoubleDataChunk) {
+            values = DoubleBuffer.wrap(((CompressedDoubleDataChunk) chunk).getStepValues());
+            stepLengths = IntBuffer.wrap(((CompressedDoubleDataChunk) chunk).getStepLengths());
+        } else if (chunk instanceof MappedCompressedDoubleDataChunk) {
+            values = ((MappedCompressedDoubleDataChunk) chunk).getStepValues();
+            stepLengths = ((MappedCompressedDoubleDataChunk) chunk).getStepLengths();
+        } else {
+            throw new TimeSeriesException("Unsupported data chunk type " + chunk.getClass().getName());
+        }
+        int valueCount = values.remaining();
+        int type = stepLengths != null ? MappedTimeSeriesStore.ChunkEntry.RLE_COMPRESSED : MappedTimeSeriesStore.ChunkEntry.UNCOMPRESSED;
+        long size = MappedTimeSeriesStore.ChunkEntry.getSize(type, valueCount);
+        if (size > Integer.MAX_VALUE) {
+            throw new TimeSeriesException("Chunk at offset " + chunk.getOffset() + " is too big to be mapped: " + size + " bytes");
+        }
+        MappedTimeSeriesStore.ChunkEntry chunkEntry = new MappedTimeSeriesStore.ChunkEntry(type, chunk.getOffset(),
+                chunk.getLength(), valueCount, position);
+        while (values.hasRemaining()) {
+            flushIfLessThan(Double.BYTES);
+            DoubleBuffer target = buffer.asDoubleBuffer();
+            int n = Math.min(values.remaining(), target.remaining());
+            DoubleBuffer source = values.duplicate();
+            source.limit(source.position() + n);
+            target.put(source);
+            values.position(values.position() + n);
+            skip(n * Double.BYTES);
+        }
+        if (stepLengths != null) {
+            while (stepLengths.hasRemaining()) {
+                flushIfLessThan(Integer.BYTES);
+                IntBuffer target = buffer.asIntBuffer();
+                int n = Math.min(stepLengths.remaining(), target.remaining());
+                IntBuffer source = stepLengths.duplicate();
+                source.limit(source.position() + n);
+                target.put(source);
+                stepLengths.position(stepLengths.position() + n);
+                skip(n * Integer.BYTES);
+            }
+            // keep next columns of doubles aligned
+            if (valueCount % 2 != 0) {
+                flushIfLessThan(Integer.BYTES);
+                buffer.putInt(0);
+                position += Integer.BYTES;
+            }
+        }
+        return chunkEntry;
+    }
+
+    private void skip(int byteCount) {
+        buffer.position(buffer.position() + byteCount);
+        position += byteCount;
+    }
+
+    private void flushIfLessThan(int byteCount) throws IOException {
+        if (buffer.remaining() < byteCount) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putInt(int value) throws IOException {
+        flushIfLessThan(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    private void putLong(long value) throws IOException {
+        flushIfLessThan(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        putInt(bytes.length);
+        int written = 0;
+        while (written < bytes.length) {
+            flushIfLessThan(1);
+            int n = Math.min(bytes.length - written, buffer.remaining());
+            buffer.put(bytes, written, n);
+            written += n;
+        }
+    }
+
+    private void writeDirectory() throws IOException {
+        putInt(entries.size());
+        for (MappedTimeSeriesStore.TimeSeriesEntry entry : entries.values()) {
+            putBytes(JsonUtil.toJson(entry.getMetadata()::writeJson).getBytes(StandardCharsets.UTF_8));
+            putInt(entry.getChunksByVersion().size());
+            for (Map.Entry<Integer, List<MappedTimeSeriesStore.ChunkEntry>> e : entry.getChunksByVersion().entrySet()) {
+                putInt(e.getKey());
+                putInt(e.getValue().size());
+                for (MappedTimeSeriesStore.ChunkEntry chunkEntry : e.getValue()) {
+                    putInt(chunkEntry.getType());
+                    putInt(chunkEntry.getOffset());
+                    putInt(chunkEntry.getLength());
+                    putInt(chunkEntry.getValueCount());
+                    putLong(chunkEntry.getPosition());
+                }
+            }
+        }
+        flush();
+    }
+
+    private void writeHeader(long directoryPosition) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(MappedTimeSeriesStore.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MappedTimeSeriesStore.MAGIC)
+                .putInt(MappedTimeSeriesStore.FORMAT_VERSION)
+                .putLong(directoryPosition)
+                .flip();
+        long headerPosition = 0;
+        while (header.hasRemaining()) {
+            headerPosition += channel.write(header, headerPosition);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try {
+                // directory is written after the data, the header is then updated with its position
+                long directoryPosition = position;
+                writeDirectory();
+                writeHeader(directoryPosition);
+            } finally {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Uncompressed double data chunk which values are a view on a (memory-mapped) buffer, values are never copied
+ * to the heap except when the chunk is appended to another one.
+ *
+ * @author agent <agent at local>
+ */
+class MappedUncompressedDoubleDataChunk extends AbstractUncompressedDataChunk implements DoubleDataChunk {
+
+    private final DoubleBuffer values;
+
+    MappedUncompressedDoubleDataChunk(int offset, DoubleBuffer values) {
+        super(offset);
+        this.values = Objects.requireNonNull(values);
+    }
+
+    DoubleBuffer getValues() {
+        return values.duplicate();
+    }
+
+    UncompressedDoubleDataChunk toHeap() {
+        double[] array = new double[values.limit()];
+        values.duplicate().get(array);
+        return new UncompressedDoubleDataChunk(offset, array);
+    }
+
+    @Override
+    public int getLength() {
+        return values.limit();
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        return Double.BYTES * values.limit();
+    }
+
+    @Override
+    public TimeSeriesDataType getDataType() {
+        return TimeSeriesDataType.DOUBLE;
+    }
+
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        for (int i = 0; i < values.limit(); i++) {
+            consumer.accept(offset + i, values.get(i));
+        }
+    }
+
+    @Override
+    public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        DoubleBuffer target = buffer.duplicate();
+        target.position(timeSeriesOffset + offset);
+        target.put(values.duplicate());
+    }
+
+    @Override
+    public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        for (int i = 0; i < values.limit(); i++) {
+            buffer.put(timeSeriesOffset + offset + i, values.get(i));
+        }
+    }
+
+    /**
+     * Values are stored in the form chosen when the store has been written, so no compression is tried.
+     */
+    @Override
+    public DoubleDataChunk tryToCompress() {
+        return this;
+    }
+
+    @Override
+    public Split<DoublePoint, DoubleDataChunk> splitAt(int splitIndex) {
+        // split at offset is not allowed because it will result to a null left chunk
+        if (splitIndex <= offset || splitIndex > (offset + values.limit() - 1)) {
+            throw new IllegalArgumentException("Split index " + splitIndex + " out of chunk range ]" + offset
+                    + ", " + (offset + values.limit() - 1) + "]");
+        }
+        DoubleBuffer values1 = values.duplicate();
+        values1.limit(splitIndex - offset);
+        DoubleBuffer values2 = values.duplicate();
+        values2.position(splitIndex - offset);
+        return new Split<>(new MappedUncompressedDoubleDataChunk(offset, values1.slice()),
+                           new MappedUncompressedDoubleDataChunk(splitIndex, values2.slice()));
+    }
+
+    @Override
+    public DoubleDataChunk append(DoubleDataChunk otherChunk) {
+        return toHeap().append(otherChunk instanceof MappedUncompressedDoubleDataChunk
+                ? ((MappedUncompressedDoubleDataChunk) otherChunk).toHeap()
+                : otherChunk);
+    }
+
+    @Override
+    public Stream<DoublePoint> stream(TimeSeriesIndex index) {
+        Objects.requireNonNull(index);
+        return IntStream.range(0, values.limit()).mapToObj(i -> new DoublePoint(offset + i, index.getTimeAt(offset + i), values.get(i)));
+    }
+
+    @Override
+    public Iterator<DoublePoint> iterator(TimeSeriesIndex index) {
+        Objects.requireNonNull(index);
+        return new Iterator<DoublePoint>() {
+
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < values.limit();
+            }
+
+            @Override
+            public DoublePoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DoublePoint point = new DoublePoint(offset + i, index.getTimeAt(offset + i), values.get(i));
+                i++;
+                return point;
+            }
+        };
+    }
+
+    @Override
+    protected void writeValuesJson(JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        for (int i = 0; i < values.limit(); i++) {
+            generator.writeNumber(values.get(i));
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, values);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof MappedUncompressedDoubleDataChunk) {
+            MappedUncompressedDoubleDataChunk other = (MappedUncompressedDoubleDataChunk) obj;
+            return offset == other.offset &&
+                    values.equals(other.values);
+        }
+        return false;
+    }
+}
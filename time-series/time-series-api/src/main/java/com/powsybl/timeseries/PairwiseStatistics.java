@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import java.util.stream.IntStream;
+
+/**
+ * Running statistics (count, means, second moments and co-moment) of each pair of a set of series, updated with
+ * Welford's algorithm so that adding values costs O(new values) whatever the number of values already added.
+ * A pair only takes into account points where both values are not NaN.
+ * <p>
+ * Pairs are stored in a packed upper triangle, the diagonal giving the statistics of each series.
+ *
+ * @author agent <agent at local>
+ */
+class PairwiseStatistics {
+
+    // number of series of a block of pairs updated by a single task
+    private static final int BLOCK_SIZE = 32;
+
+    private final int size;
+
+    private final long[] counts;
+
+    private final double[] means1;
+
+    private final double[] means2;
+
+    private final double[] m2s1;
+
+    private final double[] m2s2;
+
+    private final double[] coMoments;
+
+    PairwiseStatistics(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        this.size = size;
+        int pairCount = size * (size + 1) / 2;
+        counts = new long[pairCount];
+        means1 = new double[pairCount];
+        means2 = new double[pairCount];
+        m2s1 = new double[pairCount];
+        m2s2 = new double[pairCount];
+        coMoments = new double[pairCount];
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    private int getPairIndex(int num1, int num2) {
+        int i = Math.min(num1, num2);
+        int j = Math.max(num1, num2);
+        return i * size - i * (i - 1) / 2 + j - i;
+    }
+
+    private void update(int num1, int num2, double[] values1, double[] values2) {
+        int pairIndex = getPairIndex(num1, num2);
+        long n = counts[pairIndex];
+        double mean1 = means1[pairIndex];
+        double mean2 = means2[pairIndex];
+        double m21 = m2s1[pairIndex];
+        double m22 = m2s2[pairIndex];
+        double coMoment = coMoments[pairIndex];
+        for (int point = 0; point < values1.length; point++) {
+            double value1 = values1[point];
+            double value2 = values2[point];
+            if (!Double.isNaN(value1) && !Double.isNaN(value2)) {
+                n++;
+                double delta1 = value1 - mean1;
+                double delta2 = value2 - mean2;
+                mean1 += delta1 / n;
+                mean2 += delta2 / n;
+                m21 += delta1 * (value1 - mean1);
+                m22 += delta2 * (value2 - mean2);
+                coMoment += delta1 * (value2 - mean2);
+            }
+        }
+        counts[pairIndex] = n;
+        means1[pairIndex] = mean1;
+        means2[pairIndex] = mean2;
+        m2s1[pairIndex] = m21;
+        m2s2[pairIndex] = m22;
+        coMoments[pairIndex] = coMoment;
+    }
+
+    private void updateBlock(int block1, int block2, double[][] values) {
+        int end1 = Math.min(size, (block1 + 1) * BLOCK_SIZE);
+        int end2 = Math.min(size, (block2 + 1) * BLOCK_SIZE);
+        for (int num1 = block1 * BLOCK_SIZE; num1 < end1; num1++) {
+            for (int num2 = Math.max(num1, block2 * BLOCK_SIZE); num2 < end2; num2++) {
+                update(num1, num2, values[num1], values[num2]);
+            }
+        }
+    }
+
+    /**
+     * Add new values of all series, in parallel: each task updates the pairs of a block of series, so that
+     * values of a block are reused from the CPU cache.
+     *
+     * @param values values indexed by series number then by point, all series having the same number of points.
+     */
+    void update(double[][] values) {
+        if (values.length != size) {
+            throw new IllegalArgumentException("Expected values of " + size + " series, got " + values.length);
+        }
+        int blockCount = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blockCount * blockCount)
+                .filter(task -> task / blockCount <= task % blockCount)
+                .parallel()
+                .forEach(task -> updateBlock(task / blockCount, task % blockCount, values));
+    }
+
+    long getCount(int num) {
+        return counts[getPairIndex(num, num)];
+    }
+
+    double getMean(int num) {
+        int pairIndex = getPairIndex(num, num);
+        return counts[pairIndex] > 0 ? means1[pairIndex] : 0;
+    }
+
+    double getStdDev(int num) {
+        int pairIndex = getPairIndex(num, num);
+        return counts[pairIndex] > 1 ? Math.sqrt(m2s1[pairIndex] / (counts[pairIndex] - 1)) : 0;
+    }
+
+    /**
+     * Pearson product-moment correlation coefficient of a pair of series. Like {@link TimeSeriesTable#computePpmcc},
+     * two constant series are correlated and a constant series is not correlated to a variable one.
+     */
+    double getPpmcc(int num1, int num2) {
+        if (num1 == num2) {
+            return 1;
+        }
+        int pairIndex = getPairIndex(num1, num2);
+        boolean constant1 = m2s1[pairIndex] == 0;
+        boolean constant2 = m2s2[pairIndex] == 0;
+        if (constant1 || constant2) {
+            return constant1 && constant2 ? 1 : 0;
+        }
+        return coMoments[pairIndex] / Math.sqrt(m2s1[pairIndex] * m2s2[pairIndex]);
+    }
+
+    double[] getPpmcc(int num1) {
+        double[] r = new double[size];
+        for (int num2 = 0; num2 < size; num2++) {
+            r[num2] = getPpmcc(num1, num2);
+        }
+        return r;
+    }
+
+    double[][] getPpmccMatrix() {
+        double[][] r = new double[size][];
+        for (int num1 = 0; num1 < size; num1++) {
+            r[num1] = getPpmcc(num1);
+        }
+        return r;
+    }
+}
@@ -7,7 +7,10 @@
 package com.powsybl.timeseries;
 
 import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -25,6 +28,14 @@ public class StoredDoubleTimeSeries extends AbstractTimeSeries<DoublePoint, Doub
         super(metadata, chunks);
     }
 
+    /**
+     * Create a time series which loads its chunks on demand from a provider, keeping at most {@code cacheSize}
+     * loaded chunks in memory. Chunks cannot be added to such a time series.
+     */
+    public StoredDoubleTimeSeries(TimeSeriesMetadata metadata, DataChunkProvider<DoubleDataChunk> chunkProvider, int cacheSize) {
+        super(metadata, new LazyChunkList<>(chunkProvider, cacheSize));
+    }
+
     protected CompressedDoubleDataChunk createGapFillingChunk(int i, int length) {
         return new CompressedDoubleDataChunk(i, length, NAN_ARRAY, new int[] {length});
     }
@@ -48,6 +59,71 @@ public class StoredDoubleTimeSeries extends AbstractTimeSeries<DoublePoint, Doub
         forEachChunk(chunk -> chunk.fillBuffer(buffer, timeSeriesOffset));
     }
 
+    /**
+     * Fill the buffer with the values of points range [fromPoint, toPoint), the value of a point being put at
+     * {@code timeSeriesOffset + point}. Like for the whole time series, points not covered by any chunk are not
+     * written.
+     */
+    public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset, int fromPoint, int toPoint) {
+        Objects.requireNonNull(buffer);
+        for (DoubleDataChunk chunk : getChunks(fromPoint, toPoint)) {
+            if (chunk.getOffset() >= fromPoint && chunk.getOffset() + chunk.getLength() <= toPoint) {
+                chunk.fillBuffer(buffer, timeSeriesOffset);
+            } else {
+                chunk.forEachValue((point, value) -> {
+                    if (point >= fromPoint && point < toPoint) {
+                        buffer.put(timeSeriesOffset + point, value);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Get the values of points range [fromPoint, toPoint), points not covered by any chunk being NaN.
+     */
+    public double[] toArray(int fromPoint, int toPoint) {
+        double[] values = new double[Math.max(0, toPoint - fromPoint)];
+        Arrays.fill(values, Double.NaN);
+        fillBuffer(DoubleBuffer.wrap(values), -fromPoint, fromPoint, toPoint);
+        return values;
+    }
+
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        int point = 0;
+        for (DoubleDataChunk chunk : getSortedChunks()) {
+            for (; point < chunk.getOffset(); point++) {
+                consumer.accept(point, Double.NaN);
+            }
+            chunk.forEachValue(consumer);
+            point = chunk.getOffset() + chunk.getLength();
+        }
+        for (; point < metadata.getIndex().getPointCount(); point++) {
+            consumer.accept(point, Double.NaN);
+        }
+    }
+
+    /**
+     * Create a copy of this time series with each chunk re-encoded using the given compression.
+     */
+    public StoredDoubleTimeSeries compress(DoubleChunkCompression compression) {
+        Objects.requireNonNull(compression);
+        List<DoubleDataChunk> compressedChunks = new ArrayList<>(chunks.size());
+        for (DoubleDataChunk chunk : chunks) {
+            double[] values = new double[chunk.getLength()];
+            chunk.fillBuffer(DoubleBuffer.wrap(values), -chunk.getOffset());
+            compressedChunks.add(new UncompressedDoubleDataChunk(chunk.getOffset(), values).tryToCompress(compression));
+        }
+        return new StoredDoubleTimeSeries(metadata, compressedChunks);
+    }
+
+    @Override
+    public DoublePointCursor cursor() {
+        return new ChunkDoublePointCursor(metadata.getIndex(), getSortedChunks());
+    }
+
     @Override
     public double[] toArray() {
         DoubleBuffer buffer = DoubleBuffer.allocate(metadata.getIndex().getPointCount());
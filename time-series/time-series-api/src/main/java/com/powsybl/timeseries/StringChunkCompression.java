@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+/**
+ * Compression of string data chunks.
+ *
+ * @author agent <agent at local>
+ */
+public enum StringChunkCompression {
+    /**
+     * Run-length encoding, see {@link CompressedStringDataChunk}, efficient for step values.
+     */
+    RLE,
+    /**
+     * Dictionary encoding, see {@link DictionaryStringDataChunk}, efficient for values taken from a small set.
+     */
+    DICTIONARY,
+    /**
+     * Smallest of all encodings.
+     */
+    BEST
+}
@@ -7,7 +7,9 @@
 package com.powsybl.timeseries;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -46,6 +48,20 @@ public class StringTimeSeries extends AbstractTimeSeries<StringPoint, StringData
         forEachChunk(chunk -> chunk.fillBuffer(buffer, timeSeriesOffset));
     }
 
+    /**
+     * Create a copy of this time series with each chunk re-encoded using the given compression.
+     */
+    public StringTimeSeries compress(StringChunkCompression compression) {
+        Objects.requireNonNull(compression);
+        List<StringDataChunk> compressedChunks = new ArrayList<>(chunks.size());
+        for (StringDataChunk chunk : chunks) {
+            CompactStringBuffer buffer = new CompactStringBuffer(ByteBuffer::allocate, chunk.getLength());
+            chunk.fillBuffer(buffer, -chunk.getOffset());
+            compressedChunks.add(new UncompressedStringDataChunk(chunk.getOffset(), buffer.toArray()).tryToCompress(compression));
+        }
+        return new StringTimeSeries(metadata, compressedChunks);
+    }
+
     public String[] toArray() {
         CompactStringBuffer buffer = new CompactStringBuffer(ByteBuffer::allocate, metadata.getIndex().getPointCount());
         chunks.forEach(chunk -> chunk.fillBuffer(buffer, 0));
@@ -18,6 +18,7 @@ import com.univocity.parsers.common.ResultIterator;
 import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
 import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TLongArrayList;
 
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +28,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -159,6 +161,30 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
         }
     }
 
+    /**
+     * Parse a CSV file in parallel: the file is split on line boundaries in segments which are parsed by the executor
+     * tasks directly into (compressed if efficient) data chunks, which are then assembled in time series.
+     */
+    static Map<Integer, List<TimeSeries>> parseCsv(Path file, TimeSeriesCsvConfig timeSeriesCsvConfig, Executor executor) {
+        return new TimeSeriesCsvParallelParser(file, timeSeriesCsvConfig, executor).parse();
+    }
+
+    /**
+     * Write time series to CSV, in the same format as {@link TimeSeriesTable#writeCsv(Writer, TimeSeriesCsvConfig)},
+     * reading values directly from data chunks. All the time series must have the same index.
+     */
+    static void writeCsv(Writer writer, TimeSeriesCsvConfig timeSeriesCsvConfig, Map<Integer, List<TimeSeries>> timeSeriesPerVersion) {
+        new TimeSeriesCsvWriter(timeSeriesCsvConfig, timeSeriesPerVersion).write(writer);
+    }
+
+    static void writeCsv(Path file, TimeSeriesCsvConfig timeSeriesCsvConfig, Map<Integer, List<TimeSeries>> timeSeriesPerVersion) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeCsv(writer, timeSeriesCsvConfig, timeSeriesPerVersion);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     static double parseDouble(String token) {
         return token.isEmpty() ? Double.NaN : Double.parseDouble(token);
     }
@@ -175,7 +201,7 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
         private final TimeSeriesDataType[] dataTypes;
         private final Object[] values;
 
-        private final List<Long> times = new ArrayList<>();
+        private final TLongArrayList times = new TLongArrayList();
 
         private TimeSeriesIndex refIndex;
 
@@ -191,10 +217,22 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
             values = new Object[names.size()];
         }
 
-        private static TimeSeriesException assertDataType(TimeSeriesDataType dataType) {
+        static TimeSeriesException assertDataType(TimeSeriesDataType dataType) {
             return new TimeSeriesException("Unexpected data type " + dataType);
         }
 
+        List<String> getNames() {
+            return names;
+        }
+
+        /**
+         * Guess the data type of a time series from its first token: double if it can be parsed as a double, string
+         * otherwise.
+         */
+        static TimeSeriesDataType guessDataType(String token) {
+            return Doubles.tryParse(token) != null ? TimeSeriesDataType.DOUBLE : TimeSeriesDataType.STRING;
+        }
+
         private TDoubleArrayList createDoubleValues() {
             TDoubleArrayList doubleValues = new TDoubleArrayList();
             if (!times.isEmpty()) {
@@ -228,7 +266,7 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
         void parseToken(int i, String token) {
             if (dataTypes[i - fixedColumns] == null) {
                 // test double parsing, in case of error we consider it a string time series
-                if (Doubles.tryParse(token) != null) {
+                if (guessDataType(token) == TimeSeriesDataType.DOUBLE) {
                     dataTypes[i - fixedColumns] = TimeSeriesDataType.DOUBLE;
                     TDoubleArrayList doubleValues = createDoubleValues();
                     doubleValues.add(parseDouble(token));
@@ -260,18 +298,19 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
         }
 
         void parseTokenTime(String[] tokens) {
+            times.add(parseTime(tokens[0], timeSeriesCsvConfig));
+        }
+
+        static long parseTime(String token, TimeSeriesCsvConfig timeSeriesCsvConfig) {
             switch (timeSeriesCsvConfig.timeFormat()) {
                 case DATE_TIME:
-                    times.add(ZonedDateTime.parse(tokens[0]).toInstant().toEpochMilli());
-                    break;
+                    return ZonedDateTime.parse(token).toInstant().toEpochMilli();
                 case FRACTIONS_OF_SECOND:
-                    Double time = Double.parseDouble(tokens[0]) * 1000;
-                    times.add(time.longValue());
-                    break;
+                    Double time = Double.parseDouble(token) * 1000;
+                    return time.longValue();
                 case MILLIS:
-                    Double millis = Double.parseDouble(tokens[0]);
-                    times.add(millis.longValue());
-                    break;
+                    Double millis = Double.parseDouble(token);
+                    return millis.longValue();
                 default:
                     throw new AssertionError("Unknown time format " + timeSeriesCsvConfig.timeFormat());
             }
@@ -292,15 +331,7 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
         }
 
         List<TimeSeries> createTimeSeries() {
-            // check time spacing is regular
-            TimeSeriesIndex index = getTimeSeriesIndex();
-
-            // check all data version have the same index
-            if (this.refIndex != null && !index.equals(refIndex)) {
-                throw new TimeSeriesException("All version of the data must have the same index: " + refIndex + " != " + index);
-            } else {
-                this.refIndex = index;
-            }
+            TimeSeriesIndex index = checkIndex(getTimeSeriesIndex(times));
 
             List<TimeSeries> timeSeriesList = new ArrayList<>(names.size());
             for (int i = 0; i < names.size(); i++) {
@@ -324,16 +355,29 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
             return timeSeriesList;
         }
 
-        private TimeSeriesIndex getTimeSeriesIndex() {
-            Long spacing = checkRegularSpacing();
+        /**
+         * Check all data versions have the same index.
+         */
+        TimeSeriesIndex checkIndex(TimeSeriesIndex index) {
+            if (this.refIndex != null && !index.equals(refIndex)) {
+                throw new TimeSeriesException("All version of the data must have the same index: " + refIndex + " != " + index);
+            } else {
+                this.refIndex = index;
+            }
+            return index;
+        }
+
+        static TimeSeriesIndex getTimeSeriesIndex(TLongArrayList times) {
+            // check time spacing is regular
+            long spacing = checkRegularSpacing(times);
             if (spacing != Long.MIN_VALUE) {
                 return new RegularTimeSeriesIndex(times.get(0), times.get(times.size() - 1), spacing);
             } else {
-                return new IrregularTimeSeriesIndex(times.stream().mapToLong(l -> l).toArray());
+                return new IrregularTimeSeriesIndex(times.toArray());
             }
         }
 
-        private long checkRegularSpacing() {
+        private static long checkRegularSpacing(TLongArrayList times) {
             if (times.size() < 2) {
                 throw new TimeSeriesException("At least 2 rows are expected");
             }
@@ -409,6 +453,15 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
         }
     }
 
+    static CsvParserSettings createCsvParserSettings(TimeSeriesCsvConfig timeSeriesCsvConfig) {
+        CsvParserSettings settings = new CsvParserSettings();
+        settings.getFormat().setDelimiter(timeSeriesCsvConfig.separator());
+        settings.getFormat().setQuoteEscape('"');
+        settings.getFormat().setLineSeparator(System.lineSeparator());
+        settings.setMaxColumns(timeSeriesCsvConfig.getMaxColumns());
+        return settings;
+    }
+
     static Map<Integer, List<TimeSeries>> parseCsv(BufferedReader reader, TimeSeriesCsvConfig timeSeriesCsvConfig) {
         Objects.requireNonNull(reader);
 
@@ -416,12 +469,7 @@ public interface TimeSeries<P extends AbstractPoint, T extends TimeSeries<P, T>>
 
         Map<Integer, List<TimeSeries>> timeSeriesPerVersion = new HashMap<>();
 
-        CsvParserSettings settings = new CsvParserSettings();
-        settings.getFormat().setDelimiter(timeSeriesCsvConfig.separator());
-        settings.getFormat().setQuoteEscape('"');
-        settings.getFormat().setLineSeparator(System.lineSeparator());
-        settings.setMaxColumns(timeSeriesCsvConfig.getMaxColumns());
-        CsvParser csvParser = new CsvParser(settings);
+        CsvParser csvParser = new CsvParser(createCsvParserSettings(timeSeriesCsvConfig));
         ResultIterator<String[], ParsingContext> iterator = csvParser.iterate(reader).iterator();
         CsvParsingContext context = readCsvHeader(iterator, timeSeriesCsvConfig);
         readCsvValues(iterator, context, timeSeriesPerVersion);
@@ -0,0 +1,333 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Resampling and rolling window aggregations of double time series.
+ * <p>
+ * Values are read directly from the data chunks and never boxed into points: a RLE compressed step is dispatched to
+ * the resampling buckets it overlaps as a run of a same value, so that its aggregation cost does not depend on its
+ * length. Aggregations of a list of time series are computed in parallel, one time series per task.
+ *
+ * @author agent <agent at local>
+ */
+public final class TimeSeriesAggregator {
+
+    /**
+     * Aggregation of runs of values into groups.
+     */
+    static final class Accumulator {
+
+        private final AggregationType type;
+
+        private final double[] results;
+
+        private final int[] counts;
+
+        Accumulator(AggregationType type, int size) {
+            this.type = Objects.requireNonNull(type);
+            results = new double[size];
+            counts = new int[size];
+        }
+
+        void add(int group, double value, int count) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            results[group] = counts[group] == 0 ? type.init(value, count) : type.accumulate(results[group], value, count);
+            counts[group] += count;
+        }
+
+        double[] getResults() {
+            for (int group = 0; group < results.length; group++) {
+                results[group] = counts[group] == 0 ? Double.NaN : type.complete(results[group], counts[group]);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Dispatch runs of values, indexed by the points of a source index, to the buckets of a regular index. A bucket
+     * contains the source points in [time of the bucket, time of the bucket + spacing[. Runs have to be added in
+     * increasing point order.
+     */
+    static final class Resampler {
+
+        private final TimeSeriesIndex index;
+
+        private final long startTime;
+
+        private final long spacing;
+
+        private final int bucketCount;
+
+        private final Accumulator accumulator;
+
+        Resampler(TimeSeriesIndex index, RegularTimeSeriesIndex newIndex, AggregationType type) {
+            this.index = Objects.requireNonNull(index);
+            startTime = newIndex.getStartTime();
+            spacing = newIndex.getSpacing();
+            bucketCount = newIndex.getPointCount();
+            accumulator = new Accumulator(type, bucketCount);
+        }
+
+        /**
+         * Add a run of {@code length} times {@code value} starting at {@code point}.
+         *
+         * @return false if the run is after the last bucket, so that next runs can be skipped
+         */
+        boolean addRun(int point, int length, double value) {
+            int p = point;
+            int end = point + length;
+            while (p < end) {
+                long time = index.getTimeAt(p);
+                long bucket = time < startTime ? -1 : (time - startTime) / spacing;
+                if (bucket >= bucketCount) {
+                    return false;
+                }
+                int bucketEnd = getFirstPointNotBefore(p, end, startTime + (bucket + 1) * spacing);
+                if (bucket >= 0) {
+                    accumulator.add((int) bucket, value, bucketEnd - p);
+                }
+                p = bucketEnd;
+            }
+            return true;
+        }
+
+        private int getFirstPointNotBefore(int point, int end, long time) {
+            if (index instanceof RegularTimeSeriesIndex) {
+                RegularTimeSeriesIndex regularIndex = (RegularTimeSeriesIndex) index;
+                long firstPoint = Math.floorDiv(time - regularIndex.getStartTime() - 1, regularIndex.getSpacing()) + 1;
+                return (int) Math.max(point + 1, Math.min(end, firstPoint));
+            }
+            int p = point + 1;
+            while (p < end && index.getTimeAt(p) < time) {
+                p++;
+            }
+            return p;
+        }
+
+        double[] getResults() {
+            return accumulator.getResults();
+        }
+    }
+
+    private TimeSeriesAggregator() {
+    }
+
+    private static boolean addChunk(Resampler resampler, DoubleDataChunk chunk) {
+        int point = chunk.getOffset();
+        if (chunk instanceof CompressedDoubleDataChunk) {
+            double[] stepValues = ((CompressedDoubleDataChunk) chunk).getStepValues();
+            int[] stepLengths = ((CompressedDoubleDataChunk) chunk).getStepLengths();
+            for (int step = 0; step < stepValues.length; step++) {
+                if (!resampler.addRun(point, stepLengths[step], stepValues[step])) {
+                    return false;
+                }
+                point += stepLengths[step];
+            }
+        } else if (chunk instanceof MappedCompressedDoubleDataChunk) {
+            DoubleBuffer stepValues = ((MappedCompressedDoubleDataChunk) chunk).getStepValues();
+            IntBuffer stepLengths = ((MappedCompressedDoubleDataChunk) chunk).getStepLengths();
+            for (int step = 0; step < stepValues.limit(); step++) {
+                if (!resampler.addRun(point, stepLengths.get(step), stepValues.get(step))) {
+                    return false;
+                }
+                point += stepLengths.get(step);
+            }
+        } else {
+            double[] values;
+            if (chunk instanceof UncompressedDoubleDataChunk) {
+                values = ((UncompressedDoubleDataChunk) chunk).getValues();
+            } else {
+                values = new double[chunk.getLength()];
+                chunk.fillBuffer(DoubleBuffer.wrap(values), -chunk.getOffset());
+            }
+            return addValues(resampler, point, values.length, i -> values[i]);
+        }
+        return true;
+    }
+
+    private static boolean addValues(Resampler resampler, int offset, int length, IntToDoubleFunction values) {
+        // consecutive equal values are dispatched as a single run
+        int runStart = 0;
+        while (runStart < length) {
+            double value = values.applyAsDouble(runStart);
+            int runEnd = runStart + 1;
+            while (runEnd < length && Double.compare(values.applyAsDouble(runEnd), value) == 0) {
+                runEnd++;
+            }
+            if (!resampler.addRun(offset + runStart, runEnd - runStart, value)) {
+                return false;
+            }
+            runStart = runEnd;
+        }
+        return true;
+    }
+
+    /**
+     * Aggregate {@code length} values, indexed by the points of {@code index}, into the buckets of {@code newIndex}.
+     */
+    static double[] resample(TimeSeriesIndex index, int length, IntToDoubleFunction values, RegularTimeSeriesIndex newIndex,
+                             AggregationType type) {
+        Resampler resampler = new Resampler(index, newIndex, type);
+        addValues(resampler, 0, length, values);
+        return resampler.getResults();
+    }
+
+    private static double[] resampleValues(DoubleTimeSeries timeSeries, RegularTimeSeriesIndex newIndex, AggregationType type) {
+        TimeSeriesIndex index = timeSeries.getMetadata().getIndex();
+        if (!(timeSeries instanceof StoredDoubleTimeSeries)) {
+            double[] values = timeSeries.toArray();
+            return resample(index, values.length, i -> values[i], newIndex, type);
+        }
+        Resampler resampler = new Resampler(index, newIndex, type);
+        List<DoubleDataChunk> chunks = new ArrayList<>(((StoredDoubleTimeSeries) timeSeries).getChunks());
+        chunks.sort(Comparator.comparingInt(DataChunk::getOffset));
+        for (DoubleDataChunk chunk : chunks) {
+            if (!addChunk(resampler, chunk)) {
+                break;
+            }
+        }
+        return resampler.getResults();
+    }
+
+    private static DoubleTimeSeries createTimeSeries(TimeSeriesMetadata metadata, TimeSeriesIndex index, double[] values) {
+        return new StoredDoubleTimeSeries(new TimeSeriesMetadata(metadata.getName(), metadata.getDataType(), metadata.getTags(), index),
+                new UncompressedDoubleDataChunk(0, values).tryToCompress());
+    }
+
+    /**
+     * Resample a time series to a regular index: the value at a point of the new index is the aggregation of the
+     * values at times in [time of the point, time of the point + spacing[.
+     */
+    public static DoubleTimeSeries resample(DoubleTimeSeries timeSeries, RegularTimeSeriesIndex newIndex, AggregationType type) {
+        Objects.requireNonNull(timeSeries);
+        Objects.requireNonNull(newIndex);
+        Objects.requireNonNull(type);
+        return createTimeSeries(timeSeries.getMetadata(), newIndex, resampleValues(timeSeries, newIndex, type));
+    }
+
+    /**
+     * Resample time series in parallel.
+     *
+     * @see #resample(DoubleTimeSeries, RegularTimeSeriesIndex, AggregationType)
+     */
+    public static List<DoubleTimeSeries> resample(List<DoubleTimeSeries> timeSeriesList, RegularTimeSeriesIndex newIndex,
+                                                  AggregationType type) {
+        Objects.requireNonNull(timeSeriesList);
+        return timeSeriesList.parallelStream()
+                .map(timeSeries -> resample(timeSeries, newIndex, type))
+                .collect(Collectors.toList());
+    }
+
+    private static void checkWindowSize(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size has to be strictly positive: " + windowSize);
+        }
+    }
+
+    /**
+     * Aggregate values over a trailing window of {@code windowSize} points: result at point i is the aggregation of
+     * values at points [i - windowSize + 1, i]. Each value is added and removed once, so that the computation is
+     * linear in the number of points whatever the window size.
+     */
+    static double[] rollingWindow(double[] values, int windowSize, AggregationType type) {
+        checkWindowSize(windowSize);
+        Objects.requireNonNull(type);
+        double[] results = new double[values.length];
+        // indexes of the non NaN values of the window which may be the result, as a queue; for min and max the
+        // queue is kept monotonic, so that the result is always at the head
+        int[] queue = new int[values.length];
+        int head = 0;
+        int tail = 0;
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            int windowStart = i - windowSize + 1;
+            double value = values[i];
+            if (windowStart > 0 && !Double.isNaN(values[windowStart - 1])) {
+                sum -= values[windowStart - 1];
+                count--;
+            }
+            while (head < tail && queue[head] < windowStart) {
+                head++;
+            }
+            if (!Double.isNaN(value)) {
+                sum += value;
+                count++;
+                if (type == AggregationType.MIN) {
+                    while (head < tail && values[queue[tail - 1]] >= value) {
+                        tail--;
+                    }
+                } else if (type == AggregationType.MAX) {
+                    while (head < tail && values[queue[tail - 1]] <= value) {
+                        tail--;
+                    }
+                }
+                queue[tail++] = i;
+            }
+            if (count == 0) {
+                results[i] = Double.NaN;
+                continue;
+            }
+            switch (type) {
+                case SUM:
+                    results[i] = sum;
+                    break;
+                case MEAN:
+                    results[i] = sum / count;
+                    break;
+                case MIN:
+                case MAX:
+                case FIRST:
+                    results[i] = values[queue[head]];
+                    break;
+                case LAST:
+                    results[i] = values[queue[tail - 1]];
+                    break;
+                default:
+                    throw new AssertionError("Unknown aggregation type " + type);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Aggregate a time series over a trailing window of {@code windowSize} points, the resulting time series has
+     * the same index.
+     *
+     * @see #rollingWindow(double[], int, AggregationType)
+     */
+    public static DoubleTimeSeries rollingWindow(DoubleTimeSeries timeSeries, int windowSize, AggregationType type) {
+        Objects.requireNonNull(timeSeries);
+        TimeSeriesIndex index = timeSeries.getMetadata().getIndex();
+        return createTimeSeries(timeSeries.getMetadata(), index, rollingWindow(timeSeries.toArray(), windowSize, type));
+    }
+
+    /**
+     * Aggregate time series over a rolling window in parallel.
+     *
+     * @see #rollingWindow(DoubleTimeSeries, int, AggregationType)
+     */
+    public static List<DoubleTimeSeries> rollingWindow(List<DoubleTimeSeries> timeSeriesList, int windowSize, AggregationType type) {
+        Objects.requireNonNull(timeSeriesList);
+        checkWindowSize(windowSize);
+        return timeSeriesList.parallelStream()
+                .map(timeSeries -> rollingWindow(timeSeries, windowSize, type))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,387 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.google.common.base.Stopwatch;
+import com.univocity.parsers.common.ParsingContext;
+import com.univocity.parsers.common.ResultIterator;
+import com.univocity.parsers.csv.CsvParser;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse a time series CSV file in parallel.
+ * <p>
+ * The file is split on line boundaries in segments which are parsed independently by executor tasks. Each task
+ * parses its lines directly into primitive column buffers and turns them into data chunks (compressed if
+ * efficient) for each run of lines of the same version. Chunks of all the segments are then assembled, without any
+ * copy, in time series. Data types are guessed from the first line of data, as for the sequential parsing.
+ * <p>
+ * Line splitting relies on line separators, so quoted values are not allowed to span several lines.
+ *
+ * @author agent <agent at local>
+ */
+class TimeSeriesCsvParallelParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesCsvParallelParser.class);
+
+    static final long DEFAULT_SEGMENT_SIZE = 32L * 1024 * 1024;
+
+    private static final int MAX_SEGMENT_SIZE = 1024 * 1024 * 1024;
+
+    private static final int LINE_END_SEARCH_BUFFER_SIZE = 8192;
+
+    private final Path file;
+
+    private final TimeSeriesCsvConfig timeSeriesCsvConfig;
+
+    private final Executor executor;
+
+    private final long segmentSize;
+
+    /**
+     * Lines of a segment having the same version.
+     */
+    private static final class Run {
+
+        private final int version;
+
+        private final long[] times;
+
+        private final DataChunk[] chunks;
+
+        private Run(int version, long[] times, DataChunk[] chunks) {
+            this.version = version;
+            this.times = times;
+            this.chunks = chunks;
+        }
+    }
+
+    /**
+     * Data of a version, assembled from the runs of all the segments.
+     */
+    private static final class VersionData {
+
+        private final int version;
+
+        private final TLongArrayList times = new TLongArrayList();
+
+        private final List<List<DataChunk>> chunks;
+
+        private VersionData(int version, int columnCount) {
+            this.version = version;
+            chunks = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                chunks.add(new ArrayList<>());
+            }
+        }
+    }
+
+    TimeSeriesCsvParallelParser(Path file, TimeSeriesCsvConfig timeSeriesCsvConfig, Executor executor) {
+        this(file, timeSeriesCsvConfig, executor, DEFAULT_SEGMENT_SIZE);
+    }
+
+    TimeSeriesCsvParallelParser(Path file, TimeSeriesCsvConfig timeSeriesCsvConfig, Executor executor, long segmentSize) {
+        this.file = Objects.requireNonNull(file);
+        this.timeSeriesCsvConfig = Objects.requireNonNull(timeSeriesCsvConfig);
+        this.executor = Objects.requireNonNull(executor);
+        if (segmentSize < 1 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    Map<Integer, List<TimeSeries>> parse() {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        Map<Integer, List<TimeSeries>> timeSeriesPerVersion;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long headerEnd = findLineEnd(channel, 0, size);
+            if (size - headerEnd <= segmentSize) {
+                // not worth to be parallelized
+                return TimeSeries.parseCsv(file, timeSeriesCsvConfig);
+            }
+
+            CsvParser csvParser = new CsvParser(TimeSeries.createCsvParserSettings(timeSeriesCsvConfig));
+            ResultIterator<String[], ParsingContext> headerIterator = csvParser.iterate(new StringReader(readString(channel, 0, headerEnd))).iterator();
+            TimeSeries.CsvParsingContext context = TimeSeries.readCsvHeader(headerIterator, timeSeriesCsvConfig);
+            TimeSeriesDataType[] dataTypes = guessDataTypes(channel, csvParser, context, headerEnd, size);
+
+            List<CompletableFuture<List<Run>>> futures = new ArrayList<>();
+            long start = headerEnd;
+            while (start < size) {
+                long end = findLineEnd(channel, Math.min(start + segmentSize, size), size);
+                long segmentStart = start;
+                futures.add(CompletableFuture.supplyAsync(() -> parseSegment(channel, segmentStart, end, context, dataTypes), executor));
+                start = end;
+            }
+
+            timeSeriesPerVersion = merge(futures, context, dataTypes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LOGGER.info("{} time series loaded from CSV in {} ms",
+                timeSeriesPerVersion.entrySet().stream().mapToInt(e -> e.getValue().size()).sum(),
+                stopwatch.elapsed(TimeUnit.MILLISECONDS));
+
+        return timeSeriesPerVersion;
+    }
+
+    /**
+     * Find the position following the end of the line including the given position.
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LINE_END_SEARCH_BUFFER_SIZE);
+        long p = position;
+        while (p < size) {
+            buffer.clear();
+            int read = channel.read(buffer, p);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return p + i + 1;
+                }
+            }
+            p += read;
+        }
+        return size;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long start, long end) throws IOException {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (UnsupportedOperationException e) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static String readString(FileChannel channel, long start, long end) throws IOException {
+        return StandardCharsets.UTF_8.decode(read(channel, start, end)).toString();
+    }
+
+    private TimeSeriesDataType[] guessDataTypes(FileChannel channel, CsvParser csvParser, TimeSeries.CsvParsingContext context,
+                                                long dataStart, long size) throws IOException {
+        // first non empty line
+        long start = dataStart;
+        String[] tokens = null;
+        while (tokens == null && start < size) {
+            long end = findLineEnd(channel, start, size);
+            tokens = csvParser.parseLine(readString(channel, start, end));
+            start = end;
+        }
+        if (tokens == null || tokens.length != context.expectedTokens()) {
+            throw new TimeSeriesException("Columns of line 0 are inconsistent with header");
+        }
+        int fixedColumns = tokens.length - context.getNames().size();
+        TimeSeriesDataType[] dataTypes = new TimeSeriesDataType[context.getNames().size()];
+        for (int i = 0; i < dataTypes.length; i++) {
+            dataTypes[i] = TimeSeries.CsvParsingContext.guessDataType(trim(tokens[fixedColumns + i]));
+        }
+        return dataTypes;
+    }
+
+    private static String trim(String token) {
+        return token != null ? token.trim() : "";
+    }
+
+    /**
+     * Input stream reading a byte buffer, so that a mapped segment is decoded while being parsed.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, n);
+            return n;
+        }
+    }
+
+    private List<Run> parseSegment(FileChannel channel, long start, long end, TimeSeries.CsvParsingContext context,
+                                   TimeSeriesDataType[] dataTypes) {
+        ByteBuffer buffer;
+        try {
+            buffer = read(channel, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int fixedColumns = context.expectedTokens() - dataTypes.length;
+        TLongArrayList times = new TLongArrayList();
+        Object[] values = new Object[dataTypes.length];
+        for (int i = 0; i < dataTypes.length; i++) {
+            values[i] = dataTypes[i] == TimeSeriesDataType.DOUBLE ? new TDoubleArrayList() : new ArrayList<String>();
+        }
+        List<Run> runs = new ArrayList<>();
+        int currentVersion = Integer.MIN_VALUE;
+        int line = 0;
+        CsvParser csvParser = new CsvParser(TimeSeries.createCsvParserSettings(timeSeriesCsvConfig));
+        for (String[] tokens : csvParser.iterate(new InputStreamReader(new ByteBufferInputStream(buffer), StandardCharsets.UTF_8))) {
+            if (tokens.length != context.expectedTokens()) {
+                throw new TimeSeriesException("Columns of line " + line + " after byte " + start + " are inconsistent with header");
+            }
+            int version = context.getVersion(tokens);
+            if (currentVersion == Integer.MIN_VALUE) {
+                currentVersion = version;
+            } else if (version != currentVersion) {
+                runs.add(createRun(currentVersion, times, values, dataTypes));
+                currentVersion = version;
+            }
+            for (int i = 0; i < dataTypes.length; i++) {
+                String token = trim(tokens[fixedColumns + i]);
+                if (dataTypes[i] == TimeSeriesDataType.DOUBLE) {
+                    ((TDoubleArrayList) values[i]).add(TimeSeries.parseDouble(token));
+                } else {
+                    ((List<String>) values[i]).add(TimeSeries.checkString(token));
+                }
+            }
+            times.add(TimeSeries.CsvParsingContext.parseTime(tokens[0], timeSeriesCsvConfig));
+            line++;
+        }
+        if (!times.isEmpty()) {
+            runs.add(createRun(currentVersion, times, values, dataTypes));
+        }
+        return runs;
+    }
+
+    private static Run createRun(int version, TLongArrayList times, Object[] values, TimeSeriesDataType[] dataTypes) {
+        DataChunk[] chunks = new DataChunk[dataTypes.length];
+        for (int i = 0; i < dataTypes.length; i++) {
+            if (dataTypes[i] == TimeSeriesDataType.DOUBLE) {
+                TDoubleArrayList doubleValues = (TDoubleArrayList) values[i];
+                chunks[i] = new UncompressedDoubleDataChunk(0, doubleValues.toArray()).tryToCompress();
+                doubleValues.resetQuick();
+            } else {
+                List<String> stringValues = (List<String>) values[i];
+                chunks[i] = new UncompressedStringDataChunk(0, stringValues.toArray(new String[0])).tryToCompress();
+                stringValues.clear();
+            }
+        }
+        Run run = new Run(version, times.toArray(), chunks);
+        times.resetQuick();
+        return run;
+    }
+
+    /**
+     * Chunks are created by the segment tasks at offset 0, move them to their offset in the version data.
+     */
+    private static DataChunk moveChunk(DataChunk chunk, int offset) {
+        if (chunk instanceof UncompressedDoubleDataChunk) {
+            return new UncompressedDoubleDataChunk(offset, ((UncompressedDoubleDataChunk) chunk).getValues());
+        } else if (chunk instanceof CompressedDoubleDataChunk) {
+            CompressedDoubleDataChunk compressedChunk = (CompressedDoubleDataChunk) chunk;
+            return new CompressedDoubleDataChunk(offset, compressedChunk.getUncompressedLength(), compressedChunk.getStepValues(), compressedChunk.getStepLengths());
+        } else if (chunk instanceof UncompressedStringDataChunk) {
+            return new UncompressedStringDataChunk(offset, ((UncompressedStringDataChunk) chunk).getValues());
+        } else if (chunk instanceof CompressedStringDataChunk) {
+            CompressedStringDataChunk compressedChunk = (CompressedStringDataChunk) chunk;
+            return new CompressedStringDataChunk(offset, compressedChunk.getUncompressedLength(), compressedChunk.getStepValues(), compressedChunk.getStepLengths());
+        } else {
+            throw new AssertionError("Unexpected chunk type " + chunk.getClass());
+        }
+    }
+
+    private Map<Integer, List<TimeSeries>> merge(List<CompletableFuture<List<Run>>> futures, TimeSeries.CsvParsingContext context,
+                                                 TimeSeriesDataType[] dataTypes) {
+        Map<Integer, List<TimeSeries>> timeSeriesPerVersion = new HashMap<>();
+        VersionData versionData = null;
+        for (CompletableFuture<List<Run>> future : futures) {
+            List<Run> runs;
+            try {
+                runs = future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            for (Run run : runs) {
+                if (versionData == null) {
+                    versionData = new VersionData(run.version, dataTypes.length);
+                } else if (run.version != versionData.version) {
+                    timeSeriesPerVersion.put(versionData.version, createTimeSeries(versionData, context, dataTypes));
+                    versionData = new VersionData(run.version, dataTypes.length);
+                }
+                int offset = versionData.times.size();
+                for (int i = 0; i < dataTypes.length; i++) {
+                    versionData.chunks.get(i).add(moveChunk(run.chunks[i], offset));
+                }
+                versionData.times.add(run.times);
+            }
+        }
+        if (versionData != null) {
+            timeSeriesPerVersion.put(versionData.version, createTimeSeries(versionData, context, dataTypes));
+        }
+        return timeSeriesPerVersion;
+    }
+
+    private static List<TimeSeries> createTimeSeries(VersionData versionData, TimeSeries.CsvParsingContext context,
+                                                     TimeSeriesDataType[] dataTypes) {
+        TimeSeriesIndex index = context.checkIndex(TimeSeries.CsvParsingContext.getTimeSeriesIndex(versionData.times));
+        List<String> names = context.getNames();
+        List<TimeSeries> timeSeriesList = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            if (Objects.isNull(names.get(i))) {
+                LOGGER.warn("Timeseries without name");
+                continue;
+            }
+            TimeSeriesMetadata metadata = new TimeSeriesMetadata(names.get(i), dataTypes[i], index);
+            List<DataChunk> chunks = versionData.chunks.get(i);
+            if (dataTypes[i] == TimeSeriesDataType.DOUBLE) {
+                List<DoubleDataChunk> doubleChunks = new ArrayList<>(chunks.size());
+                chunks.forEach(chunk -> doubleChunks.add((DoubleDataChunk) chunk));
+                timeSeriesList.add(new StoredDoubleTimeSeries(metadata, doubleChunks));
+            } else {
+                List<StringDataChunk> stringChunks = new ArrayList<>(chunks.size());
+                chunks.forEach(chunk -> stringChunks.add((StringDataChunk) chunk));
+                timeSeriesList.add(new StringTimeSeries(metadata, stringChunks));
+            }
+        }
+        return timeSeriesList;
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.google.common.base.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write time series to CSV, row by row, reading values through a cursor per column: neither points nor stored time
+ * series are materialized, and a repeated value, for instance in a RLE compressed chunk, is only formatted once.
+ *
+ * @author agent <agent at local>
+ */
+class TimeSeriesCsvWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesCsvWriter.class);
+
+    private final TimeSeriesCsvConfig timeSeriesCsvConfig;
+
+    private final Map<Integer, List<TimeSeries>> timeSeriesPerVersion;
+
+    /**
+     * Cursor on the formatted values of a time series.
+     */
+    private interface ColumnCursor {
+
+        /**
+         * Move to the next point.
+         *
+         * @return the formatted value of the point or null if there is no value
+         */
+        String nextFormattedValue();
+    }
+
+    private static final class DoubleColumnCursor implements ColumnCursor {
+
+        private final DoublePointCursor cursor;
+
+        private double value = Double.NaN;
+
+        private String formattedValue;
+
+        private DoubleColumnCursor(DoublePointCursor cursor) {
+            this.cursor = Objects.requireNonNull(cursor);
+        }
+
+        @Override
+        public String nextFormattedValue() {
+            if (!cursor.next()) {
+                return null;
+            }
+            double newValue = cursor.getValue();
+            if (Double.isNaN(newValue)) {
+                return null;
+            }
+            // a repeated value, for instance a step of a RLE compressed chunk, is only formatted once
+            if (Double.doubleToLongBits(newValue) != Double.doubleToLongBits(value)) {
+                value = newValue;
+                formattedValue = Double.toString(newValue);
+            }
+            return formattedValue;
+        }
+    }
+
+    private static final class StringColumnCursor implements ColumnCursor {
+
+        private final List<StringDataChunk> chunks;
+
+        private int chunkNum = -1;
+
+        private int chunkStart = 0;
+
+        private int chunkEnd = 0;
+
+        private String[] values;
+
+        // null for uncompressed values
+        private int[] stepLengths;
+
+        // current step in chunk, an uncompressed value is a step of length 1
+        private int step;
+
+        private int stepEnd;
+
+        private int point = -1;
+
+        private StringColumnCursor(List<StringDataChunk> chunks) {
+            this.chunks = new ArrayList<>(chunks);
+            this.chunks.sort(Comparator.comparingInt(DataChunk::getOffset));
+        }
+
+        private void loadChunk(StringDataChunk chunk) {
+            if (chunk instanceof CompressedStringDataChunk) {
+                values = ((CompressedStringDataChunk) chunk).getStepValues();
+                stepLengths = ((CompressedStringDataChunk) chunk).getStepLengths();
+            } else if (chunk instanceof UncompressedStringDataChunk) {
+                values = ((UncompressedStringDataChunk) chunk).getValues();
+                stepLengths = null;
+            } else {
+                throw new TimeSeriesException("Unsupported data chunk type " + chunk.getClass().getName());
+            }
+        }
+
+        @Override
+        public String nextFormattedValue() {
+            point++;
+            while (point >= chunkEnd && chunkNum < chunks.size() - 1) {
+                StringDataChunk chunk = chunks.get(++chunkNum);
+                chunkStart = chunk.getOffset();
+                chunkEnd = chunkStart + chunk.getLength();
+                loadChunk(chunk);
+                step = -1;
+                stepEnd = chunkStart;
+            }
+            if (point < chunkStart || point >= chunkEnd) {
+                // gap between chunks
+                return null;
+            }
+            while (point >= stepEnd) {
+                step++;
+                stepEnd += stepLengths != null ? stepLengths[step] : 1;
+            }
+            return values[step];
+        }
+    }
+
+    TimeSeriesCsvWriter(TimeSeriesCsvConfig timeSeriesCsvConfig, Map<Integer, List<TimeSeries>> timeSeriesPerVersion) {
+        this.timeSeriesCsvConfig = Objects.requireNonNull(timeSeriesCsvConfig);
+        this.timeSeriesPerVersion = new TreeMap<>(Objects.requireNonNull(timeSeriesPerVersion));
+    }
+
+    private static ColumnCursor createCursor(TimeSeries timeSeries) {
+        if (timeSeries instanceof DoubleTimeSeries) {
+            return new DoubleColumnCursor(((DoubleTimeSeries) timeSeries).cursor());
+        } else if (timeSeries instanceof StringTimeSeries) {
+            return new StringColumnCursor(((StringTimeSeries) timeSeries).getChunks());
+        } else {
+            throw new TimeSeriesException("Unsupported time series type " + timeSeries.getClass().getName());
+        }
+    }
+
+    private List<String> getNames() {
+        // all names, in order of first appearance
+        Set<String> names = new LinkedHashSet<>();
+        for (List<TimeSeries> timeSeriesList : timeSeriesPerVersion.values()) {
+            for (TimeSeries timeSeries : timeSeriesList) {
+                names.add(timeSeries.getMetadata().getName());
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private TimeSeriesIndex getIndex() {
+        TimeSeriesIndex index = null;
+        for (List<TimeSeries> timeSeriesList : timeSeriesPerVersion.values()) {
+            for (TimeSeries timeSeries : timeSeriesList) {
+                if (index == null) {
+                    index = timeSeries.getMetadata().getIndex();
+                } else if (!index.equals(timeSeries.getMetadata().getIndex())) {
+                    throw new TimeSeriesException("Time series must have the same index: " + index + " != "
+                            + timeSeries.getMetadata().getIndex());
+                }
+            }
+        }
+        return index;
+    }
+
+    private void writeHeader(Writer writer, List<String> names) throws IOException {
+        writer.write("Time");
+        if (timeSeriesCsvConfig.versioned()) {
+            writer.write(timeSeriesCsvConfig.separator());
+            writer.write("Version");
+        }
+        for (String name : names) {
+            writer.write(timeSeriesCsvConfig.separator());
+            writer.write(name);
+        }
+        writer.write(System.lineSeparator());
+    }
+
+    private void writeTime(Writer writer, long time) throws IOException {
+        switch (timeSeriesCsvConfig.timeFormat()) {
+            case DATE_TIME:
+                ZonedDateTime dateTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+                writer.write(dateTime.format(timeSeriesCsvConfig.dateTimeFormatter()));
+                break;
+            case FRACTIONS_OF_SECOND:
+                writer.write(Double.toString(time / 1000.0));
+                break;
+            case MILLIS:
+                writer.write(Long.toString(time));
+                break;
+            default:
+                throw new AssertionError("Unknown time format " + timeSeriesCsvConfig.timeFormat());
+        }
+    }
+
+    private void writeVersion(Writer writer, int version, List<TimeSeries> timeSeriesList, List<String> names,
+                              TimeSeriesIndex index) throws IOException {
+        Map<String, TimeSeries> timeSeriesByName = new HashMap<>();
+        for (TimeSeries timeSeries : timeSeriesList) {
+            timeSeriesByName.put(timeSeries.getMetadata().getName(), timeSeries);
+        }
+        ColumnCursor[] cursors = new ColumnCursor[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            TimeSeries timeSeries = timeSeriesByName.get(names.get(i));
+            cursors[i] = timeSeries != null ? createCursor(timeSeries) : null;
+        }
+        String versionStr = Integer.toString(version);
+        for (int point = 0; point < index.getPointCount(); point++) {
+            writeTime(writer, index.getTimeAt(point));
+            if (timeSeriesCsvConfig.versioned()) {
+                writer.write(timeSeriesCsvConfig.separator());
+                writer.write(versionStr);
+            }
+            for (ColumnCursor cursor : cursors) {
+                writer.write(timeSeriesCsvConfig.separator());
+                if (cursor != null) {
+                    String value = cursor.nextFormattedValue();
+                    if (value != null) {
+                        writer.write(value);
+                    }
+                }
+            }
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    void write(Writer writer) {
+        Objects.requireNonNull(writer);
+
+        Stopwatch stopWatch = Stopwatch.createStarted();
+
+        try {
+            List<String> names = getNames();
+            writeHeader(writer, names);
+            TimeSeriesIndex index = getIndex();
+            if (index != null) {
+                for (Map.Entry<Integer, List<TimeSeries>> e : timeSeriesPerVersion.entrySet()) {
+                    writeVersion(writer, e.getKey(), e.getValue(), names, index);
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LOGGER.info("Csv written in {} ms", stopWatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+}
@@ -45,6 +45,7 @@ import java.util.zip.GZIPOutputStream;
  *     <li>Versions have to contiguous</li>
  *     <li>Once first batch of time series has been loaded, new time series cannot be added but data of existing one can be updated</li>
  *     <li>Concurrent load (i.e multi-thread) of data is supported (using same time series list)</li>
+ *     <li>Tables larger than the memory can be backed by memory mapped files using a {@link MappedByteBufferAllocator}</li>
  *     <li>Concurrency between data loading and other operations (CSV writing, statistics computation) is NOT supported</li>
  * </ul>
  *
@@ -145,8 +146,18 @@ public class TimeSeriesTable {
 
     private double[] stdDevs;
 
+    // statistics of each pair of double time series accumulated over versions
+    private PairwiseStatistics versionsStatistics;
+
+    private boolean[] loadedVersions;
+
+    private boolean[] accumulatedVersions;
+
     private final Lock statsLock = new ReentrantLock();
 
+    // string buffer dictionary is not thread safe
+    private final Lock stringLock = new ReentrantLock();
+
     public TimeSeriesTable(int fromVersion, int toVersion, TimeSeriesIndex tableIndex) {
         this(fromVersion, toVersion, tableIndex, ByteBuffer::allocateDirect);
     }
@@ -171,6 +182,14 @@ public class TimeSeriesTable {
         return new TimeSeriesTable(fromVersion, toVersion, tableIndex, ByteBuffer::allocate);
     }
 
+    /**
+     * Create a table backed by memory mapped temporary files, the allocator has to be closed once the table is no
+     * longer used.
+     */
+    public static TimeSeriesTable createMapped(int fromVersion, int toVersion, TimeSeriesIndex tableIndex, MappedByteBufferAllocator allocator) {
+        return new TimeSeriesTable(fromVersion, toVersion, tableIndex, allocator);
+    }
+
     private void initTable(List<DoubleTimeSeries> doubleTimeSeries, List<StringTimeSeries> stringTimeSeries) {
         initLock.lock();
         try {
@@ -220,6 +239,9 @@ public class TimeSeriesTable {
 
             stdDevs = new double[doubleTimeSeriesNames.size() * versionCount];
             Arrays.fill(stdDevs, Double.NaN);
+
+            loadedVersions = new boolean[versionCount];
+            accumulatedVersions = new boolean[versionCount];
         } catch (Exception e) {
             LOGGER.error(e.toString(), e);
             timeSeriesMetadata = null;
@@ -230,6 +252,8 @@ public class TimeSeriesTable {
             stringBuffer = null;
             means = null;
             stdDevs = null;
+            loadedVersions = null;
+            accumulatedVersions = null;
             throw e;
         } finally {
             initLock.unlock();
@@ -283,9 +307,9 @@ public class TimeSeriesTable {
         // check time series exists in the table
         int timeSeriesNum = doubleTimeSeriesNames.getIndex(timeSeries.getMetadata().getName());
 
-        // copy data
+        // copy data, points without value are reset to NaN
         long timeSeriesOffset = getTimeSeriesOffset(version, timeSeriesNum);
-        timeSeries.fillBuffer(doubleBuffer, timeSeriesOffset);
+        timeSeries.forEachValue((point, value) -> doubleBuffer.put(timeSeriesOffset + point, value));
 
         // invalidate statistics
         invalidateStatistics(version, timeSeriesNum);
@@ -297,7 +321,12 @@ public class TimeSeriesTable {
 
         // copy data
         long timeSeriesOffset = getTimeSeriesOffset(version, timeSeriesNum);
-        timeSeries.fillBuffer(stringBuffer, timeSeriesOffset);
+        stringLock.lock();
+        try {
+            timeSeries.fillBuffer(stringBuffer, timeSeriesOffset);
+        } finally {
+            stringLock.unlock();
+        }
     }
 
     @SafeVarargs
@@ -343,6 +372,27 @@ public class TimeSeriesTable {
                 stopWatch.elapsed(TimeUnit.MILLISECONDS));
     }
 
+    /**
+     * Load, in parallel, several versions of time series. Versions are written to distinct parts of the table, so
+     * a time series instance must not be shared by several versions.
+     */
+    public void load(Map<Integer, List<TimeSeries>> timeSeriesByVersion) {
+        Objects.requireNonNull(timeSeriesByVersion);
+        if (timeSeriesByVersion.isEmpty()) {
+            throw new TimeSeriesException("Empty time series version map");
+        }
+        timeSeriesByVersion.keySet().forEach(this::checkVersionIsInRange);
+
+        Stopwatch stopWatch = Stopwatch.createStarted();
+
+        timeSeriesByVersion.entrySet()
+                .parallelStream()
+                .forEach(e -> load(e.getKey(), e.getValue()));
+
+        LOGGER.info("{} versions of time series loaded in {} ms", timeSeriesByVersion.size(),
+                stopWatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+
     public List<String> getTimeSeriesNames() {
         return timeSeriesMetadata.stream().map(TimeSeriesMetadata::getName).collect(Collectors.toList());
     }
@@ -377,6 +427,12 @@ public class TimeSeriesTable {
         try {
             means[statisticsIndex] = Double.NaN;
             stdDevs[statisticsIndex] = Double.NaN;
+            loadedVersions[version - fromVersion] = true;
+            if (accumulatedVersions[version - fromVersion]) {
+                // already accumulated data has been modified, statistics over versions have to be rebuilt
+                versionsStatistics = null;
+                Arrays.fill(accumulatedVersions, false);
+            }
         } finally {
             statsLock.unlock();
         }
@@ -441,6 +497,186 @@ public class TimeSeriesTable {
         return getStatistics(version, timeSeriesNum, stdDevs);
     }
 
+    private double[] resampleDouble(int version, int doubleTimeSeriesNum, RegularTimeSeriesIndex newIndex, AggregationType type) {
+        long timeSeriesOffset = getTimeSeriesOffset(version, doubleTimeSeriesNum);
+        return TimeSeriesAggregator.resample(tableIndex, tableIndex.getPointCount(),
+            point -> doubleBuffer.get(timeSeriesOffset + point), newIndex, type);
+    }
+
+    /**
+     * Resample a double time series of the table to a regular index.
+     *
+     * @see TimeSeriesAggregator#resample(DoubleTimeSeries, RegularTimeSeriesIndex, AggregationType)
+     */
+    public double[] resample(int version, int timeSeriesNum, RegularTimeSeriesIndex newIndex, AggregationType type) {
+        checkVersionIsInRange(version);
+        int doubleTimeSeriesNum = checkTimeSeriesNum(timeSeriesNum);
+        Objects.requireNonNull(newIndex);
+        Objects.requireNonNull(type);
+        return resampleDouble(version, doubleTimeSeriesNum, newIndex, type);
+    }
+
+    /**
+     * Resample, in parallel, all double time series of the table to a regular index. Results are indexed like
+     * {@link #getDoubleTimeSeriesIndex(String)}.
+     */
+    public double[][] resample(int version, RegularTimeSeriesIndex newIndex, AggregationType type) {
+        checkVersionIsInRange(version);
+        Objects.requireNonNull(newIndex);
+        Objects.requireNonNull(type);
+        return IntStream.range(0, doubleTimeSeriesNames.size())
+                .parallel()
+                .mapToObj(doubleTimeSeriesNum -> resampleDouble(version, doubleTimeSeriesNum, newIndex, type))
+                .toArray(double[][]::new);
+    }
+
+    /**
+     * Aggregate a double time series of the table over a trailing window of {@code windowSize} points.
+     *
+     * @see TimeSeriesAggregator#rollingWindow(DoubleTimeSeries, int, AggregationType)
+     */
+    public double[] rollingWindow(int version, int timeSeriesNum, int windowSize, AggregationType type) {
+        checkVersionIsInRange(version);
+        int doubleTimeSeriesNum = checkTimeSeriesNum(timeSeriesNum);
+        long timeSeriesOffset = getTimeSeriesOffset(version, doubleTimeSeriesNum);
+        double[] values = new double[tableIndex.getPointCount()];
+        for (int point = 0; point < values.length; point++) {
+            values[point] = doubleBuffer.get(timeSeriesOffset + point);
+        }
+        return TimeSeriesAggregator.rollingWindow(values, windowSize, type);
+    }
+
+    private double[] aggregateDoubleVersions(int doubleTimeSeriesNum, AggregationType type) {
+        TimeSeriesAggregator.Accumulator accumulator = new TimeSeriesAggregator.Accumulator(type, tableIndex.getPointCount());
+        for (int version = fromVersion; version <= toVersion; version++) {
+            long timeSeriesOffset = getTimeSeriesOffset(version, doubleTimeSeriesNum);
+            for (int point = 0; point < tableIndex.getPointCount(); point++) {
+                accumulator.add(point, doubleBuffer.get(timeSeriesOffset + point), 1);
+            }
+        }
+        return accumulator.getResults();
+    }
+
+    /**
+     * Aggregate, point by point, the values of all versions of a double time series of the table.
+     */
+    public double[] aggregateVersions(int timeSeriesNum, AggregationType type) {
+        int doubleTimeSeriesNum = checkTimeSeriesNum(timeSeriesNum);
+        Objects.requireNonNull(type);
+        return aggregateDoubleVersions(doubleTimeSeriesNum, type);
+    }
+
+    /**
+     * Aggregate, point by point and in parallel, the values of all versions of all double time series of the table.
+     * Results are indexed like {@link #getDoubleTimeSeriesIndex(String)}.
+     */
+    public double[][] aggregateVersions(AggregationType type) {
+        Objects.requireNonNull(type);
+        return IntStream.range(0, doubleTimeSeriesNames.size())
+                .parallel()
+                .mapToObj(doubleTimeSeriesNum -> aggregateDoubleVersions(doubleTimeSeriesNum, type))
+                .toArray(double[][]::new);
+    }
+
+    private double[][] getDoubleValues(int version) {
+        double[][] values = new double[doubleTimeSeriesNames.size()][];
+        for (int timeSeriesNum = 0; timeSeriesNum < values.length; timeSeriesNum++) {
+            long timeSeriesOffset = getTimeSeriesOffset(version, timeSeriesNum);
+            double[] timeSeriesValues = new double[tableIndex.getPointCount()];
+            for (int point = 0; point < timeSeriesValues.length; point++) {
+                timeSeriesValues[point] = doubleBuffer.get(timeSeriesOffset + point);
+            }
+            values[timeSeriesNum] = timeSeriesValues;
+        }
+        return values;
+    }
+
+    /**
+     * Accumulate versions loaded since the last call, so that only new data is processed.
+     */
+    private PairwiseStatistics updateVersionsStatistics() {
+        if (loadedVersions == null) {
+            // table not yet initialized
+            return new PairwiseStatistics(0);
+        }
+        if (versionsStatistics == null) {
+            versionsStatistics = new PairwiseStatistics(doubleTimeSeriesNames.size());
+        }
+        for (int version = fromVersion; version <= toVersion; version++) {
+            if (loadedVersions[version - fromVersion] && !accumulatedVersions[version - fromVersion]) {
+                versionsStatistics.update(getDoubleValues(version));
+                accumulatedVersions[version - fromVersion] = true;
+            }
+        }
+        return versionsStatistics;
+    }
+
+    /**
+     * Compute, in parallel, the PPMCC of all pairs of double time series of a version. Results are indexed like
+     * double time series of the table.
+     */
+    public double[][] computePpmcc(int version) {
+        checkVersionIsInRange(version);
+
+        Stopwatch stopWatch = Stopwatch.createStarted();
+
+        PairwiseStatistics statistics = new PairwiseStatistics(doubleTimeSeriesNames.size());
+        if (doubleBuffer != null) {
+            statistics.update(getDoubleValues(version));
+        }
+        double[][] r = statistics.getPpmccMatrix();
+
+        LOGGER.info("PPMCC matrix computed in {} ms", stopWatch.elapsed(TimeUnit.MILLISECONDS));
+
+        return r;
+    }
+
+    /**
+     * Compute the PPMCC of a double time series with all the other ones, over the points of all loaded versions.
+     * Statistics are maintained incrementally, so that only versions loaded since the previous call are processed.
+     */
+    public double[] computeVersionsPpmcc(String timeSeriesName) {
+        int timeSeriesNum1 = doubleTimeSeriesNames.getIndex(timeSeriesName);
+        statsLock.lock();
+        try {
+            return updateVersionsStatistics().getPpmcc(timeSeriesNum1);
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    /**
+     * Compute the PPMCC of all pairs of double time series, over the points of all loaded versions.
+     */
+    public double[][] computeVersionsPpmcc() {
+        statsLock.lock();
+        try {
+            return updateVersionsStatistics().getPpmccMatrix();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    public double getVersionsMean(int timeSeriesNum) {
+        int doubleTimeSeriesNum = checkTimeSeriesNum(timeSeriesNum);
+        statsLock.lock();
+        try {
+            return updateVersionsStatistics().getMean(doubleTimeSeriesNum);
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    public double getVersionsStdDev(int timeSeriesNum) {
+        int doubleTimeSeriesNum = checkTimeSeriesNum(timeSeriesNum);
+        statsLock.lock();
+        try {
+            return updateVersionsStatistics().getStdDev(doubleTimeSeriesNum);
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
     public List<Correlation> findMostCorrelatedTimeSeries(String timeSeriesName, int version) {
         return findMostCorrelatedTimeSeries(timeSeriesName, version, 10);
     }
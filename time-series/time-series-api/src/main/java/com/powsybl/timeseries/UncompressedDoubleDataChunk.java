@@ -51,25 +51,49 @@ public class UncompressedDoubleDataChunk extends AbstractUncompressedDataChunk i
         return TimeSeriesDataType.DOUBLE;
     }
 
-    //To remove if we ever get it from somewhere else
-    @FunctionalInterface private interface DoubleIntConsumer { public void accept(double a, int b); }
-
-    private void forEachValueIndex(DoubleIntConsumer consumer) {
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
         for (int i = 0; i < values.length; i++) {
-            consumer.accept(values[i], offset + i);
+            consumer.accept(offset + i, values[i]);
         }
     }
 
     @Override
     public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachValueIndex((v, i) -> buffer.put(timeSeriesOffset + i, v));
+        forEachValue((i, v) -> buffer.put(timeSeriesOffset + i, v));
     }
 
     @Override
     public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachValueIndex((v, i) -> buffer.put(timeSeriesOffset + i, v));
+        forEachValue((i, v) -> buffer.put(timeSeriesOffset + i, v));
+    }
+
+    /**
+     * Try to compress the chunk with the given compression, the chunk is returned as it is if compression is
+     * inefficient.
+     */
+    public DoubleDataChunk tryToCompress(DoubleChunkCompression compression) {
+        Objects.requireNonNull(compression);
+        switch (compression) {
+            case RLE:
+                return tryToCompress();
+            case XOR:
+                return tryToXorCompress();
+            case BEST:
+                DoubleDataChunk rleChunk = tryToCompress();
+                DoubleDataChunk xorChunk = tryToXorCompress();
+                return xorChunk.getEstimatedSize() < rleChunk.getEstimatedSize() ? xorChunk : rleChunk;
+            default:
+                throw new AssertionError("Unknown compression " + compression);
+        }
+    }
+
+    private DoubleDataChunk tryToXorCompress() {
+        XorCompressedDoubleDataChunk xorChunk = XorCompressedDoubleDataChunk.encode(offset, values);
+        return xorChunk.getEstimatedSize() < getEstimatedSize() ? xorChunk : this;
     }
 
     @Override
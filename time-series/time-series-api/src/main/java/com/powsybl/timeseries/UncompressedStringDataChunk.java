@@ -78,6 +78,31 @@ public class UncompressedStringDataChunk extends AbstractUncompressedDataChunk i
         forEachValueIndex((v, i) -> buffer.putString(timeSeriesOffset + i, v));
     }
 
+    /**
+     * Try to compress the chunk with the given compression, the chunk is returned as it is if compression is
+     * inefficient.
+     */
+    public StringDataChunk tryToCompress(StringChunkCompression compression) {
+        Objects.requireNonNull(compression);
+        switch (compression) {
+            case RLE:
+                return tryToCompress();
+            case DICTIONARY:
+                return tryToDictionaryCompress();
+            case BEST:
+                StringDataChunk rleChunk = tryToCompress();
+                StringDataChunk dictionaryChunk = tryToDictionaryCompress();
+                return dictionaryChunk.getEstimatedSize() < rleChunk.getEstimatedSize() ? dictionaryChunk : rleChunk;
+            default:
+                throw new AssertionError("Unknown compression " + compression);
+        }
+    }
+
+    private StringDataChunk tryToDictionaryCompress() {
+        DictionaryStringDataChunk dictionaryChunk = DictionaryStringDataChunk.encode(offset, values);
+        return dictionaryChunk.getEstimatedSize() < estimatedSize ? dictionaryChunk : this;
+    }
+
     @Override
     public StringDataChunk tryToCompress() {
         List<String> stepValues = new ArrayList<>();
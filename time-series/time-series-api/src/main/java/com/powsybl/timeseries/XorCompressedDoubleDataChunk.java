@@ -0,0 +1,333 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.powsybl.commons.json.JsonUtil;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * XOR compressed double data chunk, as described in "Gorilla: A Fast, Scalable, In-Memory Time Series Database".
+ * <p>
+ * Each value is XORed with the previous one. A repeated value is encoded with 1 bit, otherwise only the meaningful
+ * bits of the XOR, between its leading and trailing zeros, are stored. Contrary to RLE, this is efficient for noisy
+ * values which are close to each other, like load and generation series.
+ * <p>
+ * Values are decoded sequentially each time the chunk is read.
+ *
+ * @author agent <agent at local>
+ */
+public class XorCompressedDoubleDataChunk implements DoubleDataChunk {
+
+    private static final int LEADING_ZEROS_BITS = 5;
+
+    private static final int MAX_LEADING_ZEROS = (1 << LEADING_ZEROS_BITS) - 1;
+
+    private static final int MEANINGFUL_BITS_BITS = 6;
+
+    private static final class BitWriter {
+
+        private long[] words;
+
+        private long position = 0;
+
+        private BitWriter(int capacity) {
+            words = new long[Math.max(1, capacity)];
+        }
+
+        private void writeBit(boolean bit) {
+            writeBits(bit ? 1 : 0, 1);
+        }
+
+        private void writeBits(long value, int bitCount) {
+            long bits = bitCount < Long.SIZE ? value & ((1L << bitCount) - 1) : value;
+            int wordIndex = (int) (position >>> 6);
+            int freeBits = Long.SIZE - (int) (position & 63);
+            if (wordIndex + 1 >= words.length) {
+                words = Arrays.copyOf(words, Math.max(wordIndex + 2, words.length * 2));
+            }
+            if (bitCount <= freeBits) {
+                words[wordIndex] |= bits << (freeBits - bitCount);
+            } else {
+                int remainingBits = bitCount - freeBits;
+                words[wordIndex] |= bits >>> remainingBits;
+                words[wordIndex + 1] |= bits << (Long.SIZE - remainingBits);
+            }
+            position += bitCount;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(words, (int) ((position + Long.SIZE - 1) >>> 6));
+        }
+    }
+
+    private static final class BitReader {
+
+        private final long[] words;
+
+        private long position = 0;
+
+        private BitReader(long[] words) {
+            this.words = words;
+        }
+
+        private boolean readBit() {
+            return readBits(1) != 0;
+        }
+
+        private long readBits(int bitCount) {
+            int wordIndex = (int) (position >>> 6);
+            int availableBits = Long.SIZE - (int) (position & 63);
+            long bits;
+            if (bitCount <= availableBits) {
+                bits = words[wordIndex] >>> (availableBits - bitCount);
+            } else {
+                int remainingBits = bitCount - availableBits;
+                bits = (words[wordIndex] << remainingBits) | (words[wordIndex + 1] >>> (Long.SIZE - remainingBits));
+            }
+            position += bitCount;
+            return bitCount < Long.SIZE ? bits & ((1L << bitCount) - 1) : bits;
+        }
+    }
+
+    private final int offset;
+
+    private final int uncompressedLength;
+
+    private final long[] data;
+
+    public XorCompressedDoubleDataChunk(int offset, int uncompressedLength, long[] data) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Bad offset value " + offset);
+        }
+        if (uncompressedLength < 1) {
+            throw new IllegalArgumentException("Bad uncompressed length value " + uncompressedLength);
+        }
+        this.offset = offset;
+        this.uncompressedLength = uncompressedLength;
+        this.data = Objects.requireNonNull(data);
+    }
+
+    /**
+     * Encode values into a XOR compressed chunk.
+     */
+    public static XorCompressedDoubleDataChunk encode(int offset, double[] values) {
+        Objects.requireNonNull(values);
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Cannot encode an empty array");
+        }
+        // 2 bits per value is a reasonable first guess for slowly varying values
+        BitWriter writer = new BitWriter(values.length / 32 + 1);
+        long previousBits = Double.doubleToRawLongBits(values[0]);
+        writer.writeBits(previousBits, Long.SIZE);
+        int previousLeadingZeros = -1;
+        int previousTrailingZeros = 0;
+        for (int i = 1; i < values.length; i++) {
+            long bits = Double.doubleToRawLongBits(values[i]);
+            long xor = bits ^ previousBits;
+            if (xor == 0) {
+                writer.writeBit(false);
+            } else {
+                writer.writeBit(true);
+                int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+                int trailingZeros = Long.numberOfTrailingZeros(xor);
+                if (previousLeadingZeros != -1 && leadingZeros >= previousLeadingZeros && trailingZeros >= previousTrailingZeros) {
+                    // meaningful bits fit in the previous block
+                    writer.writeBit(false);
+                    writer.writeBits(xor >>> previousTrailingZeros, Long.SIZE - previousLeadingZeros - previousTrailingZeros);
+                } else {
+                    int meaningfulBits = Long.SIZE - leadingZeros - trailingZeros;
+                    writer.writeBit(true);
+                    writer.writeBits(leadingZeros, LEADING_ZEROS_BITS);
+                    // 64 meaningful bits is encoded as 0
+                    writer.writeBits(meaningfulBits, MEANINGFUL_BITS_BITS);
+                    writer.writeBits(xor >>> trailingZeros, meaningfulBits);
+                    previousLeadingZeros = leadingZeros;
+                    previousTrailingZeros = trailingZeros;
+                }
+            }
+            previousBits = bits;
+        }
+        return new XorCompressedDoubleDataChunk(offset, values.length, writer.toArray());
+    }
+
+    /**
+     * Decode values, in order, to the consumer.
+     */
+    private void decode(IntDoubleConsumer consumer) {
+        BitReader reader = new BitReader(data);
+        long bits = reader.readBits(Long.SIZE);
+        consumer.accept(offset, Double.longBitsToDouble(bits));
+        int leadingZeros = 0;
+        int trailingZeros = 0;
+        for (int i = 1; i < uncompressedLength; i++) {
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leadingZeros = (int) reader.readBits(LEADING_ZEROS_BITS);
+                    int meaningfulBits = (int) reader.readBits(MEANINGFUL_BITS_BITS);
+                    if (meaningfulBits == 0) {
+                        meaningfulBits = Long.SIZE;
+                    }
+                    trailingZeros = Long.SIZE - leadingZeros - meaningfulBits;
+                }
+                bits ^= reader.readBits(Long.SIZE - leadingZeros - trailingZeros) << trailingZeros;
+            }
+            consumer.accept(offset + i, Double.longBitsToDouble(bits));
+        }
+    }
+
+    public double[] decode() {
+        double[] values = new double[uncompressedLength];
+        decode((i, v) -> values[i - offset] = v);
+        return values;
+    }
+
+    public long[] getData() {
+        return data;
+    }
+
+    public int getUncompressedLength() {
+        return uncompressedLength;
+    }
+
+    UncompressedDoubleDataChunk toUncompressed() {
+        return new UncompressedDoubleDataChunk(offset, decode());
+    }
+
+    @Override
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLength() {
+        return uncompressedLength;
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        return Long.BYTES * data.length;
+    }
+
+    @Override
+    public double getCompressionFactor() {
+        return ((double) getEstimatedSize()) / (Double.BYTES * uncompressedLength);
+    }
+
+    @Override
+    public boolean isCompressed() {
+        return true;
+    }
+
+    @Override
+    public TimeSeriesDataType getDataType() {
+        return TimeSeriesDataType.DOUBLE;
+    }
+
+    @Override
+    public void forEachValue(IntDoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        decode(consumer);
+    }
+
+    @Override
+    public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        decode((i, v) -> buffer.put(timeSeriesOffset + i, v));
+    }
+
+    @Override
+    public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
+        Objects.requireNonNull(buffer);
+        decode((i, v) -> buffer.put(timeSeriesOffset + i, v));
+    }
+
+    @Override
+    public Stream<DoublePoint> stream(TimeSeriesIndex index) {
+        return toUncompressed().stream(index);
+    }
+
+    @Override
+    public Iterator<DoublePoint> iterator(TimeSeriesIndex index) {
+        return toUncompressed().iterator(index);
+    }
+
+    @Override
+    public DoubleDataChunk tryToCompress() {
+        return this;
+    }
+
+    @Override
+    public Split<DoublePoint, DoubleDataChunk> splitAt(int splitIndex) {
+        // split at offset is not allowed because it will result to a null left chunk
+        if (splitIndex <= offset || splitIndex > (offset + uncompressedLength - 1)) {
+            throw new IllegalArgumentException("Split index " + splitIndex + " out of chunk range ]" + offset
+                    + ", " + (offset + uncompressedLength - 1) + "]");
+        }
+        double[] values = decode();
+        return new Split<>(encode(offset, Arrays.copyOfRange(values, 0, splitIndex - offset)),
+                           encode(splitIndex, Arrays.copyOfRange(values, splitIndex - offset, values.length)));
+    }
+
+    @Override
+    public DoubleDataChunk append(DoubleDataChunk otherChunk) {
+        if (getOffset() + getLength() != otherChunk.getOffset()) {
+            throw new IllegalArgumentException("Chunks are not successive. First offset is " + getOffset()
+                                               + " and first size is " + getLength() + "; second offset should be " +
+                                               (getOffset() + getLength()) + "but is " + otherChunk.getOffset());
+        }
+        if (!(otherChunk instanceof XorCompressedDoubleDataChunk)) {
+            throw new IllegalArgumentException("The chunks to merge have to have the same implentation. One of them is " + this.getClass()
+                                               + ", the other one is " + otherChunk.getClass());
+        }
+        return encode(offset, ArrayUtils.addAll(decode(), ((XorCompressedDoubleDataChunk) otherChunk).decode()));
+    }
+
+    @Override
+    public void writeJson(JsonGenerator generator) {
+        Objects.requireNonNull(generator);
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("offset", offset);
+            generator.writeNumberField("uncompressedLength", uncompressedLength);
+            generator.writeFieldName("xorData");
+            generator.writeArray(data, 0, data.length);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toJson() {
+        return JsonUtil.toJson(this::writeJson);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, uncompressedLength, Arrays.hashCode(data));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof XorCompressedDoubleDataChunk) {
+            XorCompressedDoubleDataChunk other = (XorCompressedDoubleDataChunk) obj;
+            return offset == other.offset &&
+                    uncompressedLength == other.uncompressedLength &&
+                    Arrays.equals(data, other.data);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,424 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.ast;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Evaluate a resolved {@link NodeCalc} tree on arrays of values instead of point by point.
+ * <p>
+ * The tree is compiled once into a flat program of instructions working on registers, each register being a block
+ * of values. The program is then run block by block, each instruction being a simple loop over a block of doubles,
+ * which is much faster than visiting the tree for each point. Results are the same as the ones of
+ * {@link NodeCalcEvaluator}.
+ *
+ * @author agent <agent at local>
+ */
+public final class NodeCalcBatchEvaluator {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    private enum OpCode {
+        LOAD,
+        TIME,
+        BINARY,
+        BINARY_SCALAR_LEFT,
+        BINARY_SCALAR_RIGHT,
+        UNARY,
+        MIN,
+        MAX
+    }
+
+    private static final class Instruction {
+
+        private final OpCode opCode;
+
+        /**
+         * Register of the result, also used as the left operand.
+         */
+        private final int register;
+
+        /**
+         * Register of the right operand, or time series num for a {@link OpCode#LOAD}.
+         */
+        private final int operand;
+
+        private final double scalar;
+
+        private final BinaryOperation.Operator binaryOperator;
+
+        private final UnaryOperation.Operator unaryOperator;
+
+        private Instruction(OpCode opCode, int register, int operand, double scalar,
+                            BinaryOperation.Operator binaryOperator, UnaryOperation.Operator unaryOperator) {
+            this.opCode = opCode;
+            this.register = register;
+            this.operand = operand;
+            this.scalar = scalar;
+            this.binaryOperator = binaryOperator;
+            this.unaryOperator = unaryOperator;
+        }
+    }
+
+    /**
+     * Result of the compilation of a sub tree: either a constant or a register.
+     */
+    private static final class Operand {
+
+        private final int register;
+
+        private final double constant;
+
+        private Operand(int register, double constant) {
+            this.register = register;
+            this.constant = constant;
+        }
+
+        private boolean isConstant() {
+            return register < 0;
+        }
+    }
+
+    private static final class Compiler implements NodeCalcVisitor<Operand, Void> {
+
+        private final List<Instruction> instructions = new ArrayList<>();
+
+        private int registerCount = 0;
+
+        private int maxRegisterCount = 0;
+
+        private boolean usesTime = false;
+
+        private static Operand constant(double value) {
+            return new Operand(-1, value);
+        }
+
+        private Operand newRegister() {
+            Operand operand = new Operand(registerCount++, Double.NaN);
+            maxRegisterCount = Math.max(maxRegisterCount, registerCount);
+            return operand;
+        }
+
+        @Override
+        public Operand visit(IntegerNodeCalc nodeCalc, Void arg) {
+            return constant(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Operand visit(FloatNodeCalc nodeCalc, Void arg) {
+            return constant(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Operand visit(DoubleNodeCalc nodeCalc, Void arg) {
+            return constant(nodeCalc.getValue());
+        }
+
+        @Override
+        public Operand visit(BigDecimalNodeCalc nodeCalc, Void arg) {
+            return constant(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Operand visit(TimeNodeCalc nodeCalc, Void arg, Operand child) {
+            usesTime = true;
+            Operand result = newRegister();
+            instructions.add(new Instruction(OpCode.TIME, result.register, -1, Double.NaN, null, null));
+            return result;
+        }
+
+        @Override
+        public NodeCalc iterate(TimeNodeCalc nodeCalc, Void arg) {
+            return null;
+        }
+
+        @Override
+        public Operand visit(BinaryOperation nodeCalc, Void arg, Operand left, Operand right) {
+            BinaryOperation.Operator operator = nodeCalc.getOperator();
+            if (left.isConstant() && right.isConstant()) {
+                return constant(NodeCalcBatchEvaluator.eval(operator, left.constant, right.constant));
+            } else if (left.isConstant()) {
+                instructions.add(new Instruction(OpCode.BINARY_SCALAR_LEFT, right.register, -1, left.constant, operator, null));
+                return right;
+            } else if (right.isConstant()) {
+                instructions.add(new Instruction(OpCode.BINARY_SCALAR_RIGHT, left.register, -1, right.constant, operator, null));
+                return left;
+            } else {
+                // right operand is always the last allocated register as the tree is visited in post order
+                instructions.add(new Instruction(OpCode.BINARY, left.register, right.register, Double.NaN, operator, null));
+                registerCount--;
+                return left;
+            }
+        }
+
+        @Override
+        public Pair<NodeCalc, NodeCalc> iterate(BinaryOperation nodeCalc, Void arg) {
+            return Pair.of(nodeCalc.getLeft(), nodeCalc.getRight());
+        }
+
+        @Override
+        public Operand visit(UnaryOperation nodeCalc, Void arg, Operand child) {
+            if (child.isConstant()) {
+                return constant(NodeCalcBatchEvaluator.eval(nodeCalc.getOperator(), child.constant));
+            }
+            instructions.add(new Instruction(OpCode.UNARY, child.register, -1, Double.NaN, null, nodeCalc.getOperator()));
+            return child;
+        }
+
+        @Override
+        public NodeCalc iterate(UnaryOperation nodeCalc, Void arg) {
+            return nodeCalc.getChild();
+        }
+
+        @Override
+        public Operand visit(MinNodeCalc nodeCalc, Void arg, Operand child) {
+            if (child.isConstant()) {
+                return constant(Math.min(child.constant, nodeCalc.getMin()));
+            }
+            instructions.add(new Instruction(OpCode.MIN, child.register, -1, nodeCalc.getMin(), null, null));
+            return child;
+        }
+
+        @Override
+        public NodeCalc iterate(MinNodeCalc nodeCalc, Void arg) {
+            return nodeCalc.getChild();
+        }
+
+        @Override
+        public Operand visit(MaxNodeCalc nodeCalc, Void arg, Operand child) {
+            if (child.isConstant()) {
+                return constant(Math.max(child.constant, nodeCalc.getMax()));
+            }
+            instructions.add(new Instruction(OpCode.MAX, child.register, -1, nodeCalc.getMax(), null, null));
+            return child;
+        }
+
+        @Override
+        public NodeCalc iterate(MaxNodeCalc nodeCalc, Void arg) {
+            return nodeCalc.getChild();
+        }
+
+        @Override
+        public Operand visit(TimeSeriesNameNodeCalc nodeCalc, Void arg) {
+            throw new AssertionError("NodeCalc should have been resolved before");
+        }
+
+        @Override
+        public Operand visit(TimeSeriesNumNodeCalc nodeCalc, Void arg) {
+            Operand result = newRegister();
+            instructions.add(new Instruction(OpCode.LOAD, result.register, nodeCalc.getTimeSeriesNum(), Double.NaN, null, null));
+            return result;
+        }
+    }
+
+    private final Instruction[] instructions;
+
+    private final int registerCount;
+
+    /**
+     * Value of the expression if it does not depend on any time series nor time.
+     */
+    private final double constant;
+
+    private final boolean usesTime;
+
+    private NodeCalcBatchEvaluator(Instruction[] instructions, int registerCount, double constant, boolean usesTime) {
+        this.instructions = instructions;
+        this.registerCount = registerCount;
+        this.constant = constant;
+        this.usesTime = usesTime;
+    }
+
+    /**
+     * Compile a resolved {@link NodeCalc} tree, i.e. a tree where time series are referenced by
+     * {@link TimeSeriesNumNodeCalc}.
+     */
+    public static NodeCalcBatchEvaluator compile(NodeCalc resolvedNodeCalc) {
+        Objects.requireNonNull(resolvedNodeCalc);
+        Compiler compiler = new Compiler();
+        Operand result = resolvedNodeCalc.accept(compiler, null, 0);
+        return new NodeCalcBatchEvaluator(compiler.instructions.toArray(new Instruction[0]), compiler.maxRegisterCount,
+                result.isConstant() ? result.constant : Double.NaN, compiler.usesTime);
+    }
+
+    /**
+     * Returns true if the expression uses the time of the points, in that case times have to be given to
+     * {@link #eval(double[][], long[], int, int, double[])}.
+     */
+    public boolean usesTime() {
+        return usesTime;
+    }
+
+    /**
+     * Evaluate the expression on points {@code [offset, offset + length)}.
+     *
+     * @param values values of the time series, indexed by time series num then by point
+     * @param times times of the points, only needed if the expression {@link #usesTime() uses time}
+     * @param offset first point to evaluate
+     * @param length number of points to evaluate
+     * @param result array where results are written, at the same position as the points
+     */
+    public void eval(double[][] values, long[] times, int offset, int length, double[] result) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(result);
+        if (usesTime) {
+            Objects.requireNonNull(times);
+        }
+        if (registerCount == 0) {
+            Arrays.fill(result, offset, offset + length, constant);
+            return;
+        }
+        double[][] registers = new double[registerCount][Math.min(BLOCK_SIZE, length)];
+        for (int blockStart = offset; blockStart < offset + length; blockStart += BLOCK_SIZE) {
+            int blockLength = Math.min(BLOCK_SIZE, offset + length - blockStart);
+            for (Instruction instruction : instructions) {
+                execute(instruction, registers, values, times, blockStart, blockLength);
+            }
+            System.arraycopy(registers[0], 0, result, blockStart, blockLength);
+        }
+    }
+
+    private static void execute(Instruction instruction, double[][] registers, double[][] values, long[] times,
+                                int blockStart, int blockLength) {
+        double[] r = registers[instruction.register];
+        switch (instruction.opCode) {
+            case LOAD:
+                System.arraycopy(values[instruction.operand], blockStart, r, 0, blockLength);
+                break;
+            case TIME:
+                for (int i = 0; i < blockLength; i++) {
+                    r[i] = times[blockStart + i];
+                }
+                break;
+            case BINARY:
+                eval(instruction.binaryOperator, r, registers[instruction.operand], blockLength);
+                break;
+            case BINARY_SCALAR_LEFT:
+                eval(instruction.binaryOperator, instruction.scalar, r, blockLength);
+                break;
+            case BINARY_SCALAR_RIGHT:
+                eval(instruction.binaryOperator, r, instruction.scalar, blockLength);
+                break;
+            case UNARY:
+                eval(instruction.unaryOperator, r, blockLength);
+                break;
+            case MIN:
+                for (int i = 0; i < blockLength; i++) {
+                    r[i] = Math.min(r[i], instruction.scalar);
+                }
+                break;
+            case MAX:
+                for (int i = 0; i < blockLength; i++) {
+                    r[i] = Math.max(r[i], instruction.scalar);
+                }
+                break;
+            default:
+                throw new AssertionError("Unexpected op code: " + instruction.opCode);
+        }
+    }
+
+    private static double eval(BinaryOperation.Operator operator, double left, double right) {
+        switch (operator) {
+            case PLUS: return left + right;
+            case MINUS: return left - right;
+            case MULTIPLY: return left * right;
+            case DIVIDE: return left / right;
+            case LESS_THAN: return left < right ? 1d : 0d;
+            case LESS_THAN_OR_EQUALS_TO: return left <= right ? 1d : 0d;
+            case GREATER_THAN: return left > right ? 1d : 0d;
+            case GREATER_THAN_OR_EQUALS_TO: return left >= right ? 1d : 0d;
+            case EQUALS: return left == right ? 1d : 0d;
+            case NOT_EQUALS: return left != right ? 1d : 0d;
+            default: throw new AssertionError("Unexpected operator value: " + operator);
+        }
+    }
+
+    private static double eval(UnaryOperation.Operator operator, double value) {
+        switch (operator) {
+            case ABS: return Math.abs(value);
+            case NEGATIVE: return -value;
+            case POSITIVE: return value;
+            default: throw new AssertionError("Unexpected operator value: " + operator);
+        }
+    }
+
+    /**
+     * left = left op right, the most common operators have their own loop so that they can be vectorized by the JIT.
+     */
+    private static void eval(BinaryOperation.Operator operator, double[] left, double[] right, int length) {
+        switch (operator) {
+            case PLUS:
+                for (int i = 0; i < length; i++) {
+                    left[i] += right[i];
+                }
+                break;
+            case MINUS:
+                for (int i = 0; i < length; i++) {
+                    left[i] -= right[i];
+                }
+                break;
+            case MULTIPLY:
+                for (int i = 0; i < length; i++) {
+                    left[i] *= right[i];
+                }
+                break;
+            case DIVIDE:
+                for (int i = 0; i < length; i++) {
+                    left[i] /= right[i];
+                }
+                break;
+            default:
+                for (int i = 0; i < length; i++) {
+                    left[i] = eval(operator, left[i], right[i]);
+                }
+                break;
+        }
+    }
+
+    /**
+     * right = left op right, with a constant left operand.
+     */
+    private static void eval(BinaryOperation.Operator operator, double left, double[] right, int length) {
+        for (int i = 0; i < length; i++) {
+            right[i] = eval(operator, left, right[i]);
+        }
+    }
+
+    /**
+     * left = left op right, with a constant right operand.
+     */
+    private static void eval(BinaryOperation.Operator operator, double[] left, double right, int length) {
+        switch (operator) {
+            case PLUS:
+                for (int i = 0; i < length; i++) {
+                    left[i] += right;
+                }
+                break;
+            case MULTIPLY:
+                for (int i = 0; i < length; i++) {
+                    left[i] *= right;
+                }
+                break;
+            default:
+                for (int i = 0; i < length; i++) {
+                    left[i] = eval(operator, left[i], right);
+                }
+                break;
+        }
+    }
+
+    private static void eval(UnaryOperation.Operator operator, double[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            values[i] = eval(operator, values[i]);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.commons.json.JsonUtil;
+import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ChunkCompressionTest {
+
+    private static final TimeSeriesIndex INDEX = new RegularTimeSeriesIndex(0, 999, 1);
+
+    private static double[] createNoisyValues(int length) {
+        Random random = new Random(42);
+        double[] values = new double[length];
+        double value = 100;
+        for (int i = 0; i < length; i++) {
+            // 2 decimals values slowly varying, like a load
+            value += Math.round(random.nextGaussian() * 10) / 100d;
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static void assertXorRoundTrip(double[] values) {
+        XorCompressedDoubleDataChunk chunk = XorCompressedDoubleDataChunk.encode(3, values);
+        assertEquals(3, chunk.getOffset());
+        assertEquals(values.length, chunk.getLength());
+        assertArrayEquals(values, chunk.decode(), 0);
+        double[] buffer = new double[values.length + 3];
+        chunk.fillBuffer(DoubleBuffer.wrap(buffer), 0);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(buffer[i + 3]));
+        }
+    }
+
+    @Test
+    public void testXorRoundTrip() {
+        assertXorRoundTrip(new double[] {1});
+        assertXorRoundTrip(new double[] {1, 1, 1, 2, 2, Double.NaN, Double.NaN, 3});
+        assertXorRoundTrip(new double[] {0, -0d, Double.MAX_VALUE, -Double.MIN_VALUE, Double.POSITIVE_INFINITY, 1e-300, -1});
+        assertXorRoundTrip(new double[] {Double.longBitsToDouble(1L), Double.longBitsToDouble(0x8000000000000001L), Double.longBitsToDouble(-1L)});
+        assertXorRoundTrip(createNoisyValues(1000));
+        Random random = new Random(1);
+        double[] randomValues = new double[500];
+        for (int i = 0; i < randomValues.length; i++) {
+            randomValues[i] = Double.longBitsToDouble(random.nextLong());
+        }
+        assertXorRoundTrip(randomValues);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> XorCompressedDoubleDataChunk.encode(0, new double[0]));
+        assertEquals("Cannot encode an empty array", e.getMessage());
+    }
+
+    @Test
+    public void testXorChunk() {
+        XorCompressedDoubleDataChunk chunk = XorCompressedDoubleDataChunk.encode(1, new double[] {1, 2, 2, 3});
+        assertTrue(chunk.isCompressed());
+        assertSame(chunk, chunk.tryToCompress());
+        assertEquals(TimeSeriesDataType.DOUBLE, chunk.getDataType());
+        assertEquals(List.of(new DoublePoint(1, 1, 1), new DoublePoint(2, 2, 2), new DoublePoint(3, 3, 2), new DoublePoint(4, 4, 3)),
+                chunk.stream(INDEX).collect(Collectors.toList()));
+        DataChunk.Split<DoublePoint, DoubleDataChunk> split = chunk.splitAt(3);
+        assertArrayEquals(new double[] {1, 2}, ((XorCompressedDoubleDataChunk) split.getChunk1()).decode(), 0);
+        assertEquals(3, split.getChunk2().getOffset());
+        assertEquals(chunk, split.getChunk1().append(split.getChunk2()));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> chunk.splitAt(1));
+        assertEquals("Split index 1 out of chunk range ]1, 4]", e.getMessage());
+
+        StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts", TimeSeriesDataType.DOUBLE, INDEX), chunk);
+        String json = JsonUtil.toJson(timeSeries::writeJson);
+        List<TimeSeries> parsed = TimeSeries.parseJson(json);
+        assertEquals(1, parsed.size());
+        assertEquals(List.of(chunk), ((StoredDoubleTimeSeries) parsed.get(0)).getChunks());
+        assertEquals(json, JsonUtil.toJson(parsed.get(0)::writeJson));
+    }
+
+    @Test
+    public void testDoubleCompressionSelection() {
+        double[] noisyValues = createNoisyValues(1000);
+        UncompressedDoubleDataChunk noisyChunk = new UncompressedDoubleDataChunk(0, noisyValues);
+        // RLE cannot compress noisy values
+        assertSame(noisyChunk, noisyChunk.tryToCompress(DoubleChunkCompression.RLE));
+        DoubleDataChunk xorChunk = noisyChunk.tryToCompress(DoubleChunkCompression.XOR);
+        assertTrue(xorChunk instanceof XorCompressedDoubleDataChunk);
+        assertTrue(xorChunk.getCompressionFactor() < 1);
+        assertEquals(xorChunk, noisyChunk.tryToCompress(DoubleChunkCompression.BEST));
+
+        double[] stepValues = new double[1000];
+        for (int i = 0; i < stepValues.length; i++) {
+            stepValues[i] = i / 250;
+        }
+        UncompressedDoubleDataChunk stepChunk = new UncompressedDoubleDataChunk(0, stepValues);
+        assertTrue(stepChunk.tryToCompress(DoubleChunkCompression.BEST) instanceof CompressedDoubleDataChunk);
+
+        StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts", TimeSeriesDataType.DOUBLE, INDEX),
+                new UncompressedDoubleDataChunk(0, Arrays.copyOf(noisyValues, 500)),
+                new CompressedDoubleDataChunk(500, 500, new double[] {1, 2}, new int[] {250, 250}));
+        StoredDoubleTimeSeries compressed = timeSeries.compress(DoubleChunkCompression.XOR);
+        assertArrayEquals(timeSeries.toArray(), compressed.toArray(), 0);
+        assertTrue(compressed.getChunks().get(0) instanceof XorCompressedDoubleDataChunk);
+        assertTrue(compressed.getChunks().get(1) instanceof XorCompressedDoubleDataChunk);
+        compressed = timeSeries.compress(DoubleChunkCompression.BEST);
+        assertArrayEquals(timeSeries.toArray(), compressed.toArray(), 0);
+        assertTrue(compressed.getChunks().get(0) instanceof XorCompressedDoubleDataChunk);
+        assertTrue(compressed.getChunks().get(1) instanceof CompressedDoubleDataChunk);
+    }
+
+    @Test
+    public void testDictionaryChunk() {
+        String[] values = {"a", "bb", "a", null, "bb", "a"};
+        DictionaryStringDataChunk chunk = DictionaryStringDataChunk.encode(2, values);
+        assertArrayEquals(new String[] {"a", "bb", null}, chunk.getDictionary());
+        assertArrayEquals(new int[] {0, 1, 0, 2, 1, 0}, chunk.getCodes());
+        assertArrayEquals(values, chunk.decode());
+        assertEquals(6, chunk.getLength());
+        assertEquals(6 + 4 * 6, chunk.getEstimatedSize());
+        assertTrue(chunk.isCompressed());
+
+        DataChunk.Split<StringPoint, StringDataChunk> split = chunk.splitAt(5);
+        assertArrayEquals(new String[] {"a", "bb", "a"}, ((DictionaryStringDataChunk) split.getChunk1()).decode());
+        assertEquals(chunk, split.getChunk1().append(split.getChunk2()));
+        // chunks with different dictionaries are re-encoded
+        DictionaryStringDataChunk other = DictionaryStringDataChunk.encode(8, new String[] {"c", "a"});
+        DictionaryStringDataChunk merged = (DictionaryStringDataChunk) chunk.append(other);
+        assertArrayEquals(new String[] {"a", "bb", null, "c"}, merged.getDictionary());
+        assertArrayEquals(new String[] {"a", "bb", "a", null, "bb", "a", "c", "a"}, merged.decode());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new DictionaryStringDataChunk(0, new String[] {"a"}, new int[] {0, 1}));
+        assertEquals("Code 1 is out of dictionary range [0, 0]", e.getMessage());
+
+        StringTimeSeries timeSeries = new StringTimeSeries(new TimeSeriesMetadata("ts", TimeSeriesDataType.STRING, INDEX), chunk);
+        String json = JsonUtil.toJson(timeSeries::writeJson);
+        List<TimeSeries> parsed = TimeSeries.parseJson(json);
+        assertEquals(List.of(chunk), ((StringTimeSeries) parsed.get(0)).getChunks());
+        assertEquals(json, JsonUtil.toJson(parsed.get(0)::writeJson));
+    }
+
+    @Test
+    public void testStringCompressionSelection() {
+        String[] values = new String[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 2 == 0 ? "OPEN" : "CLOSED";
+        }
+        UncompressedStringDataChunk chunk = new UncompressedStringDataChunk(0, values);
+        // alternating values cannot be RLE compressed
+        assertSame(chunk, chunk.tryToCompress(StringChunkCompression.RLE));
+        assertTrue(chunk.tryToCompress(StringChunkCompression.DICTIONARY) instanceof DictionaryStringDataChunk);
+        assertTrue(chunk.tryToCompress(StringChunkCompression.BEST) instanceof DictionaryStringDataChunk);
+
+        StringTimeSeries timeSeries = new StringTimeSeries(new TimeSeriesMetadata("ts", TimeSeriesDataType.STRING, INDEX),
+                new UncompressedStringDataChunk(10, values));
+        StringTimeSeries compressed = timeSeries.compress(StringChunkCompression.BEST);
+        assertArrayEquals(timeSeries.toArray(), compressed.toArray());
+        assertEquals(10, compressed.getChunks().get(0).getOffset());
+    }
+}
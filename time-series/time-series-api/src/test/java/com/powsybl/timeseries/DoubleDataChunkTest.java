@@ -238,6 +238,12 @@ public class DoubleDataChunkTest {
         assertArrayEquals(new double[] {3d, 4d, 5d}, ((CompressedDoubleDataChunk) merge).getStepValues(), 0d);
         assertArrayEquals(new int[] {2, 5, 1}, ((CompressedDoubleDataChunk) merge).getStepLengths());
 
+        //Merge chunk1 + chunk4, first step of chunk4 being longer than the first step of chunk1
+        CompressedDoubleDataChunk chunk4 = new CompressedDoubleDataChunk(6, 5, new double[]{2d, 3d}, new int[]{4, 1});
+        merge = chunk1.append(chunk4);
+        assertArrayEquals(new double[] {1d, 2d, 3d}, ((CompressedDoubleDataChunk) merge).getStepValues(), 0d);
+        assertArrayEquals(new int[] {2, 7, 1}, ((CompressedDoubleDataChunk) merge).getStepLengths());
+
         //Merge chunk1 + chunk3
         try {
             chunk1.append(chunk3);
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.google.common.collect.Iterators;
+import com.powsybl.timeseries.ast.BinaryOperation;
+import com.powsybl.timeseries.ast.IntegerNodeCalc;
+import com.powsybl.timeseries.ast.TimeSeriesNameNodeCalc;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class DoublePointCursorTest {
+
+    private static final double NAN = Double.NaN;
+
+    private final TimeSeriesIndex index = new RegularTimeSeriesIndex(100, 190, 10);
+
+    private final StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts", TimeSeriesDataType.DOUBLE, index),
+            new CompressedDoubleDataChunk(5, 4, new double[] {3, 4}, new int[] {1, 3}),
+            new UncompressedDoubleDataChunk(1, new double[] {1, 2}));
+
+    private final double[] expectedValues = {NAN, 1, 2, NAN, NAN, 3, 4, 4, 4, NAN};
+
+    private static void assertCursor(TimeSeriesIndex index, double[] expectedValues, DoublePointCursor cursor) {
+        NoSuchElementException e = assertThrows(NoSuchElementException.class, cursor::getValue);
+        assertEquals("Cursor is not on a point", e.getMessage());
+        for (int point = 0; point < expectedValues.length; point++) {
+            assertTrue(cursor.next());
+            assertEquals(point, cursor.getIndex());
+            assertEquals(index.getTimeAt(point), cursor.getTime());
+            assertEquals(expectedValues[point], cursor.getValue(), 0);
+        }
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertThrows(NoSuchElementException.class, cursor::getIndex);
+    }
+
+    private static void assertForEachValue(double[] expectedValues, DoubleTimeSeries timeSeries) {
+        TIntArrayList indexes = new TIntArrayList();
+        TDoubleArrayList values = new TDoubleArrayList();
+        timeSeries.forEachValue((i, v) -> {
+            indexes.add(i);
+            values.add(v);
+        });
+        for (int point = 0; point < expectedValues.length; point++) {
+            assertEquals(point, indexes.get(point));
+        }
+        assertArrayEquals(expectedValues, values.toArray(), 0);
+    }
+
+    @Test
+    public void testStoredTimeSeries() {
+        assertArrayEquals(expectedValues, timeSeries.toArray(), 0);
+        assertCursor(index, expectedValues, timeSeries.cursor());
+        assertForEachValue(expectedValues, timeSeries);
+    }
+
+    @Test
+    public void testMappedChunks() {
+        ByteBuffer stepValues = ByteBuffer.allocate(2 * Double.BYTES);
+        stepValues.asDoubleBuffer().put(new double[] {3, 4});
+        ByteBuffer stepLengths = ByteBuffer.allocate(2 * Integer.BYTES);
+        stepLengths.asIntBuffer().put(new int[] {1, 3});
+        ByteBuffer values = ByteBuffer.allocate(2 * Double.BYTES);
+        values.asDoubleBuffer().put(new double[] {1, 2});
+        StoredDoubleTimeSeries mappedTimeSeries = new StoredDoubleTimeSeries(timeSeries.getMetadata(),
+                new MappedCompressedDoubleDataChunk(5, 4, stepValues.asDoubleBuffer(), stepLengths.asIntBuffer()),
+                new MappedUncompressedDoubleDataChunk(1, values.asDoubleBuffer()));
+        assertCursor(index, expectedValues, mappedTimeSeries.cursor());
+        assertForEachValue(expectedValues, mappedTimeSeries);
+    }
+
+    @Test
+    public void testCalculatedTimeSeries() {
+        CalculatedTimeSeries calculated = new CalculatedTimeSeries("calc",
+                BinaryOperation.plus(new TimeSeriesNameNodeCalc("ts"), new IntegerNodeCalc(1)),
+                new FromStoreTimeSeriesNameResolver(new ReadOnlyTimeSeriesStoreCache(timeSeries), 1));
+        double[] expectedCalculatedValues = {NAN, 2, 3, NAN, NAN, 4, 5, 5, 5, NAN};
+        assertArrayEquals(expectedCalculatedValues, calculated.toArray(), 0);
+        assertCursor(index, expectedCalculatedValues, calculated.cursor());
+        assertForEachValue(expectedCalculatedValues, calculated);
+    }
+
+    @Test
+    public void testCalculatedTimeSeriesBeforeFirstPoint() {
+        // a time series which only iterates over its points from index 5
+        DoubleTimeSeries lateTimeSeries = (DoubleTimeSeries) Proxy.newProxyInstance(DoubleTimeSeries.class.getClassLoader(),
+                new Class<?>[] {DoubleTimeSeries.class}, (proxy, method, args) -> method.getName().equals("iterator")
+                        ? Iterators.filter(timeSeries.iterator(), point -> point.getIndex() >= 5)
+                        : method.invoke(timeSeries, args));
+        CalculatedTimeSeries calculated = new CalculatedTimeSeries("calc",
+                BinaryOperation.plus(new TimeSeriesNameNodeCalc("ts"), new IntegerNodeCalc(1)),
+                new FromStoreTimeSeriesNameResolver(new ReadOnlyTimeSeriesStoreCache(lateTimeSeries), 1));
+        // values before the first point are NaN, whatever the way they are read
+        double[] expectedCalculatedValues = {NAN, NAN, NAN, NAN, NAN, 4, 5, 5, 5, NAN};
+        assertArrayEquals(expectedCalculatedValues, calculated.toArray(), 0);
+        assertCursor(index, expectedCalculatedValues, calculated.cursor());
+        assertForEachValue(expectedCalculatedValues, calculated);
+    }
+
+    /**
+     * Wrap a delegate so that only the default methods of the interface are called, like in an implementation
+     * written before these methods were added.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T withDefaultMethods(Class<T> interfaceClass, T delegate) {
+        return (T) Proxy.newProxyInstance(interfaceClass.getClassLoader(), new Class<?>[] {interfaceClass}, (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return MethodHandles.privateLookupIn(interfaceClass, MethodHandles.lookup())
+                        .unreflectSpecial(method, interfaceClass)
+                        .bindTo(proxy)
+                        .invokeWithArguments(args);
+            }
+            return method.invoke(delegate, args);
+        });
+    }
+
+    @Test
+    public void testDefaultMethods() {
+        DoubleTimeSeries defaultTimeSeries = withDefaultMethods(DoubleTimeSeries.class, timeSeries);
+        assertCursor(index, expectedValues, defaultTimeSeries.cursor());
+        assertForEachValue(expectedValues, defaultTimeSeries);
+
+        DoubleDataChunk chunk = withDefaultMethods(DoubleDataChunk.class, timeSeries.getChunks().get(0));
+        TIntArrayList indexes = new TIntArrayList();
+        TDoubleArrayList values = new TDoubleArrayList();
+        chunk.forEachValue((i, v) -> {
+            indexes.add(i);
+            values.add(v);
+        });
+        assertArrayEquals(new int[] {5, 6, 7, 8}, indexes.toArray());
+        assertArrayEquals(new double[] {3, 4, 4, 4}, values.toArray(), 0);
+    }
+
+    @Test
+    public void testChunkForEachValue() {
+        TIntArrayList indexes = new TIntArrayList();
+        timeSeries.getChunks().get(0).forEachValue((i, v) -> {
+            indexes.add(i);
+            assertEquals(i == 5 ? 3 : 4, v, 0);
+        });
+        assertArrayEquals(new int[] {5, 6, 7, 8}, indexes.toArray());
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class MappedTimeSeriesStoreTest {
+
+    private FileSystem fileSystem;
+
+    private Path tmpDir;
+
+    private StoredDoubleTimeSeries ts1v1;
+
+    private StoredDoubleTimeSeries ts1v2;
+
+    private StoredDoubleTimeSeries ts2v1;
+
+    @Before
+    public void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        tmpDir = Files.createTempDirectory("mapped-store");
+        TimeSeriesIndex index = new RegularTimeSeriesIndex(0, 9, 1);
+        TimeSeriesMetadata metadata1 = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index);
+        ts1v1 = new StoredDoubleTimeSeries(metadata1,
+                new UncompressedDoubleDataChunk(0, new double[] {1, 2, 3}),
+                new CompressedDoubleDataChunk(5, 5, new double[] {4, 5, 6}, new int[] {1, 3, 1}));
+        ts1v2 = new StoredDoubleTimeSeries(metadata1,
+                new UncompressedDoubleDataChunk(2, new double[] {7, 8, Double.NaN, 9}));
+        TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.DOUBLE, Map.of("tag", "value"),
+                new IrregularTimeSeriesIndex(new long[] {0, 10, 100}));
+        ts2v1 = new StoredDoubleTimeSeries(metadata2,
+                new CompressedDoubleDataChunk(0, 3, new double[] {-1.5}, new int[] {3}));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fileSystem.close();
+        try (Stream<Path> files = Files.list(tmpDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(tmpDir);
+    }
+
+    private void write(Path file) {
+        try (MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file)) {
+            writer.add(1, ts1v1)
+                    .add(1, ts2v1)
+                    .add(2, ts1v2);
+        }
+    }
+
+    private void assertSameTimeSeries(DoubleTimeSeries expected, DoubleTimeSeries actual) {
+        assertEquals(expected.getMetadata(), actual.getMetadata());
+        assertArrayEquals(expected.toArray(), actual.toArray(), 0);
+        assertEquals(((AbstractTimeSeries) expected).toJson(), ((AbstractTimeSeries) actual).toJson());
+    }
+
+    private void testStore(Path file) {
+        write(file);
+        try (MappedTimeSeriesStore store = new MappedTimeSeriesStore(file)) {
+            assertEquals(Set.of("ts1", "ts2"), store.getTimeSeriesNames(null));
+            assertTrue(store.timeSeriesExists("ts1"));
+            assertFalse(store.timeSeriesExists("ts3"));
+            assertEquals(Optional.of(ts2v1.getMetadata()), store.getTimeSeriesMetadata("ts2"));
+            assertEquals(List.of(ts1v1.getMetadata()), store.getTimeSeriesMetadata(Set.of("ts1", "ts3")));
+            assertEquals(Set.of(1, 2), store.getTimeSeriesDataVersions());
+            assertEquals(Set.of(1, 2), store.getTimeSeriesDataVersions("ts1"));
+            assertEquals(Set.of(1), store.getTimeSeriesDataVersions("ts2"));
+            assertTrue(store.getTimeSeriesDataVersions("ts3").isEmpty());
+
+            DoubleTimeSeries ts1 = store.getDoubleTimeSeries("ts1", 1).orElseThrow();
+            assertSameTimeSeries(ts1v1, ts1);
+            // RLE compression is preserved
+            List<DoubleDataChunk> chunks = ((StoredDoubleTimeSeries) ts1).getChunks();
+            assertEquals(2, chunks.size());
+            assertFalse(chunks.get(0).isCompressed());
+            assertTrue(chunks.get(1).isCompressed());
+            assertEquals(ts1v1.getChunks().get(1).getEstimatedSize(), chunks.get(1).getEstimatedSize());
+            // time window only loads overlapping chunks
+            assertArrayEquals(new double[] {2, 3, Double.NaN, Double.NaN, 4}, ((StoredDoubleTimeSeries) ts1).toArray(1, 6), 0);
+
+            assertSameTimeSeries(ts1v2, store.getDoubleTimeSeries("ts1", 2).orElseThrow());
+            assertSameTimeSeries(ts2v1, store.getDoubleTimeSeries("ts2", 1).orElseThrow());
+            assertTrue(store.getDoubleTimeSeries("ts2", 2).isEmpty());
+            assertTrue(store.getDoubleTimeSeries("ts3", 1).isEmpty());
+            assertEquals(2, store.getDoubleTimeSeries(Set.of("ts1", "ts2", "ts3"), 1).size());
+            assertEquals(1, store.getDoubleTimeSeries(2).size());
+            assertTrue(store.getStringTimeSeries("ts1", 1).isEmpty());
+
+            // mapped chunks can be split and merged back
+            DataChunk.Split<DoublePoint, DoubleDataChunk> split = chunks.get(0).splitAt(1);
+            assertEquals(1, split.getChunk1().getLength());
+            assertEquals(1, split.getChunk2().getOffset());
+            assertEquals(ts1v1.getChunks().get(0), split.getChunk1().append(split.getChunk2()));
+            split = chunks.get(1).splitAt(7);
+            assertEquals(2, split.getChunk1().getLength());
+            assertEquals(3, split.getChunk2().getLength());
+            assertTrue(split.getChunk1().isCompressed());
+        }
+    }
+
+    @Test
+    public void testMapped() {
+        testStore(tmpDir.resolve("store.bin"));
+    }
+
+    @Test
+    public void testNotMapped() {
+        // memory mapping is not supported by Jimfs
+        testStore(fileSystem.getPath("/store.bin"));
+    }
+
+    @Test
+    public void testMappedAfterClose() {
+        Path file = tmpDir.resolve("store.bin");
+        write(file);
+        DoubleTimeSeries ts1;
+        DoubleTimeSeries ts2;
+        // small regions, so that chunks of a version are mapped separately
+        try (MappedTimeSeriesStore store = new MappedTimeSeriesStore(file, 3 * Double.BYTES)) {
+            ts1 = store.getDoubleTimeSeries("ts1", 1).orElseThrow();
+            ts2 = store.getDoubleTimeSeries("ts2", 1).orElseThrow();
+        }
+        assertSameTimeSeries(ts1v1, ts1);
+        assertSameTimeSeries(ts2v1, ts2);
+    }
+
+    @Test
+    public void testNotMappedAfterClose() {
+        Path file = fileSystem.getPath("/store.bin");
+        write(file);
+        DoubleTimeSeries ts1;
+        try (MappedTimeSeriesStore store = new MappedTimeSeriesStore(file)) {
+            ts1 = store.getDoubleTimeSeries("ts1", 1).orElseThrow();
+        }
+        TimeSeriesException e = assertThrows(TimeSeriesException.class, ts1::toArray);
+        assertEquals("Chunk 0 cannot be loaded, time series store '/store.bin' is closed", e.getMessage());
+    }
+
+    @Test
+    public void testRewriteMappedTimeSeries() {
+        Path file = tmpDir.resolve("store.bin");
+        Path file2 = tmpDir.resolve("store2.bin");
+        write(file);
+        try (MappedTimeSeriesStore store = new MappedTimeSeriesStore(file);
+             MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file2)) {
+            writer.add(3, store.getDoubleTimeSeries("ts1", 1).orElseThrow());
+        }
+        try (MappedTimeSeriesStore store = new MappedTimeSeriesStore(file2)) {
+            assertSameTimeSeries(ts1v1, store.getDoubleTimeSeries("ts1", 3).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testXorCompressedChunk() {
+        Path file = fileSystem.getPath("/store.bin");
+        StoredDoubleTimeSeries xorTs = new StoredDoubleTimeSeries(ts1v1.getMetadata(),
+                XorCompressedDoubleDataChunk.encode(1, new double[] {1.1, 1.2, 1.25, 1.3, -4}));
+        try (MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file)) {
+            writer.add(1, xorTs);
+        }
+        try (MappedTimeSeriesStore store = new MappedTimeSeriesStore(file)) {
+            DoubleTimeSeries ts = store.getDoubleTimeSeries("ts1", 1).orElseThrow();
+            assertSameTimeSeries(xorTs, ts);
+            assertEquals(xorTs.getChunks(), ((StoredDoubleTimeSeries) ts).getChunks());
+        }
+    }
+
+    @Test
+    public void testWriterErrors() {
+        Path file = fileSystem.getPath("/store.bin");
+        try (MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file)) {
+            writer.add(1, ts1v1);
+            TimeSeriesException e = assertThrows(TimeSeriesException.class, () -> writer.add(1, ts1v2));
+            assertEquals("Version 1 of time series 'ts1' has already been added", e.getMessage());
+            StoredDoubleTimeSeries other = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE,
+                    new RegularTimeSeriesIndex(0, 99, 1)));
+            e = assertThrows(TimeSeriesException.class, () -> writer.add(2, other));
+            assertEquals("Time series 'ts1' has already been added with a different metadata", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBadFile() throws IOException {
+        Path file = fileSystem.getPath("/store.bin");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        TimeSeriesException e = assertThrows(TimeSeriesException.class, () -> new MappedTimeSeriesStore(file));
+        assertEquals("File '/store.bin' is not a time series store", e.getMessage());
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.timeseries.ast.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class NodeCalcBatchEvaluatorTest {
+
+    private static final int POINT_COUNT = 3000;
+
+    private TimeSeriesIndex index;
+
+    private TimeSeriesNameResolver resolver;
+
+    @Before
+    public void setUp() {
+        index = new RegularTimeSeriesIndex(0, (POINT_COUNT - 1) * 10L, 10);
+        double[] values = new double[1500];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.sin(i / 10d) * 100;
+        }
+        values[3] = Double.NaN;
+        values[4] = 0;
+        // uncompressed chunks, the series starts at point 10 and has a gap between 1510 and 2000
+        DoubleTimeSeries ts1 = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index),
+                new UncompressedDoubleDataChunk(10, values),
+                new UncompressedDoubleDataChunk(2000, Arrays.copyOf(values, 1000)));
+        // compressed chunk
+        DoubleTimeSeries ts2 = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts2", TimeSeriesDataType.DOUBLE, index),
+                new CompressedDoubleDataChunk(0, POINT_COUNT, new double[] {2, 0, -3.5, 7}, new int[] {1000, 500, 1400, 100}));
+        resolver = new FromStoreTimeSeriesNameResolver(new ReadOnlyTimeSeriesStoreCache(ts1, ts2), -1);
+    }
+
+    /**
+     * Materialize a calculated time series by evaluating each multi point.
+     */
+    private double[] evaluatePointByPoint(NodeCalc nodeCalc) {
+        CalculatedTimeSeries timeSeries = new CalculatedTimeSeries("calc", nodeCalc, resolver);
+        double[] values = new double[POINT_COUNT];
+        Iterator<DoublePoint> it = timeSeries.iterator();
+        DoublePoint prevPoint = null;
+        while (it.hasNext()) {
+            DoublePoint point = it.next();
+            if (prevPoint != null) {
+                Arrays.fill(values, prevPoint.getIndex(), point.getIndex(), prevPoint.getValue());
+            }
+            prevPoint = point;
+        }
+        if (prevPoint != null) {
+            Arrays.fill(values, prevPoint.getIndex(), POINT_COUNT, prevPoint.getValue());
+        }
+        return values;
+    }
+
+    private void assertSameResults(NodeCalc nodeCalc) {
+        double[] expected = evaluatePointByPoint(nodeCalc);
+        double[] actual = new CalculatedTimeSeries("calc", nodeCalc, resolver).toArray();
+        assertEquals(POINT_COUNT, actual.length);
+        for (int i = 0; i < POINT_COUNT; i++) {
+            assertEquals(nodeCalc + " at " + i, Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(actual[i]));
+        }
+    }
+
+    @Test
+    public void testSameResultsAsPointByPoint() {
+        NodeCalc ts1 = new TimeSeriesNameNodeCalc("ts1");
+        NodeCalc ts2 = new TimeSeriesNameNodeCalc("ts2");
+        assertSameResults(ts1);
+        assertSameResults(BinaryOperation.plus(ts1, ts2));
+        assertSameResults(BinaryOperation.minus(new IntegerNodeCalc(3), ts1));
+        assertSameResults(BinaryOperation.multiply(ts1, new DoubleNodeCalc(2.5)));
+        assertSameResults(BinaryOperation.div(ts1, ts2));
+        assertSameResults(BinaryOperation.div(new DoubleNodeCalc(1), ts2));
+        assertSameResults(BinaryOperation.lessThan(ts1, ts2));
+        assertSameResults(BinaryOperation.lessThanOrEqualsTo(ts2, new IntegerNodeCalc(0)));
+        assertSameResults(BinaryOperation.greaterThan(ts1, new IntegerNodeCalc(0)));
+        assertSameResults(BinaryOperation.greaterThanOrEqualsTo(new IntegerNodeCalc(0), ts2));
+        assertSameResults(BinaryOperation.equals(ts2, new IntegerNodeCalc(0)));
+        assertSameResults(BinaryOperation.notEquals(ts1, ts2));
+        assertSameResults(UnaryOperation.abs(BinaryOperation.minus(ts2, ts1)));
+        assertSameResults(UnaryOperation.negative(ts1));
+        assertSameResults(UnaryOperation.positive(ts2));
+        assertSameResults(new MinNodeCalc(ts1, 50));
+        assertSameResults(new MaxNodeCalc(BinaryOperation.multiply(ts1, ts2), -20));
+        assertSameResults(BinaryOperation.plus(new TimeNodeCalc(ts1), ts2));
+        assertSameResults(BinaryOperation.plus(new TimeNodeCalc(ts2), new IntegerNodeCalc(1)));
+        // nested expression needing several registers
+        assertSameResults(BinaryOperation.div(BinaryOperation.plus(BinaryOperation.multiply(ts1, ts2), UnaryOperation.abs(ts1)),
+                BinaryOperation.minus(new MaxNodeCalc(ts2, 1), BinaryOperation.multiply(new IntegerNodeCalc(2), new IntegerNodeCalc(3)))));
+    }
+
+    @Test
+    public void testDeepTree() {
+        // deep enough to use the iterative traversal
+        NodeCalc nodeCalc = new TimeSeriesNameNodeCalc("ts1");
+        for (int i = 0; i < 2000; i++) {
+            nodeCalc = BinaryOperation.plus(nodeCalc, i % 2 == 0 ? new TimeSeriesNameNodeCalc("ts2") : new IntegerNodeCalc(i));
+        }
+        assertSameResults(nodeCalc);
+    }
+
+    @Test
+    public void testConstant() {
+        NodeCalcBatchEvaluator evaluator = NodeCalcBatchEvaluator.compile(BinaryOperation.plus(new IntegerNodeCalc(1), UnaryOperation.negative(new DoubleNodeCalc(3))));
+        assertFalse(evaluator.usesTime());
+        double[] result = new double[4];
+        evaluator.eval(new double[0][], null, 1, 2, result);
+        assertArrayEquals(new double[] {0, -2, -2, 0}, result, 0);
+    }
+
+    @Test
+    public void testEval() {
+        NodeCalcBatchEvaluator evaluator = NodeCalcBatchEvaluator.compile(BinaryOperation.plus(new TimeNodeCalc(new TimeSeriesNumNodeCalc(0)),
+                new TimeSeriesNumNodeCalc(1)));
+        assertTrue(evaluator.usesTime());
+        double[] result = new double[3];
+        evaluator.eval(new double[][] {{1, 2, 3}, {10, 20, 30}}, new long[] {100, 200, 300}, 0, 3, result);
+        assertArrayEquals(new double[] {110, 220, 330}, result, 0);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class PairwiseStatisticsTest {
+
+    private static double ppmcc(double[] values1, double[] values2) {
+        double mean1 = 0;
+        double mean2 = 0;
+        for (int i = 0; i < values1.length; i++) {
+            mean1 += values1[i];
+            mean2 += values2[i];
+        }
+        mean1 /= values1.length;
+        mean2 /= values2.length;
+        double c = 0;
+        double v1 = 0;
+        double v2 = 0;
+        for (int i = 0; i < values1.length; i++) {
+            c += (values1[i] - mean1) * (values2[i] - mean2);
+            v1 += (values1[i] - mean1) * (values1[i] - mean1);
+            v2 += (values2[i] - mean2) * (values2[i] - mean2);
+        }
+        return c / Math.sqrt(v1 * v2);
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        // more series than a block to check blocks are all updated
+        int size = 70;
+        int pointCount = 50;
+        Random random = new Random(3);
+        double[][] values1 = new double[size][pointCount];
+        double[][] values2 = new double[size][pointCount];
+        double[][] allValues = new double[size][2 * pointCount];
+        for (int num = 0; num < size; num++) {
+            for (int point = 0; point < pointCount; point++) {
+                values1[num][point] = random.nextGaussian() + num * point;
+                values2[num][point] = random.nextGaussian() - num;
+                allValues[num][point] = values1[num][point];
+                allValues[num][pointCount + point] = values2[num][point];
+            }
+        }
+        PairwiseStatistics statistics = new PairwiseStatistics(size);
+        statistics.update(values1);
+        assertEquals(ppmcc(values1[3], values1[65]), statistics.getPpmcc(3, 65), 1e-12);
+        statistics.update(values2);
+        double[][] r = statistics.getPpmccMatrix();
+        for (int num1 = 0; num1 < size; num1 += 7) {
+            for (int num2 = 0; num2 < size; num2 += 5) {
+                assertEquals(ppmcc(allValues[num1], allValues[num2]), r[num1][num2], 1e-12);
+                assertEquals(r[num1][num2], r[num2][num1], 0);
+            }
+        }
+        assertEquals(100, statistics.getCount(0));
+        assertEquals(1, statistics.getPpmcc(10, 10), 0);
+    }
+
+    @Test
+    public void testNanAndConstant() {
+        PairwiseStatistics statistics = new PairwiseStatistics(4);
+        statistics.update(new double[][] {
+            {1, 2, Double.NaN, 4},
+            {2, 4, 100, 8},
+            {5, 5, 5, 5},
+            {3, 3, 3, Double.NaN}
+        });
+        // NaN point is ignored for the pair
+        assertEquals(1, statistics.getPpmcc(0, 1), 1e-15);
+        assertEquals(3, statistics.getCount(0));
+        assertEquals(7d / 3, statistics.getMean(0), 1e-15);
+        assertEquals(Math.sqrt(7d / 3), statistics.getStdDev(0), 1e-15);
+        assertEquals(0, statistics.getPpmcc(0, 2), 0);
+        assertEquals(1, statistics.getPpmcc(2, 3), 0);
+        assertEquals(0, statistics.getStdDev(2), 0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> statistics.update(new double[1][]));
+        assertEquals("Expected values of 4 series, got 1", e.getMessage());
+    }
+}
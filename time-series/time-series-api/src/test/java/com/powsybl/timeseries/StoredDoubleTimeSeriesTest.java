@@ -19,6 +19,7 @@ import org.threeten.extra.Interval;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -193,4 +194,89 @@ public class StoredDoubleTimeSeriesTest {
         exception.expectMessage("Bad number of values 2, expected 3");
         TimeSeries.createDouble("ts1", new TestTimeSeriesIndex(0L, 3), 0d, 1d);
     }
+
+    private static final class CountingChunkProvider implements DataChunkProvider<DoubleDataChunk> {
+
+        private final List<Integer> loadedChunks = new ArrayList<>();
+
+        @Override
+        public int getChunkCount() {
+            return 5;
+        }
+
+        @Override
+        public int getChunkOffset(int chunkNum) {
+            // chunk 1 is missing
+            return chunkNum == 0 ? 0 : chunkNum * 10 + 10;
+        }
+
+        @Override
+        public int getChunkLength(int chunkNum) {
+            return 10;
+        }
+
+        @Override
+        public DoubleDataChunk loadChunk(int chunkNum) {
+            loadedChunks.add(chunkNum);
+            double[] values = new double[10];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = getChunkOffset(chunkNum) + i;
+            }
+            return new UncompressedDoubleDataChunk(getChunkOffset(chunkNum), values);
+        }
+    }
+
+    @Test
+    public void testLazyChunks() {
+        TimeSeriesMetadata metadata = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, new RegularTimeSeriesIndex(0, 59, 1));
+        CountingChunkProvider provider = new CountingChunkProvider();
+        StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(metadata, provider, 2);
+        assertEquals(5, timeSeries.getChunks().size());
+        assertTrue(provider.loadedChunks.isEmpty());
+
+        // only chunks overlapping the range are loaded
+        double[] expectedValues = new double[14];
+        Arrays.fill(expectedValues, Double.NaN);
+        expectedValues[0] = 8;
+        expectedValues[1] = 9;
+        expectedValues[12] = 20;
+        expectedValues[13] = 21;
+        assertArrayEquals(expectedValues, timeSeries.toArray(8, 22), 0);
+        assertEquals(List.of(0, 1), provider.loadedChunks);
+        assertEquals(1, timeSeries.getChunks(12, 25).size());
+        assertEquals(20, timeSeries.getChunks(12, 25).get(0).getOffset());
+        assertEquals(2, timeSeries.getChunks(20, 31).size());
+        assertTrue(timeSeries.getChunks(10, 20).isEmpty());
+        assertEquals(List.of(0, 1), provider.loadedChunks);
+
+        // chunks are cached
+        timeSeries.toArray(25, 30);
+        assertEquals(List.of(0, 1), provider.loadedChunks);
+
+        // whole time series with LRU eviction
+        double[] values = timeSeries.toArray();
+        assertEquals(59, values[59], 0);
+        assertTrue(Double.isNaN(values[15]));
+        assertEquals(List.of(0, 1, 2, 3, 4), provider.loadedChunks);
+        timeSeries.toArray(0, 1);
+        assertEquals(List.of(0, 1, 2, 3, 4, 0), provider.loadedChunks);
+        timeSeries.forEachValue((point, value) -> assertEquals(point < 10 || point >= 20 ? point : Double.NaN, value, 0));
+        assertEquals(List.of(0, 1, 2, 3, 4, 0, 1, 2, 3, 4), provider.loadedChunks);
+
+        assertThrows(UnsupportedOperationException.class, () -> timeSeries.addChunk(new UncompressedDoubleDataChunk(10, new double[] {1})));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> timeSeries.getChunks(5, 61));
+        assertEquals("Invalid points range [5, 61[, index range is [0, 60[", e.getMessage());
+    }
+
+    @Test
+    public void testRange() {
+        TimeSeriesMetadata metadata = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, new RegularTimeSeriesIndex(0, 9, 1));
+        StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(metadata,
+                new CompressedDoubleDataChunk(6, 4, new double[] {3, 4}, new int[] {1, 3}),
+                new UncompressedDoubleDataChunk(1, new double[] {1, 2}));
+        assertArrayEquals(new double[] {2, Double.NaN, Double.NaN, Double.NaN, 3, 4}, timeSeries.toArray(2, 8), 0);
+        assertEquals(2, timeSeries.getChunks(1, 7).size());
+        assertEquals(6, timeSeries.getChunks(3, 10).get(0).getOffset());
+        assertEquals(0, timeSeries.toArray(4, 4).length);
+    }
 }
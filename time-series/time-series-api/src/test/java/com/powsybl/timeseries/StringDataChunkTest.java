@@ -211,6 +211,12 @@ public class StringDataChunkTest {
         assertArrayEquals(new String[] {"c", "d", "e"}, ((CompressedStringDataChunk) merge).getStepValues());
         assertArrayEquals(new int[] {2, 5, 1}, ((CompressedStringDataChunk) merge).getStepLengths());
 
+        //Merge chunk1 + chunk4, first step of chunk4 being longer than the first step of chunk1
+        CompressedStringDataChunk chunk4 = new CompressedStringDataChunk(6, 5, new String[]{"b", "c"}, new int[]{4, 1});
+        merge = chunk1.append(chunk4);
+        assertArrayEquals(new String[] {"a", "b", "c"}, ((CompressedStringDataChunk) merge).getStepValues());
+        assertArrayEquals(new int[] {2, 7, 1}, ((CompressedStringDataChunk) merge).getStepLengths());
+
         //Merge chunk1 + chunk3
         try {
             chunk1.append(chunk3);
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.timeseries.ast.TimeSeriesNameNodeCalc;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class TimeSeriesAggregatorTest {
+
+    private static final double NAN = Double.NaN;
+
+    // 12 hourly points, resampled to 3 points of 4 hours
+    private final RegularTimeSeriesIndex index = new RegularTimeSeriesIndex(0, 11, 1);
+
+    private final RegularTimeSeriesIndex newIndex = new RegularTimeSeriesIndex(0, 8, 4);
+
+    private final double[] values = {1, 1, 1, 2, 2, NAN, NAN, NAN, 3, 3, 3, 4};
+
+    private final TimeSeriesMetadata metadata = new TimeSeriesMetadata("ts", TimeSeriesDataType.DOUBLE, Map.of("tag", "value"), index);
+
+    private void assertResample(DoubleTimeSeries timeSeries) {
+        assertArrayEquals(new double[] {5, 2, 13}, TimeSeriesAggregator.resample(timeSeries, newIndex, AggregationType.SUM).toArray(), 0);
+        assertArrayEquals(new double[] {1.25, 2, 3.25}, TimeSeriesAggregator.resample(timeSeries, newIndex, AggregationType.MEAN).toArray(), 0);
+        assertArrayEquals(new double[] {1, 2, 3}, TimeSeriesAggregator.resample(timeSeries, newIndex, AggregationType.MIN).toArray(), 0);
+        assertArrayEquals(new double[] {2, 2, 4}, TimeSeriesAggregator.resample(timeSeries, newIndex, AggregationType.MAX).toArray(), 0);
+        assertArrayEquals(new double[] {1, 2, 3}, TimeSeriesAggregator.resample(timeSeries, newIndex, AggregationType.FIRST).toArray(), 0);
+        assertArrayEquals(new double[] {2, 2, 4}, TimeSeriesAggregator.resample(timeSeries, newIndex, AggregationType.LAST).toArray(), 0);
+    }
+
+    @Test
+    public void testResample() {
+        StoredDoubleTimeSeries uncompressed = new StoredDoubleTimeSeries(metadata, new UncompressedDoubleDataChunk(0, values));
+        assertResample(uncompressed);
+        // same values as RLE steps, not aligned on buckets
+        assertResample(new StoredDoubleTimeSeries(metadata,
+                new CompressedDoubleDataChunk(0, 5, new double[] {1, 2}, new int[] {3, 2}),
+                new UncompressedDoubleDataChunk(8, new double[] {3, 3, 3, 4})));
+        assertResample(new CalculatedTimeSeries("ts", new TimeSeriesNameNodeCalc("ts"),
+                new FromStoreTimeSeriesNameResolver(new ReadOnlyTimeSeriesStoreCache(uncompressed), 1)));
+
+        DoubleTimeSeries resampled = TimeSeriesAggregator.resample(uncompressed, newIndex, AggregationType.SUM);
+        assertEquals(new TimeSeriesMetadata("ts", TimeSeriesDataType.DOUBLE, Map.of("tag", "value"), newIndex), resampled.getMetadata());
+
+        // buckets of the new index which are out of the series are empty, points of the series out of the new
+        // index are ignored
+        assertArrayEquals(new double[] {5, 13, NAN},
+                TimeSeriesAggregator.resample(uncompressed, new RegularTimeSeriesIndex(2, 12, 5), AggregationType.SUM).toArray(), 0);
+        assertArrayEquals(new double[] {4, 4},
+                TimeSeriesAggregator.resample(new StoredDoubleTimeSeries(metadata,
+                                new CompressedDoubleDataChunk(0, 12, new double[] {1}, new int[] {12})),
+                        new RegularTimeSeriesIndex(2, 6, 4), AggregationType.SUM).toArray(), 0);
+    }
+
+    @Test
+    public void testResampleIrregularIndex() {
+        TimeSeriesMetadata irregularMetadata = new TimeSeriesMetadata("ts", TimeSeriesDataType.DOUBLE,
+                new IrregularTimeSeriesIndex(new long[] {0, 1, 5, 6, 7, 12}));
+        StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(irregularMetadata,
+                new CompressedDoubleDataChunk(0, 6, new double[] {1, 2}, new int[] {4, 2}));
+        assertArrayEquals(new double[] {2, 4, NAN, 2},
+                TimeSeriesAggregator.resample(timeSeries, new RegularTimeSeriesIndex(0, 12, 4), AggregationType.SUM).toArray(), 0);
+    }
+
+    @Test
+    public void testResampleList() {
+        List<DoubleTimeSeries> timeSeriesList = List.of(
+                new StoredDoubleTimeSeries(metadata, new UncompressedDoubleDataChunk(0, values)),
+                new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts2", TimeSeriesDataType.DOUBLE, index),
+                        new CompressedDoubleDataChunk(0, 12, new double[] {2}, new int[] {12})));
+        List<DoubleTimeSeries> resampled = TimeSeriesAggregator.resample(timeSeriesList, newIndex, AggregationType.MAX);
+        assertEquals(2, resampled.size());
+        assertEquals("ts2", resampled.get(1).getMetadata().getName());
+        assertArrayEquals(new double[] {2, 2, 4}, resampled.get(0).toArray(), 0);
+        assertArrayEquals(new double[] {2, 2, 2}, resampled.get(1).toArray(), 0);
+    }
+
+    @Test
+    public void testRollingWindow() {
+        StoredDoubleTimeSeries timeSeries = new StoredDoubleTimeSeries(metadata, new UncompressedDoubleDataChunk(0, values));
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 4, 2, NAN, 3, 6, 9, 10},
+                TimeSeriesAggregator.rollingWindow(timeSeries, 3, AggregationType.SUM).toArray(), 0);
+        assertArrayEquals(new double[] {1, 1, 1, 4d / 3, 5d / 3, 2, 2, NAN, 3, 3, 3, 10d / 3},
+                TimeSeriesAggregator.rollingWindow(timeSeries, 3, AggregationType.MEAN).toArray(), 1e-15);
+        assertArrayEquals(new double[] {1, 1, 1, 1, 1, 2, 2, NAN, 3, 3, 3, 3},
+                TimeSeriesAggregator.rollingWindow(timeSeries, 3, AggregationType.MIN).toArray(), 0);
+        assertArrayEquals(new double[] {1, 1, 1, 2, 2, 2, 2, NAN, 3, 3, 3, 4},
+                TimeSeriesAggregator.rollingWindow(timeSeries, 3, AggregationType.MAX).toArray(), 0);
+        assertArrayEquals(new double[] {1, 1, 1, 1, 1, 2, 2, NAN, 3, 3, 3, 3},
+                TimeSeriesAggregator.rollingWindow(timeSeries, 3, AggregationType.FIRST).toArray(), 0);
+        assertArrayEquals(new double[] {1, 1, 1, 2, 2, 2, 2, NAN, 3, 3, 3, 4},
+                TimeSeriesAggregator.rollingWindow(timeSeries, 3, AggregationType.LAST).toArray(), 0);
+        assertArrayEquals(values, TimeSeriesAggregator.rollingWindow(timeSeries, 1, AggregationType.MEAN).toArray(), 0);
+
+        List<DoubleTimeSeries> rolled = TimeSeriesAggregator.rollingWindow(List.of(timeSeries, timeSeries), 12, AggregationType.SUM);
+        assertEquals(2, rolled.size());
+        assertEquals(metadata, rolled.get(1).getMetadata());
+        assertEquals(20, rolled.get(1).toArray()[11], 0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> TimeSeriesAggregator.rollingWindow(timeSeries, 0, AggregationType.SUM));
+        assertEquals("Window size has to be strictly positive: 0", e.getMessage());
+    }
+
+    @Test
+    public void testTable() {
+        TimeSeriesTable table = new TimeSeriesTable(1, 2, index);
+        TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.DOUBLE, index);
+        table.load(1, List.of(new StoredDoubleTimeSeries(metadata, new UncompressedDoubleDataChunk(0, values)),
+                new StoredDoubleTimeSeries(metadata2, new CompressedDoubleDataChunk(0, 12, new double[] {2}, new int[] {12}))));
+        table.load(2, List.of(new StoredDoubleTimeSeries(metadata, new CompressedDoubleDataChunk(0, 12, new double[] {10, NAN}, new int[] {6, 6})),
+                new StoredDoubleTimeSeries(metadata2, new CompressedDoubleDataChunk(0, 12, new double[] {4}, new int[] {12}))));
+
+        assertArrayEquals(new double[] {5, 2, 13}, table.resample(1, 0, newIndex, AggregationType.SUM), 0);
+        double[][] resampled = table.resample(2, newIndex, AggregationType.MEAN);
+        assertEquals(2, resampled.length);
+        assertArrayEquals(new double[] {10, 10, NAN}, resampled[0], 0);
+        assertArrayEquals(new double[] {4, 4, 4}, resampled[1], 0);
+
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 4, 2, NAN, 3, 6, 9, 10},
+                table.rollingWindow(1, 0, 3, AggregationType.SUM), 0);
+
+        assertArrayEquals(new double[] {11, 11, 11, 12, 12, 10, NAN, NAN, 3, 3, 3, 4},
+                table.aggregateVersions(0, AggregationType.SUM), 0);
+        double[][] means = table.aggregateVersions(AggregationType.MEAN);
+        assertEquals(2, means.length);
+        assertArrayEquals(new double[] {5.5, 5.5, 5.5, 6, 6, 10, NAN, NAN, 3, 3, 3, 4}, means[0], 0);
+        assertEquals(3, means[1][7], 0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> table.resample(3, 0, newIndex, AggregationType.SUM));
+        assertEquals("Version is out of range [1, 2]", e.getMessage());
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.timeseries.TimeSeries.TimeFormat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class TimeSeriesCsvTest {
+
+    private static final int VERSION_COUNT = 3;
+
+    private static final int POINT_COUNT = 200;
+
+    private final TimeSeriesCsvConfig config = new TimeSeriesCsvConfig(ZoneId.of("UTC"), ';', true, TimeFormat.MILLIS);
+
+    private FileSystem fileSystem;
+
+    private String csv;
+
+    @Before
+    public void setUp() {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        StringBuilder builder = new StringBuilder("Time;Version;d1;d2;s1").append(System.lineSeparator());
+        for (int version = 1; version <= VERSION_COUNT; version++) {
+            for (int point = 0; point < POINT_COUNT; point++) {
+                builder.append(point * 10L).append(';').append(version).append(';')
+                        // step values, compressed
+                        .append(Double.toString(version * 100d + point / 50)).append(';')
+                        // varying values with holes
+                        .append(point % 7 == 3 ? "" : Double.toString(Math.sin(point) * version)).append(';')
+                        .append(point % 5 == 4 ? "" : "s" + point / 20)
+                        .append(System.lineSeparator());
+            }
+        }
+        csv = builder.toString();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    private static void assertSameTimeSeries(Map<Integer, List<TimeSeries>> expected, Map<Integer, List<TimeSeries>> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Integer, List<TimeSeries>> e : expected.entrySet()) {
+            List<TimeSeries> expectedList = e.getValue();
+            List<TimeSeries> actualList = actual.get(e.getKey());
+            assertEquals(expectedList.size(), actualList.size());
+            for (int i = 0; i < expectedList.size(); i++) {
+                TimeSeries expectedTimeSeries = expectedList.get(i);
+                TimeSeries actualTimeSeries = actualList.get(i);
+                assertEquals(expectedTimeSeries.getMetadata(), actualTimeSeries.getMetadata());
+                if (expectedTimeSeries instanceof DoubleTimeSeries) {
+                    assertArrayEquals(((DoubleTimeSeries) expectedTimeSeries).toArray(), ((DoubleTimeSeries) actualTimeSeries).toArray(), 0);
+                } else {
+                    assertArrayEquals(((StringTimeSeries) expectedTimeSeries).toArray(), ((StringTimeSeries) actualTimeSeries).toArray());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelParsing() throws IOException {
+        Path file = fileSystem.getPath("/data.csv");
+        Files.writeString(file, csv);
+        Map<Integer, List<TimeSeries>> expected = TimeSeries.parseCsv(file, config);
+        assertEquals(VERSION_COUNT, expected.size());
+        // small segments, so that versions are spread over several segments and segments contain several versions
+        for (long segmentSize : new long[] {100, 1000, 10000}) {
+            Map<Integer, List<TimeSeries>> actual = new TimeSeriesCsvParallelParser(file, config, ForkJoinPool.commonPool(), segmentSize).parse();
+            assertSameTimeSeries(expected, actual);
+        }
+        // RLE compression is done while parsing
+        List<DoubleDataChunk> chunks = ((StoredDoubleTimeSeries) new TimeSeriesCsvParallelParser(file, config, ForkJoinPool.commonPool(), 1000)
+                .parse().get(1).get(0)).getChunks();
+        assertTrue(chunks.size() > 1);
+        assertTrue(chunks.stream().allMatch(DataChunk::isCompressed));
+        // small file is not split
+        assertSameTimeSeries(expected, TimeSeries.parseCsv(file, config, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testParallelParsingMappedFile() throws IOException {
+        Path file = Files.createTempFile("data", ".csv");
+        try {
+            Files.writeString(file, csv);
+            assertSameTimeSeries(TimeSeries.parseCsv(file, config),
+                    new TimeSeriesCsvParallelParser(file, config, ForkJoinPool.commonPool(), 500).parse());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testParallelParsingError() throws IOException {
+        Path file = fileSystem.getPath("/data.csv");
+        Files.writeString(file, csv + "1;2;3" + System.lineSeparator());
+        TimeSeriesCsvParallelParser parser = new TimeSeriesCsvParallelParser(file, config, ForkJoinPool.commonPool(), 1000);
+        TimeSeriesException e = assertThrows(TimeSeriesException.class, parser::parse);
+        assertTrue(e.getMessage().contains("are inconsistent with header"));
+    }
+
+    @Test
+    public void testWriteCsv() throws IOException {
+        Map<Integer, List<TimeSeries>> timeSeriesPerVersion = TimeSeries.parseCsv(csv, config);
+        StringWriter writer = new StringWriter();
+        TimeSeries.writeCsv(writer, config, timeSeriesPerVersion);
+        assertEquals(csv, writer.toString());
+
+        Path file = fileSystem.getPath("/data.csv");
+        TimeSeries.writeCsv(file, config, timeSeriesPerVersion);
+        assertEquals(csv, Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteCsvWithGap() {
+        TimeSeriesIndex index = new RegularTimeSeriesIndex(0, 4, 1);
+        StoredDoubleTimeSeries ts1 = new StoredDoubleTimeSeries(new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index),
+                new UncompressedDoubleDataChunk(0, new double[] {1, 2}),
+                new CompressedDoubleDataChunk(3, 2, new double[] {3}, new int[] {2}));
+        StringTimeSeries ts2 = new StringTimeSeries(new TimeSeriesMetadata("ts2", TimeSeriesDataType.STRING, index),
+                new CompressedStringDataChunk(1, 3, new String[] {"a", "b"}, new int[] {1, 2}));
+        StringWriter writer = new StringWriter();
+        TimeSeries.writeCsv(writer, new TimeSeriesCsvConfig(ZoneId.of("UTC"), ';', false, TimeFormat.MILLIS), Map.of(0, List.of(ts1, ts2)));
+        assertEquals(String.join(System.lineSeparator(),
+                "Time;ts1;ts2",
+                "0;1.0;",
+                "1;2.0;a",
+                "2;;b",
+                "3;3.0;b",
+                "4;3.0;") + System.lineSeparator(),
+                writer.toString());
+    }
+}
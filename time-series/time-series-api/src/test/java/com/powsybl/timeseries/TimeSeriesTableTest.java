@@ -14,15 +14,21 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -218,6 +224,84 @@ public class TimeSeriesTableTest {
         }
     }
 
+    @Test
+    public void testMappedParallelLoad() throws IOException {
+        TimeSeriesIndex index = new TestTimeSeriesIndex(0, 4);
+        Path tmpDir = Files.createTempDirectory("table");
+        try (MappedByteBufferAllocator allocator = new MappedByteBufferAllocator(tmpDir)) {
+            TimeSeriesTable table = TimeSeriesTable.createMapped(1, 3, index, allocator);
+            Map<Integer, List<TimeSeries>> timeSeriesByVersion = new HashMap<>();
+            for (int version = 1; version <= 3; version++) {
+                TimeSeriesMetadata metadata1 = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index);
+                TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.STRING, index);
+                timeSeriesByVersion.put(version, List.of(
+                        new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {version, 2d * version, 3d * version, 4d * version})),
+                        new StringTimeSeries(metadata2, new UncompressedStringDataChunk(0, new String[] {"a" + version, "b", "c", "d" + version}))));
+            }
+            table.load(timeSeriesByVersion);
+            assertEquals(2, allocator.getFileCount());
+            allocator.force();
+
+            for (int version = 1; version <= 3; version++) {
+                assertEquals(3d * version, table.getDoubleValue(version, 0, 2), 0);
+                assertEquals(2.5 * version, table.getMean(version, 0), 0);
+                assertEquals("d" + version, table.getStringValue(version, 1, 3));
+            }
+            assertEquals(String.join(System.lineSeparator(),
+                                     "Time;Version;ts1;ts2",
+                                     "1970-01-01T00:00:00Z;1;1.0;a1",
+                                     "1970-01-01T00:00:00.001Z;1;2.0;b",
+                                     "1970-01-01T00:00:00.002Z;1;3.0;c",
+                                     "1970-01-01T00:00:00.003Z;1;4.0;d1",
+                                     "1970-01-01T00:00:00Z;2;2.0;a2",
+                                     "1970-01-01T00:00:00.001Z;2;4.0;b",
+                                     "1970-01-01T00:00:00.002Z;2;6.0;c",
+                                     "1970-01-01T00:00:00.003Z;2;8.0;d2",
+                                     "1970-01-01T00:00:00Z;3;3.0;a3",
+                                     "1970-01-01T00:00:00.001Z;3;6.0;b",
+                                     "1970-01-01T00:00:00.002Z;3;9.0;c",
+                                     "1970-01-01T00:00:00.003Z;3;12.0;d3") + System.lineSeparator(),
+                         table.toCsvString(new TimeSeriesCsvConfig(ZoneId.of("UTC"))));
+        } finally {
+            // temporary files are deleted on allocator close
+            Files.delete(tmpDir);
+        }
+    }
+
+    @Test
+    public void testIncrementalCorrelation() {
+        TimeSeriesIndex index = new TestTimeSeriesIndex(0, 4);
+        TimeSeriesMetadata metadata1 = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesMetadata metadata3 = new TimeSeriesMetadata("ts3", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesTable table = TimeSeriesTable.createMem(1, 2, index);
+        assertEquals(0, table.computeVersionsPpmcc().length);
+        table.load(1, List.of(new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {1, 2, 3, 4})),
+                              new StoredDoubleTimeSeries(metadata2, new UncompressedDoubleDataChunk(0, new double[] {2, 4, 6, 8})),
+                              new StoredDoubleTimeSeries(metadata3, new UncompressedDoubleDataChunk(0, new double[] {4, 1, 3, 2}))));
+
+        // all pairs of a version are consistent with the correlation of one time series
+        double[][] matrix = table.computePpmcc(1);
+        for (int num = 0; num < 3; num++) {
+            assertArrayEquals(table.computePpmcc("ts" + (num + 1), 1), matrix[num], 1e-15);
+        }
+        assertArrayEquals(matrix[0], table.computeVersionsPpmcc("ts1"), 1e-15);
+        assertEquals(2.5, table.getVersionsMean(0), 1e-15);
+
+        // adding a version only accumulates its values
+        table.load(2, List.of(new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {5, 6, 7, 8})),
+                              new StoredDoubleTimeSeries(metadata2, new UncompressedDoubleDataChunk(0, new double[] {10, 12, 14, 16})),
+                              new StoredDoubleTimeSeries(metadata3, new UncompressedDoubleDataChunk(0, new double[] {1, 2, 3, 4}))));
+        assertEquals(4.5, table.getVersionsMean(0), 1e-15);
+        assertEquals(Math.sqrt(6), table.getVersionsStdDev(0), 1e-15);
+        assertEquals(1, table.computeVersionsPpmcc()[0][1], 1e-15);
+
+        // reloading a version rebuilds statistics
+        table.load(1, List.of(new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {5, 6, 7, 8}))));
+        assertEquals(6.5, table.getVersionsMean(0), 1e-15);
+        assertEquals(Math.sqrt(10d / 7), table.getVersionsStdDev(0), 1e-15);
+    }
+
     @Test
     public void testVersionError() {
         exception.expect(TimeSeriesException.class);
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.benchmark;
+
+import com.powsybl.commons.reporter.Reporter;
+import com.powsybl.ucte.network.UcteNetwork;
+import com.powsybl.ucte.network.io.UcteReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of UCTE file reading: line based parsing through a {@link BufferedReader}, as previously done by the
+ * importer, compared to byte level parsing of a memory-mapped file and of a stream.
+ *
+ * @author agent <agent at local>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UcteReaderBenchmark {
+
+    @Param({"10000", "100000"})
+    public int nodeCount;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("benchmark", ".uct");
+        // a ring of 380 kV nodes, with one generator
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("##C 2007.05.01");
+            writer.newLine();
+            writer.write("##N");
+            writer.newLine();
+            writer.write("##ZFR");
+            writer.newLine();
+            for (int i = 0; i < nodeCount; i++) {
+                writer.write(nodeCode(i));
+                writer.write(i == 0 ? " FNGEN__ GEN- 0 2 24.000 0.00000 0.00000 -800.00 0.00000 9999.00 -9999.0 999.000 -999.00"
+                                    : " FNHV1__ HV1- 0 0        8.00000 1.00000 0.00000 0.00000");
+                writer.newLine();
+            }
+            writer.write("##L");
+            writer.newLine();
+            for (int i = 0; i < nodeCount; i++) {
+                writer.write(nodeCode(i) + " " + nodeCode((i + 1) % nodeCount) + " 1 0 3.0035 32.995 385.9970   1519 NHV1    -NHV");
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String nodeCode(int num) {
+        return String.format("F%05d11", num);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public UcteNetwork bufferedReader() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file)))) {
+            return new UcteReader().read(reader, Reporter.NO_OP);
+        }
+    }
+
+    @Benchmark
+    public UcteNetwork mappedFile() throws IOException {
+        return new UcteReader().read(file, Reporter.NO_OP);
+    }
+
+    @Benchmark
+    public UcteNetwork stream() throws IOException {
+        try (InputStream is = Files.newInputStream(file)) {
+            return new UcteReader().read(is, Reporter.NO_OP);
+        }
+    }
+}
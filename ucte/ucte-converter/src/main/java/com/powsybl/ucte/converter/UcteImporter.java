@@ -14,6 +14,8 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
 import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.datasource.DataSourceUtil;
+import com.powsybl.commons.datasource.FileDataSource;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.commons.reporter.Reporter;
 import com.powsybl.entsoe.util.*;
@@ -29,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -1005,35 +1008,49 @@ public class UcteImporter implements Importer {
         }
     }
 
+    /**
+     * Uncompressed files are memory-mapped by the reader, other data sources are read as a stream.
+     */
+    private static UcteNetwork read(ReadOnlyDataSource dataSource, String ext, Reporter reporter) throws IOException {
+        String fileName = DataSourceUtil.getFileName(dataSource.getBaseName(), null, ext);
+        Optional<Path> file = dataSource instanceof FileDataSource ? ((FileDataSource) dataSource).getUncompressedFile(fileName) : Optional.empty();
+        if (file.isPresent()) {
+            return new UcteReader().read(file.get(), reporter);
+        }
+        try (InputStream is = dataSource.newInputStream(fileName)) {
+            return new UcteReader().read(is, reporter);
+        }
+    }
+
     @Override
     public Network importData(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, Properties parameters, Reporter reporter) {
         try {
             String ext = findExtension(dataSource, true);
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(dataSource.newInputStream(null, ext)))) {
 
-                Stopwatch stopwatch = Stopwatch.createStarted();
+            Stopwatch stopwatch = Stopwatch.createStarted();
 
-                UcteNetworkExt ucteNetwork = new UcteNetworkExt(new UcteReader().read(reader, reporter), LINE_MIN_Z);
-                String fileName = dataSource.getBaseName();
+            UcteNetworkExt ucteNetwork = new UcteNetworkExt(read(dataSource, ext, reporter), LINE_MIN_Z);
+            String fileName = dataSource.getBaseName();
 
-                EntsoeFileName ucteFileName = EntsoeFileName.parse(fileName);
+            EntsoeFileName ucteFileName = EntsoeFileName.parse(fileName);
 
-                Network network = networkFactory.createNetwork(fileName, "UCTE");
-                network.setCaseDate(ucteFileName.getDate());
-                network.setForecastDistance(ucteFileName.getForecastDistance());
+            Network network = networkFactory.createNetwork(fileName, "UCTE");
+            network.setCaseDate(ucteFileName.getDate());
+            network.setForecastDistance(ucteFileName.getForecastDistance());
 
+            network.bulkBuild(() -> {
                 createBuses(ucteNetwork, network);
                 createLines(ucteNetwork, network);
                 createTransformers(ucteNetwork, network, ucteFileName);
 
                 mergeXnodeDanglingLines(ucteNetwork, network);
+            });
 
-                stopwatch.stop();
+            stopwatch.stop();
 
-                LOGGER.debug("UCTE import done in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+            LOGGER.debug("UCTE import done in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
 
-                return network;
-            }
+            return network;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -6,6 +6,7 @@
  */
 package com.powsybl.ucte.converter;
 
+import com.powsybl.commons.datasource.FileDataSource;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.commons.datasource.ResourceDataSource;
 import com.powsybl.commons.datasource.ResourceSet;
@@ -17,6 +18,13 @@ import com.powsybl.iidm.network.impl.NetworkFactoryImpl;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -25,6 +33,9 @@ import static org.junit.Assert.*;
  */
 public class UcteImporterTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void trimIssueTest() {
         // Import network that could fail because of id conflicts due to trim mechanism
@@ -245,5 +256,20 @@ public class UcteImporterTest {
         ResourceDataSource dataSource = new ResourceDataSource("xnodeThreeClosedLine", new ResourceSet("/", "xnodeTwoClosedLine.uct"));
         assertThrows(UcteException.class, () -> new UcteImporter().importData(dataSource, new NetworkFactoryImpl(), null));
     }
-}
 
+    @Test
+    public void testMappedFileImport() throws IOException {
+        // uncompressed files are memory-mapped, and must be imported as when read as a stream
+        Path file = temporaryFolder.getRoot().toPath().resolve("germanTsos.uct");
+        try (InputStream is = getClass().getResourceAsStream("/germanTsos.uct")) {
+            Files.copy(is, file);
+        }
+        Network mappedNetwork = new UcteImporter().importData(new FileDataSource(temporaryFolder.getRoot().toPath(), "germanTsos"), new NetworkFactoryImpl(), null);
+        Network network = new UcteImporter().importData(new ResourceDataSource("germanTsos", new ResourceSet("/", "germanTsos.uct")), new NetworkFactoryImpl(), null);
+        assertEquals(network.getSubstationCount(), mappedNetwork.getSubstationCount());
+        assertEquals(network.getBusBreakerView().getBusStream().map(Bus::getId).collect(Collectors.toList()),
+                mappedNetwork.getBusBreakerView().getBusStream().map(Bus::getId).collect(Collectors.toList()));
+        assertEquals(network.getLineStream().map(l -> l.getId() + " " + l.getX()).collect(Collectors.toList()),
+                mappedNetwork.getLineStream().map(l -> l.getId() + " " + l.getX()).collect(Collectors.toList()));
+    }
+}
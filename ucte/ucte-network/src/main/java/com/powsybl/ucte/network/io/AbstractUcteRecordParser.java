@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.network.io;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fixed-width record parser working on the characters of the current line, without allocating intermediate
+ * strings for numeric fields. Parsed strings are deduplicated, so that repeated codes and names share the same
+ * instance.
+ *
+ * @author agent <agent at local>
+ */
+abstract class AbstractUcteRecordParser {
+
+    private static final UcteRecordType[] RECORD_TYPES = UcteRecordType.values();
+
+    /**
+     * Powers of ten that are exactly representable as a double.
+     */
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Maximum number of significant digits so that the mantissa is exactly representable as a double.
+     */
+    private static final int MAX_DOUBLE_DIGITS = 15;
+
+    private static final int MAX_INT_DIGITS = 9;
+
+    private static final int INITIAL_POOL_CAPACITY = 1024;
+
+    private final Set<UcteRecordType> parsedRecordTypes = EnumSet.noneOf(UcteRecordType.class);
+
+    private String[] pool = new String[INITIAL_POOL_CAPACITY];
+
+    private int poolSize = 0;
+
+    private int rangeBegin;
+
+    private int rangeEnd;
+
+    abstract String getLine();
+
+    abstract boolean nextLine() throws IOException;
+
+    /**
+     * Returns true if there is a current line.
+     */
+    protected abstract boolean hasLine();
+
+    /**
+     * Length of the current line in characters.
+     */
+    protected abstract int length();
+
+    protected abstract char charAt(int index);
+
+    protected abstract String newString(int beginIndex, int endIndex);
+
+    UcteRecordType scanRecordType() {
+        if (hasLine() && length() >= 3 && charAt(0) == '#' && charAt(1) == '#') {
+            for (UcteRecordType recordType : RECORD_TYPES) {
+                if (startsWith(2, recordType.name())) {
+                    parsedRecordTypes.add(recordType);
+                    return recordType;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean startsWith(int offset, String prefix) {
+        if (length() - offset < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Set<UcteRecordType> getParsedRecordTypes() {
+        return parsedRecordTypes;
+    }
+
+    String parseString(int beginIndex, int endIndex) {
+        return parseString(beginIndex, endIndex, true);
+    }
+
+    String parseString(int beginIndex, int endIndex, boolean trim) {
+        if (!hasLine()) {
+            return null;
+        }
+        // Sometimes, the line is already trimmed but contains data
+        int lastIndex = Math.min(endIndex, length());
+        if (lastIndex < beginIndex) {
+            return null;
+        }
+        if (trim) {
+            trimRange(beginIndex, lastIndex);
+            return intern(rangeBegin, rangeEnd);
+        }
+        return intern(beginIndex, lastIndex);
+    }
+
+    Character parseChar(int index) {
+        return !hasLine() || index >= length() ? null : charAt(index);
+    }
+
+    Integer parseInt(int beginIndex, int endIndex) {
+        return selectRange(beginIndex, endIndex) ? toInt(rangeBegin, rangeEnd) : null;
+    }
+
+    Integer parseInt(int index) {
+        Character c = parseChar(index);
+        if (c == null || c == ' ') {
+            return null;
+        }
+        return c >= '0' && c <= '9' ? c - '0' : Integer.valueOf(Character.toString(c));
+    }
+
+    double parseDouble(int beginIndex, int endIndex) {
+        return selectRange(beginIndex, endIndex) ? toDouble(rangeBegin, rangeEnd) : Double.NaN;
+    }
+
+    <E extends Enum<E>> E parseEnumOrdinal(int index, Class<E> clazz) {
+        Integer order = parseInt(index);
+        return order == null ? null : clazz.getEnumConstants()[order];
+    }
+
+    <E extends Enum<E>> E parseEnumValue(int beginIndex, int endIndex, Class<E> clazz) {
+        String name = parseString(beginIndex, endIndex);
+        return name == null || name.isEmpty() ? null : Enum.valueOf(clazz, name);
+    }
+
+    <E extends Enum<E>> E parseEnumValue(int index, Class<E> clazz) {
+        Character c = parseChar(index);
+        return c == null || c == ' ' ? null : Enum.valueOf(clazz, Character.toString(c));
+    }
+
+    /**
+     * Select the trimmed range of a field, returns false if the field is missing or blank.
+     */
+    private boolean selectRange(int beginIndex, int endIndex) {
+        if (!hasLine()) {
+            return false;
+        }
+        int lastIndex = Math.min(endIndex, length());
+        if (lastIndex < beginIndex) {
+            return false;
+        }
+        trimRange(beginIndex, lastIndex);
+        return rangeBegin < rangeEnd;
+    }
+
+    private void trimRange(int beginIndex, int endIndex) {
+        int begin = beginIndex;
+        int end = endIndex;
+        while (begin < end && charAt(begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && charAt(end - 1) <= ' ') {
+            end--;
+        }
+        rangeBegin = begin;
+        rangeEnd = end;
+    }
+
+    private int toInt(int beginIndex, int endIndex) {
+        int i = beginIndex;
+        char c = charAt(i);
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            i++;
+        }
+        if (i == endIndex || endIndex - i > MAX_INT_DIGITS) {
+            return Integer.parseInt(newString(beginIndex, endIndex));
+        }
+        int value = 0;
+        for (; i < endIndex; i++) {
+            c = charAt(i);
+            if (c < '0' || c > '9') {
+                return Integer.parseInt(newString(beginIndex, endIndex));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a decimal number. Plain decimal numbers with at most 15 significant digits and 22 fraction digits are
+     * computed with a single, correctly rounded, division so the result is the same as {@link Double#parseDouble}.
+     * Other notations fall back to {@link Double#parseDouble}.
+     */
+    private double toDouble(int beginIndex, int endIndex) {
+        int i = beginIndex;
+        char c = charAt(i);
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        boolean digit = false;
+        boolean dot = false;
+        for (; i < endIndex; i++) {
+            c = charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                }
+                if (significantDigits > MAX_DOUBLE_DIGITS) {
+                    return Double.parseDouble(newString(beginIndex, endIndex));
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (dot) {
+                    fractionDigits++;
+                }
+                digit = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return Double.parseDouble(newString(beginIndex, endIndex));
+            }
+        }
+        if (!digit || fractionDigits >= POW10.length) {
+            return Double.parseDouble(newString(beginIndex, endIndex));
+        }
+        double value = fractionDigits == 0 ? (double) mantissa : mantissa / POW10[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Get a string from the pool, creating it only if the same sequence of characters has not already been parsed.
+     */
+    private String intern(int beginIndex, int endIndex) {
+        if (beginIndex == endIndex) {
+            return "";
+        }
+        // same hash as String.hashCode, which is cached by pooled strings
+        int hash = 0;
+        for (int i = beginIndex; i < endIndex; i++) {
+            hash = 31 * hash + charAt(i);
+        }
+        int mask = pool.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String str;
+        while ((str = pool[slot]) != null) {
+            if (str.hashCode() == hash && regionMatches(str, beginIndex, endIndex)) {
+                return str;
+            }
+            slot = (slot + 1) & mask;
+        }
+        str = newString(beginIndex, endIndex);
+        pool[slot] = str;
+        if (++poolSize > pool.length / 2) {
+            growPool();
+        }
+        return str;
+    }
+
+    private boolean regionMatches(String str, int beginIndex, int endIndex) {
+        if (str.length() != endIndex - beginIndex) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) != charAt(beginIndex + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void growPool() {
+        String[] oldPool = pool;
+        pool = new String[oldPool.length * 2];
+        int mask = pool.length - 1;
+        for (String str : oldPool) {
+            if (str != null) {
+                int hash = str.hashCode();
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (pool[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                pool[slot] = str;
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.network.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Record parser reading fields directly from the bytes of a (possibly memory-mapped) buffer, or from a channel
+ * streamed through a bounded buffer which only grows when a line does not fit into it.
+ * <p>
+ * Columns of UCTE records are defined in characters: ASCII lines are parsed byte per byte, lines containing
+ * non-ASCII bytes are decoded with the given charset so that column indexes stay consistent.
+ *
+ * @author agent <agent at local>
+ */
+class UcteByteRecordParser extends AbstractUcteRecordParser {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private ByteBuffer buffer;
+
+    /**
+     * Channel the buffer is refilled from, {@code null} when the buffer holds the whole content.
+     */
+    private final ReadableByteChannel channel;
+
+    private boolean endOfChannel;
+
+    private final Charset charset;
+
+    private int position;
+
+    private boolean hasLine = false;
+
+    private int lineStart;
+
+    private int lineEnd;
+
+    /**
+     * Decoded current line, only set when it contains non-ASCII bytes.
+     */
+    private String decodedLine;
+
+    private byte[] bytes = new byte[256];
+
+    UcteByteRecordParser(ByteBuffer buffer) {
+        this(buffer, Charset.defaultCharset());
+    }
+
+    UcteByteRecordParser(ByteBuffer buffer, Charset charset) {
+        this.buffer = Objects.requireNonNull(buffer);
+        this.channel = null;
+        this.endOfChannel = true;
+        this.charset = Objects.requireNonNull(charset);
+        this.position = buffer.position();
+        readLine();
+    }
+
+    UcteByteRecordParser(ReadableByteChannel channel) throws IOException {
+        this(channel, Charset.defaultCharset(), DEFAULT_BUFFER_SIZE);
+    }
+
+    UcteByteRecordParser(ReadableByteChannel channel, Charset charset, int bufferSize) throws IOException {
+        this.channel = Objects.requireNonNull(channel);
+        this.endOfChannel = false;
+        this.charset = Objects.requireNonNull(charset);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.limit(0);
+        this.position = 0;
+        nextLine();
+    }
+
+    /**
+     * Move the unread bytes to the beginning of the buffer, grow it if they fill it, and read more bytes from the
+     * channel. The current line is no longer valid after a refill.
+     */
+    private void refill() {
+        buffer.position(position);
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            buffer.flip();
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+        }
+        try {
+            if (channel.read(buffer) < 0) {
+                endOfChannel = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+        position = 0;
+    }
+
+    @Override
+    String getLine() {
+        return hasLine ? newString(0, length()) : null;
+    }
+
+    @Override
+    boolean nextLine() throws IOException {
+        try {
+            return readLine();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean readLine() {
+        while (position < buffer.limit() || !endOfChannel) {
+            int limit = buffer.limit();
+            int end = position;
+            boolean blank = true;
+            boolean ascii = true;
+            byte b;
+            while (end < limit && (b = buffer.get(end)) != '\n' && b != '\r') {
+                if (b < 0) {
+                    ascii = false;
+                    blank = false;
+                } else if (b > ' ') {
+                    blank = false;
+                }
+                end++;
+            }
+            // the line terminator, or the \n following a \r, may not have been read yet
+            if (!endOfChannel && end >= limit - 1) {
+                refill();
+                continue;
+            }
+            int start = position;
+            // same line terminators as BufferedReader.readLine: \n, \r or \r\n
+            if (end < limit) {
+                position = end + 1;
+                if (buffer.get(end) == '\r' && position < limit && buffer.get(position) == '\n') {
+                    position++;
+                }
+            } else {
+                position = end;
+            }
+            if (!blank) { // skip empty lines
+                lineStart = start;
+                lineEnd = end;
+                decodedLine = ascii ? null : new String(copyBytes(start, end), 0, end - start, charset);
+                hasLine = true;
+                return true;
+            }
+        }
+        hasLine = false;
+        decodedLine = null;
+        return false;
+    }
+
+    private byte[] copyBytes(int start, int end) {
+        int length = end - start;
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return bytes;
+    }
+
+    @Override
+    protected boolean hasLine() {
+        return hasLine;
+    }
+
+    @Override
+    protected int length() {
+        return decodedLine != null ? decodedLine.length() : lineEnd - lineStart;
+    }
+
+    @Override
+    protected char charAt(int index) {
+        if (decodedLine != null) {
+            return decodedLine.charAt(index);
+        }
+        if (index < 0 || index >= lineEnd - lineStart) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return (char) (buffer.get(lineStart + index) & 0xFF);
+    }
+
+    @Override
+    protected String newString(int beginIndex, int endIndex) {
+        if (decodedLine != null) {
+            return decodedLine.substring(beginIndex, endIndex);
+        }
+        return new String(copyBytes(lineStart + beginIndex, lineStart + endIndex), 0, endIndex - beginIndex, StandardCharsets.ISO_8859_1);
+    }
+}
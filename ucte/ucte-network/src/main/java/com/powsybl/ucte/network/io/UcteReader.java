@@ -14,6 +14,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  *
@@ -25,7 +32,7 @@ public class UcteReader {
 
     private boolean firstCommendBlockRead = false;
 
-    private void readCommentBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readCommentBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.trace("Reading comment block");
         if (!firstCommendBlockRead && parser.getParsedRecordTypes().size() > 1) {
             throw new UcteIoException("First block must be a comment block");
@@ -49,7 +56,7 @@ public class UcteReader {
         }
     }
 
-    private static UcteNodeCode parseNodeCode(UcteRecordParser parser, int beginIndex) {
+    private static UcteNodeCode parseNodeCode(AbstractUcteRecordParser parser, int beginIndex) {
         UcteCountryCode ucteCountryCode = UcteCountryCode.fromUcteCode(parser.parseChar(beginIndex));
         String geographicalSpot = parser.parseString(beginIndex + 1, beginIndex + 6, false);
         UcteVoltageLevelCode voltageLevelCode = parser.parseEnumOrdinal(beginIndex + 6, UcteVoltageLevelCode.class);
@@ -57,7 +64,7 @@ public class UcteReader {
         return new UcteNodeCode(ucteCountryCode, geographicalSpot, voltageLevelCode, busbar);
     }
 
-    private void parseNode(UcteRecordParser parser, UcteNetwork network) {
+    private void parseNode(AbstractUcteRecordParser parser, UcteNetwork network) {
         UcteNodeCode id = parseNodeCode(parser, 0);
         String geographicalName = parser.parseString(9, 21).trim();
         UcteNodeStatus status = parser.parseEnumOrdinal(22, UcteNodeStatus.class);
@@ -86,7 +93,7 @@ public class UcteReader {
         network.addNode(node);
     }
 
-    private void readNodeBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readNodeBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.trace("Reading node block");
         String countryIsoCode = null;
         while (parser.nextLine()) {
@@ -106,12 +113,12 @@ public class UcteReader {
         }
     }
 
-    private static UcteElementId parseElementId(UcteRecordParser parser) {
+    private static UcteElementId parseElementId(AbstractUcteRecordParser parser) {
         String elementId = parser.parseString(0, 19);
         return UcteElementId.parseUcteElementId(elementId).orElseThrow(() -> new UcteIoException("Invalid element ID: " + elementId));
     }
 
-    private void parseLine(UcteRecordParser parser, UcteNetwork network) {
+    private void parseLine(AbstractUcteRecordParser parser, UcteNetwork network) {
         UcteElementId id = parseElementId(parser);
         UcteElementStatus status = UcteElementStatus.fromCode(parser.parseInt(20));
         double resistance = parser.parseDouble(22, 28);
@@ -124,7 +131,7 @@ public class UcteReader {
         network.addLine(l);
     }
 
-    private void readLineBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readLineBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.trace("Reading line block");
         while (parser.nextLine()) {
             if (parser.scanRecordType() != null) {
@@ -135,7 +142,7 @@ public class UcteReader {
         }
     }
 
-    private void parseTransformer(UcteRecordParser parser, UcteNetwork network) {
+    private void parseTransformer(AbstractUcteRecordParser parser, UcteNetwork network) {
         UcteElementId id = parseElementId(parser);
         UcteElementStatus status = UcteElementStatus.fromCode(parser.parseInt(20));
         double ratedVoltage1 = parser.parseDouble(22, 27);
@@ -153,7 +160,7 @@ public class UcteReader {
         network.addTransformer(transfo);
     }
 
-    private void readTransformerBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readTransformerBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.trace("Reading transformer block");
         while (parser.nextLine()) {
             if (parser.scanRecordType() != null) {
@@ -164,7 +171,7 @@ public class UcteReader {
         }
     }
 
-    private UctePhaseRegulation parsePhaseRegulation(UcteRecordParser parser) {
+    private UctePhaseRegulation parsePhaseRegulation(AbstractUcteRecordParser parser) {
         double du = parser.parseDouble(20, 25);
         Integer n = parser.parseInt(26, 28);
         Integer np = parser.parseInt(29, 32);
@@ -175,7 +182,7 @@ public class UcteReader {
         return null;
     }
 
-    private UcteAngleRegulation parseAngleRegulation(UcteRecordParser parser) {
+    private UcteAngleRegulation parseAngleRegulation(AbstractUcteRecordParser parser) {
         double du = parser.parseDouble(39, 44);
         double theta = parser.parseDouble(45, 50);
         Integer n = parser.parseInt(51, 53);
@@ -188,7 +195,7 @@ public class UcteReader {
         return null;
     }
 
-    private void parseRegulation(UcteRecordParser parser, UcteNetwork network) {
+    private void parseRegulation(AbstractUcteRecordParser parser, UcteNetwork network) {
         UcteElementId transfoId = parseElementId(parser);
         UctePhaseRegulation phaseRegulation = parsePhaseRegulation(parser);
         UcteAngleRegulation angleRegulation = parseAngleRegulation(parser);
@@ -196,7 +203,7 @@ public class UcteReader {
         network.addRegulation(regulation);
     }
 
-    private void readRegulationBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readRegulationBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.trace("Reading regulation block");
         while (parser.nextLine()) {
             if (parser.scanRecordType() != null) {
@@ -207,7 +214,7 @@ public class UcteReader {
         }
     }
 
-    private void readTtBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readTtBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.warn("TT block not supported");
         reporter.report("UnsupportedTTBlock", "TT block not supported");
         while (parser.nextLine()) {
@@ -219,7 +226,7 @@ public class UcteReader {
         }
     }
 
-    private void readExchangeBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void readExchangeBlock(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.warn("E block not supported");
         while (parser.nextLine()) {
             if (parser.scanRecordType() != null) {
@@ -230,7 +237,7 @@ public class UcteReader {
         }
     }
 
-    private void parseRecords(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
+    private void parseRecords(AbstractUcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         do {
             UcteRecordType recordType = parser.scanRecordType();
             if (recordType != null) {
@@ -266,11 +273,48 @@ public class UcteReader {
     }
 
     public UcteNetwork read(BufferedReader reader, Reporter reporter) throws IOException {
+        return read(new UcteRecordParser(reader), reporter);
+    }
+
+    /**
+     * Read a UCTE network directly from the bytes of a buffer, without decoding the whole content into strings.
+     * Lines containing non-ASCII characters are decoded with the platform default charset, as
+     * {@link #read(BufferedReader, Reporter)} does with an {@link java.io.InputStreamReader}.
+     */
+    public UcteNetwork read(ByteBuffer buffer, Reporter reporter) throws IOException {
+        return read(new UcteByteRecordParser(buffer), reporter);
+    }
+
+    /**
+     * Read a UCTE network from a file, which is memory-mapped, if supported by the file system, and parsed through
+     * {@link #read(ByteBuffer, Reporter)}.
+     */
+    public UcteNetwork read(Path file, Reporter reporter) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (UnsupportedOperationException e) {
+            try (InputStream is = Files.newInputStream(file)) {
+                return read(is, reporter);
+            }
+        }
+        return read(buffer, reporter);
+    }
+
+    /**
+     * Read a UCTE network from a stream, which is parsed through a bounded buffer as in
+     * {@link #read(ByteBuffer, Reporter)}, so that the content is never fully loaded in memory.
+     * The stream is not closed.
+     */
+    public UcteNetwork read(InputStream is, Reporter reporter) throws IOException {
+        return read(new UcteByteRecordParser(Channels.newChannel(is)), reporter);
+    }
+
+    private UcteNetwork read(AbstractUcteRecordParser parser, Reporter reporter) throws IOException {
 
         Reporter readReporter = reporter.createSubReporter("UcteReading", "Reading UCTE network file");
         long start = System.currentTimeMillis();
         UcteNetwork network = new UcteNetworkImpl();
-        UcteRecordParser parser = new UcteRecordParser(reader);
         parseRecords(parser, network, readReporter);
         LOGGER.debug("UCTE file read in {} ms", System.currentTimeMillis() - start);
 
@@ -48,9 +48,35 @@ public class UcteFileReadWriteTest extends AbstractConverterTest {
         }
     }
 
+    private static UcteNetwork readBytes(Path file) {
+        try {
+            return new UcteReader().read(file, Reporter.NO_OP);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UcteNetwork readStream(Path file) {
+        try (InputStream is = Files.newInputStream(file)) {
+            return new UcteReader().read(is, Reporter.NO_OP);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Test
     public void roundTripTest() throws IOException {
         roundTripTest(create(), UcteFileReadWriteTest::write, UcteFileReadWriteTest::read, REFERENCE);
     }
 
+    @Test
+    public void roundTripBytesTest() throws IOException {
+        roundTripTest(create(), UcteFileReadWriteTest::write, UcteFileReadWriteTest::readBytes, REFERENCE);
+    }
+
+    @Test
+    public void roundTripStreamTest() throws IOException {
+        roundTripTest(create(), UcteFileReadWriteTest::write, UcteFileReadWriteTest::readStream, REFERENCE);
+    }
+
 }
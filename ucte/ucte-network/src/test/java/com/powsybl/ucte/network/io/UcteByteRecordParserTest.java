@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.network.io;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class UcteByteRecordParserTest {
+
+    private static UcteByteRecordParser createParser(String content) {
+        return new UcteByteRecordParser(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testLines() throws IOException {
+        UcteByteRecordParser parser = createParser("##C 2007.05.01\r\n\n   \r##N\rA\nB");
+        assertEquals("##C 2007.05.01", parser.getLine());
+        assertEquals(UcteRecordType.C, parser.scanRecordType());
+        assertTrue(parser.nextLine());
+        assertEquals(UcteRecordType.N, parser.scanRecordType());
+        assertTrue(parser.nextLine());
+        assertEquals("A", parser.getLine());
+        assertNull(parser.scanRecordType());
+        assertTrue(parser.nextLine());
+        assertEquals("B", parser.getLine());
+        assertFalse(parser.nextLine());
+        assertNull(parser.getLine());
+        assertNull(parser.parseString(0, 1));
+        assertNull(parser.parseChar(0));
+    }
+
+    @Test
+    public void testRecordType() {
+        assertEquals(UcteRecordType.TT, createParser("##TT").scanRecordType());
+        assertEquals(UcteRecordType.T, createParser("##T").scanRecordType());
+        assertNull(createParser("##").scanRecordType());
+    }
+
+    @Test
+    public void testFields() {
+        UcteByteRecordParser parser = createParser("  12 -3.5000 0.0001   1 AB  X 1e3");
+        assertEquals(12, (int) parser.parseInt(0, 4));
+        assertEquals(-3.5, parser.parseDouble(4, 12), 0);
+        assertEquals(0.0001, parser.parseDouble(12, 19), 0);
+        assertNull(parser.parseInt(19, 22));
+        assertEquals(1, (int) parser.parseInt(22));
+        assertEquals("AB", parser.parseString(23, 27));
+        assertEquals(" AB ", parser.parseString(23, 27, false));
+        assertSame(parser.parseString(23, 27), parser.parseString(24, 26));
+        assertEquals('X', (char) parser.parseChar(28));
+        assertEquals(1000, parser.parseDouble(29, 40), 0);
+        assertTrue(Double.isNaN(parser.parseDouble(19, 22)));
+        assertNull(parser.parseString(40, 45));
+        assertNull(parser.parseChar(40));
+    }
+
+    @Test
+    public void testDoubleParsing() {
+        String[] values = {"0.1", "-0.0", "+2.25", "1.", ".5", "123456.789012", "0.3333333333333333", "12345678901234567890",
+                           "0.00000000000000000000000123", "9007199254740993"};
+        for (String value : values) {
+            assertEquals(value, Double.doubleToLongBits(Double.parseDouble(value)),
+                    Double.doubleToLongBits(createParser(value).parseDouble(0, value.length())));
+        }
+    }
+
+    @Test
+    public void testNonAsciiLine() throws IOException {
+        String content = "é 1.5 ä";
+        UcteByteRecordParser parser = createParser(content);
+        UcteRecordParser reference = new UcteRecordParser(new BufferedReader(new StringReader(content)));
+        assertEquals(reference.getLine(), parser.getLine());
+        assertEquals(reference.parseDouble(1, 5), parser.parseDouble(1, 5), 0);
+        assertEquals(reference.parseString(5, 7), parser.parseString(5, 7));
+    }
+
+    private static List<String> readLines(AbstractUcteRecordParser parser) throws IOException {
+        List<String> lines = new ArrayList<>();
+        while (parser.hasLine()) {
+            lines.add(parser.getLine());
+            parser.nextLine();
+        }
+        return lines;
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        // line terminators split between two refills, lines longer than the buffer and blank lines
+        String content = "##C 2007.05.01\r\n\n   \r##N\rA\nB\r\n0123456789abcdefghij\r\n\r\nC\r";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        List<String> expected = readLines(new UcteByteRecordParser(ByteBuffer.wrap(bytes)));
+        assertEquals(List.of("##C 2007.05.01", "##N", "A", "B", "0123456789abcdefghij", "C"), expected);
+        for (int bufferSize = 1; bufferSize <= bytes.length + 1; bufferSize++) {
+            UcteByteRecordParser parser = new UcteByteRecordParser(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                    StandardCharsets.UTF_8, bufferSize);
+            assertEquals("Buffer size " + bufferSize, expected, readLines(parser));
+            assertFalse(parser.nextLine());
+        }
+        assertFalse(new UcteByteRecordParser(Channels.newChannel(new ByteArrayInputStream(new byte[0]))).hasLine());
+    }
+
+    @Test
+    public void testDefaultCharset() throws IOException {
+        // same decoding as the InputStreamReader previously used by the importer
+        String content = "é 1.5 ä";
+        byte[] bytes = content.getBytes(Charset.defaultCharset());
+        String expected = new BufferedReader(new StringReader(new String(bytes, Charset.defaultCharset()))).readLine();
+        assertEquals(expected, new UcteByteRecordParser(ByteBuffer.wrap(bytes)).getLine());
+        assertEquals(expected, new UcteByteRecordParser(Channels.newChannel(new ByteArrayInputStream(bytes))).getLine());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidDouble() {
+        createParser("1.2.3").parseDouble(0, 5);
+    }
+}